@@ -23,9 +23,18 @@ import de.rwth.idsg.steve.ocpp.ws.custom.WsSessionSelectStrategyEnum;
 import de.rwth.idsg.steve.utils.PropertiesFileLoader;
 import lombok.Builder;
 import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * @author Sevket Goekay <sevketgokay@gmail.com>
  * @since 19.08.2014
@@ -42,6 +51,8 @@ public enum SteveConfiguration {
     private final String cxfMapping = "/services";
     // Mapping for Web APIs
     private final String apiMapping = "/api";
+    // Prometheus scrape endpoint
+    private final String metricsMapping = "/metrics";
     // Dummy service path
     private final String routerEndpointPath = "/CentralSystemService";
     // Time zone for the application and database connections
@@ -59,7 +70,16 @@ public enum SteveConfiguration {
     private final Auth auth;
     private final WebApi webApi;
     private final DB db;
+    private final DbReplica dbReplica;
     private final Jetty jetty;
+    private final Metrics metrics;
+    private final RateLimit rateLimit;
+    private final ReconnectStorm reconnectStorm;
+    private final Journal journal;
+    private final Events events;
+    private final Mail mail;
+    private final Webhook webhook;
+    private final WriteAheadLog writeAheadLog;
 
     SteveConfiguration() {
         PropertiesFileLoader p = new PropertiesFileLoader("main.properties");
@@ -87,8 +107,26 @@ public enum SteveConfiguration {
                .userName(p.getString("db.user"))
                .password(p.getString("db.password"))
                .sqlLogging(p.getBoolean("db.sql.logging"))
+               .ocppPoolSize(getOrDefault(p.getOptionalInt("db.pool.ocpp.size"), 10))
+               .ocppReadPoolSize(getOrDefault(p.getOptionalInt("db.pool.ocpp.read.size"), 5))
+               .webPoolSize(getOrDefault(p.getOptionalInt("db.pool.web.size"), 5))
+               .batchPoolSize(getOrDefault(p.getOptionalInt("db.pool.batch.size"), 2))
+               .walPoolSize(getOrDefault(p.getOptionalInt("db.pool.wal.size"), 2))
+               .exportTimeoutSeconds(getOrDefault(p.getOptionalInt("db.export.timeout.seconds"), 600))
+               .statisticsReloadMinutes(getOrDefault(p.getOptionalInt("db.statistics.reload.minutes"), 360))
                .build();
 
+        dbReplica = DbReplica.builder()
+                             .ip(p.getOptionalString("db.replica.ip"))
+                             .port(getOrDefault(p.getOptionalInt("db.replica.port"), 3306))
+                             .schema(useFallbackIfNotSet(p.getOptionalString("db.replica.schema"), db.getSchema()))
+                             .userName(useFallbackIfNotSet(p.getOptionalString("db.replica.user"), db.getUserName()))
+                             .password(useFallbackIfNotSet(p.getOptionalString("db.replica.password"),
+                                                           db.getPassword()))
+                             .poolSize(getOrDefault(p.getOptionalInt("db.replica.pool.size"), 5))
+                             .maxLagSeconds(getOrDefault(p.getOptionalInt("db.replica.max.lag.seconds"), 10))
+                             .build();
+
         PasswordEncoder encoder = new BCryptPasswordEncoder();
 
         auth = Auth.builder()
@@ -107,8 +145,80 @@ public enum SteveConfiguration {
                    .chargeBoxIdValidationRegex(p.getOptionalString("charge-box-id.validation.regex"))
                    .wsSessionSelectStrategy(
                            WsSessionSelectStrategyEnum.fromName(p.getString("ws.session.select.strategy")))
+                   .jsonBytecodeOptimization(p.getOptionalBoolean("ws.json.bytecode.optimization"))
+                   .wsSendBufferBudgetBytes(getSendBufferBudgetBytes(p.getOptionalInt("ws.send.buffer.budget.mb")))
+                   .duplicateCallCacheSize(getOrDefault(p.getOptionalInt("ws.duplicate.call.cache.size"), 20))
+                   .build();
+
+        metrics = Metrics.builder()
+                         .prometheusEnabled(p.getOptionalBoolean("metrics.prometheus.enabled"))
+                         .build();
+
+        RateLimit.Limit defaultLimit = new RateLimit.Limit(
+                getOrDefault(p.getOptionalInt("ratelimit.default.per.minute"), 60),
+                getOrDefault(p.getOptionalInt("ratelimit.default.burst"), 10)
+        );
+
+        rateLimit = RateLimit.builder()
+                             .enabled(p.getOptionalBoolean("ratelimit.enabled"))
+                             .defaultLimit(defaultLimit)
+                             .actionLimits(parseActionLimits(p.getStringList("ratelimit.action.limits")))
+                             .criticalActions(new HashSet<>(p.getStringList("ratelimit.critical.actions")))
+                             .criticalMaxDelayMillis(
+                                     getOrDefault(p.getOptionalInt("ratelimit.critical.max.delay.ms"), 10_000))
+                             .dbPoolSaturationPercent(
+                                     getOrDefault(p.getOptionalInt("ratelimit.db.pool.saturation.percent"), 90))
+                             .build();
+
+        reconnectStorm = ReconnectStorm.builder()
+                .enabled(p.getOptionalBoolean("reconnectstorm.enabled"))
+                .thresholdPerSecond(getOrDefault(p.getOptionalInt("reconnectstorm.threshold.per.second"), 50))
+                .maxHandshakesPerSecond(getOrDefault(p.getOptionalInt("reconnectstorm.max.per.second"), 0))
+                .retryAfterMaxSeconds(getOrDefault(p.getOptionalInt("reconnectstorm.retry.after.max.seconds"), 30))
+                .build();
+
+        journal = Journal.builder()
+                         .enabled(p.getOptionalBoolean("journal.enabled"))
+                         .directory(Paths.get(useFallbackIfNotSet(p.getOptionalString("journal.dir"),
+                                 Paths.get(System.getProperty("user.home"), ".steve", "journal").toString())))
+                         .segmentSizeBytes(getOrDefault(p.getOptionalInt("journal.segment.size.mb"), 64) * 1024 * 1024)
+                         .maxSegments(getOrDefault(p.getOptionalInt("journal.max.segments"), 32))
+                         .build();
+
+        events = Events.builder()
+                       .async(p.getOptionalBoolean("events.async.enabled"))
+                       .threads(getOrDefault(p.getOptionalInt("events.async.threads"), 2))
+                       .queueSize(getOrDefault(p.getOptionalInt("events.async.queue.size"), 10_000))
+                       .ordered(p.getOptionalBoolean("events.async.ordered"))
+                       .build();
+
+        mail = Mail.builder()
+                   .digestWindowSeconds(getOrDefault(p.getOptionalInt("mail.digest.window.seconds"), 0))
+                   .digestMaxSize(getOrDefault(p.getOptionalInt("mail.digest.max.size"), 100))
                    .build();
 
+        webhook = Webhook.builder()
+                         .urls(p.getStringList("webhook.urls"))
+                         .batchSize(getOrDefault(p.getOptionalInt("webhook.batch.size"), 500))
+                         .batchIntervalMillis(getOrDefault(p.getOptionalInt("webhook.batch.interval.ms"), 1000))
+                         .maxConcurrency(getOrDefault(p.getOptionalInt("webhook.max.concurrency"), 2))
+                         .timeoutSeconds(getOrDefault(p.getOptionalInt("webhook.timeout.seconds"), 10))
+                         .maxBackoffSeconds(getOrDefault(p.getOptionalInt("webhook.retry.max.backoff.seconds"), 300))
+                         .spoolDirectory(Paths.get(useFallbackIfNotSet(p.getOptionalString("webhook.spool.dir"),
+                                 Paths.get(System.getProperty("user.home"), ".steve", "webhook").toString())))
+                         .spoolMaxBytes(getOrDefault(p.getOptionalInt("webhook.spool.max.mb"), 512) * 1024L * 1024L)
+                         .build();
+
+        writeAheadLog = WriteAheadLog.builder()
+                                     .enabled(p.getOptionalBoolean("wal.enabled"))
+                                     .directory(Paths.get(useFallbackIfNotSet(p.getOptionalString("wal.dir"),
+                                             Paths.get(System.getProperty("user.home"), ".steve", "wal").toString())))
+                                     .segmentSizeBytes(
+                                             getOrDefault(p.getOptionalInt("wal.segment.size.mb"), 64) * 1024 * 1024)
+                                     .batchSize(getOrDefault(p.getOptionalInt("wal.batch.size"), 500))
+                                     .applyIntervalMillis(getOrDefault(p.getOptionalInt("wal.apply.interval.ms"), 100))
+                                     .build();
+
         validate();
     }
 
@@ -132,6 +242,36 @@ public enum SteveConfiguration {
         }
     }
 
+    private static long getSendBufferBudgetBytes(Integer megabytes) {
+        if (megabytes == null) {
+            return Runtime.getRuntime().maxMemory() / 4;
+        } else {
+            return megabytes * 1024L * 1024L;
+        }
+    }
+
+    private static int getOrDefault(Integer value, int fallback) {
+        return value == null ? fallback : value;
+    }
+
+    /**
+     * Format of an entry: "action:perMinute:burst", e.g. "MeterValues:30:5"
+     */
+    private static Map<String, RateLimit.Limit> parseActionLimits(List<String> entries) {
+        Map<String, RateLimit.Limit> map = new HashMap<>();
+        for (String entry : entries) {
+            String[] parts = entry.split(":");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException(
+                        "Invalid rate limit '" + entry + "'. Expected format: action:perMinute:burst");
+            }
+            RateLimit.Limit limit = new RateLimit.Limit(Integer.parseInt(parts[1].trim()),
+                                                        Integer.parseInt(parts[2].trim()));
+            map.put(parts[0].trim(), limit);
+        }
+        return map;
+    }
+
     private String sanitizeContextPath(String s) {
         if (s == null || "/".equals(s)) {
             return "";
@@ -181,6 +321,29 @@ public enum SteveConfiguration {
         private final String userName;
         private final String password;
         private final boolean sqlLogging;
+        private final int ocppPoolSize;
+        private final int ocppReadPoolSize;
+        private final int webPoolSize;
+        private final int batchPoolSize;
+        private final int walPoolSize;
+        private final int exportTimeoutSeconds;
+        private final int statisticsReloadMinutes;
+    }
+
+    // Read-only replica of the database for the reads that can be a little old
+    @Builder @Getter
+    public static class DbReplica {
+        private final String ip;
+        private final int port;
+        private final String schema;
+        private final String userName;
+        private final String password;
+        private final int poolSize;
+        private final int maxLagSeconds;
+
+        public boolean isEnabled() {
+            return ip != null;
+        }
     }
 
     // Credentials for Web interface access
@@ -203,6 +366,101 @@ public enum SteveConfiguration {
         private final boolean autoRegisterUnknownStations;
         private final String chargeBoxIdValidationRegex;
         private final WsSessionSelectStrategy wsSessionSelectStrategy;
+        private final boolean jsonBytecodeOptimization;
+        private final long wsSendBufferBudgetBytes;
+        private final int duplicateCallCacheSize;
+    }
+
+    @Builder @Getter
+    public static class Metrics {
+        private final boolean prometheusEnabled;
+    }
+
+    // Admission control of the incoming OCPP requests
+    @Builder @Getter
+    public static class RateLimit {
+        private final boolean enabled;
+        private final Limit defaultLimit;
+        private final Map<String, Limit> actionLimits;
+        private final Set<String> criticalActions;
+        private final int criticalMaxDelayMillis;
+        private final int dbPoolSaturationPercent;
+
+        public Limit getLimit(String action) {
+            return actionLimits.getOrDefault(action, defaultLimit);
+        }
+
+        public boolean isCritical(String action) {
+            return criticalActions.contains(action);
+        }
+
+        // Token bucket parameters: refilled with perMinute tokens per minute, holding at most burst tokens
+        @RequiredArgsConstructor @Getter
+        public static class Limit {
+            private final int perMinute;
+            private final int burst;
+        }
+    }
+
+    // Handling of many stations (re)connecting at the same time, e.g. after a restart
+    @Builder @Getter
+    public static class ReconnectStorm {
+        private final boolean enabled;
+        private final int thresholdPerSecond;
+        private final int maxHandshakesPerSecond; // 0 = never reject
+        private final int retryAfterMaxSeconds;
+    }
+
+    // Binary journal of the OCPP JSON messages
+    @Builder @Getter
+    public static class Journal {
+        private final boolean enabled;
+        private final Path directory;
+        private final int segmentSizeBytes;
+        private final int maxSegments;
+    }
+
+    // Delivery of the OCPP events (e.g. OccpStationBooted) to the listeners
+    @Builder @Getter
+    public static class Events {
+        private final boolean async;
+        private final int threads;
+        private final int queueSize;
+        private final boolean ordered;
+    }
+
+    // Queueing of the notification mails. The mail server etc. are in the settings in the database.
+    @Builder @Getter
+    public static class Mail {
+        private final int digestWindowSeconds;
+        private final int digestMaxSize;
+    }
+
+    // Outbound stream of the OCPP events to the subscribed URLs
+    @Builder @Getter
+    public static class Webhook {
+        private final List<String> urls;
+        private final int batchSize;
+        private final int batchIntervalMillis;
+        private final int maxConcurrency;
+        private final int timeoutSeconds;
+        private final int maxBackoffSeconds;
+        private final Path spoolDirectory;
+        private final long spoolMaxBytes;
+
+        public boolean isEnabled() {
+            return !urls.isEmpty();
+        }
+    }
+
+    // Local journal for the non-critical writes of the OCPP messages, which are applied to the database later
+    @Builder @Getter
+    public static class WriteAheadLog {
+        private final boolean enabled;
+        private final Path directory;
+        private final int segmentSizeBytes;
+        private final int batchSize;
+        private final int applyIntervalMillis;
     }
 
 }
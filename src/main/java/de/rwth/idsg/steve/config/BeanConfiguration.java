@@ -25,13 +25,31 @@ import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.mysql.cj.conf.PropertyKey;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
 import de.rwth.idsg.steve.SteveConfiguration;
+import de.rwth.idsg.steve.ocpp.journal.MessageJournal;
 import de.rwth.idsg.steve.service.DummyReleaseCheckService;
 import de.rwth.idsg.steve.service.GithubReleaseCheckService;
 import de.rwth.idsg.steve.service.ReleaseCheckService;
+import de.rwth.idsg.steve.service.notification.OcppEventMulticaster;
 import de.rwth.idsg.steve.utils.DateTimeUtils;
 import de.rwth.idsg.steve.utils.InternetChecker;
+import de.rwth.idsg.steve.utils.MetricsUtils;
+import de.rwth.idsg.steve.utils.QueryMetricsListener;
+import de.rwth.idsg.steve.utils.ReplicaRouter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ClassLoaderMetrics;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import io.micrometer.core.instrument.binder.jvm.JvmGcMetrics;
+import io.micrometer.core.instrument.binder.jvm.JvmMemoryMetrics;
+import io.micrometer.core.instrument.binder.jvm.JvmThreadMetrics;
+import io.micrometer.core.instrument.binder.system.ProcessorMetrics;
+import io.micrometer.core.instrument.binder.system.UptimeMetrics;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.jooq.ConnectionProvider;
 import org.jooq.DSLContext;
 import org.jooq.SQLDialect;
 import org.jooq.conf.Settings;
@@ -41,8 +59,10 @@ import org.jooq.impl.DefaultConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.context.event.ContextRefreshedEvent;
 import org.springframework.context.event.EventListener;
+import org.springframework.context.support.AbstractApplicationContext;
 import org.springframework.core.Ordered;
 import org.springframework.format.support.FormattingConversionService;
 import org.springframework.http.converter.HttpMessageConverter;
@@ -60,6 +80,7 @@ import org.springframework.web.servlet.view.InternalResourceViewResolver;
 
 import javax.annotation.PreDestroy;
 import javax.validation.Validator;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
@@ -83,34 +104,26 @@ import static de.rwth.idsg.steve.SteveConfiguration.CONFIG;
 public class BeanConfiguration implements WebMvcConfigurer {
 
     private HikariDataSource dataSource;
+    private HikariDataSource webDataSource;
+    private HikariDataSource batchDataSource;
+    private ReplicaRouter replicaRouter;
+    private final List<HikariDataSource> otherDataSources = new ArrayList<>();
     private ScheduledThreadPoolExecutor executor;
+    private JvmGcMetrics jvmGcMetrics;
+    private OcppEventMulticaster eventMulticaster;
 
     /**
      * https://github.com/brettwooldridge/HikariCP/wiki/MySQL-Configuration
+     *
+     * The pool of the OCPP writes (see {@link DatabasePools}). It is a bean only for the monitoring of the pool
+     * (e.g. in AdmissionControlService). The queries should be executed with DSLContext. Closed in
+     * {@link #shutDown()}.
      */
-    private void initDataSource() {
-        SteveConfiguration.DB dbConfig = CONFIG.getDb();
-
-        HikariConfig hc = new HikariConfig();
-
-        // set standard params
-        hc.setJdbcUrl("jdbc:mysql://" + dbConfig.getIp() + ":" + dbConfig.getPort() + "/" + dbConfig.getSchema());
-        hc.setUsername(dbConfig.getUserName());
-        hc.setPassword(dbConfig.getPassword());
-
-        // set non-standard params
-        hc.addDataSourceProperty(PropertyKey.cachePrepStmts.getKeyName(), true);
-        hc.addDataSourceProperty(PropertyKey.useServerPrepStmts.getKeyName(), true);
-        hc.addDataSourceProperty(PropertyKey.prepStmtCacheSize.getKeyName(), 250);
-        hc.addDataSourceProperty(PropertyKey.prepStmtCacheSqlLimit.getKeyName(), 2048);
-        hc.addDataSourceProperty(PropertyKey.characterEncoding.getKeyName(), "utf8");
-        hc.addDataSourceProperty(PropertyKey.connectionTimeZone.getKeyName(), CONFIG.getTimeZoneId());
-        hc.addDataSourceProperty(PropertyKey.useSSL.getKeyName(), true);
-
-        // https://github.com/steve-community/steve/issues/736
-        hc.setMaxLifetime(580_000);
-
-        dataSource = new HikariDataSource(hc);
+    @Bean(destroyMethod = "")
+    @Primary
+    public HikariDataSource dataSource() {
+        dataSource = createDataSource("SteVe-Pool", CONFIG.getDb().getOcppPoolSize());
+        return dataSource;
     }
 
     /**
@@ -124,27 +137,65 @@ public class BeanConfiguration implements WebMvcConfigurer {
      * - http://jooq-user.narkive.com/2fvuLodn/dslcontext-and-threads
      * - https://groups.google.com/forum/#!topic/jooq-user/VK7KQcjj3Co
      * - http://stackoverflow.com/questions/32848865/jooq-dslcontext-correct-autowiring-with-spring
+     *
+     * This one is for the OCPP writes, and it is the default for everything that does not ask for another one.
      */
     @Bean
+    @Primary
     public DSLContext dslContext() {
-        initDataSource();
+        return createDslContext(new DataSourceConnectionProvider(dataSource()));
+    }
 
-        Settings settings = new Settings()
-                // Normally, the records are "attached" to the Configuration that created (i.e. fetch/insert) them.
-                // This means that they hold an internal reference to the same database connection that was used.
-                // The idea behind this is to make CRUD easier for potential subsequent store/refresh/delete
-                // operations. We do not use or need that.
-                .withAttachRecords(false)
-                // To log or not to log the sql queries, that is the question
-                .withExecuteLogging(CONFIG.getDb().isSqlLogging());
+    @Bean(name = DatabasePools.OCPP_READ)
+    public DSLContext ocppReadDslContext() {
+        HikariDataSource ds = createOtherDataSource("SteVe-Pool-OcppRead", CONFIG.getDb().getOcppReadPoolSize());
+        return createDslContext(new DataSourceConnectionProvider(ds));
+    }
 
-        // Configuration for JOOQ
-        org.jooq.Configuration conf = new DefaultConfiguration()
-                .set(SQLDialect.MYSQL)
-                .set(new DataSourceConnectionProvider(dataSource))
-                .set(settings);
+    @Bean(name = DatabasePools.WEB)
+    public DSLContext webDslContext() {
+        return createDslContext(new DataSourceConnectionProvider(getWebDataSource()));
+    }
 
-        return DSL.using(conf);
+    @Bean(name = DatabasePools.BATCH)
+    public DSLContext batchDslContext() {
+        return createDslContext(new DataSourceConnectionProvider(getBatchDataSource()));
+    }
+
+    /**
+     * Without the write-ahead log, it is not used and does not need connections of its own
+     */
+    @Bean(name = DatabasePools.WAL)
+    public DSLContext walDslContext() {
+        if (!CONFIG.getWriteAheadLog().isEnabled()) {
+            return dslContext();
+        }
+        HikariDataSource ds = createOtherDataSource("SteVe-Pool-Wal", CONFIG.getDb().getWalPoolSize());
+        return createDslContext(new DataSourceConnectionProvider(ds));
+    }
+
+    /**
+     * Without a replica, the same as {@link #webDslContext()}
+     */
+    @Bean(name = DatabasePools.WEB_REPLICA)
+    public DSLContext webReplicaDslContext() {
+        ReplicaRouter router = getReplicaRouter();
+        if (router == null) {
+            return webDslContext();
+        }
+        return createDslContext(router.connectionProvider(getWebDataSource()));
+    }
+
+    /**
+     * Without a replica, the same as {@link #batchDslContext()}
+     */
+    @Bean(name = DatabasePools.BATCH_REPLICA)
+    public DSLContext batchReplicaDslContext() {
+        ReplicaRouter router = getReplicaRouter();
+        if (router == null) {
+            return batchDslContext();
+        }
+        return createDslContext(router.connectionProvider(getBatchDataSource()));
     }
 
     @Bean
@@ -153,9 +204,40 @@ public class BeanConfiguration implements WebMvcConfigurer {
                                                                 .build();
 
         executor = new ScheduledThreadPoolExecutor(5, threadFactory);
+        new ExecutorServiceMetrics(executor, MetricsUtils.EXECUTOR, Tags.empty()).bindTo(meterRegistry());
         return executor;
     }
 
+    /**
+     * Replaces the default of Spring, such that the listeners of the OCPP events do not delay the responses to the
+     * stations. Shut down in {@link #shutDown()}.
+     */
+    @Bean(name = AbstractApplicationContext.APPLICATION_EVENT_MULTICASTER_BEAN_NAME)
+    public OcppEventMulticaster applicationEventMulticaster() {
+        eventMulticaster = new OcppEventMulticaster(CONFIG.getEvents(), meterRegistry());
+        return eventMulticaster;
+    }
+
+    /**
+     * The single registry of all meters. It is always collecting, even if the scrape endpoint is disabled
+     * (see {@link de.rwth.idsg.steve.web.controller.MetricsController}), since the meters are cheap to update.
+     */
+    @Bean
+    public PrometheusMeterRegistry meterRegistry() {
+        PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+
+        new ClassLoaderMetrics().bindTo(registry);
+        new JvmMemoryMetrics().bindTo(registry);
+        new JvmThreadMetrics().bindTo(registry);
+        new ProcessorMetrics().bindTo(registry);
+        new UptimeMetrics().bindTo(registry);
+
+        jvmGcMetrics = new JvmGcMetrics();
+        jvmGcMetrics.bindTo(registry);
+
+        return registry;
+    }
+
     @Bean
     public Validator validator() {
         return new LocalValidatorFactoryBean();
@@ -183,13 +265,153 @@ public class BeanConfiguration implements WebMvcConfigurer {
 
     @PreDestroy
     public void shutDown() {
+        // the listeners might need the database
+        if (eventMulticaster != null) {
+            eventMulticaster.shutDown(10, TimeUnit.SECONDS);
+        }
+
         if (dataSource != null) {
             dataSource.close();
         }
 
+        for (HikariDataSource ds : otherDataSources) {
+            ds.close();
+        }
+
         if (executor != null) {
             gracefulShutDown(executor);
         }
+
+        if (jvmGcMetrics != null) {
+            jvmGcMetrics.close();
+        }
+
+        MessageJournal.INSTANCE.close();
+    }
+
+    private HikariDataSource getWebDataSource() {
+        if (webDataSource == null) {
+            webDataSource = createOtherDataSource("SteVe-Pool-Web", CONFIG.getDb().getWebPoolSize());
+        }
+        return webDataSource;
+    }
+
+    private HikariDataSource getBatchDataSource() {
+        if (batchDataSource == null) {
+            batchDataSource = createOtherDataSource("SteVe-Pool-Batch", CONFIG.getDb().getBatchPoolSize());
+        }
+        return batchDataSource;
+    }
+
+    /**
+     * @return null, if no replica is configured
+     */
+    private ReplicaRouter getReplicaRouter() {
+        SteveConfiguration.DbReplica replicaConfig = CONFIG.getDbReplica();
+        if (!replicaConfig.isEnabled() || replicaRouter != null) {
+            return replicaRouter;
+        }
+
+        HikariConfig hc = createHikariConfig(replicaConfig.getIp(), replicaConfig.getPort(), replicaConfig.getSchema(),
+                                             replicaConfig.getUserName(), replicaConfig.getPassword());
+        hc.setReadOnly(true);
+        HikariDataSource ds = createDataSource(hc, "SteVe-Pool-Replica", replicaConfig.getPoolSize());
+        otherDataSources.add(ds);
+
+        replicaRouter = new ReplicaRouter(ds, replicaConfig.getMaxLagSeconds());
+
+        // check often enough that the lag does not grow far beyond the tolerance between two checks
+        long intervalSeconds = Math.max(1, Math.min(5, replicaConfig.getMaxLagSeconds() / 2));
+        scheduledExecutorService().scheduleWithFixedDelay(replicaRouter::checkLag, 0, intervalSeconds,
+                                                          TimeUnit.SECONDS);
+
+        Gauge.builder(MetricsUtils.DB_REPLICA_LAG, replicaRouter, ReplicaRouter::getLagSeconds)
+             .description("Replication lag of the read replica, NaN if unknown")
+             .baseUnit("seconds")
+             .register(meterRegistry());
+
+        log.info("Read replica {}:{} with a maximum lag of {} s", replicaConfig.getIp(), replicaConfig.getPort(),
+                 replicaConfig.getMaxLagSeconds());
+        return replicaRouter;
+    }
+
+    private HikariDataSource createDataSource(String poolName, int maxPoolSize) {
+        SteveConfiguration.DB dbConfig = CONFIG.getDb();
+        HikariConfig hc = createHikariConfig(dbConfig.getIp(), dbConfig.getPort(), dbConfig.getSchema(),
+                                             dbConfig.getUserName(), dbConfig.getPassword());
+        return createDataSource(hc, poolName, maxPoolSize);
+    }
+
+    private HikariConfig createHikariConfig(String ip, int port, String schema, String userName, String password) {
+        HikariConfig hc = new HikariConfig();
+
+        // set standard params
+        hc.setJdbcUrl("jdbc:mysql://" + ip + ":" + port + "/" + schema);
+        hc.setUsername(userName);
+        hc.setPassword(password);
+
+        // set non-standard params
+        hc.addDataSourceProperty(PropertyKey.cachePrepStmts.getKeyName(), true);
+        hc.addDataSourceProperty(PropertyKey.useServerPrepStmts.getKeyName(), true);
+        hc.addDataSourceProperty(PropertyKey.prepStmtCacheSize.getKeyName(), 250);
+        hc.addDataSourceProperty(PropertyKey.prepStmtCacheSqlLimit.getKeyName(), 2048);
+        hc.addDataSourceProperty(PropertyKey.characterEncoding.getKeyName(), "utf8");
+        hc.addDataSourceProperty(PropertyKey.connectionTimeZone.getKeyName(), CONFIG.getTimeZoneId());
+        hc.addDataSourceProperty(PropertyKey.useSSL.getKeyName(), true);
+
+        // https://github.com/steve-community/steve/issues/736
+        hc.setMaxLifetime(580_000);
+
+        return hc;
+    }
+
+    private HikariDataSource createDataSource(HikariConfig hc, String poolName, int maxPoolSize) {
+        hc.setPoolName(poolName);
+        hc.setMaximumPoolSize(maxPoolSize);
+        hc.setMetricRegistry(meterRegistry());
+
+        HikariDataSource ds = new HikariDataSource(hc);
+
+        // the share of the connections in use. at 1, the next query of this bulkhead waits for a connection.
+        Gauge.builder(MetricsUtils.DB_POOL_USAGE, ds, BeanConfiguration::getPoolUsage)
+             .tag(MetricsUtils.POOL, poolName)
+             .register(meterRegistry());
+
+        return ds;
+    }
+
+    private HikariDataSource createOtherDataSource(String poolName, int maxPoolSize) {
+        HikariDataSource ds = createDataSource(poolName, maxPoolSize);
+        otherDataSources.add(ds);
+        return ds;
+    }
+
+    private DSLContext createDslContext(ConnectionProvider connectionProvider) {
+        Settings settings = new Settings()
+                // Normally, the records are "attached" to the Configuration that created (i.e. fetch/insert) them.
+                // This means that they hold an internal reference to the same database connection that was used.
+                // The idea behind this is to make CRUD easier for potential subsequent store/refresh/delete
+                // operations. We do not use or need that.
+                .withAttachRecords(false)
+                // To log or not to log the sql queries, that is the question
+                .withExecuteLogging(CONFIG.getDb().isSqlLogging());
+
+        // Configuration for JOOQ
+        org.jooq.Configuration conf = new DefaultConfiguration()
+                .set(SQLDialect.MYSQL)
+                .set(connectionProvider)
+                .set(settings)
+                .set(new QueryMetricsListener(meterRegistry()));
+
+        return DSL.using(conf);
+    }
+
+    private static double getPoolUsage(HikariDataSource ds) {
+        HikariPoolMXBean pool = ds.getHikariPoolMXBean();
+        if (pool == null) {
+            return 0;
+        }
+        return (double) pool.getActiveConnections() / ds.getMaximumPoolSize();
     }
 
     private void gracefulShutDown(ExecutorService executor) {
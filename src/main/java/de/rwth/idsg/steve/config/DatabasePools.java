@@ -0,0 +1,72 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.config;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * The bulkheads of the database. Each has its own connection pool and DSLContext (see {@link BeanConfiguration}),
+ * such that a heavy query of the Web interface cannot take the connections that the stations are waiting for. The
+ * DSLContext of {@link #OCPP} is the primary bean, the others are injected with their qualifier.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class DatabasePools {
+
+    /**
+     * The writes of the OCPP messages
+     */
+    public static final String OCPP = "dslContext";
+
+    /**
+     * The reads of the OCPP messages, e.g. the authorization of an idTag
+     */
+    public static final String OCPP_READ = "ocppReadDslContext";
+
+    /**
+     * The Web interface and the REST API
+     */
+    public static final String WEB = "webDslContext";
+
+    /**
+     * The exports and the background jobs
+     */
+    public static final String BATCH = "batchDslContext";
+
+    /**
+     * Applying the write-ahead log of the deferred OCPP writes. Separate from {@link #BATCH}, since a slow download
+     * of an export holds its connection for as long as it takes, and the log must not fall behind because of it
+     */
+    public static final String WAL = "walDslContext";
+
+    /**
+     * The reports of the Web interface and the REST API that can be a few seconds behind. Goes to the read replica,
+     * if one is configured and it is in sync, otherwise the same as {@link #WEB}
+     */
+    public static final String WEB_REPLICA = "webReplicaDslContext";
+
+    /**
+     * The exports that can be a few seconds behind. Goes to the read replica, if one is configured and it is in
+     * sync, otherwise the same as {@link #BATCH}
+     */
+    public static final String BATCH_REPLICA = "batchReplicaDslContext";
+}
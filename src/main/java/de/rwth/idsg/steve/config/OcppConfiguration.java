@@ -18,9 +18,15 @@
  */
 package de.rwth.idsg.steve.config;
 
+import de.rwth.idsg.steve.ocpp.OcppVersion;
+import de.rwth.idsg.steve.ocpp.soap.AdmissionInterceptor;
 import de.rwth.idsg.steve.ocpp.soap.LoggingFeatureProxy;
 import de.rwth.idsg.steve.ocpp.soap.MediatorInInterceptor;
 import de.rwth.idsg.steve.ocpp.soap.MessageIdInterceptor;
+import de.rwth.idsg.steve.ocpp.soap.MetricsInInterceptor;
+import de.rwth.idsg.steve.ocpp.soap.MetricsOutInterceptor;
+import de.rwth.idsg.steve.service.admission.AdmissionControlService;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.cxf.Bus;
 import org.apache.cxf.bus.spring.SpringBus;
 import org.apache.cxf.common.logging.LogUtils;
@@ -30,6 +36,7 @@ import org.apache.cxf.interceptor.Interceptor;
 import org.apache.cxf.jaxws.JaxWsServerFactoryBean;
 import org.apache.cxf.message.Message;
 import org.apache.cxf.phase.PhaseInterceptor;
+import org.jetbrains.annotations.Nullable;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
@@ -61,24 +68,33 @@ public class OcppConfiguration {
     @Autowired private ocpp.cs._2012._06.CentralSystemService ocpp15Server;
     @Autowired private ocpp.cs._2015._10.CentralSystemService ocpp16Server;
 
+    @Autowired private MeterRegistry meterRegistry;
+    @Autowired private AdmissionControlService admissionControlService;
+
     @Autowired
     @Qualifier("MessageHeaderInterceptor")
     private PhaseInterceptor<Message> messageHeaderInterceptor;
 
     @PostConstruct
     public void init() {
-        List<Interceptor<? extends Message>> interceptors = asList(new MessageIdInterceptor(), messageHeaderInterceptor);
+        MetricsInInterceptor metricsInInterceptor = new MetricsInInterceptor();
+
+        List<Interceptor<? extends Message>> interceptors = asList(
+                new MessageIdInterceptor(), messageHeaderInterceptor, new AdmissionInterceptor(admissionControlService),
+                metricsInInterceptor
+        );
         List<Feature> logging = singletonList(LoggingFeatureProxy.INSTANCE.get());
 
-        createOcppService(ocpp12Server, "/CentralSystemServiceOCPP12", interceptors, logging);
-        createOcppService(ocpp15Server, "/CentralSystemServiceOCPP15", interceptors, logging);
-        createOcppService(ocpp16Server, "/CentralSystemServiceOCPP16", interceptors, logging);
+        createOcppService(ocpp12Server, "/CentralSystemServiceOCPP12", OcppVersion.V_12, interceptors, logging);
+        createOcppService(ocpp15Server, "/CentralSystemServiceOCPP15", OcppVersion.V_15, interceptors, logging);
+        createOcppService(ocpp16Server, "/CentralSystemServiceOCPP16", OcppVersion.V_16, interceptors, logging);
 
         // Just a dummy service to route incoming messages to the appropriate service version. This should be the last
         // one to be created, since in MediatorInInterceptor we go over created/registered services and build a map.
         //
-        List<Interceptor<? extends Message>> mediator = singletonList(new MediatorInInterceptor(springBus()));
-        createOcppService(ocpp12Server, CONFIG.getRouterEndpointPath(), mediator, Collections.emptyList());
+        List<Interceptor<? extends Message>> mediator =
+                asList(metricsInInterceptor, new MediatorInInterceptor(springBus()));
+        createOcppService(ocpp12Server, CONFIG.getRouterEndpointPath(), null, mediator, Collections.emptyList());
     }
 
     @Bean(name = Bus.DEFAULT_BUS_ID, destroyMethod = "shutdown")
@@ -86,7 +102,11 @@ public class OcppConfiguration {
         return new SpringBus();
     }
 
-    private void createOcppService(Object serviceBean, String address,
+    /**
+     * @param version the OCPP version of the service, which is used to record the metrics of its operations. Null for
+     *                the routing service, since the version-specific service writes the response.
+     */
+    private void createOcppService(Object serviceBean, String address, @Nullable OcppVersion version,
                                    List<Interceptor<? extends Message>> interceptors,
                                    Collection<? extends Feature> features) {
         JaxWsServerFactoryBean f = new JaxWsServerFactoryBean();
@@ -95,6 +115,10 @@ public class OcppConfiguration {
         f.setAddress(address);
         f.getFeatures().addAll(features);
         f.getInInterceptors().addAll(interceptors);
+        if (version != null) {
+            f.getOutInterceptors().add(new MetricsOutInterceptor(meterRegistry, version, true));
+            f.getOutFaultInterceptors().add(new MetricsOutInterceptor(meterRegistry, version, false));
+        }
         f.create();
     }
 }
@@ -134,6 +134,26 @@ public class SecurityConfiguration {
             .build();
     }
 
+    /**
+     * The scrape endpoint of the metrics is accessed by machines (e.g. Prometheus), which cannot use the login form of
+     * the Web interface. Therefore, HTTP Basic authentication with the same credentials.
+     */
+    @Bean
+    @Order(2)
+    public SecurityFilterChain metricsFilterChain(HttpSecurity http) throws Exception {
+        return http.antMatcher(CONFIG.getMetricsMapping() + "/**")
+            .csrf().disable()
+            .sessionManagement().sessionCreationPolicy(SessionCreationPolicy.STATELESS)
+            .and()
+            .authorizeRequests()
+            .anyRequest()
+            .hasRole("ADMIN")
+            .and()
+            .httpBasic()
+            .and()
+            .build();
+    }
+
     /**
      * Enable Web APIs only if both properties for API key are set. This has two consequences:
      * 1) Backwards compatibility: Existing installations with older properties file, that does not include these two
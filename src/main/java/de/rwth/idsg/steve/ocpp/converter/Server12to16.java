@@ -0,0 +1,73 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.ocpp.converter;
+
+/**
+ * Maps OCPP 1.2 messages directly to their OCPP 1.6 counterparts (and back), without the intermediate
+ * OCPP 1.5 object graph that chaining {@link Server12to15} and {@link Server15to16} would create.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+public interface Server12to16 {
+
+    // -------------------------------------------------------------------------
+    // Requests
+    // -------------------------------------------------------------------------
+
+    ocpp.cs._2015._10.BootNotificationRequest convertRequest(ocpp.cs._2010._08.BootNotificationRequest request);
+
+    ocpp.cs._2015._10.FirmwareStatusNotificationRequest convertRequest(ocpp.cs._2010._08.FirmwareStatusNotificationRequest request);
+
+    ocpp.cs._2015._10.StatusNotificationRequest convertRequest(ocpp.cs._2010._08.StatusNotificationRequest request);
+
+    ocpp.cs._2015._10.MeterValuesRequest convertRequest(ocpp.cs._2010._08.MeterValuesRequest request);
+
+    ocpp.cs._2015._10.DiagnosticsStatusNotificationRequest convertRequest(ocpp.cs._2010._08.DiagnosticsStatusNotificationRequest request);
+
+    ocpp.cs._2015._10.StartTransactionRequest convertRequest(ocpp.cs._2010._08.StartTransactionRequest request);
+
+    ocpp.cs._2015._10.StopTransactionRequest convertRequest(ocpp.cs._2010._08.StopTransactionRequest request);
+
+    ocpp.cs._2015._10.HeartbeatRequest convertRequest(ocpp.cs._2010._08.HeartbeatRequest request);
+
+    ocpp.cs._2015._10.AuthorizeRequest convertRequest(ocpp.cs._2010._08.AuthorizeRequest request);
+
+    // -------------------------------------------------------------------------
+    // Responses
+    // -------------------------------------------------------------------------
+
+    ocpp.cs._2010._08.BootNotificationResponse convertResponse(ocpp.cs._2015._10.BootNotificationResponse response);
+
+    ocpp.cs._2010._08.FirmwareStatusNotificationResponse convertResponse(ocpp.cs._2015._10.FirmwareStatusNotificationResponse response);
+
+    ocpp.cs._2010._08.StatusNotificationResponse convertResponse(ocpp.cs._2015._10.StatusNotificationResponse response);
+
+    ocpp.cs._2010._08.MeterValuesResponse convertResponse(ocpp.cs._2015._10.MeterValuesResponse response);
+
+    ocpp.cs._2010._08.DiagnosticsStatusNotificationResponse convertResponse(ocpp.cs._2015._10.DiagnosticsStatusNotificationResponse response);
+
+    ocpp.cs._2010._08.StartTransactionResponse convertResponse(ocpp.cs._2015._10.StartTransactionResponse response);
+
+    ocpp.cs._2010._08.StopTransactionResponse convertResponse(ocpp.cs._2015._10.StopTransactionResponse response);
+
+    ocpp.cs._2010._08.HeartbeatResponse convertResponse(ocpp.cs._2015._10.HeartbeatResponse response);
+
+    ocpp.cs._2010._08.AuthorizeResponse convertResponse(ocpp.cs._2015._10.AuthorizeResponse response);
+}
@@ -0,0 +1,245 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.ocpp.converter;
+
+import ocpp.cs._2010._08.AuthorizationStatus;
+import ocpp.cs._2010._08.AuthorizeResponse;
+import ocpp.cs._2010._08.BootNotificationResponse;
+import ocpp.cs._2010._08.DiagnosticsStatusNotificationResponse;
+import ocpp.cs._2010._08.FirmwareStatusNotificationResponse;
+import ocpp.cs._2010._08.HeartbeatResponse;
+import ocpp.cs._2010._08.IdTagInfo;
+import ocpp.cs._2010._08.MeterValuesResponse;
+import ocpp.cs._2010._08.RegistrationStatus;
+import ocpp.cs._2010._08.StartTransactionResponse;
+import ocpp.cs._2010._08.StatusNotificationResponse;
+import ocpp.cs._2010._08.StopTransactionResponse;
+import ocpp.cs._2015._10.AuthorizeRequest;
+import ocpp.cs._2015._10.BootNotificationRequest;
+import ocpp.cs._2015._10.ChargePointErrorCode;
+import ocpp.cs._2015._10.ChargePointStatus;
+import ocpp.cs._2015._10.DiagnosticsStatus;
+import ocpp.cs._2015._10.DiagnosticsStatusNotificationRequest;
+import ocpp.cs._2015._10.FirmwareStatus;
+import ocpp.cs._2015._10.FirmwareStatusNotificationRequest;
+import ocpp.cs._2015._10.HeartbeatRequest;
+import ocpp.cs._2015._10.MeterValue;
+import ocpp.cs._2015._10.MeterValuesRequest;
+import ocpp.cs._2015._10.SampledValue;
+import ocpp.cs._2015._10.StartTransactionRequest;
+import ocpp.cs._2015._10.StatusNotificationRequest;
+import ocpp.cs._2015._10.StopTransactionRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The mapping is semantically identical to {@link Server12to15Impl} followed by {@link Server15to16Impl}.
+ * OCPP 1.2 has no fields that 1.5 would add and 1.6 would need, therefore we can skip the hop in between.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+public enum Server12to16Impl implements Server12to16 {
+    SINGLETON;
+
+    // -------------------------------------------------------------------------
+    // Requests
+    // -------------------------------------------------------------------------
+
+    @Override
+    public BootNotificationRequest convertRequest(ocpp.cs._2010._08.BootNotificationRequest request) {
+        return new BootNotificationRequest()
+                .withChargePointVendor(request.getChargePointVendor())
+                .withChargePointModel(request.getChargePointModel())
+                .withChargePointSerialNumber(request.getChargePointSerialNumber())
+                .withChargeBoxSerialNumber(request.getChargeBoxSerialNumber())
+                .withFirmwareVersion(request.getFirmwareVersion())
+                .withIccid(request.getIccid())
+                .withImsi(request.getImsi())
+                .withMeterType(request.getMeterType())
+                .withMeterSerialNumber(request.getMeterSerialNumber());
+    }
+
+    @Override
+    public FirmwareStatusNotificationRequest convertRequest(ocpp.cs._2010._08.FirmwareStatusNotificationRequest request) {
+        return new FirmwareStatusNotificationRequest()
+                .withStatus(FirmwareStatus.fromValue(request.getStatus().value()));
+    }
+
+    @Override
+    public StatusNotificationRequest convertRequest(ocpp.cs._2010._08.StatusNotificationRequest request) {
+        return new StatusNotificationRequest()
+                .withConnectorId(request.getConnectorId())
+                .withStatus(customMapStatus(request.getStatus()))
+                .withErrorCode(customMapErrorCode(request.getErrorCode()));
+    }
+
+    /**
+     * OCPP 1.2 only knows integer values without any further description. In 1.6 terms, these are
+     * sampled values with default context, format, location, measurand and unit.
+     */
+    @Override
+    public MeterValuesRequest convertRequest(ocpp.cs._2010._08.MeterValuesRequest request) {
+        List<ocpp.cs._2010._08.MeterValue> values12 = request.getValues();
+        List<MeterValue> values16 = new ArrayList<>(values12.size());
+
+        for (ocpp.cs._2010._08.MeterValue e : values12) {
+            values16.add(new MeterValue().withTimestamp(e.getTimestamp())
+                                         .withSampledValue(new SampledValue().withValue(Integer.toString(e.getValue()))));
+        }
+
+        return new MeterValuesRequest()
+                .withConnectorId(request.getConnectorId())
+                .withMeterValue(values16);
+    }
+
+    @Override
+    public DiagnosticsStatusNotificationRequest convertRequest(ocpp.cs._2010._08.DiagnosticsStatusNotificationRequest request) {
+        return new DiagnosticsStatusNotificationRequest()
+                .withStatus(DiagnosticsStatus.fromValue(request.getStatus().value()));
+    }
+
+    @Override
+    public StartTransactionRequest convertRequest(ocpp.cs._2010._08.StartTransactionRequest request) {
+        return new StartTransactionRequest()
+                .withConnectorId(request.getConnectorId())
+                .withIdTag(request.getIdTag())
+                .withMeterStart(request.getMeterStart())
+                .withTimestamp(request.getTimestamp());
+    }
+
+    /**
+     * OCPP 1.2 has no transaction data, so there are no meter values to map.
+     */
+    @Override
+    public StopTransactionRequest convertRequest(ocpp.cs._2010._08.StopTransactionRequest request) {
+        return new StopTransactionRequest()
+                .withIdTag(request.getIdTag())
+                .withMeterStop(request.getMeterStop())
+                .withTimestamp(request.getTimestamp())
+                .withTransactionId(request.getTransactionId());
+    }
+
+    @Override
+    public HeartbeatRequest convertRequest(ocpp.cs._2010._08.HeartbeatRequest request) {
+        return new HeartbeatRequest();
+    }
+
+    @Override
+    public AuthorizeRequest convertRequest(ocpp.cs._2010._08.AuthorizeRequest request) {
+        return new AuthorizeRequest()
+                .withIdTag(request.getIdTag());
+    }
+
+    // -------------------------------------------------------------------------
+    // Responses
+    // -------------------------------------------------------------------------
+
+    @Override
+    public BootNotificationResponse convertResponse(ocpp.cs._2015._10.BootNotificationResponse response) {
+        return new BootNotificationResponse()
+                .withCurrentTime(response.getCurrentTime())
+                .withHeartbeatInterval(response.getInterval())
+                .withStatus(RegistrationStatus.fromValue(response.getStatus().value()));
+    }
+
+    @Override
+    public FirmwareStatusNotificationResponse convertResponse(ocpp.cs._2015._10.FirmwareStatusNotificationResponse response) {
+        return new FirmwareStatusNotificationResponse();
+    }
+
+    @Override
+    public StatusNotificationResponse convertResponse(ocpp.cs._2015._10.StatusNotificationResponse response) {
+        return new StatusNotificationResponse();
+    }
+
+    @Override
+    public MeterValuesResponse convertResponse(ocpp.cs._2015._10.MeterValuesResponse response) {
+        return new MeterValuesResponse();
+    }
+
+    @Override
+    public DiagnosticsStatusNotificationResponse convertResponse(ocpp.cs._2015._10.DiagnosticsStatusNotificationResponse response) {
+        return new DiagnosticsStatusNotificationResponse();
+    }
+
+    @Override
+    public StartTransactionResponse convertResponse(ocpp.cs._2015._10.StartTransactionResponse response) {
+        return new StartTransactionResponse()
+                .withIdTagInfo(toOcpp12TagInfo(response.getIdTagInfo()))
+                .withTransactionId(response.getTransactionId());
+    }
+
+    @Override
+    public StopTransactionResponse convertResponse(ocpp.cs._2015._10.StopTransactionResponse response) {
+        return new StopTransactionResponse()
+                .withIdTagInfo(toOcpp12TagInfo(response.getIdTagInfo()));
+    }
+
+    @Override
+    public HeartbeatResponse convertResponse(ocpp.cs._2015._10.HeartbeatResponse response) {
+        return new HeartbeatResponse()
+                .withCurrentTime(response.getCurrentTime());
+    }
+
+    @Override
+    public AuthorizeResponse convertResponse(ocpp.cs._2015._10.AuthorizeResponse response) {
+        return new AuthorizeResponse()
+                .withIdTagInfo(toOcpp12TagInfo(response.getIdTagInfo()));
+    }
+
+    // -------------------------------------------------------------------------
+    // Custom mapping, for situations where a unique mapping does not exists
+    // -------------------------------------------------------------------------
+
+    /**
+     * Same as in {@link Server15to16Impl}: OCCUPIED was replaced with several more specific values.
+     */
+    private static ChargePointStatus customMapStatus(ocpp.cs._2010._08.ChargePointStatus status) {
+        if (status == ocpp.cs._2010._08.ChargePointStatus.OCCUPIED) {
+            return ChargePointStatus.CHARGING;
+        }
+        return ChargePointStatus.fromValue(status.value());
+    }
+
+    /**
+     * Same as in {@link Server15to16Impl}: MODE_3_ERROR was renamed to EV_COMMUNICATION_ERROR in 1.6.
+     */
+    private static ChargePointErrorCode customMapErrorCode(ocpp.cs._2010._08.ChargePointErrorCode errorCode12) {
+        if (errorCode12 == ocpp.cs._2010._08.ChargePointErrorCode.MODE_3_ERROR) {
+            return ChargePointErrorCode.EV_COMMUNICATION_ERROR;
+        }
+        return ChargePointErrorCode.fromValue(errorCode12.value());
+    }
+
+    // -------------------------------------------------------------------------
+    // Helpers
+    // -------------------------------------------------------------------------
+
+    private static IdTagInfo toOcpp12TagInfo(ocpp.cs._2015._10.IdTagInfo info16) {
+        if (info16 == null) {
+            return null;
+        }
+        return new IdTagInfo()
+                .withExpiryDate(info16.getExpiryDate())
+                .withParentIdTag(info16.getParentIdTag())
+                .withStatus(AuthorizationStatus.fromValue(info16.getStatus().value()));
+    }
+}
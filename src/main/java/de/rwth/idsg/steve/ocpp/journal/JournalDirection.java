@@ -0,0 +1,47 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.ocpp.journal;
+
+/**
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+public enum JournalDirection {
+    IN(1),
+    OUT(2);
+
+    private final int code;
+
+    JournalDirection(int code) {
+        this.code = code;
+    }
+
+    int getCode() {
+        return code;
+    }
+
+    static JournalDirection fromCode(int code) {
+        for (JournalDirection direction : values()) {
+            if (direction.code == code) {
+                return direction;
+            }
+        }
+        throw new IllegalArgumentException("Unknown journal direction: " + code);
+    }
+}
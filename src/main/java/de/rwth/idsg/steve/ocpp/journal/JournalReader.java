@@ -0,0 +1,108 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.ocpp.journal;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Extracts the messages of one station from the segments. Sealed segments are looked up with their index, only the
+ * segment currently written to (and one left behind by a crash) is scanned.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class JournalReader {
+
+    private final Path directory;
+
+    /**
+     * @param fromMillis inclusive
+     * @param toMillis   inclusive
+     * @return the records in the order they were written
+     */
+    public List<JournalRecord> read(String chargeBoxId, long fromMillis, long toMillis, int limit)
+            throws IOException {
+        List<JournalRecord> result = new ArrayList<>();
+        List<Path> segments = JournalSegment.list(directory);
+
+        for (int i = 0; i < segments.size() && result.size() < limit; i++) {
+            Path segment = segments.get(i);
+
+            // a segment ends where the next one starts
+            long startMillis = JournalSegment.getStartMillis(segment);
+            long endMillis = i + 1 < segments.size()
+                    ? JournalSegment.getStartMillis(segments.get(i + 1))
+                    : Long.MAX_VALUE;
+            if (endMillis < fromMillis || startMillis > toMillis) {
+                continue;
+            }
+
+            try {
+                readSegment(segment, chargeBoxId, fromMillis, toMillis, limit, result);
+            } catch (NoSuchFileException e) {
+                // deleted by the writer in the meantime
+                log.debug("Journal segment {} is gone", segment);
+            }
+        }
+        return result;
+    }
+
+    private static void readSegment(Path segment, String chargeBoxId, long fromMillis, long toMillis, int limit,
+                                    List<JournalRecord> result) throws IOException {
+        ByteBuffer buffer = JournalSegment.mapForReading(segment);
+        long[][] index = JournalSegment.readIndex(segment, chargeBoxId);
+
+        if (index == null) {
+            JournalSegment.scan(buffer, record -> {
+                if (result.size() < limit
+                        && record.getChargeBoxId().equals(chargeBoxId)
+                        && isInRange(record.getTimestamp(), fromMillis, toMillis)) {
+                    result.add(record);
+                }
+            });
+            return;
+        }
+
+        for (long[] entry : index) {
+            if (result.size() >= limit) {
+                return;
+            }
+            if (isInRange(entry[0], fromMillis, toMillis)) {
+                JournalRecord record = JournalSegment.readRecord(buffer, (int) entry[1]);
+                if (record != null) {
+                    result.add(record);
+                }
+            }
+        }
+    }
+
+    private static boolean isInRange(long timestamp, long fromMillis, long toMillis) {
+        return fromMillis <= timestamp && timestamp <= toMillis;
+    }
+}
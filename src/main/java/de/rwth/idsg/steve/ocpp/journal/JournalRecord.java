@@ -0,0 +1,48 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.ocpp.journal;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * One WebSocket text message (or one frame of it, if it arrived in multiple frames) as it was on the wire.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class JournalRecord {
+
+    /**
+     * Epoch millis
+     */
+    private final long timestamp;
+    private final String chargeBoxId;
+    private final JournalDirection direction;
+
+    /**
+     * False, if this is a frame of a message which is continued in the next record of the station
+     */
+    private final boolean last;
+    private final String payload;
+}
@@ -0,0 +1,105 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.ocpp.journal;
+
+import de.rwth.idsg.steve.ocpp.ws.data.CommunicationContext;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Feeds the CALLs of the stations from the journal through a message pipeline again, e.g. to reproduce a problem or
+ * to measure the pipeline with real traffic. The CALL_RESULTs and CALL_ERRORs of the stations are skipped, since
+ * there is no request of ours waiting for them. Messages that were journaled in frames are put together first.
+ *
+ * The responses are sent to the given session, so it is up to the caller where they end up.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class JournalReplayer {
+
+    private static final Pattern CALL_PATTERN = Pattern.compile("^\\s*\\[\\s*2\\s*,");
+
+    private final Consumer<CommunicationContext> pipeline;
+
+    public Result replay(List<JournalRecord> records, WebSocketSession session) {
+        Map<String, StringBuilder> framesPerStation = new HashMap<>();
+        Result result = new Result();
+
+        for (JournalRecord record : records) {
+            if (record.getDirection() != JournalDirection.IN) {
+                continue;
+            }
+
+            StringBuilder frames = framesPerStation.get(record.getChargeBoxId());
+            if (!record.isLast()) {
+                framesPerStation.computeIfAbsent(record.getChargeBoxId(), k -> new StringBuilder())
+                                .append(record.getPayload());
+                continue;
+            }
+
+            String message = record.getPayload();
+            if (frames != null) {
+                message = frames.append(message).toString();
+                framesPerStation.remove(record.getChargeBoxId());
+            }
+
+            if (!CALL_PATTERN.matcher(message).find()) {
+                result.skipped++;
+                continue;
+            }
+
+            CommunicationContext context = new CommunicationContext(session, record.getChargeBoxId());
+            context.setIncomingString(message);
+
+            long startNanos = System.nanoTime();
+            try {
+                pipeline.accept(context);
+                result.replayed++;
+            } catch (RuntimeException e) {
+                log.warn("[chargeBoxId={}] Replay of the message failed: {}", record.getChargeBoxId(), e.getMessage());
+                result.failed++;
+            } finally {
+                result.totalNanos += System.nanoTime() - startNanos;
+            }
+        }
+
+        return result;
+    }
+
+    @Getter
+    @ToString
+    public static class Result {
+        private int replayed;
+        private int failed;
+        private int skipped;
+        private long totalNanos;
+    }
+}
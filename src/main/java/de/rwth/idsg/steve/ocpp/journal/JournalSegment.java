@@ -0,0 +1,316 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.ocpp.journal;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * One file of the journal. It has a fixed size and is memory-mapped, such that appending a record is a memory copy.
+ * After a header (magic number and format version), the records follow one after another:
+ *
+ * <pre>
+ * int    length of the record without this field (0 marks the end)
+ * long   timestamp (epoch millis)
+ * byte   flags (direction, and whether the message continues in the next record)
+ * short  length of the chargeBoxId in bytes, followed by the UTF-8 bytes
+ * int    length of the payload in bytes, followed by the UTF-8 bytes
+ * </pre>
+ *
+ * The length of a record is written last. A record that was not written completely (e.g. the process was killed)
+ * is therefore never visible to a reader.
+ *
+ * The offsets of the records are indexed per chargeBoxId in memory. When the segment is full, this index is written
+ * to a file next to the segment, such that the messages of a station can be extracted without a full scan.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+final class JournalSegment {
+
+    static final int HEADER_SIZE = 8;
+
+    private static final int MAGIC = 0x5354564A;
+    private static final int INDEX_MAGIC = 0x53545649;
+    private static final int VERSION = 1;
+
+    private static final int FLAG_DIRECTION_MASK = 0x0F;
+    private static final int FLAG_NOT_LAST = 0x10;
+
+    private static final String PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String INDEX_SUFFIX = ".idx";
+
+    private final Path file;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final Map<String, StationIndex> index = new HashMap<>();
+
+    private JournalSegment(Path file, FileChannel channel, MappedByteBuffer buffer) {
+        this.file = file;
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    static JournalSegment create(Path directory, long startMillis, int sizeBytes) throws IOException {
+        Path file = directory.resolve(fileName(startMillis));
+        while (Files.exists(file)) {
+            file = directory.resolve(fileName(++startMillis));
+        }
+
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.setLength(sizeBytes);
+        }
+
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, sizeBytes);
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+        return new JournalSegment(file, channel, buffer);
+    }
+
+    static int recordSize(int chargeBoxIdBytes, int payloadBytes) {
+        return 4 + 8 + 1 + 2 + chargeBoxIdBytes + 4 + payloadBytes;
+    }
+
+    /**
+     * @return false, if the record does not fit into the rest of this segment
+     */
+    boolean append(long timestamp, String chargeBoxId, byte[] chargeBoxIdBytes, JournalDirection direction,
+                   boolean last, byte[] payload) {
+        int offset = buffer.position();
+        int size = recordSize(chargeBoxIdBytes.length, payload.length);
+        if (size > buffer.remaining()) {
+            return false;
+        }
+
+        buffer.position(offset + 4);
+        buffer.putLong(timestamp);
+        buffer.put((byte) (direction.getCode() | (last ? 0 : FLAG_NOT_LAST)));
+        buffer.putShort((short) chargeBoxIdBytes.length);
+        buffer.put(chargeBoxIdBytes);
+        buffer.putInt(payload.length);
+        buffer.put(payload);
+        buffer.putInt(offset, size - 4);
+
+        index.computeIfAbsent(chargeBoxId, k -> new StationIndex()).add(timestamp, offset);
+        return true;
+    }
+
+    /**
+     * Flushes the records to disk and writes the index. The segment must not be used afterwards.
+     */
+    void seal() throws IOException {
+        buffer.force();
+        channel.close();
+
+        Path indexFile = indexFile(file);
+        Path tmpFile = indexFile.resolveSibling(indexFile.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmpFile)))) {
+            out.writeInt(INDEX_MAGIC);
+            out.writeInt(index.size());
+            for (Map.Entry<String, StationIndex> entry : index.entrySet()) {
+                StationIndex station = entry.getValue();
+                out.writeUTF(entry.getKey());
+                out.writeInt(station.size);
+                for (int i = 0; i < station.size; i++) {
+                    out.writeLong(station.timestamps[i]);
+                    out.writeInt(station.offsets[i]);
+                }
+            }
+        }
+        Files.move(tmpFile, indexFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    // -------------------------------------------------------------------------
+    // Reading
+    // -------------------------------------------------------------------------
+
+    /**
+     * @return the segment files in the directory, oldest first
+     */
+    static List<Path> list(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return new ArrayList<>();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(JournalSegment::isSegmentFile)
+                        .sorted()
+                        .collect(Collectors.toList());
+        }
+    }
+
+    static long getStartMillis(Path segmentFile) {
+        String name = segmentFile.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    static Path indexFile(Path segmentFile) {
+        String name = segmentFile.getFileName().toString();
+        return segmentFile.resolveSibling(name.substring(0, name.length() - SEGMENT_SUFFIX.length()) + INDEX_SUFFIX);
+    }
+
+    static void delete(Path segmentFile) throws IOException {
+        Files.deleteIfExists(indexFile(segmentFile));
+        Files.deleteIfExists(segmentFile);
+    }
+
+    static ByteBuffer mapForReading(Path segmentFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(segmentFile, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                throw new IOException("Not a journal segment of version " + VERSION + ": " + segmentFile);
+            }
+            return buffer;
+        }
+    }
+
+    /**
+     * Visits all records of the segment (for segments without index, e.g. the one currently written to).
+     */
+    static void scan(ByteBuffer buffer, Consumer<JournalRecord> consumer) {
+        int offset = HEADER_SIZE;
+        while (true) {
+            int length = readLength(buffer, offset);
+            if (length <= 0) {
+                return;
+            }
+            consumer.accept(readRecord(buffer, offset));
+            offset += 4 + length;
+        }
+    }
+
+    /**
+     * @return the record at the offset, or null if there is none
+     */
+    static JournalRecord readRecord(ByteBuffer buffer, int offset) {
+        if (readLength(buffer, offset) <= 0) {
+            return null;
+        }
+
+        ByteBuffer record = buffer.duplicate();
+        record.position(offset + 4);
+        long timestamp = record.getLong();
+        int flags = record.get();
+        String chargeBoxId = readString(record, record.getShort());
+        String payload = readString(record, record.getInt());
+
+        return new JournalRecord(timestamp, chargeBoxId, JournalDirection.fromCode(flags & FLAG_DIRECTION_MASK),
+                                 (flags & FLAG_NOT_LAST) == 0, payload);
+    }
+
+    /**
+     * @return pairs of timestamp and offset of the records of the station in this segment, or null if the segment
+     *         has no index (yet)
+     */
+    static long[][] readIndex(Path segmentFile, String chargeBoxId) throws IOException {
+        Path indexFile = indexFile(segmentFile);
+        if (!Files.exists(indexFile)) {
+            return null;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile)))) {
+            if (in.readInt() != INDEX_MAGIC) {
+                return null;
+            }
+            int stations = in.readInt();
+            for (int i = 0; i < stations; i++) {
+                String id = in.readUTF();
+                int count = in.readInt();
+                if (!id.equals(chargeBoxId)) {
+                    in.skipNBytes(count * 12L);
+                    continue;
+                }
+                long[][] entries = new long[count][];
+                for (int j = 0; j < count; j++) {
+                    entries[j] = new long[] {in.readLong(), in.readInt()};
+                }
+                return entries;
+            }
+            return new long[0][];
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Private helpers
+    // -------------------------------------------------------------------------
+
+    private static String fileName(long startMillis) {
+        return String.format("%s%020d%s", PREFIX, startMillis, SEGMENT_SUFFIX);
+    }
+
+    private static boolean isSegmentFile(Path file) {
+        String name = file.getFileName().toString();
+        return name.startsWith(PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+    }
+
+    /**
+     * A length that does not fit into the buffer can only be the result of a broken file. We treat it as the end.
+     */
+    private static int readLength(ByteBuffer buffer, int offset) {
+        if (offset + 4 > buffer.limit()) {
+            return 0;
+        }
+        int length = buffer.getInt(offset);
+        return offset + 4 + length > buffer.limit() ? 0 : length;
+    }
+
+    private static String readString(ByteBuffer buffer, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, UTF_8);
+    }
+
+    private static class StationIndex {
+        private long[] timestamps = new long[16];
+        private int[] offsets = new int[16];
+        private int size;
+
+        private void add(long timestamp, int offset) {
+            if (size == timestamps.length) {
+                timestamps = Arrays.copyOf(timestamps, size * 2);
+                offsets = Arrays.copyOf(offsets, size * 2);
+            }
+            timestamps[size] = timestamp;
+            offsets[size] = offset;
+            size++;
+        }
+    }
+}
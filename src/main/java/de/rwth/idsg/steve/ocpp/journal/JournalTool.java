@@ -0,0 +1,73 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.ocpp.journal;
+
+import org.joda.time.DateTimeZone;
+import org.joda.time.LocalDateTime;
+import org.joda.time.format.ISODateTimeFormat;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Extracts the messages of a station from a journal directory, without a running SteVe (e.g. on a copy of the
+ * journal). The date/times are ISO8601 without timezone, in UTC. Example:
+ *
+ * <pre>
+ * java -cp steve.jar de.rwth.idsg.steve.ocpp.journal.JournalTool extract ~/.steve/journal station-1 \
+ *     2026-10-19T09:00:00 2026-10-19T12:00:00
+ * </pre>
+ *
+ * One line is printed per record: timestamp, direction (with a '+' for a frame which is continued in the next line)
+ * and the message.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+public final class JournalTool {
+
+    private JournalTool() { }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 5 || !"extract".equals(args[0])) {
+            System.err.println("Usage: JournalTool extract <journal dir> <chargeBoxId> <from> <to>");
+            System.exit(1);
+        }
+
+        long from = toMillis(args[3]);
+        long to = toMillis(args[4]);
+
+        List<JournalRecord> records = new JournalReader(Paths.get(args[1])).read(args[2], from, to, Integer.MAX_VALUE);
+        print(records, System.out);
+    }
+
+    static void print(List<JournalRecord> records, PrintStream out) {
+        for (JournalRecord record : records) {
+            out.println(ISODateTimeFormat.dateTime().withZoneUTC().print(record.getTimestamp())
+                    + " " + record.getDirection() + (record.isLast() ? " " : "+ ")
+                    + record.getPayload());
+        }
+    }
+
+    private static long toMillis(String dateTime) {
+        return LocalDateTime.parse(dateTime).toDateTime(DateTimeZone.UTC).getMillis();
+    }
+}
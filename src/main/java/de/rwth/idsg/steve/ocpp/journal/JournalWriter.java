@@ -0,0 +1,162 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.ocpp.journal;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Appends records to the current segment and rolls over to a new one when it is full. Only the newest segments are
+ * kept. A new segment is started for every writer, i.e. every start of the application.
+ *
+ * A full segment is sealed (flushed to the disk, which can take a while for a big segment, and its index written) and
+ * the old segments are deleted by a background thread, such that the appends do not wait for it. Until then, the
+ * readers scan the segment as if it were the current one.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+@Slf4j
+public class JournalWriter implements Closeable {
+
+    private final Path directory;
+    private final int segmentSizeBytes;
+    private final int maxSegments;
+
+    private final ExecutorService sealer = Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setNameFormat("SteVe-Journal-Sealer").setDaemon(true).build()
+    );
+
+    private JournalSegment current;
+    private boolean closed;
+
+    public JournalWriter(Path directory, int segmentSizeBytes, int maxSegments) throws IOException {
+        if (segmentSizeBytes <= JournalSegment.HEADER_SIZE) {
+            throw new IllegalArgumentException("Segment size is too small: " + segmentSizeBytes);
+        }
+        if (maxSegments < 1) {
+            throw new IllegalArgumentException("At least one segment must be kept");
+        }
+
+        this.directory = directory;
+        this.segmentSizeBytes = segmentSizeBytes;
+        this.maxSegments = maxSegments;
+
+        Files.createDirectories(directory);
+    }
+
+    public synchronized void append(long timestamp, String chargeBoxId, JournalDirection direction, boolean last,
+                                    String payload) throws IOException {
+        if (closed) {
+            return;
+        }
+
+        byte[] chargeBoxIdBytes = chargeBoxId.getBytes(UTF_8);
+        byte[] payloadBytes = payload.getBytes(UTF_8);
+
+        int size = JournalSegment.recordSize(chargeBoxIdBytes.length, payloadBytes.length);
+        if (size > segmentSizeBytes - JournalSegment.HEADER_SIZE) {
+            throw new IOException("The record of " + size + " bytes does not fit into a segment");
+        }
+
+        boolean appended = current != null
+                && current.append(timestamp, chargeBoxId, chargeBoxIdBytes, direction, last, payloadBytes);
+
+        if (!appended) {
+            roll(timestamp);
+            current.append(timestamp, chargeBoxId, chargeBoxIdBytes, direction, last, payloadBytes);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        sealer.shutdown();
+        try {
+            if (!sealer.awaitTermination(1, TimeUnit.MINUTES)) {
+                log.warn("The journal segments are still being sealed");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (current != null) {
+            current.seal();
+            current = null;
+        }
+    }
+
+    /**
+     * Waits until the segments that are full are sealed. For tests.
+     */
+    void awaitSealed() throws IOException {
+        try {
+            sealer.submit(() -> { }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause());
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Private helpers
+    // -------------------------------------------------------------------------
+
+    private void roll(long timestamp) throws IOException {
+        JournalSegment next = JournalSegment.create(directory, timestamp, segmentSizeBytes);
+        JournalSegment full = current;
+        current = next;
+
+        sealer.execute(() -> sealAndDeleteOld(full));
+    }
+
+    private void sealAndDeleteOld(JournalSegment full) {
+        try {
+            if (full != null) {
+                full.seal();
+            }
+
+            // the new segment is the newest one and therefore kept
+            List<Path> segments = JournalSegment.list(directory);
+            for (int i = 0; i < segments.size() - maxSegments; i++) {
+                log.debug("Deleting the journal segment {}", segments.get(i));
+                JournalSegment.delete(segments.get(i));
+            }
+        } catch (IOException e) {
+            log.error("Could not seal the journal segment or delete the old ones", e);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.ocpp.journal;
+
+import de.rwth.idsg.steve.SteveConfiguration;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+
+import static de.rwth.idsg.steve.SteveConfiguration.CONFIG;
+
+/**
+ * The journal of the OCPP JSON messages of all stations, if enabled. If the journal cannot be written (e.g. the disk
+ * is full), the error is logged and the message handling goes on as usual.
+ *
+ * This is a singleton (and not a Spring bean), since it is fed from {@link de.rwth.idsg.steve.ocpp.ws.pipeline.Sender}
+ * as well.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+@Slf4j
+public enum MessageJournal {
+    INSTANCE;
+
+    public boolean isEnabled() {
+        return WriterHolder.WRITER != null;
+    }
+
+    public void append(String chargeBoxId, JournalDirection direction, String payload) {
+        append(chargeBoxId, direction, true, payload);
+    }
+
+    public void append(String chargeBoxId, JournalDirection direction, boolean last, String payload) {
+        JournalWriter writer = WriterHolder.WRITER;
+        if (writer == null) {
+            return;
+        }
+
+        try {
+            writer.append(System.currentTimeMillis(), chargeBoxId, direction, last, payload);
+        } catch (IOException e) {
+            log.error("[chargeBoxId={}] Could not write the message to the journal: {}", chargeBoxId, e.getMessage());
+        }
+    }
+
+    public JournalReader getReader() {
+        return new JournalReader(CONFIG.getJournal().getDirectory());
+    }
+
+    public void close() {
+        JournalWriter writer = WriterHolder.WRITER;
+        if (writer == null) {
+            return;
+        }
+
+        try {
+            writer.close();
+        } catch (IOException e) {
+            log.error("Could not close the journal", e);
+        }
+    }
+
+    /**
+     * Opened on first use. Not in the constructor, since the static logger is not initialized yet at that point.
+     */
+    private static class WriterHolder {
+        private static final JournalWriter WRITER = createWriter(CONFIG.getJournal());
+    }
+
+    private static JournalWriter createWriter(SteveConfiguration.Journal config) {
+        if (!config.isEnabled()) {
+            return null;
+        }
+
+        try {
+            log.info("Writing the OCPP JSON messages to the journal in {}", config.getDirectory());
+            return new JournalWriter(config.getDirectory(), config.getSegmentSizeBytes(), config.getMaxSegments());
+        } catch (IOException e) {
+            log.error("Could not open the journal in {}, it is disabled", config.getDirectory(), e);
+            return null;
+        }
+    }
+}
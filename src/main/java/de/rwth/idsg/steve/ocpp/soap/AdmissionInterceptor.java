@@ -0,0 +1,68 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.ocpp.soap;
+
+import de.rwth.idsg.steve.service.admission.Admission;
+import de.rwth.idsg.steve.service.admission.AdmissionControlService;
+import org.apache.cxf.binding.soap.Soap12;
+import org.apache.cxf.binding.soap.SoapFault;
+import org.apache.cxf.interceptor.Fault;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.phase.AbstractPhaseInterceptor;
+import org.apache.cxf.phase.Phase;
+
+import javax.xml.namespace.QName;
+
+/**
+ * The SOAP counterpart of the admission check in the JSON pipeline. Runs after {@link MessageHeaderInterceptor},
+ * since it needs the chargeBoxId. SOAP has no "retry later" semantic, so a rejected request gets a receiver fault
+ * and the station has to retry it. Critical requests are rejected as well when the station exceeds its rate, since
+ * delaying them would block the CXF worker thread.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+public class AdmissionInterceptor extends AbstractPhaseInterceptor<Message> {
+
+    private final AdmissionControlService admissionControlService;
+
+    public AdmissionInterceptor(AdmissionControlService admissionControlService) {
+        super(Phase.PRE_INVOKE);
+        addAfter(MessageHeaderInterceptor.class.getName());
+        this.admissionControlService = admissionControlService;
+    }
+
+    @Override
+    public void handleMessage(Message message) throws Fault {
+        String chargeBoxId = (String) message.getExchange().get(MessageHeaderInterceptor.CHARGEBOX_ID_KEY);
+        QName opName = message.getExchange().getBindingOperationInfo().getOperationInfo().getName();
+
+        Admission admission = admissionControlService.admitNow(chargeBoxId, opName.getLocalPart());
+        if (!admission.isAdmitted()) {
+            throw createBusyFault(opName);
+        }
+    }
+
+    private static SoapFault createBusyFault(QName qName) {
+        String message = "The server is busy. Please retry later.";
+        SoapFault sf = new SoapFault(message, Soap12.getInstance().getReceiver());
+        sf.addSubCode(new QName(qName.getNamespaceURI(), "GenericError"));
+        return sf;
+    }
+}
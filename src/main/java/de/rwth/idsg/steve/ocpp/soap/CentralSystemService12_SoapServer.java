@@ -21,8 +21,7 @@ package de.rwth.idsg.steve.ocpp.soap;
 import de.rwth.idsg.steve.ocpp.OcppProtocol;
 import de.rwth.idsg.steve.ocpp.OcppVersion;
 import de.rwth.idsg.steve.ocpp.converter.Convert;
-import de.rwth.idsg.steve.ocpp.converter.Server12to15Impl;
-import de.rwth.idsg.steve.ocpp.converter.Server15to16Impl;
+import de.rwth.idsg.steve.ocpp.converter.Server12to16Impl;
 import de.rwth.idsg.steve.service.CentralSystemService16_Service;
 import lombok.extern.slf4j.Slf4j;
 import ocpp.cs._2010._08.AuthorizeRequest;
@@ -79,11 +78,9 @@ public class CentralSystemService12_SoapServer implements CentralSystemService {
             throw new IllegalArgumentException("Unexpected OCPP version: " + protocol.getVersion());
         }
 
-        return Convert.start(parameters, Server12to15Impl.SINGLETON::convertRequest)
-                      .andThen(Server15to16Impl.SINGLETON::convertRequest)
+        return Convert.start(parameters, Server12to16Impl.SINGLETON::convertRequest)
                       .andThen(req -> service.bootNotification(req, chargeBoxIdentity, protocol))
-                      .andThen(Server15to16Impl.SINGLETON::convertResponse)
-                      .andThen(Server12to15Impl.SINGLETON::convertResponse)
+                      .andThen(Server12to16Impl.SINGLETON::convertResponse)
                       .apply(parameters);
     }
 
@@ -93,77 +90,60 @@ public class CentralSystemService12_SoapServer implements CentralSystemService {
 
     public FirmwareStatusNotificationResponse firmwareStatusNotification(FirmwareStatusNotificationRequest parameters,
                                                                          String chargeBoxIdentity) {
-        return Convert.start(parameters, Server12to15Impl.SINGLETON::convertRequest)
-                      .andThen(Server15to16Impl.SINGLETON::convertRequest)
+        return Convert.start(parameters, Server12to16Impl.SINGLETON::convertRequest)
                       .andThen(req -> service.firmwareStatusNotification(req, chargeBoxIdentity))
-                      .andThen(Server15to16Impl.SINGLETON::convertResponse)
-                      .andThen(Server12to15Impl.SINGLETON::convertResponse)
+                      .andThen(Server12to16Impl.SINGLETON::convertResponse)
                       .apply(parameters);
-
     }
 
     public StatusNotificationResponse statusNotification(
             StatusNotificationRequest parameters, String chargeBoxIdentity) {
-        return Convert.start(parameters, Server12to15Impl.SINGLETON::convertRequest)
-                      .andThen(Server15to16Impl.SINGLETON::convertRequest)
+        return Convert.start(parameters, Server12to16Impl.SINGLETON::convertRequest)
                       .andThen(req -> service.statusNotification(req, chargeBoxIdentity))
-                      .andThen(Server15to16Impl.SINGLETON::convertResponse)
-                      .andThen(Server12to15Impl.SINGLETON::convertResponse)
+                      .andThen(Server12to16Impl.SINGLETON::convertResponse)
                       .apply(parameters);
     }
 
     public MeterValuesResponse meterValues(MeterValuesRequest parameters, String chargeBoxIdentity) {
-        return Convert.start(parameters, Server12to15Impl.SINGLETON::convertRequest)
-                      .andThen(Server15to16Impl.SINGLETON::convertRequest)
+        return Convert.start(parameters, Server12to16Impl.SINGLETON::convertRequest)
                       .andThen(req -> service.meterValues(req, chargeBoxIdentity))
-                      .andThen(Server15to16Impl.SINGLETON::convertResponse)
-                      .andThen(Server12to15Impl.SINGLETON::convertResponse)
+                      .andThen(Server12to16Impl.SINGLETON::convertResponse)
                       .apply(parameters);
     }
 
     public DiagnosticsStatusNotificationResponse diagnosticsStatusNotification(
             DiagnosticsStatusNotificationRequest parameters, String chargeBoxIdentity) {
-        return Convert.start(parameters, Server12to15Impl.SINGLETON::convertRequest)
-                      .andThen(Server15to16Impl.SINGLETON::convertRequest)
+        return Convert.start(parameters, Server12to16Impl.SINGLETON::convertRequest)
                       .andThen(req -> service.diagnosticsStatusNotification(req, chargeBoxIdentity))
-                      .andThen(Server15to16Impl.SINGLETON::convertResponse)
-                      .andThen(Server12to15Impl.SINGLETON::convertResponse)
+                      .andThen(Server12to16Impl.SINGLETON::convertResponse)
                       .apply(parameters);
     }
 
     public StartTransactionResponse startTransaction(StartTransactionRequest parameters, String chargeBoxIdentity) {
-        return Convert.start(parameters, Server12to15Impl.SINGLETON::convertRequest)
-                      .andThen(Server15to16Impl.SINGLETON::convertRequest)
+        return Convert.start(parameters, Server12to16Impl.SINGLETON::convertRequest)
                       .andThen(req -> service.startTransaction(req, chargeBoxIdentity))
-                      .andThen(Server15to16Impl.SINGLETON::convertResponse)
-                      .andThen(Server12to15Impl.SINGLETON::convertResponse)
+                      .andThen(Server12to16Impl.SINGLETON::convertResponse)
                       .apply(parameters);
     }
 
     public StopTransactionResponse stopTransaction(StopTransactionRequest parameters, String chargeBoxIdentity) {
-        return Convert.start(parameters, Server12to15Impl.SINGLETON::convertRequest)
-                      .andThen(Server15to16Impl.SINGLETON::convertRequest)
+        return Convert.start(parameters, Server12to16Impl.SINGLETON::convertRequest)
                       .andThen(req -> service.stopTransaction(req, chargeBoxIdentity))
-                      .andThen(Server15to16Impl.SINGLETON::convertResponse)
-                      .andThen(Server12to15Impl.SINGLETON::convertResponse)
+                      .andThen(Server12to16Impl.SINGLETON::convertResponse)
                       .apply(parameters);
     }
 
     public HeartbeatResponse heartbeat(HeartbeatRequest parameters, String chargeBoxIdentity) {
-        return Convert.start(parameters, Server12to15Impl.SINGLETON::convertRequest)
-                      .andThen(Server15to16Impl.SINGLETON::convertRequest)
+        return Convert.start(parameters, Server12to16Impl.SINGLETON::convertRequest)
                       .andThen(req -> service.heartbeat(req, chargeBoxIdentity))
-                      .andThen(Server15to16Impl.SINGLETON::convertResponse)
-                      .andThen(Server12to15Impl.SINGLETON::convertResponse)
+                      .andThen(Server12to16Impl.SINGLETON::convertResponse)
                       .apply(parameters);
     }
 
     public AuthorizeResponse authorize(AuthorizeRequest parameters, String chargeBoxIdentity) {
-        return Convert.start(parameters, Server12to15Impl.SINGLETON::convertRequest)
-                      .andThen(Server15to16Impl.SINGLETON::convertRequest)
+        return Convert.start(parameters, Server12to16Impl.SINGLETON::convertRequest)
                       .andThen(req -> service.authorize(req, chargeBoxIdentity))
-                      .andThen(Server15to16Impl.SINGLETON::convertResponse)
-                      .andThen(Server12to15Impl.SINGLETON::convertResponse)
+                      .andThen(Server12to16Impl.SINGLETON::convertResponse)
                       .apply(parameters);
     }
 
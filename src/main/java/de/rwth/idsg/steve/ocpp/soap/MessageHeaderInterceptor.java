@@ -64,6 +64,9 @@ public class MessageHeaderInterceptor extends AbstractPhaseInterceptor<Message>
     @Autowired private ChargePointHelperService chargePointHelperService;
     @Autowired private ScheduledExecutorService executorService;
 
+    // to access the chargeBoxId in later phases (e.g. in MetricsOutInterceptor)
+    public static final String CHARGEBOX_ID_KEY = MessageHeaderInterceptor.class.getName() + ".chargeBoxId";
+
     private static final String BOOT_OPERATION_NAME = "BootNotification";
     private static final String CHARGEBOX_ID_HEADER = "ChargeBoxIdentity";
 
@@ -74,6 +77,7 @@ public class MessageHeaderInterceptor extends AbstractPhaseInterceptor<Message>
     @Override
     public void handleMessage(Message message) throws Fault {
         String chargeBoxId = getChargeBoxId(message);
+        message.getExchange().put(CHARGEBOX_ID_KEY, chargeBoxId);
 
         // -------------------------------------------------------------------------
         // 1. check registration for operations other than BootNotification
@@ -0,0 +1,63 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.ocpp.soap;
+
+import com.google.common.io.CountingInputStream;
+import org.apache.cxf.message.Exchange;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.phase.AbstractPhaseInterceptor;
+import org.apache.cxf.phase.Phase;
+
+import java.io.InputStream;
+
+/**
+ * Marks the time at which an incoming SOAP message arrived and counts the bytes of it. The incoming message passes
+ * the chain of the routing endpoint first and then the chain of the version-specific endpoint (see
+ * {@link MediatorInInterceptor}), therefore only the first pass is considered. Both values are consumed by
+ * {@link MetricsOutInterceptor}.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+public class MetricsInInterceptor extends AbstractPhaseInterceptor<Message> {
+
+    static final String START_KEY = MetricsInInterceptor.class.getName() + ".start";
+    static final String COUNTER_KEY = MetricsInInterceptor.class.getName() + ".counter";
+
+    public MetricsInInterceptor() {
+        super(Phase.RECEIVE);
+    }
+
+    @Override
+    public void handleMessage(Message message) {
+        Exchange exchange = message.getExchange();
+        if (exchange.get(START_KEY) != null) {
+            return;
+        }
+
+        exchange.put(START_KEY, System.nanoTime());
+
+        InputStream is = message.getContent(InputStream.class);
+        if (is != null) {
+            CountingInputStream counter = new CountingInputStream(is);
+            message.setContent(InputStream.class, counter);
+            exchange.put(COUNTER_KEY, counter);
+        }
+    }
+}
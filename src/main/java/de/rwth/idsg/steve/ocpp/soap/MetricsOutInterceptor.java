@@ -0,0 +1,154 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.ocpp.soap;
+
+import com.google.common.io.CountingInputStream;
+import de.rwth.idsg.steve.ocpp.OcppProtocol;
+import de.rwth.idsg.steve.ocpp.OcppTransport;
+import de.rwth.idsg.steve.ocpp.OcppVersion;
+import de.rwth.idsg.steve.ocpp.traffic.StationTrafficStore;
+import de.rwth.idsg.steve.utils.MetricsUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.cxf.interceptor.StaxOutInterceptor;
+import org.apache.cxf.message.Exchange;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.phase.AbstractPhaseInterceptor;
+import org.apache.cxf.phase.Phase;
+import org.apache.cxf.service.model.BindingOperationInfo;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.function.LongConsumer;
+
+/**
+ * Records the processing time of an OCPP operation and the traffic of the station. To be added to the out and out
+ * fault chains of a version-specific endpoint.
+ *
+ * The response is not written yet in this phase. Therefore, the output stream is wrapped, and the recording happens
+ * when it is closed, i.e. when the response (or the fault) is sent completely.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+public class MetricsOutInterceptor extends AbstractPhaseInterceptor<Message> {
+
+    private static final String UNKNOWN_OPERATION = "unknown";
+
+    private final MeterRegistry registry;
+    private final OcppProtocol protocol;
+    private final boolean success;
+
+    public MetricsOutInterceptor(MeterRegistry registry, OcppVersion version, boolean success) {
+        super(Phase.PRE_STREAM);
+        // the xml writer has to write into the wrapped stream
+        addBefore(StaxOutInterceptor.class.getName());
+        this.registry = registry;
+        this.protocol = version.toProtocol(OcppTransport.SOAP);
+        this.success = success;
+    }
+
+    @Override
+    public void handleMessage(Message message) {
+        Exchange exchange = message.getExchange();
+
+        // remove it, such that an operation cannot be recorded twice
+        Object start = exchange.remove(MetricsInInterceptor.START_KEY);
+        if (start == null) {
+            return;
+        }
+
+        long startNanos = (Long) start;
+        String operation = getOperation(exchange);
+        String chargeBoxId = (String) exchange.get(MessageHeaderInterceptor.CHARGEBOX_ID_KEY);
+        CountingInputStream inCounter = (CountingInputStream) exchange.get(MetricsInInterceptor.COUNTER_KEY);
+
+        LongConsumer recorder = bytesOut -> {
+            MetricsUtils.recordOcppRequest(registry, protocol, operation, startNanos, success);
+
+            // the message failed before the station could be identified
+            if (chargeBoxId == null) {
+                return;
+            }
+
+            StationTrafficStore.INSTANCE.recordIncoming(chargeBoxId, operation, toInt(inCounter),
+                                                        System.nanoTime() - startNanos, !success);
+            StationTrafficStore.INSTANCE.recordOutgoing(chargeBoxId, operation, (int) bytesOut, false);
+        };
+
+        OutputStream os = message.getContent(OutputStream.class);
+        if (os == null) {
+            recorder.accept(0);
+        } else {
+            message.setContent(OutputStream.class, new RecordingOutputStream(os, recorder));
+        }
+    }
+
+    private static String getOperation(Exchange exchange) {
+        BindingOperationInfo info = exchange.getBindingOperationInfo();
+        if (info == null) {
+            // the message failed before the operation could be determined
+            return UNKNOWN_OPERATION;
+        }
+        return info.getName().getLocalPart();
+    }
+
+    private static int toInt(CountingInputStream counter) {
+        return counter == null ? 0 : (int) counter.getCount();
+    }
+
+    /**
+     * Counts the written bytes and hands them over to the recorder when closed (only once)
+     */
+    private static final class RecordingOutputStream extends FilterOutputStream {
+
+        private final LongConsumer recorder;
+        private long count;
+        private boolean closed;
+
+        private RecordingOutputStream(OutputStream out, LongConsumer recorder) {
+            super(out);
+            this.recorder = recorder;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                if (!closed) {
+                    closed = true;
+                    recorder.accept(count);
+                }
+            }
+        }
+    }
+}
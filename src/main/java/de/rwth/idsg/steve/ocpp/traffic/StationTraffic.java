@@ -0,0 +1,66 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.ocpp.traffic;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * The traffic of one station, summed up over a {@link TrafficWindow}.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+@Getter
+@Builder
+@ToString
+public final class StationTraffic {
+    private final String chargeBoxId;
+    private final TrafficWindow window;
+
+    private final long messagesIn, messagesOut;
+    private final long bytesIn, bytesOut;
+    private final long errors;
+
+    // time spent for processing the incoming messages (incl. the sending of responses)
+    private final double totalHandlingMillis;
+
+    // sorted by incoming messages in descending order
+    private final List<ActionTraffic> actions;
+
+    public double getMessagesInPerMinute() {
+        return (double) messagesIn / window.getMinutes();
+    }
+
+    public double getAverageHandlingMillis() {
+        return messagesIn == 0 ? 0 : totalHandlingMillis / messagesIn;
+    }
+
+    @Getter
+    @Builder
+    @ToString
+    public static final class ActionTraffic {
+        private final String action;
+        private final long messagesIn, messagesOut;
+        private final long bytesIn, bytesOut;
+    }
+}
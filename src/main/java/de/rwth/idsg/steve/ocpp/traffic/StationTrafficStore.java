@@ -0,0 +1,96 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.ocpp.traffic;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Accounts the OCPP traffic per chargeBoxId, for both JSON and SOAP stations, such that the stations causing
+ * the most load (e.g. a firmware sending MeterValues every second) can be found.
+ *
+ * This is a singleton (and not a Spring bean), since it is fed from {@link de.rwth.idsg.steve.ocpp.ws.pipeline.Sender}
+ * as well.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+public enum StationTrafficStore {
+    INSTANCE;
+
+    // Pseudo actions for messages which are not requests or which cannot be parsed
+    public static final String ACTION_CALL_RESULT = "(CallResult)";
+    public static final String ACTION_CALL_ERROR = "(CallError)";
+    public static final String ACTION_INVALID = "(Invalid)";
+
+    private final Map<String, TrafficRingBuffer> lookupTable = new ConcurrentHashMap<>();
+
+    public void recordIncoming(String chargeBoxId, String action, int bytes, long handlingNanos, boolean error) {
+        getBuffer(chargeBoxId).recordIncoming(currentMinute(), action, bytes, handlingNanos, error);
+    }
+
+    public void recordOutgoing(String chargeBoxId, String action, int bytes, boolean error) {
+        getBuffer(chargeBoxId).recordOutgoing(currentMinute(), action, bytes, error);
+    }
+
+    public List<StationTraffic> getTopStations(TrafficWindow window, TrafficSortKey sortKey, int limit) {
+        long minute = currentMinute();
+        removeIdle(minute);
+
+        return lookupTable.entrySet()
+                          .stream()
+                          .map(entry -> entry.getValue().summarize(entry.getKey(), window, minute))
+                          .filter(traffic -> traffic.getMessagesIn() + traffic.getMessagesOut() > 0)
+                          .sorted(sortKey.descending())
+                          .limit(limit)
+                          .collect(Collectors.toList());
+    }
+
+    public Optional<StationTraffic> getStation(String chargeBoxId, TrafficWindow window) {
+        TrafficRingBuffer buffer = lookupTable.get(chargeBoxId);
+        if (buffer == null) {
+            return Optional.empty();
+        }
+        return Optional.of(buffer.summarize(chargeBoxId, window, currentMinute()));
+    }
+
+    // -------------------------------------------------------------------------
+    // Private helpers
+    // -------------------------------------------------------------------------
+
+    private TrafficRingBuffer getBuffer(String chargeBoxId) {
+        return lookupTable.computeIfAbsent(chargeBoxId, k -> new TrafficRingBuffer());
+    }
+
+    /**
+     * Stations that were not heard of during the whole ring are removed. A message of such a station that is
+     * recorded concurrently with the removal might get lost, which does not matter for the statistics.
+     */
+    private void removeIdle(long minute) {
+        lookupTable.entrySet().removeIf(entry -> entry.getValue().isIdle(minute));
+    }
+
+    private static long currentMinute() {
+        return TimeUnit.MILLISECONDS.toMinutes(System.currentTimeMillis());
+    }
+}
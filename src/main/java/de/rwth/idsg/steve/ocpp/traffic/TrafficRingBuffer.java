@@ -0,0 +1,180 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.ocpp.traffic;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Counters of one station in a ring of per-minute buckets. A bucket is reused as soon as its minute
+ * is older than the ring, so that the memory per station is bounded and nothing has to be cleaned up
+ * periodically. Buckets are allocated only for minutes in which there was traffic.
+ *
+ * The station's own messages are processed sequentially most of the time, therefore a monitor per station
+ * is sufficient and there is no contention between the stations.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+final class TrafficRingBuffer {
+
+    static final int BUCKET_COUNT = 60;
+
+    private final Bucket[] buckets = new Bucket[BUCKET_COUNT];
+    private long lastMinute;
+
+    synchronized void recordIncoming(long minute, String action, int bytes, long handlingNanos, boolean error) {
+        Bucket bucket = getBucket(minute);
+        bucket.messagesIn++;
+        bucket.bytesIn += bytes;
+        bucket.handlingNanos += handlingNanos;
+        if (error) {
+            bucket.errors++;
+        }
+
+        Counter counter = bucket.getCounter(action);
+        counter.messagesIn++;
+        counter.bytesIn += bytes;
+    }
+
+    synchronized void recordOutgoing(long minute, String action, int bytes, boolean error) {
+        Bucket bucket = getBucket(minute);
+        bucket.messagesOut++;
+        bucket.bytesOut += bytes;
+        if (error) {
+            bucket.errors++;
+        }
+
+        Counter counter = bucket.getCounter(action);
+        counter.messagesOut++;
+        counter.bytesOut += bytes;
+    }
+
+    /**
+     * There was no traffic during the whole ring, i.e. all buckets are outdated
+     */
+    synchronized boolean isIdle(long minute) {
+        return minute - lastMinute >= BUCKET_COUNT;
+    }
+
+    synchronized StationTraffic summarize(String chargeBoxId, TrafficWindow window, long minute) {
+        long messagesIn = 0, messagesOut = 0, bytesIn = 0, bytesOut = 0, errors = 0, handlingNanos = 0;
+        Map<String, Counter> actions = new HashMap<>();
+
+        for (Bucket bucket : buckets) {
+            if (bucket == null || !isInWindow(bucket.minute, window, minute)) {
+                continue;
+            }
+
+            messagesIn += bucket.messagesIn;
+            messagesOut += bucket.messagesOut;
+            bytesIn += bucket.bytesIn;
+            bytesOut += bucket.bytesOut;
+            errors += bucket.errors;
+            handlingNanos += bucket.handlingNanos;
+
+            bucket.counters.forEach(
+                    (action, counter) -> actions.computeIfAbsent(action, k -> new Counter()).add(counter)
+            );
+        }
+
+        List<StationTraffic.ActionTraffic> actionList = new ArrayList<>(actions.size());
+        actions.forEach((action, counter) -> actionList.add(
+                StationTraffic.ActionTraffic.builder()
+                                            .action(action)
+                                            .messagesIn(counter.messagesIn)
+                                            .messagesOut(counter.messagesOut)
+                                            .bytesIn(counter.bytesIn)
+                                            .bytesOut(counter.bytesOut)
+                                            .build()
+        ));
+        actionList.sort(Comparator.comparingLong(StationTraffic.ActionTraffic::getMessagesIn).reversed());
+
+        return StationTraffic.builder()
+                             .chargeBoxId(chargeBoxId)
+                             .window(window)
+                             .messagesIn(messagesIn)
+                             .messagesOut(messagesOut)
+                             .bytesIn(bytesIn)
+                             .bytesOut(bytesOut)
+                             .errors(errors)
+                             .totalHandlingMillis(handlingNanos / 1_000_000.0)
+                             .actions(actionList)
+                             .build();
+    }
+
+    // -------------------------------------------------------------------------
+    // Private helpers
+    // -------------------------------------------------------------------------
+
+    private static boolean isInWindow(long bucketMinute, TrafficWindow window, long minute) {
+        return bucketMinute <= minute && minute - bucketMinute < window.getMinutes();
+    }
+
+    private Bucket getBucket(long minute) {
+        int index = (int) (minute % BUCKET_COUNT);
+
+        Bucket bucket = buckets[index];
+        if (bucket == null) {
+            bucket = new Bucket();
+            buckets[index] = bucket;
+            bucket.reset(minute);
+        } else if (bucket.minute != minute) {
+            bucket.reset(minute);
+        }
+
+        lastMinute = Math.max(lastMinute, minute);
+        return bucket;
+    }
+
+    private static final class Bucket {
+        private long minute;
+        private long messagesIn, messagesOut, bytesIn, bytesOut, errors, handlingNanos;
+        private final Map<String, Counter> counters = new HashMap<>();
+
+        private void reset(long minute) {
+            this.minute = minute;
+            messagesIn = 0;
+            messagesOut = 0;
+            bytesIn = 0;
+            bytesOut = 0;
+            errors = 0;
+            handlingNanos = 0;
+            counters.clear();
+        }
+
+        private Counter getCounter(String action) {
+            return counters.computeIfAbsent(action, k -> new Counter());
+        }
+    }
+
+    private static final class Counter {
+        private long messagesIn, messagesOut, bytesIn, bytesOut;
+
+        private void add(Counter other) {
+            messagesIn += other.messagesIn;
+            messagesOut += other.messagesOut;
+            bytesIn += other.bytesIn;
+            bytesOut += other.bytesOut;
+        }
+    }
+}
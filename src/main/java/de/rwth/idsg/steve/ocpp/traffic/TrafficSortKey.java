@@ -0,0 +1,45 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.ocpp.traffic;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Comparator;
+
+/**
+ * What "load" means when ranking the stations. In all cases, the station with the highest value comes first.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+@Getter
+@RequiredArgsConstructor
+public enum TrafficSortKey {
+    MESSAGES_IN(Comparator.comparingLong(StationTraffic::getMessagesIn)),
+    BYTES_IN(Comparator.comparingLong(StationTraffic::getBytesIn)),
+    ERRORS(Comparator.comparingLong(StationTraffic::getErrors)),
+    HANDLING_TIME(Comparator.comparingDouble(StationTraffic::getTotalHandlingMillis));
+
+    private final Comparator<StationTraffic> comparator;
+
+    public Comparator<StationTraffic> descending() {
+        return comparator.reversed().thenComparing(StationTraffic::getChargeBoxId);
+    }
+}
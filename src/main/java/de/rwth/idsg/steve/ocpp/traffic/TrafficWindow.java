@@ -0,0 +1,40 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.ocpp.traffic;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * The sliding windows over which the traffic of the stations is summed up. All of them must fit into
+ * {@link TrafficRingBuffer#BUCKET_COUNT}.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+@Getter
+@RequiredArgsConstructor
+public enum TrafficWindow {
+    LAST_1_MINUTE(1),
+    LAST_5_MINUTES(5),
+    LAST_15_MINUTES(15),
+    LAST_60_MINUTES(60);
+
+    private final int minutes;
+}
@@ -19,13 +19,11 @@
 package de.rwth.idsg.steve.ocpp.ws;
 
 import com.google.common.base.Preconditions;
-import com.google.common.collect.ImmutableSet;
-import com.google.common.reflect.ClassPath;
 import de.rwth.idsg.ocpp.jaxb.RequestType;
 import de.rwth.idsg.ocpp.jaxb.ResponseType;
+import de.rwth.idsg.steve.ocpp.ws.OcppClassIndex.Kind;
 import de.rwth.idsg.steve.ocpp.ws.data.ActionResponsePair;
 
-import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -62,7 +60,7 @@ public abstract class AbstractTypeStore implements TypeStore {
     // -------------------------------------------------------------------------
 
     private void populateRequestClassMap(String packageName) {
-        Map<String, Class<RequestType>> classes = getClassesWithInterface(packageName, RequestType.class);
+        Map<String, Class<RequestType>> classes = getClassesOfKind(packageName, Kind.REQUEST);
         for (Class<RequestType> clazz : classes.values()) {
             String action = getAction(clazz);
             Preconditions.checkNotNull(action);
@@ -71,8 +69,8 @@ public abstract class AbstractTypeStore implements TypeStore {
     }
 
     private void populateActionResponseMap(String packageName) {
-        Map<String, Class<RequestType>> requestClasses = getClassesWithInterface(packageName, RequestType.class);
-        Map<String, Class<ResponseType>> responseClasses = getClassesWithInterface(packageName, ResponseType.class);
+        Map<String, Class<RequestType>> requestClasses = getClassesOfKind(packageName, Kind.REQUEST);
+        Map<String, Class<ResponseType>> responseClasses = getClassesOfKind(packageName, Kind.RESPONSE);
 
         for (Class<RequestType> requestClass : requestClasses.values()) {
             String action = getAction(requestClass);
@@ -90,24 +88,12 @@ public abstract class AbstractTypeStore implements TypeStore {
      * @return <simple name of class, class>
      */
     @SuppressWarnings("unchecked")
-    private static <INTERFACE, IMPL extends INTERFACE> Map<String, Class<IMPL>> getClassesWithInterface(
-            String packageName, Class<INTERFACE> interfaceClass) {
-        try {
-            ImmutableSet<ClassPath.ClassInfo> classInfos =
-                    ClassPath.from(Thread.currentThread().getContextClassLoader())
-                             .getTopLevelClasses(packageName);
-
-            Map<String, Class<IMPL>> map = new HashMap<>();
-            for (ClassPath.ClassInfo classInfo : classInfos) {
-                Class<?> clazz = classInfo.load();
-                if (interfaceClass.isAssignableFrom(clazz)) {
-                    map.put(clazz.getSimpleName(), (Class<IMPL>) clazz);
-                }
-            }
-            return map;
-        } catch (IOException e) {
-            throw new RuntimeException(e);
+    private static <IMPL> Map<String, Class<IMPL>> getClassesOfKind(String packageName, Kind kind) {
+        Map<String, Class<IMPL>> map = new HashMap<>();
+        for (Class<?> clazz : OcppClassIndex.INSTANCE.getClasses(packageName, kind)) {
+            map.put(clazz.getSimpleName(), (Class<IMPL>) clazz);
         }
+        return map;
     }
 
     private static String getAction(Class<? extends RequestType> clazz) {
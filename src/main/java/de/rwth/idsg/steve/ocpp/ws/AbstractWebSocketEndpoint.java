@@ -18,19 +18,31 @@
  */
 package de.rwth.idsg.steve.ocpp.ws;
 
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import com.google.common.base.Strings;
+import com.google.common.base.Utf8;
+import de.rwth.idsg.steve.SteveException;
 import de.rwth.idsg.steve.config.WebSocketConfiguration;
 import de.rwth.idsg.steve.ocpp.OcppTransport;
 import de.rwth.idsg.steve.ocpp.OcppVersion;
+import de.rwth.idsg.steve.ocpp.journal.JournalDirection;
+import de.rwth.idsg.steve.ocpp.journal.MessageJournal;
+import de.rwth.idsg.steve.ocpp.traffic.StationTrafficStore;
 import de.rwth.idsg.steve.ocpp.ws.data.CommunicationContext;
+import de.rwth.idsg.steve.ocpp.ws.data.OcppJsonCall;
+import de.rwth.idsg.steve.ocpp.ws.data.OcppJsonError;
+import de.rwth.idsg.steve.ocpp.ws.data.OcppJsonMessage;
+import de.rwth.idsg.steve.ocpp.ws.data.OcppJsonResult;
 import de.rwth.idsg.steve.ocpp.ws.data.SessionContext;
 import de.rwth.idsg.steve.ocpp.ws.pipeline.IncomingPipeline;
-import de.rwth.idsg.steve.repository.OcppServerRepository;
-import de.rwth.idsg.steve.service.notification.OcppStationWebSocketConnected;
-import de.rwth.idsg.steve.service.notification.OcppStationWebSocketDisconnected;
+import de.rwth.idsg.steve.ocpp.ws.pipeline.StreamingTextMessageParser;
+import de.rwth.idsg.steve.service.DeferredWriteService;
+import de.rwth.idsg.steve.service.reconnect.ReconnectStormService;
+import de.rwth.idsg.steve.utils.MetricsUtils;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.joda.time.DateTime;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.web.socket.BinaryMessage;
 import org.springframework.web.socket.CloseStatus;
 import org.springframework.web.socket.PongMessage;
@@ -39,6 +51,7 @@ import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketMessage;
 import org.springframework.web.socket.WebSocketSession;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Deque;
@@ -46,6 +59,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
@@ -56,11 +70,13 @@ import java.util.function.Consumer;
 public abstract class AbstractWebSocketEndpoint extends ConcurrentWebSocketHandler implements SubProtocolCapable {
 
     @Autowired private ScheduledExecutorService service;
-    @Autowired private OcppServerRepository ocppServerRepository;
+    @Autowired private DeferredWriteService deferredWriteService;
     @Autowired private FutureResponseContextStore futureResponseContextStore;
-    @Autowired private ApplicationEventPublisher applicationEventPublisher;
+    @Autowired private ReconnectStormService reconnectStormService;
+    @Autowired private MeterRegistry meterRegistry;
 
     public static final String CHARGEBOX_ID_KEY = "CHARGEBOX_ID_KEY";
+    private static final String STREAMING_PARSER_KEY = "STREAMING_PARSER_KEY";
 
     private final SessionContextStore sessionContextStore = new SessionContextStore();
     private final List<Consumer<String>> connectedCallbackList = new ArrayList<>();
@@ -74,8 +90,14 @@ public abstract class AbstractWebSocketEndpoint extends ConcurrentWebSocketHandl
     public void init(IncomingPipeline pipeline) {
         this.pipeline = pipeline;
 
-        connectedCallbackList.add((chargeBoxId) -> applicationEventPublisher.publishEvent(new OcppStationWebSocketConnected(chargeBoxId)));
-        disconnectedCallbackList.add((chargeBoxId) -> applicationEventPublisher.publishEvent(new OcppStationWebSocketDisconnected(chargeBoxId)));
+        // during a reconnect storm, these are combined into one notification
+        connectedCallbackList.add(reconnectStormService::connected);
+        disconnectedCallbackList.add(reconnectStormService::disconnected);
+
+        Gauge.builder(MetricsUtils.WS_SESSIONS, sessionContextStore, SessionContextStore::getNumberOfSessions)
+             .description("Open WebSocket sessions of the stations")
+             .tag(MetricsUtils.VERSION, getVersion().getValue())
+             .register(meterRegistry);
     }
 
     @Override
@@ -86,7 +108,12 @@ public abstract class AbstractWebSocketEndpoint extends ConcurrentWebSocketHandl
     @Override
     public void onMessage(WebSocketSession session, WebSocketMessage<?> message) throws Exception {
         if (message instanceof TextMessage) {
-            handleTextMessage(session, (TextMessage) message);
+            TextMessage textMessage = (TextMessage) message;
+            if (textMessage.isLast() && !session.getAttributes().containsKey(STREAMING_PARSER_KEY)) {
+                handleTextMessage(session, textMessage);
+            } else {
+                handlePartialTextMessage(session, textMessage);
+            }
 
         } else if (message instanceof PongMessage) {
             handlePongMessage(session);
@@ -110,16 +137,100 @@ public abstract class AbstractWebSocketEndpoint extends ConcurrentWebSocketHandl
         }
 
         WebSocketLogger.receivedText(chargeBoxId, session, incomingString);
+        MessageJournal.INSTANCE.append(chargeBoxId, JournalDirection.IN, incomingString);
 
         CommunicationContext context = new CommunicationContext(session, chargeBoxId);
         context.setIncomingString(incomingString);
 
-        pipeline.accept(context);
+        process(context, System.nanoTime(), Utf8.encodedLength(incomingString));
+    }
+
+    /**
+     * Large messages can arrive in multiple frames. Instead of aggregating them into one String first, we parse each
+     * frame as soon as it arrives. Oversized or malformed messages are rejected without waiting for the rest.
+     */
+    private void handlePartialTextMessage(WebSocketSession session, TextMessage frame) throws Exception {
+        String chargeBoxId = getChargeBoxId(session);
+        Map<String, Object> attributes = session.getAttributes();
+
+        StreamingTextMessageParser parser = (StreamingTextMessageParser) attributes.get(STREAMING_PARSER_KEY);
+        if (parser == null) {
+            parser = new StreamingTextMessageParser(JsonObjectMapper.INSTANCE.getMapper(),
+                                                    WebSocketConfiguration.MAX_MSG_SIZE);
+            attributes.put(STREAMING_PARSER_KEY, parser);
+        }
+
+        // the time of the first frame would include the time the station needs to send the rest
+        long startNanos = System.nanoTime();
+        TokenBuffer tokens;
+
+        MessageJournal.INSTANCE.append(chargeBoxId, JournalDirection.IN, frame.isLast(), frame.getPayload());
+
+        try {
+            parser.feed(frame.getPayload());
+            if (!frame.isLast()) {
+                return;
+            }
+            tokens = parser.finish();
+            attributes.remove(STREAMING_PARSER_KEY);
+
+        } catch (StreamingTextMessageParser.MessageTooBigException e) {
+            attributes.remove(STREAMING_PARSER_KEY);
+            WebSocketLogger.receivedTooBig(chargeBoxId, session, parser.getPreview(), e);
+            session.close(CloseStatus.TOO_BIG_TO_PROCESS);
+            return;
+
+        } catch (IOException e) {
+            // same as with a malformed message in one frame (see Deserializer): the session will be closed
+            attributes.remove(STREAMING_PARSER_KEY);
+            throw new SteveException("Deserialization of incoming frames failed: %s", parser.getPreview(), e);
+        }
+
+        WebSocketLogger.receivedFrames(chargeBoxId, session, parser.getPreview(), parser.getByteCount(),
+                                       parser.getFrameCount());
+
+        CommunicationContext context = new CommunicationContext(session, chargeBoxId);
+        context.setIncomingTokens(tokens);
+
+        process(context, startNanos, parser.getByteCount());
+    }
+
+    private void process(CommunicationContext context, long startNanos, int incomingBytes) {
+        boolean failed = true;
+        try {
+            pipeline.accept(context);
+            failed = false;
+        } finally {
+            record(context, startNanos, incomingBytes, failed);
+        }
+    }
+
+    private void record(CommunicationContext context, long startNanos, int incomingBytes, boolean failed) {
+        OcppJsonMessage incoming = context.getIncomingMessage();
+        boolean error = failed || context.isSetOutgoingError() || incoming instanceof OcppJsonError;
+
+        String action;
+        if (incoming instanceof OcppJsonCall) {
+            action = ((OcppJsonCall) incoming).getAction();
+            // only the requests of the station are of interest for the latency. the responses to our requests are
+            // processed asynchronously, and incoming messages that cannot be parsed have no action.
+            MetricsUtils.recordOcppRequest(meterRegistry, getVersion().toProtocol(OcppTransport.JSON), action,
+                                           startNanos, !error);
+        } else if (incoming instanceof OcppJsonResult) {
+            action = StationTrafficStore.ACTION_CALL_RESULT;
+        } else if (incoming instanceof OcppJsonError) {
+            action = StationTrafficStore.ACTION_CALL_ERROR;
+        } else {
+            action = StationTrafficStore.ACTION_INVALID;
+        }
+
+        StationTrafficStore.INSTANCE.recordIncoming(context.getChargeBoxId(), action, incomingBytes,
+                                                    System.nanoTime() - startNanos, error);
     }
 
     private void handlePongMessage(WebSocketSession session) {
         WebSocketLogger.receivedPong(getChargeBoxId(session), session);
-        ocppServerRepository.updateChargeboxHeartbeat(getChargeBoxId(session), DateTime.now());
+        deferredWriteService.updateChargeboxHeartbeat(getChargeBoxId(session), DateTime.now());
     }
 
     @Override
@@ -127,15 +238,16 @@ public abstract class AbstractWebSocketEndpoint extends ConcurrentWebSocketHandl
         String chargeBoxId = getChargeBoxId(session);
 
         WebSocketLogger.connected(chargeBoxId, session);
-        ocppServerRepository.updateOcppProtocol(chargeBoxId, getVersion().toProtocol(OcppTransport.JSON));
+        reconnectStormService.updateOcppProtocol(chargeBoxId, getVersion().toProtocol(OcppTransport.JSON));
 
         // Just to keep the connection alive, such that the servers do not close
         // the connection because of a idle timeout, we ping-pong at fixed intervals.
+        long intervalSeconds = TimeUnit.MINUTES.toSeconds(WebSocketConfiguration.PING_INTERVAL);
         ScheduledFuture pingSchedule = service.scheduleAtFixedRate(
                 new PingTask(chargeBoxId, session),
-                WebSocketConfiguration.PING_INTERVAL,
-                WebSocketConfiguration.PING_INTERVAL,
-                TimeUnit.MINUTES);
+                getInitialPingDelay(intervalSeconds),
+                intervalSeconds,
+                TimeUnit.SECONDS);
 
         futureResponseContextStore.addSession(session);
 
@@ -180,15 +292,29 @@ public abstract class AbstractWebSocketEndpoint extends ConcurrentWebSocketHandl
         WebSocketLogger.transportError(getChargeBoxId(session), session, throwable);
     }
 
+    /**
+     * Requires {@link JettyPartialMessageUpgradeStrategy}, the default one of Spring does not deliver partial messages
+     */
     @Override
     public boolean supportsPartialMessages() {
-        return false;
+        return true;
     }
 
     // -------------------------------------------------------------------------
     // Helpers
     // -------------------------------------------------------------------------
 
+    /**
+     * The stations of a reconnect storm would otherwise be pinged all at the same time, again and again
+     */
+    private long getInitialPingDelay(long intervalSeconds) {
+        if (reconnectStormService.isActive()) {
+            return ThreadLocalRandom.current().nextLong(intervalSeconds / 2, intervalSeconds + 1);
+        } else {
+            return intervalSeconds;
+        }
+    }
+
     protected String getChargeBoxId(WebSocketSession session) {
         return (String) session.getAttributes().get(CHARGEBOX_ID_KEY);
     }
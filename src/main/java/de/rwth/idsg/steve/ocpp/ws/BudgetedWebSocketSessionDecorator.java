@@ -0,0 +1,103 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.ocpp.ws;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.SessionLimitExceededException;
+
+import java.io.IOException;
+
+/**
+ * Reports the bytes queued by the decorator (i.e. its buffer size) to the {@link SendBufferBudget}, and closes the
+ * session if it is a slow consumer while the budget is exceeded.
+ *
+ * The accounting does not track the single messages, but syncs the current buffer size of the decorator after each
+ * send (the difference to the last reported value is added to the total). Whichever thread flushes the buffer syncs
+ * afterwards, so the total follows what is actually queued.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+@Slf4j
+class BudgetedWebSocketSessionDecorator extends ConcurrentWebSocketSessionDecorator {
+
+    private final SendBufferBudget budget;
+    private final Object accountingLock = new Object();
+
+    private long reportedBytes = 0;
+    private boolean released = false;
+
+    BudgetedWebSocketSessionDecorator(WebSocketSession delegate, int sendTimeLimit, int bufferSizeLimit,
+                                      SendBufferBudget budget) {
+        super(delegate, sendTimeLimit, bufferSizeLimit);
+        this.budget = budget;
+        budget.register();
+    }
+
+    @Override
+    public void sendMessage(WebSocketMessage<?> message) throws IOException {
+        int bufferSize = getBufferSize();
+        int payloadLength = message.getPayloadLength();
+
+        if (budget.isOverBudget(bufferSize, payloadLength)) {
+            String reason = String.format("Send buffer budget exceeded (total: %s bytes). Session has %s bytes queued "
+                    + "and its fair share is %s bytes", budget.getTotalBytes(), bufferSize, budget.getFairShareBytes());
+            log.warn("Closing the slow session '{}': {}", getId(), reason);
+            budget.countDisconnected();
+            close(CloseStatus.SESSION_NOT_RELIABLE);
+            throw new SessionLimitExceededException(reason, CloseStatus.SESSION_NOT_RELIABLE);
+        }
+
+        try {
+            super.sendMessage(message);
+        } finally {
+            syncAccounting();
+        }
+    }
+
+    /**
+     * Called when the session is closed. Its queued messages will never be sent.
+     */
+    void release() {
+        synchronized (accountingLock) {
+            if (released) {
+                return;
+            }
+            released = true;
+            budget.add(-reportedBytes);
+            budget.unregister();
+            reportedBytes = 0;
+        }
+    }
+
+    private void syncAccounting() {
+        synchronized (accountingLock) {
+            if (released) {
+                return;
+            }
+            long current = getBufferSize();
+            budget.add(current - reportedBytes);
+            reportedBytes = current;
+        }
+    }
+}
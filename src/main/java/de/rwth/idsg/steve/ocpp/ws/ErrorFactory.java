@@ -20,6 +20,7 @@ package de.rwth.idsg.steve.ocpp.ws;
 
 import de.rwth.idsg.steve.ocpp.ws.data.ErrorCode;
 import de.rwth.idsg.steve.ocpp.ws.data.OcppJsonError;
+import de.rwth.idsg.steve.service.admission.Admission;
 
 /**
  * Error generation should be handled by a central component for better control over the codes and messages.
@@ -56,6 +57,13 @@ public final class ErrorFactory {
                 "Internal services failed while processing of the payload", details);
     }
 
+    public static OcppJsonError notAdmitted(String messageId, String action, Admission admission) {
+        String desc = admission == Admission.RATE_LIMITED
+                ? "Too many '" + action + "' requests from this station. Please retry later"
+                : "The server is busy. Please retry later";
+        return setFields(messageId, ErrorCode.GenericError, desc, null);
+    }
+
     private static OcppJsonError setFields(String messageId, ErrorCode code, String desc, String details) {
         OcppJsonError error = new OcppJsonError();
         error.setMessageId(messageId);
@@ -19,13 +19,17 @@
 package de.rwth.idsg.steve.ocpp.ws;
 
 import de.rwth.idsg.steve.ocpp.ws.data.FutureResponseContext;
+import de.rwth.idsg.steve.utils.MetricsUtils;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.web.socket.WebSocketSession;
 
+import javax.annotation.PostConstruct;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
@@ -40,10 +44,18 @@ import java.util.function.BiFunction;
 @Service
 public class FutureResponseContextStore {
 
+    @Autowired private MeterRegistry meterRegistry;
+
     // We store for each chargeBox connection, multiple pairs of (messageId, context)
     // (session, (messageId, context))
     private final Map<WebSocketSession, Map<String, FutureResponseContext>> lookupTable = new ConcurrentHashMap<>();
 
+    @PostConstruct
+    public void init() {
+        meterRegistry.gauge(MetricsUtils.WS_PENDING_RESPONSES, this,
+                            FutureResponseContextStore::getNumberOfPendingResponses);
+    }
+
     public void addSession(WebSocketSession session) {
         addIfAbsent(session);
     }
@@ -66,6 +78,17 @@ public class FutureResponseContextStore {
         return removeFunction.removedContext;
     }
 
+    /**
+     * Number of calls that were sent to the stations and are still waiting for a response
+     */
+    public int getNumberOfPendingResponses() {
+        int count = 0;
+        for (Map<String, FutureResponseContext> map : lookupTable.values()) {
+            count += map.size();
+        }
+        return count;
+    }
+
     private Map<String, FutureResponseContext> addIfAbsent(WebSocketSession session) {
         return lookupTable.computeIfAbsent(session, innerSession -> {
             log.debug("Creating new store for sessionId '{}'", innerSession.getId());
@@ -0,0 +1,136 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.ocpp.ws;
+
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.eclipse.jetty.websocket.api.Frame;
+import org.eclipse.jetty.websocket.api.Session;
+import org.eclipse.jetty.websocket.api.WebSocketFrameListener;
+import org.eclipse.jetty.websocket.api.WebSocketPartialListener;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.PongMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.adapter.jetty.JettyWebSocketSession;
+import org.springframework.web.socket.handler.ExceptionWebSocketHandlerDecorator;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Adapts the Jetty WebSocket API to a Spring {@link WebSocketHandler} like Spring's JettyWebSocketHandlerAdapter,
+ * except that the text and binary messages are delivered frame by frame (with {@link WebSocketMessage#isLast()}),
+ * if the handler supports partial messages. Otherwise, Jetty has to aggregate them into one message first.
+ *
+ * Jetty answers the pings itself, since we only listen to the frames (and not to the pings).
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+@RequiredArgsConstructor
+public class JettyPartialMessageAdapter implements WebSocketPartialListener, WebSocketFrameListener {
+
+    // Spring's helpers expect commons-logging
+    private static final Log log = LogFactory.getLog(JettyPartialMessageAdapter.class);
+
+    private final WebSocketHandler handler;
+    private final JettyWebSocketSession session;
+
+    private StringBuilder textAggregate;
+
+    @Override
+    public void onWebSocketConnect(Session nativeSession) {
+        try {
+            session.initializeNativeSession(nativeSession);
+            handler.afterConnectionEstablished(session);
+        } catch (Exception e) {
+            ExceptionWebSocketHandlerDecorator.tryCloseWithError(session, e, log);
+        }
+    }
+
+    @Override
+    public void onWebSocketPartialText(String payload, boolean fin) {
+        if (handler.supportsPartialMessages()) {
+            deliver(new TextMessage(payload, fin));
+            return;
+        }
+
+        if (textAggregate == null && fin) {
+            deliver(new TextMessage(payload));
+            return;
+        }
+
+        if (textAggregate == null) {
+            textAggregate = new StringBuilder(payload);
+        } else {
+            textAggregate.append(payload);
+        }
+
+        if (fin) {
+            String text = textAggregate.toString();
+            textAggregate = null;
+            deliver(new TextMessage(text));
+        }
+    }
+
+    /**
+     * OCPP does not use binary messages, and the handlers reject them anyway. No need to aggregate them.
+     */
+    @Override
+    public void onWebSocketPartialBinary(ByteBuffer payload, boolean fin) {
+        deliver(new BinaryMessage(payload, fin));
+    }
+
+    @Override
+    public void onWebSocketFrame(Frame frame) {
+        if (frame.getType() == Frame.Type.PONG) {
+            ByteBuffer payload = frame.getPayload() != null ? frame.getPayload() : ByteBuffer.allocate(0);
+            deliver(new PongMessage(payload));
+        }
+    }
+
+    @Override
+    public void onWebSocketClose(int statusCode, String reason) {
+        try {
+            handler.afterConnectionClosed(session, new CloseStatus(statusCode, reason));
+        } catch (Exception e) {
+            log.warn("Unhandled exception after connection closed for " + this, e);
+        }
+    }
+
+    @Override
+    public void onWebSocketError(Throwable cause) {
+        try {
+            handler.handleTransportError(session, cause);
+        } catch (Exception e) {
+            ExceptionWebSocketHandlerDecorator.tryCloseWithError(session, e, log);
+        }
+    }
+
+    private void deliver(WebSocketMessage<?> message) {
+        try {
+            handler.handleMessage(session, message);
+        } catch (Exception e) {
+            ExceptionWebSocketHandlerDecorator.tryCloseWithError(session, e, log);
+        }
+    }
+}
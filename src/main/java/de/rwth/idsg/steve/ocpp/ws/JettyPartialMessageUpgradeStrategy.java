@@ -0,0 +1,88 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.ocpp.ws;
+
+import org.eclipse.jetty.websocket.server.JettyWebSocketCreator;
+import org.eclipse.jetty.websocket.server.JettyWebSocketServerContainer;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.socket.WebSocketExtension;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.adapter.jetty.JettyWebSocketSession;
+import org.springframework.web.socket.server.HandshakeFailureException;
+import org.springframework.web.socket.server.RequestUpgradeStrategy;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.security.Principal;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Same as Spring's Jetty10RequestUpgradeStrategy, but with {@link JettyPartialMessageAdapter} as the Jetty endpoint,
+ * since the adapter of Spring can only deliver whole text messages. Spring 5.3 uses reflection for Jetty 10, we can
+ * use the API directly.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+public class JettyPartialMessageUpgradeStrategy implements RequestUpgradeStrategy {
+
+    private static final String[] SUPPORTED_VERSIONS = new String[] {"13"};
+
+    @Override
+    public String[] getSupportedVersions() {
+        return SUPPORTED_VERSIONS;
+    }
+
+    @Override
+    public List<WebSocketExtension> getSupportedExtensions(ServerHttpRequest request) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public void upgrade(ServerHttpRequest request, ServerHttpResponse response, String selectedProtocol,
+                        List<WebSocketExtension> selectedExtensions, Principal user,
+                        WebSocketHandler handler, Map<String, Object> attributes) throws HandshakeFailureException {
+
+        HttpServletRequest servletRequest = ((ServletServerHttpRequest) request).getServletRequest();
+        HttpServletResponse servletResponse = ((ServletServerHttpResponse) response).getServletResponse();
+
+        JettyWebSocketSession session = new JettyWebSocketSession(attributes, user);
+        JettyPartialMessageAdapter adapter = new JettyPartialMessageAdapter(handler, session);
+
+        JettyWebSocketCreator creator = (upgradeRequest, upgradeResponse) -> {
+            if (selectedProtocol != null) {
+                upgradeResponse.setAcceptedSubProtocol(selectedProtocol);
+            }
+            return adapter;
+        };
+
+        try {
+            JettyWebSocketServerContainer container =
+                    JettyWebSocketServerContainer.getContainer(servletRequest.getServletContext());
+            container.upgrade(creator, servletRequest, servletResponse);
+        } catch (Exception e) {
+            throw new HandshakeFailureException("Failed to upgrade", e);
+        }
+    }
+}
@@ -22,6 +22,7 @@ import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.AnnotationIntrospector;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.introspect.JacksonAnnotationIntrospector;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
 import com.fasterxml.jackson.module.jaxb.JaxbAnnotationIntrospector;
 import de.rwth.idsg.steve.ocpp.ws.custom.CustomStringModule;
 import de.rwth.idsg.steve.ocpp.ws.ocpp12.Ocpp12JacksonModule;
@@ -31,6 +32,7 @@ import de.rwth.idsg.steve.ocpp.ws.ocpp16.Ocpp16JacksonModule;
 import static com.fasterxml.jackson.core.JsonGenerator.Feature.WRITE_BIGDECIMAL_AS_PLAIN;
 import static com.fasterxml.jackson.databind.DeserializationFeature.FAIL_ON_NULL_FOR_PRIMITIVES;
 import static com.fasterxml.jackson.databind.DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES;
+import static de.rwth.idsg.steve.SteveConfiguration.CONFIG;
 
 /**
  * Because ObjectMapper can and should be reused, if config does not change after init.
@@ -44,7 +46,20 @@ public enum JsonObjectMapper {
     private final ObjectMapper mapper;
 
     JsonObjectMapper() {
-        mapper = new ObjectMapper();
+        mapper = createMapper(CONFIG.getOcpp().isJsonBytecodeOptimization());
+    }
+
+    public ObjectMapper getMapper() {
+        return mapper;
+    }
+
+    /**
+     * With bytecode optimization, Jackson generates accessors for the properties of the (JAXB) bean classes
+     * instead of using reflection, which reduces the CPU time per message. Custom (de)serializers and mixins
+     * of our modules are not affected by it, since the optimization only replaces the default bean handling.
+     */
+    public static ObjectMapper createMapper(boolean bytecodeOptimization) {
+        ObjectMapper mapper = new ObjectMapper();
         mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
 
         // OCPP messages contain some mandatory primitive fields (like transactionId), that are not allowed
@@ -71,9 +86,11 @@ public enum JsonObjectMapper {
                         new JaxbAnnotationIntrospector(mapper.getTypeFactory())
                 )
         );
-    }
 
-    public ObjectMapper getMapper() {
+        if (bytecodeOptimization) {
+            mapper.registerModule(new BlackbirdModule());
+        }
+
         return mapper;
     }
 }
@@ -0,0 +1,192 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.ocpp.ws;
+
+import com.google.common.base.Joiner;
+import com.google.common.base.Splitter;
+import com.google.common.reflect.ClassPath;
+import de.rwth.idsg.ocpp.jaxb.RequestType;
+import de.rwth.idsg.ocpp.jaxb.ResponseType;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Index of the OCPP JAXB classes we look up by package at startup (request, response and enum classes).
+ *
+ * Finding these by scanning the classpath is slow, since it walks every jar of the application. Therefore,
+ * the index is generated during the build (see {@link #main(String[])} and the exec-maven-plugin in pom.xml)
+ * and read from the classpath at runtime. If the index is missing (e.g. when running from an IDE without
+ * the Maven build), we fall back to scanning.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+@Slf4j
+public final class OcppClassIndex {
+
+    public static final String RESOURCE_NAME = "ocpp-class-index.properties";
+
+    public static final List<String> PACKAGES = Arrays.asList(
+            ocpp.cs._2010._08.ObjectFactory.class.getPackage().getName(),
+            ocpp.cp._2010._08.ObjectFactory.class.getPackage().getName(),
+            ocpp.cs._2012._06.ObjectFactory.class.getPackage().getName(),
+            ocpp.cp._2012._06.ObjectFactory.class.getPackage().getName(),
+            ocpp.cs._2015._10.ObjectFactory.class.getPackage().getName(),
+            ocpp.cp._2015._10.ObjectFactory.class.getPackage().getName()
+    );
+
+    private static final Splitter SPLITTER = Splitter.on(',').omitEmptyStrings().trimResults();
+    private static final Joiner JOINER = Joiner.on(',');
+
+    public enum Kind {
+        REQUEST(RequestType.class::isAssignableFrom),
+        RESPONSE(ResponseType.class::isAssignableFrom),
+        ENUM(Class::isEnum);
+
+        private final Predicate<Class<?>> predicate;
+
+        Kind(Predicate<Class<?>> predicate) {
+            this.predicate = predicate;
+        }
+    }
+
+    public static final OcppClassIndex INSTANCE = new OcppClassIndex();
+
+    private final Properties index;
+
+    private OcppClassIndex() {
+        index = load();
+    }
+
+    /**
+     * @return top level classes of the package that are of the given kind
+     */
+    public List<Class<?>> getClasses(String packageName, Kind kind) {
+        if (index == null) {
+            return scan(packageName, kind);
+        }
+
+        String classNames = index.getProperty(key(packageName, kind));
+        if (classNames == null) {
+            log.warn("Package '{}' is not in the class index, will scan the classpath", packageName);
+            return scan(packageName, kind);
+        }
+
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        List<Class<?>> classes = new ArrayList<>();
+        try {
+            for (String simpleName : SPLITTER.split(classNames)) {
+                classes.add(Class.forName(packageName + "." + simpleName, true, classLoader));
+            }
+        } catch (ClassNotFoundException e) {
+            // index does not match the classpath. do not trust it, fall back to the source of truth.
+            log.warn("The class index is outdated, will scan the classpath", e);
+            return scan(packageName, kind);
+        }
+        return classes;
+    }
+
+    // -------------------------------------------------------------------------
+    // Build-time generation
+    // -------------------------------------------------------------------------
+
+    /**
+     * Writes the index into the directory given as the first argument (the output directory of the build).
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            throw new IllegalArgumentException("Expected exactly one argument: the output directory");
+        }
+
+        Map<String, String> entries = new TreeMap<>();
+        for (String packageName : PACKAGES) {
+            for (Kind kind : Kind.values()) {
+                List<String> simpleNames = new ArrayList<>();
+                for (Class<?> clazz : scan(packageName, kind)) {
+                    simpleNames.add(clazz.getSimpleName());
+                }
+                simpleNames.sort(String::compareTo);
+                entries.put(key(packageName, kind), JOINER.join(simpleNames));
+            }
+        }
+
+        Path file = Paths.get(args[0], RESOURCE_NAME);
+        try (Writer writer = Files.newBufferedWriter(file, UTF_8)) {
+            writer.write("# Generated during the build by " + OcppClassIndex.class.getName() + ". Do not edit.\n");
+            for (Map.Entry<String, String> entry : entries.entrySet()) {
+                writer.write(entry.getKey() + "=" + entry.getValue() + "\n");
+            }
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Private helpers
+    // -------------------------------------------------------------------------
+
+    private static String key(String packageName, Kind kind) {
+        return packageName + "." + kind.name();
+    }
+
+    private static Properties load() {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        try (InputStream is = classLoader.getResourceAsStream(RESOURCE_NAME)) {
+            if (is == null) {
+                log.warn("'{}' not found, will scan the classpath for OCPP classes", RESOURCE_NAME);
+                return null;
+            }
+            Properties properties = new Properties();
+            properties.load(is);
+            return properties;
+        } catch (IOException e) {
+            log.warn("Could not read '{}', will scan the classpath for OCPP classes", RESOURCE_NAME, e);
+            return null;
+        }
+    }
+
+    private static List<Class<?>> scan(String packageName, Kind kind) {
+        try {
+            List<Class<?>> classes = new ArrayList<>();
+            for (ClassPath.ClassInfo classInfo : ClassPath.from(Thread.currentThread().getContextClassLoader())
+                                                          .getTopLevelClasses(packageName)) {
+                Class<?> clazz = classInfo.load();
+                if (kind.predicate.test(clazz)) {
+                    classes.add(clazz);
+                }
+            }
+            return classes;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -20,10 +20,12 @@ package de.rwth.idsg.steve.ocpp.ws;
 
 import de.rwth.idsg.steve.config.WebSocketConfiguration;
 import de.rwth.idsg.steve.service.ChargePointHelperService;
+import de.rwth.idsg.steve.service.reconnect.ReconnectStormService;
 import de.rwth.idsg.steve.web.validation.ChargeBoxIdValidator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import ocpp.cs._2015._10.RegistrationStatus;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.server.ServerHttpRequest;
 import org.springframework.http.server.ServerHttpResponse;
@@ -54,6 +56,7 @@ public class OcppWebSocketHandshakeHandler implements HandshakeHandler {
     private final DefaultHandshakeHandler delegate;
     private final List<AbstractWebSocketEndpoint> endpoints;
     private final ChargePointHelperService chargePointHelperService;
+    private final ReconnectStormService reconnectStormService;
 
     /**
      * We need some WebSocketHandler just for Spring to register it for the path. We will not use it for the actual
@@ -80,7 +83,19 @@ public class OcppWebSocketHandshakeHandler implements HandshakeHandler {
             return false;
         }
 
-        Optional<RegistrationStatus> status = chargePointHelperService.getRegistrationStatus(chargeBoxId);
+        // before any DB access, since this is about protecting it
+        if (!reconnectStormService.onHandshake()) {
+            int retryAfter = reconnectStormService.getRetryAfterSeconds();
+            // counted and summarized by the service, since there can be thousands per second
+            log.debug("Rejecting the handshake of chargeBoxId '{}' during reconnect storm (retry after {} s)",
+                     chargeBoxId, retryAfter);
+            response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+            response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+            return false;
+        }
+
+        Optional<RegistrationStatus> status = reconnectStormService.getCachedRegistrationStatus(chargeBoxId)
+            .or(() -> chargePointHelperService.getRegistrationStatus(chargeBoxId));
 
         // Allow connections, if station is in db (registration_status field from db does not matter)
         boolean allowConnection = status.isPresent();
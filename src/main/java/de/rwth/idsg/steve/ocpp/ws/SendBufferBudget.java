@@ -0,0 +1,110 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.ocpp.ws;
+
+import de.rwth.idsg.steve.utils.MetricsUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static de.rwth.idsg.steve.SteveConfiguration.CONFIG;
+
+/**
+ * Process-wide budget for the outgoing WebSocket messages that are queued in memory, because the stations do not
+ * read them fast enough. Each session has a buffer limit on its own (see {@link ConcurrentWebSocketHandler}), but
+ * with thousands of slow sessions, the sum of these would still exhaust the heap.
+ *
+ * As long as the total is within the budget, a session can use as much as its own limit allows. When the budget is
+ * exceeded, the sessions that already have more than their fair share (budget / number of sessions) queued are
+ * treated as slow consumers and disconnected. Sessions with an empty buffer are never affected, since they are not
+ * the ones that are slow.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+@Component
+public class SendBufferBudget {
+
+    @Autowired private MeterRegistry meterRegistry;
+
+    private final long limitBytes;
+    private final AtomicLong totalBytes = new AtomicLong();
+    private final AtomicInteger sessions = new AtomicInteger();
+
+    private Counter disconnectedCounter;
+
+    public SendBufferBudget() {
+        this(CONFIG.getOcpp().getWsSendBufferBudgetBytes());
+    }
+
+    SendBufferBudget(long limitBytes) {
+        this.limitBytes = limitBytes;
+    }
+
+    @PostConstruct
+    public void init() {
+        Gauge.builder(MetricsUtils.WS_SEND_BUFFER, totalBytes, AtomicLong::get)
+             .description("Outgoing WebSocket messages queued in memory for all stations")
+             .baseUnit("bytes")
+             .register(meterRegistry);
+
+        disconnectedCounter = Counter.builder(MetricsUtils.WS_SLOW_CONSUMERS)
+                                     .description("Sessions closed because they exceeded their send buffer share")
+                                     .register(meterRegistry);
+    }
+
+    public long getTotalBytes() {
+        return totalBytes.get();
+    }
+
+    public long getFairShareBytes() {
+        return limitBytes / Math.max(1, sessions.get());
+    }
+
+    boolean isOverBudget(long sessionBytes, int payloadBytes) {
+        if (totalBytes.get() + payloadBytes <= limitBytes) {
+            return false;
+        }
+        return sessionBytes > 0 && sessionBytes + payloadBytes > getFairShareBytes();
+    }
+
+    void register() {
+        sessions.incrementAndGet();
+    }
+
+    void unregister() {
+        sessions.decrementAndGet();
+    }
+
+    void add(long deltaBytes) {
+        totalBytes.addAndGet(deltaBytes);
+    }
+
+    void countDisconnected() {
+        if (disconnectedCounter != null) {
+            disconnectedCounter.increment();
+        }
+    }
+}
@@ -142,6 +142,14 @@ public class SessionContextStore {
         return lookupTable.size();
     }
 
+    public int getNumberOfSessions() {
+        int count = 0;
+        for (Deque<SessionContext> endpointDeque : lookupTable.values()) {
+            count += endpointDeque.size();
+        }
+        return count;
+    }
+
     public List<String> getChargeBoxIdList() {
         return Collections.list(lookupTable.keys());
     }
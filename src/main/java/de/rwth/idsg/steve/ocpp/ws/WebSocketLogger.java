@@ -18,6 +18,7 @@
  */
 package de.rwth.idsg.steve.ocpp.ws;
 
+import de.rwth.idsg.steve.ocpp.journal.MessageJournal;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.socket.CloseStatus;
 import org.springframework.web.socket.WebSocketSession;
@@ -29,6 +30,9 @@ import org.springframework.web.socket.WebSocketSession;
 @Slf4j
 public final class WebSocketLogger {
 
+    // If the messages are journaled, only their beginning is logged
+    private static final int SUMMARY_LENGTH = 100;
+
     private WebSocketLogger() { }
 
     public static void connected(String chargeBoxId, WebSocketSession session) {
@@ -40,7 +44,7 @@ public final class WebSocketLogger {
     }
 
     public static void sending(String chargeBoxId, WebSocketSession session, String msg) {
-        log.info("[chargeBoxId={}, sessionId={}] Sending: {}", chargeBoxId, session.getId(), msg);
+        log.info("[chargeBoxId={}, sessionId={}] Sending: {}", chargeBoxId, session.getId(), summarize(msg));
     }
 
     public static void sendingPing(String chargeBoxId, WebSocketSession session) {
@@ -52,7 +56,18 @@ public final class WebSocketLogger {
     }
 
     public static void receivedText(String chargeBoxId, WebSocketSession session, String msg) {
-        log.info("[chargeBoxId={}, sessionId={}] Received: {}", chargeBoxId, session.getId(), msg);
+        log.info("[chargeBoxId={}, sessionId={}] Received: {}", chargeBoxId, session.getId(), summarize(msg));
+    }
+
+    public static void receivedFrames(String chargeBoxId, WebSocketSession session, String preview, int bytes,
+                                      int frames) {
+        log.info("[chargeBoxId={}, sessionId={}] Received {} bytes in {} frames, beginning with: {}",
+                 chargeBoxId, session.getId(), bytes, frames, preview);
+    }
+
+    public static void receivedTooBig(String chargeBoxId, WebSocketSession session, String preview, Throwable t) {
+        log.error("[chargeBoxId={}, sessionId={}] {}. Closing the connection. Message began with: {}",
+                  chargeBoxId, session.getId(), t.getMessage(), preview);
     }
 
     public static void receivedEmptyText(String chargeBoxId, WebSocketSession session) {
@@ -70,4 +85,11 @@ public final class WebSocketLogger {
             log.error("[chargeBoxId=" + chargeBoxId + ", sessionId=" + session.getId() + "] Transport error", t);
         }
     }
+
+    private static String summarize(String msg) {
+        if (msg.length() <= SUMMARY_LENGTH || !MessageJournal.INSTANCE.isEnabled()) {
+            return msg;
+        }
+        return msg.substring(0, SUMMARY_LENGTH) + "... (" + msg.length() + " characters, see the journal)";
+    }
 }
@@ -18,10 +18,8 @@
  */
 package de.rwth.idsg.steve.ocpp.ws.custom;
 
-import com.google.common.collect.ImmutableSet;
-import com.google.common.reflect.ClassPath;
+import de.rwth.idsg.steve.ocpp.ws.OcppClassIndex;
 
-import java.io.IOException;
 import java.util.List;
 import java.util.function.Consumer;
 
@@ -38,19 +36,7 @@ public final class EnumProcessor {
     }
 
     public static void apply(String packageName, Consumer<Class<?>> clazzConsumer) {
-        try {
-            ImmutableSet<ClassPath.ClassInfo> classInfos =
-                    ClassPath.from(Thread.currentThread().getContextClassLoader())
-                             .getTopLevelClasses(packageName);
-
-            for (ClassPath.ClassInfo classInfo : classInfos) {
-                Class<?> clazz = classInfo.load();
-                if (clazz.isEnum()) {
-                    clazzConsumer.accept(clazz);
-                }
-            }
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
+        OcppClassIndex.INSTANCE.getClasses(packageName, OcppClassIndex.Kind.ENUM)
+                               .forEach(clazzConsumer);
     }
 }
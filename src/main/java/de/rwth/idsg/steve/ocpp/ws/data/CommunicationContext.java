@@ -18,6 +18,7 @@
  */
 package de.rwth.idsg.steve.ocpp.ws.data;
 
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import de.rwth.idsg.ocpp.jaxb.ResponseType;
 import de.rwth.idsg.steve.ocpp.CommunicationTask;
 import lombok.AccessLevel;
@@ -45,6 +46,9 @@ public class CommunicationContext {
     private final String chargeBoxId;
 
     @Setter private String incomingString;
+
+    // Set instead of incomingString, if the message arrived in multiple frames and was parsed while arriving
+    @Setter private TokenBuffer incomingTokens;
     @Setter private String outgoingString;
 
     @Setter private OcppJsonMessage incomingMessage;
@@ -56,6 +60,13 @@ public class CommunicationContext {
     private Consumer<OcppJsonResult> resultHandler;
     private Consumer<OcppJsonError> errorHandler;
 
+    /**
+     * For log and error messages. We do not have the String of messages that were parsed while arriving.
+     */
+    public String getIncomingForLog() {
+        return incomingTokens == null ? incomingString : "(message in multiple frames, see the log before)";
+    }
+
     public boolean isSetOutgoingError() {
         return (outgoingMessage != null) && (outgoingMessage instanceof OcppJsonError);
     }
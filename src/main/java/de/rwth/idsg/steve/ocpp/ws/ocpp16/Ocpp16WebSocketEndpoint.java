@@ -27,7 +27,9 @@ import de.rwth.idsg.steve.ocpp.ws.AbstractWebSocketEndpoint;
 import de.rwth.idsg.steve.ocpp.ws.FutureResponseContextStore;
 import de.rwth.idsg.steve.ocpp.ws.pipeline.AbstractCallHandler;
 import de.rwth.idsg.steve.ocpp.ws.pipeline.Deserializer;
+import de.rwth.idsg.steve.ocpp.ws.pipeline.DuplicateCallCache;
 import de.rwth.idsg.steve.ocpp.ws.pipeline.IncomingPipeline;
+import de.rwth.idsg.steve.service.admission.AdmissionControlService;
 import lombok.RequiredArgsConstructor;
 import ocpp.cs._2015._10.AuthorizeRequest;
 import ocpp.cs._2015._10.BootNotificationRequest;
@@ -53,11 +55,14 @@ public class Ocpp16WebSocketEndpoint extends AbstractWebSocketEndpoint {
 
     @Autowired private CentralSystemService16_SoapServer server;
     @Autowired private FutureResponseContextStore futureResponseContextStore;
+    @Autowired private AdmissionControlService admissionControlService;
+    @Autowired private DuplicateCallCache duplicateCallCache;
 
     @PostConstruct
     public void init() {
         Deserializer deserializer = new Deserializer(futureResponseContextStore, Ocpp16TypeStore.INSTANCE);
-        IncomingPipeline pipeline = new IncomingPipeline(deserializer, new Ocpp16CallHandler(server));
+        IncomingPipeline pipeline = new IncomingPipeline(
+                deserializer, new Ocpp16CallHandler(server), admissionControlService, duplicateCallCache);
         super.init(pipeline);
     }
 
@@ -25,6 +25,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.NullNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import de.rwth.idsg.ocpp.jaxb.RequestType;
 import de.rwth.idsg.ocpp.jaxb.ResponseType;
 import de.rwth.idsg.steve.SteveException;
@@ -66,7 +67,7 @@ public class Deserializer implements Consumer<CommunicationContext> {
      */
     @Override
     public void accept(CommunicationContext context) {
-        try (JsonParser parser = mapper.getFactory().createParser(context.getIncomingString())) {
+        try (JsonParser parser = createParser(context)) {
             parser.nextToken(); // set cursor to '['
 
             parser.nextToken();
@@ -93,7 +94,7 @@ public class Deserializer implements Consumer<CommunicationContext> {
                     throw new SteveException("Unknown enum type");
             }
         } catch (IOException e) {
-            throw new SteveException("Deserialization of incoming string failed: %s", context.getIncomingString(), e);
+            throw new SteveException("Deserialization of incoming string failed: %s", context.getIncomingForLog(), e);
         }
     }
 
@@ -101,6 +102,15 @@ public class Deserializer implements Consumer<CommunicationContext> {
     // Private Helpers
     // -------------------------------------------------------------------------
 
+    private JsonParser createParser(CommunicationContext context) throws IOException {
+        TokenBuffer tokens = context.getIncomingTokens();
+        if (tokens == null) {
+            return mapper.getFactory().createParser(context.getIncomingString());
+        } else {
+            return tokens.asParser(mapper);
+        }
+    }
+
     /**
      * Catch exceptions and wrap them in outgoing ERRORs for incoming CALLs.
      */
@@ -158,7 +168,7 @@ public class Deserializer implements Consumer<CommunicationContext> {
         if (responseContext == null) {
             throw new SteveException(
                     "A result message was received as response to a not-sent call. The message was: %s",
-                    context.getIncomingString()
+                    context.getIncomingForLog()
             );
         }
 
@@ -188,7 +198,7 @@ public class Deserializer implements Consumer<CommunicationContext> {
         if (responseContext == null) {
             throw new SteveException(
                     "An error message was received as response to a not-sent call. The message was: %s",
-                    context.getIncomingString()
+                    context.getIncomingForLog()
             );
         }
 
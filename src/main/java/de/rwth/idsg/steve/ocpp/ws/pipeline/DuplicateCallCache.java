@@ -0,0 +1,189 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.ocpp.ws.pipeline;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import de.rwth.idsg.steve.ocpp.ws.data.CommunicationContext;
+import de.rwth.idsg.steve.ocpp.ws.data.OcppJsonCall;
+import de.rwth.idsg.steve.ocpp.ws.data.OcppJsonResult;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static de.rwth.idsg.steve.SteveConfiguration.CONFIG;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Stations retransmit a CALL with the same messageId, if they did not get the response in time or the connection
+ * was lost in between. Processing it again means another round of database work (and, without the safeguard in the
+ * repository, a duplicate StartTransaction). Therefore, we keep the serialized responses to the last CALLs of each
+ * station and send the same response again for a retransmission.
+ *
+ * A CALL counts as retransmission only if messageId, action and the whole message are the same and the original was
+ * not too long ago. Some stations start counting their messageIds from the beginning after a reboot, and their new
+ * messages must not be mistaken for old ones. Messages that arrived in multiple frames are not considered, since we
+ * do not have them as one String.
+ *
+ * Only successful responses are kept. After an error, the retransmission should be processed again.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+@Component
+public class DuplicateCallCache {
+
+    static final long MAX_AGE_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    private static final Set<String> ACTIONS = ImmutableSet.of(
+            "StartTransaction", "StopTransaction", "StatusNotification", "MeterValues", "DataTransfer"
+    );
+
+    private final int sizePerStation;
+
+    // Key: chargeBoxId. The calls of idle stations are too old anyway.
+    private final Cache<String, StationCalls> stations =
+            CacheBuilder.newBuilder()
+                        .expireAfterAccess(MAX_AGE_MILLIS, TimeUnit.MILLISECONDS)
+                        .build();
+
+    public DuplicateCallCache() {
+        this(CONFIG.getOcpp().getDuplicateCallCacheSize());
+    }
+
+    /**
+     * @param sizePerStation number of responses to keep per station, 0 disables the cache
+     */
+    public DuplicateCallCache(int sizePerStation) {
+        this.sizePerStation = sizePerStation;
+    }
+
+    /**
+     * @return the serialized response to the original, if the incoming CALL is a retransmission. Otherwise null.
+     */
+    public String getResponse(CommunicationContext context, OcppJsonCall call) {
+        return getResponse(context, call, System.currentTimeMillis());
+    }
+
+    /**
+     * To be called after the response to the incoming CALL is serialized.
+     */
+    public void putResponse(CommunicationContext context, OcppJsonCall call) {
+        putResponse(context, call, System.currentTimeMillis());
+    }
+
+    // -------------------------------------------------------------------------
+    // Package-private for tests
+    // -------------------------------------------------------------------------
+
+    String getResponse(CommunicationContext context, OcppJsonCall call, long nowMillis) {
+        if (!isApplicable(context, call)) {
+            return null;
+        }
+
+        StationCalls calls = stations.getIfPresent(context.getChargeBoxId());
+        if (calls == null) {
+            return null;
+        }
+
+        return calls.get(getKey(call), fingerprint(context.getIncomingString()), nowMillis);
+    }
+
+    void putResponse(CommunicationContext context, OcppJsonCall call, long nowMillis) {
+        if (!isApplicable(context, call)
+                || !(context.getOutgoingMessage() instanceof OcppJsonResult)
+                || context.getOutgoingString() == null) {
+            return;
+        }
+
+        StationCalls calls;
+        try {
+            calls = stations.get(context.getChargeBoxId(), () -> new StationCalls(sizePerStation));
+        } catch (ExecutionException e) {
+            // cannot happen, the loader does not throw
+            throw new IllegalStateException(e);
+        }
+
+        calls.put(getKey(call), new CachedResponse(fingerprint(context.getIncomingString()),
+                                                   context.getOutgoingString(), nowMillis));
+    }
+
+    // -------------------------------------------------------------------------
+    // Private helpers
+    // -------------------------------------------------------------------------
+
+    private boolean isApplicable(CommunicationContext context, OcppJsonCall call) {
+        return sizePerStation > 0
+                && context.getIncomingString() != null
+                && ACTIONS.contains(call.getAction());
+    }
+
+    private static String getKey(OcppJsonCall call) {
+        return call.getMessageId() + "/" + call.getAction();
+    }
+
+    private static HashCode fingerprint(String incomingString) {
+        return Hashing.murmur3_128().hashString(incomingString, UTF_8);
+    }
+
+    @RequiredArgsConstructor
+    private static class CachedResponse {
+        private final HashCode incomingFingerprint;
+        private final String outgoingString;
+        private final long createdMillis;
+    }
+
+    /**
+     * The most recent responses of a station. The oldest is removed when a new one does not fit anymore.
+     */
+    private static class StationCalls {
+        private final Map<String, CachedResponse> responses;
+
+        private StationCalls(int maxSize) {
+            this.responses = new LinkedHashMap<>(maxSize * 2) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                    return size() > maxSize;
+                }
+            };
+        }
+
+        private synchronized String get(String key, HashCode incomingFingerprint, long nowMillis) {
+            CachedResponse response = responses.get(key);
+            if (response == null
+                    || nowMillis - response.createdMillis > MAX_AGE_MILLIS
+                    || !response.incomingFingerprint.equals(incomingFingerprint)) {
+                return null;
+            }
+            return response.outgoingString;
+        }
+
+        private synchronized void put(String key, CachedResponse response) {
+            responses.put(key, response);
+        }
+    }
+}
@@ -18,11 +18,13 @@
  */
 package de.rwth.idsg.steve.ocpp.ws.pipeline;
 
+import de.rwth.idsg.steve.ocpp.ws.ErrorFactory;
 import de.rwth.idsg.steve.ocpp.ws.data.CommunicationContext;
 import de.rwth.idsg.steve.ocpp.ws.data.OcppJsonCall;
 import de.rwth.idsg.steve.ocpp.ws.data.OcppJsonError;
 import de.rwth.idsg.steve.ocpp.ws.data.OcppJsonMessage;
 import de.rwth.idsg.steve.ocpp.ws.data.OcppJsonResult;
+import de.rwth.idsg.steve.service.admission.AdmissionControlService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -43,6 +45,8 @@ public class IncomingPipeline implements Consumer<CommunicationContext> {
 
     private final Deserializer deserializer;
     private final AbstractCallHandler handler;
+    private final AdmissionControlService admissionControl;
+    private final DuplicateCallCache duplicateCalls;
 
     @Override
     public void accept(CommunicationContext context) {
@@ -58,9 +62,32 @@ public class IncomingPipeline implements Consumer<CommunicationContext> {
         OcppJsonMessage msg = context.getIncomingMessage();
 
         if (msg instanceof OcppJsonCall) {
-            handler.accept(context);
-            serializer.accept(context);
-            sender.accept(context);
+            OcppJsonCall call = (OcppJsonCall) msg;
+
+            String cachedResponse = duplicateCalls.getResponse(context, call);
+            if (cachedResponse != null) {
+                log.info("[chargeBoxId={}] Received {} with messageId={} again, sending the same response",
+                         context.getChargeBoxId(), call.getAction(), call.getMessageId());
+                context.setOutgoingString(cachedResponse);
+                sender.accept(context);
+                return;
+            }
+
+            // a delayed request is answered later by another thread, this one continues with the next messages
+            admissionControl.admit(
+                    context.getChargeBoxId(),
+                    call.getAction(),
+                    () -> {
+                        handler.accept(context);
+                        respond(context, call);
+                    },
+                    admission -> {
+                        context.setOutgoingMessage(
+                                ErrorFactory.notAdmitted(call.getMessageId(), call.getAction(), admission)
+                        );
+                        respond(context, call);
+                    }
+            );
 
         } else if (msg instanceof OcppJsonResult) {
             context.getResultHandler()
@@ -72,4 +99,10 @@ public class IncomingPipeline implements Consumer<CommunicationContext> {
         }
     }
 
+    private void respond(CommunicationContext context, OcppJsonCall call) {
+        serializer.accept(context);
+        duplicateCalls.putResponse(context, call);
+        sender.accept(context);
+    }
+
 }
@@ -18,10 +18,15 @@
  */
 package de.rwth.idsg.steve.ocpp.ws.pipeline;
 
+import com.google.common.base.Utf8;
 import de.rwth.idsg.steve.SteveException;
+import de.rwth.idsg.steve.ocpp.journal.JournalDirection;
+import de.rwth.idsg.steve.ocpp.journal.MessageJournal;
+import de.rwth.idsg.steve.ocpp.traffic.StationTrafficStore;
 import de.rwth.idsg.steve.ocpp.ws.WebSocketLogger;
 import de.rwth.idsg.steve.ocpp.ws.data.CommunicationContext;
 import de.rwth.idsg.steve.ocpp.ws.data.OcppJsonCall;
+import de.rwth.idsg.steve.ocpp.ws.data.OcppJsonMessage;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
@@ -46,10 +51,13 @@ public enum Sender implements Consumer<CommunicationContext> {
         WebSocketSession session = context.getSession();
 
         WebSocketLogger.sending(chargeBoxId, session, outgoingString);
+        MessageJournal.INSTANCE.append(chargeBoxId, JournalDirection.OUT, outgoingString);
 
         TextMessage out = new TextMessage(outgoingString);
+        boolean failed = true;
         try {
             session.sendMessage(out);
+            failed = false;
         } catch (IOException e) {
 
             // Do NOT swallow exceptions for outgoing CALLs. For others just log.
@@ -58,6 +66,28 @@ public enum Sender implements Consumer<CommunicationContext> {
             } else {
                 log.error("Could not send the outgoing message", e);
             }
+        } finally {
+            StationTrafficStore.INSTANCE.recordOutgoing(chargeBoxId, getAction(context),
+                                                        Utf8.encodedLength(outgoingString), failed);
         }
     }
+
+    /**
+     * Our own CALLs have an action. The responses are accounted to the action of the incoming CALL they belong to.
+     */
+    private static String getAction(CommunicationContext context) {
+        OcppJsonMessage outgoing = context.getOutgoingMessage();
+        if (outgoing instanceof OcppJsonCall) {
+            return ((OcppJsonCall) outgoing).getAction();
+        }
+
+        OcppJsonMessage incoming = context.getIncomingMessage();
+        if (incoming instanceof OcppJsonCall) {
+            return ((OcppJsonCall) incoming).getAction();
+        }
+
+        return context.isSetOutgoingError()
+                ? StationTrafficStore.ACTION_CALL_ERROR
+                : StationTrafficStore.ACTION_CALL_RESULT;
+    }
 }
@@ -0,0 +1,139 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.ocpp.ws.pipeline;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import lombok.Getter;
+
+import java.io.IOException;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Parses a text message, which arrives in multiple frames, while it arrives: Each frame is fed into the non-blocking
+ * Jackson parser and the resulting tokens are collected in a {@link TokenBuffer}, which the {@link Deserializer}
+ * reads from afterwards. This way, the whole message is never held as one String, malformed JSON fails at the
+ * frame that contains the error, and the size cap is checked frame by frame.
+ *
+ * One instance per message. Not thread-safe, but the frames of a session arrive one after the other.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+public class StreamingTextMessageParser {
+
+    private static final int PREVIEW_LENGTH = 1024;
+
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+    private final TokenBuffer tokens;
+    private final int maxBytes;
+
+    @Getter private int byteCount;
+    @Getter private int frameCount;
+    private final StringBuilder preview = new StringBuilder();
+
+    // A surrogate pair might be split between two frames. Its first half must not be encoded on its own.
+    private char pendingHighSurrogate;
+
+    public StreamingTextMessageParser(ObjectMapper mapper, int maxBytes) throws IOException {
+        this.parser = mapper.getFactory().createNonBlockingByteArrayParser();
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+        this.tokens = new TokenBuffer(mapper, false);
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * @throws MessageTooBigException if the message exceeds the size cap with this frame
+     * @throws IOException if the message is not valid JSON
+     */
+    public void feed(String frame) throws IOException {
+        frameCount++;
+        appendPreview(frame);
+
+        String text = frame;
+        if (pendingHighSurrogate != 0) {
+            text = pendingHighSurrogate + text;
+            pendingHighSurrogate = 0;
+        }
+        if (!text.isEmpty() && Character.isHighSurrogate(text.charAt(text.length() - 1))) {
+            pendingHighSurrogate = text.charAt(text.length() - 1);
+            text = text.substring(0, text.length() - 1);
+        }
+
+        byte[] bytes = text.getBytes(UTF_8);
+        byteCount += bytes.length;
+        if (byteCount > maxBytes) {
+            throw new MessageTooBigException(byteCount, maxBytes);
+        }
+
+        feeder.feedInput(bytes, 0, bytes.length);
+        drain();
+    }
+
+    /**
+     * Call after the last frame was fed.
+     */
+    public TokenBuffer finish() throws IOException {
+        if (pendingHighSurrogate != 0) {
+            throw new IOException("The message ends with an incomplete surrogate pair");
+        }
+        feeder.endOfInput();
+        drain();
+        parser.close();
+
+        if (tokens.firstToken() == null) {
+            throw new IOException("The message does not contain any JSON");
+        }
+        return tokens;
+    }
+
+    /**
+     * The beginning of the message, for logging
+     */
+    public String getPreview() {
+        return preview.toString();
+    }
+
+    private void drain() throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            tokens.copyCurrentEvent(parser);
+        }
+    }
+
+    private void appendPreview(String frame) {
+        int remaining = PREVIEW_LENGTH - preview.length();
+        if (remaining > 0) {
+            preview.append(frame, 0, Math.min(remaining, frame.length()));
+        }
+    }
+
+    public static class MessageTooBigException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        public MessageTooBigException(int byteCount, int maxBytes) {
+            super("The message exceeds the size limit of " + maxBytes + " bytes (at least " + byteCount + " bytes)");
+        }
+    }
+}
@@ -39,6 +39,11 @@ import java.util.Optional;
 public interface ChargePointRepository {
     Optional<String> getRegistrationStatus(String chargeBoxId);
 
+    /**
+     * Key: chargeBoxId, value: registration status of all stations
+     */
+    Map<String, String> getRegistrationStatusMap();
+
     List<ChargePointSelect> getChargePointSelect(OcppProtocol protocol, List<String> inStatusFilter, List<String> chargeBoxIdFilter);
 
     default List<ChargePointSelect> getChargePointSelect(OcppProtocol protocol, List<String> inStatusFilter) {
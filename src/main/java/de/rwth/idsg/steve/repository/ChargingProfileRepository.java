@@ -58,6 +58,14 @@ public interface ChargingProfileRepository {
 
     List<ChargingProfile.Overview> getOverview(ChargingProfileQueryForm form);
 
+    /**
+     * Keyset pagination, ordered by the primary key
+     *
+     * @param afterChargingProfilePk the last primary key of the previous page, or null for the first page
+     */
+    List<ChargingProfile.Overview> getOverview(ChargingProfileQueryForm form, Integer afterChargingProfilePk,
+                                               int limit);
+
     ChargingProfile.Details getDetails(int chargingProfilePk);
 
     int add(ChargingProfileForm form);
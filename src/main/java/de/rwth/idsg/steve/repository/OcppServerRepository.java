@@ -23,10 +23,13 @@ import de.rwth.idsg.steve.repository.dto.InsertConnectorStatusParams;
 import de.rwth.idsg.steve.repository.dto.InsertTransactionParams;
 import de.rwth.idsg.steve.repository.dto.UpdateChargeboxParams;
 import de.rwth.idsg.steve.repository.dto.UpdateTransactionParams;
+import de.rwth.idsg.steve.repository.wal.WalPosition;
+import de.rwth.idsg.steve.repository.wal.WalRecord;
 import ocpp.cs._2015._10.MeterValue;
 import org.joda.time.DateTime;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * @author Sevket Goekay <sevketgokay@gmail.com>
@@ -36,6 +39,7 @@ public interface OcppServerRepository {
 
     void updateChargebox(UpdateChargeboxParams params);
     void updateOcppProtocol(String chargeBoxId, OcppProtocol protocol);
+    void updateOcppProtocol(Map<String, OcppProtocol> chargeBoxIdProtocolMap);
     void updateEndpointAddress(String chargeBoxIdentity, String endpointAddress);
     void updateChargeboxFirmwareStatus(String chargeBoxIdentity, String firmwareStatus);
     void updateChargeboxDiagnosticsStatus(String chargeBoxIdentity, String status);
@@ -48,4 +52,23 @@ public interface OcppServerRepository {
 
     int insertTransaction(InsertTransactionParams params);
     void updateTransaction(UpdateTransactionParams params);
+
+    /**
+     * Applies the records of the write-ahead log in one transaction. Unlike the methods above, nothing is written if
+     * one of them fails and the exception is thrown, such that the caller can retry.
+     */
+    void applyWriteAheadLog(List<WalRecord> records);
+
+    /**
+     * Like {@link #applyWriteAheadLog(List)}, and stores the position up to which the log is applied in the same
+     * transaction. Therefore, the records are applied exactly once, even if the process crashes right after the commit.
+     *
+     * @param logDirectory identifies the log, since each instance of SteVe has its own
+     */
+    void applyWriteAheadLog(List<WalRecord> records, String logDirectory, WalPosition end);
+
+    /**
+     * @return the position stored by {@link #applyWriteAheadLog(List, String, WalPosition)}, or null
+     */
+    WalPosition getWriteAheadLogPosition(String logDirectory);
 }
@@ -33,6 +33,13 @@ import java.util.List;
 public interface OcppTagRepository {
     List<OcppTag.Overview> getOverview(OcppTagQueryForm form);
 
+    /**
+     * Keyset pagination, ordered by the primary key
+     *
+     * @param afterOcppTagPk the last primary key of the previous page, or null for the first page
+     */
+    List<OcppTag.Overview> getOverview(OcppTagQueryForm form, Integer afterOcppTagPk, int limit);
+
     Result<OcppTagActivityRecord> getRecords();
     Result<OcppTagActivityRecord> getRecords(List<String> idTagList);
 
@@ -33,6 +33,13 @@ import java.util.List;
 public interface ReservationRepository {
     List<Reservation> getReservations(ReservationQueryForm form);
 
+    /**
+     * Keyset pagination, ordered by the primary key
+     *
+     * @param afterReservationPk the last primary key of the previous page, or null for the first page
+     */
+    List<Reservation> getReservations(ReservationQueryForm form, Integer afterReservationPk, int limit);
+
     List<Integer> getActiveReservationIds(String chargeBoxId);
 
     /**
@@ -20,6 +20,7 @@ package de.rwth.idsg.steve.repository;
 
 import de.rwth.idsg.steve.repository.dto.Transaction;
 import de.rwth.idsg.steve.repository.dto.TransactionDetails;
+import de.rwth.idsg.steve.web.dto.MeterValueQueryForm;
 import de.rwth.idsg.steve.web.dto.TransactionQueryForm;
 
 import java.io.Writer;
@@ -32,9 +33,25 @@ import java.util.List;
 public interface TransactionRepository {
     List<Transaction> getTransactions(TransactionQueryForm form);
 
+    /**
+     * Keyset pagination, ordered by the primary key descending
+     *
+     * @param afterTransactionPk the last primary key of the previous page, or null for the first page
+     */
+    List<Transaction> getTransactions(TransactionQueryForm form, Integer afterTransactionPk, int limit);
+
     void writeTransactionsCSV(TransactionQueryForm form, Writer writer);
 
+    void writeMeterValuesCSV(MeterValueQueryForm form, Writer writer);
+
     List<Integer> getActiveTransactionIds(String chargeBoxId);
 
-    TransactionDetails getDetails(int transactionPk);
+    default TransactionDetails getDetails(int transactionPk) {
+        return getDetails(transactionPk, true);
+    }
+
+    /**
+     * @param withMeterValues if false, the meter values are not read (only their summary), which is much cheaper
+     */
+    TransactionDetails getDetails(int transactionPk, boolean withMeterValues);
 }
@@ -18,6 +18,7 @@
  */
 package de.rwth.idsg.steve.repository.dto;
 
+import jooq.steve.db.tables.records.TransactionEnergyRecord;
 import jooq.steve.db.tables.records.TransactionStartRecord;
 import lombok.Builder;
 import lombok.Getter;
@@ -44,6 +45,12 @@ public class TransactionDetails {
     @Nullable
     private final TransactionStartRecord nextTransactionStart;
 
+    /**
+     * Summary of the meter values that were sent with the id of this transaction. Null, if there are none.
+     */
+    @Nullable
+    private final TransactionEnergyRecord energy;
+
     @Getter
     @Builder
     public static class MeterValues {
@@ -19,6 +19,7 @@
 package de.rwth.idsg.steve.repository.impl;
 
 import de.rwth.idsg.steve.SteveException;
+import de.rwth.idsg.steve.config.DatabasePools;
 import de.rwth.idsg.steve.ocpp.OcppProtocol;
 import de.rwth.idsg.steve.repository.AddressRepository;
 import de.rwth.idsg.steve.repository.ChargePointRepository;
@@ -46,6 +47,7 @@ import org.jooq.Table;
 import org.jooq.exception.DataAccessException;
 import org.jooq.impl.DSL;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.CollectionUtils;
 
@@ -69,24 +71,41 @@ import static jooq.steve.db.tables.ConnectorStatus.CONNECTOR_STATUS;
 public class ChargePointRepositoryImpl implements ChargePointRepository {
 
     private final DSLContext ctx;
+    private final DSLContext replicaCtx;
+    private final DSLContext ocppCtx;
     private final AddressRepository addressRepository;
+    private final StatisticsCounters counters;
 
     @Autowired
-    public ChargePointRepositoryImpl(DSLContext ctx, AddressRepository addressRepository) {
+    public ChargePointRepositoryImpl(@Qualifier(DatabasePools.WEB) DSLContext ctx,
+                                     @Qualifier(DatabasePools.WEB_REPLICA) DSLContext replicaCtx,
+                                     @Qualifier(DatabasePools.OCPP_READ) DSLContext ocppCtx,
+                                     AddressRepository addressRepository,
+                                     StatisticsCounters counters) {
         this.ctx = ctx;
+        this.replicaCtx = replicaCtx;
+        this.ocppCtx = ocppCtx;
         this.addressRepository = addressRepository;
+        this.counters = counters;
     }
 
     @Override
     public Optional<String> getRegistrationStatus(String chargeBoxId) {
-        String status = ctx.select(CHARGE_BOX.REGISTRATION_STATUS)
-                           .from(CHARGE_BOX)
-                           .where(CHARGE_BOX.CHARGE_BOX_ID.eq(chargeBoxId))
-                           .fetchOne(CHARGE_BOX.REGISTRATION_STATUS);
+        String status = ocppCtx.select(CHARGE_BOX.REGISTRATION_STATUS)
+                               .from(CHARGE_BOX)
+                               .where(CHARGE_BOX.CHARGE_BOX_ID.eq(chargeBoxId))
+                               .fetchOne(CHARGE_BOX.REGISTRATION_STATUS);
 
         return Optional.ofNullable(status);
     }
 
+    @Override
+    public Map<String, String> getRegistrationStatusMap() {
+        return ocppCtx.select(CHARGE_BOX.CHARGE_BOX_ID, CHARGE_BOX.REGISTRATION_STATUS)
+                      .from(CHARGE_BOX)
+                      .fetchMap(CHARGE_BOX.CHARGE_BOX_ID, CHARGE_BOX.REGISTRATION_STATUS);
+    }
+
     @Override
     public List<ChargePointSelect> getChargePointSelect(OcppProtocol protocol, List<String> inStatusFilter, List<String> chargeBoxIdFilter) {
         Condition chargeBoxIdCondition = CollectionUtils.isEmpty(chargeBoxIdFilter)
@@ -134,7 +153,7 @@ public class ChargePointRepositoryImpl implements ChargePointRepository {
 
     @SuppressWarnings("unchecked")
     private Result<Record5<Integer, String, String, String, DateTime>> getOverviewInternal(ChargePointQueryForm form) {
-        SelectQuery selectQuery = ctx.selectQuery();
+        SelectQuery selectQuery = replicaCtx.selectQuery();
         selectQuery.addFrom(CHARGE_BOX);
         selectQuery.addSelect(
                 CHARGE_BOX.CHARGE_BOX_PK,
@@ -288,11 +307,12 @@ public class ChargePointRepositoryImpl implements ChargePointRepository {
                                                      .collect(Collectors.toList());
 
         ctx.batchInsert(batch).execute();
+        chargeBoxIdList.forEach(id -> counters.chargeBoxAdded(id, null));
     }
 
     @Override
     public int addChargePoint(ChargePointForm form) {
-        return ctx.transactionResult(configuration -> {
+        int chargeBoxPk = ctx.transactionResult(configuration -> {
             DSLContext ctx = DSL.using(configuration);
             try {
                 Integer addressId = addressRepository.updateOrInsert(ctx, form.getAddress());
@@ -303,6 +323,9 @@ public class ChargePointRepositoryImpl implements ChargePointRepository {
                         form.getChargeBoxId(), e);
             }
         });
+
+        counters.chargeBoxAdded(form.getChargeBoxId(), form.getRegistrationStatus());
+        return chargeBoxPk;
     }
 
     @Override
@@ -318,20 +341,32 @@ public class ChargePointRepositoryImpl implements ChargePointRepository {
                         form.getChargeBoxId(), e);
             }
         });
+
+        counters.chargeBoxUpdated(form.getChargeBoxId(), form.getRegistrationStatus());
     }
 
     @Override
     public void deleteChargePoint(int chargeBoxPk) {
-        ctx.transaction(configuration -> {
+        String chargeBoxId = ctx.transactionResult(configuration -> {
             DSLContext ctx = DSL.using(configuration);
             try {
+                String id = ctx.select(CHARGE_BOX.CHARGE_BOX_ID)
+                               .from(CHARGE_BOX)
+                               .where(CHARGE_BOX.CHARGE_BOX_PK.eq(chargeBoxPk))
+                               .fetchOne(CHARGE_BOX.CHARGE_BOX_ID);
+
                 addressRepository.delete(ctx, selectAddressId(chargeBoxPk));
                 deleteChargePointInternal(ctx, chargeBoxPk);
+                return id;
 
             } catch (DataAccessException e) {
                 throw new SteveException("Failed to delete the charge point", e);
             }
         });
+
+        if (chargeBoxId != null) {
+            counters.chargeBoxDeleted(chargeBoxId);
+        }
     }
 
     // -------------------------------------------------------------------------
@@ -19,6 +19,7 @@
 package de.rwth.idsg.steve.repository.impl;
 
 import de.rwth.idsg.steve.SteveException;
+import de.rwth.idsg.steve.config.DatabasePools;
 import de.rwth.idsg.steve.repository.ChargingProfileRepository;
 import de.rwth.idsg.steve.repository.dto.ChargingProfile;
 import de.rwth.idsg.steve.repository.dto.ChargingProfileAssignment;
@@ -39,6 +40,7 @@ import org.jooq.SelectConditionStep;
 import org.jooq.exception.DataAccessException;
 import org.jooq.impl.DSL;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.CollectionUtils;
 
@@ -60,7 +62,7 @@ import static jooq.steve.db.tables.ChargeBox.CHARGE_BOX;
 @Repository
 public class ChargingProfileRepositoryImpl implements ChargingProfileRepository {
 
-    @Autowired private DSLContext ctx;
+    @Autowired @Qualifier(DatabasePools.WEB) private DSLContext ctx;
 
     // -------------------------------------------------------------------------
     // OCPP operations
@@ -200,6 +202,29 @@ public class ChargingProfileRepositoryImpl implements ChargingProfileRepository
 
     @Override
     public List<ChargingProfile.Overview> getOverview(ChargingProfileQueryForm form) {
+        return ctx.selectFrom(CHARGING_PROFILE)
+                  .where(getOverviewConditions(form))
+                  .fetch()
+                  .map(ChargingProfileRepositoryImpl::toOverview);
+    }
+
+    @Override
+    public List<ChargingProfile.Overview> getOverview(ChargingProfileQueryForm form, Integer afterChargingProfilePk,
+                                                      int limit) {
+        Condition conditions = getOverviewConditions(form);
+        if (afterChargingProfilePk != null) {
+            conditions = conditions.and(CHARGING_PROFILE.CHARGING_PROFILE_PK.greaterThan(afterChargingProfilePk));
+        }
+
+        return ctx.selectFrom(CHARGING_PROFILE)
+                  .where(conditions)
+                  .orderBy(CHARGING_PROFILE.CHARGING_PROFILE_PK)
+                  .limit(limit)
+                  .fetch()
+                  .map(ChargingProfileRepositoryImpl::toOverview);
+    }
+
+    private static Condition getOverviewConditions(ChargingProfileQueryForm form) {
         Condition conditions = DSL.trueCondition();
 
         if (form.getChargingProfilePk() != null) {
@@ -234,20 +259,20 @@ public class ChargingProfileRepositoryImpl implements ChargingProfileRepository
             conditions = conditions.and(CHARGING_PROFILE.VALID_TO.lessOrEqual(form.getValidTo().toDateTime()));
         }
 
-        return ctx.selectFrom(CHARGING_PROFILE)
-                  .where(conditions)
-                  .fetch()
-                  .map(r -> ChargingProfile.Overview.builder()
-                                                    .chargingProfilePk(r.getChargingProfilePk())
-                                                    .stackLevel(r.getStackLevel())
-                                                    .description(r.getDescription())
-                                                    .profilePurpose(r.getChargingProfilePurpose())
-                                                    .profileKind(r.getChargingProfileKind())
-                                                    .recurrencyKind(r.getRecurrencyKind())
-                                                    .validFrom(r.getValidFrom())
-                                                    .validTo(r.getValidTo())
-                                                    .build()
-                  );
+        return conditions;
+    }
+
+    private static ChargingProfile.Overview toOverview(ChargingProfileRecord r) {
+        return ChargingProfile.Overview.builder()
+                                       .chargingProfilePk(r.getChargingProfilePk())
+                                       .stackLevel(r.getStackLevel())
+                                       .description(r.getDescription())
+                                       .profilePurpose(r.getChargingProfilePurpose())
+                                       .profileKind(r.getChargingProfileKind())
+                                       .recurrencyKind(r.getRecurrencyKind())
+                                       .validFrom(r.getValidFrom())
+                                       .validTo(r.getValidTo())
+                                       .build();
     }
 
     @Override
@@ -18,6 +18,8 @@
  */
 package de.rwth.idsg.steve.repository.impl;
 
+import de.rwth.idsg.steve.config.DatabasePools;
+import de.rwth.idsg.steve.repository.ChargePointRepository;
 import de.rwth.idsg.steve.repository.GenericRepository;
 import de.rwth.idsg.steve.repository.ReservationStatus;
 import de.rwth.idsg.steve.repository.dto.DbVersion;
@@ -26,16 +28,20 @@ import de.rwth.idsg.steve.web.dto.Statistics;
 import lombok.extern.slf4j.Slf4j;
 import org.joda.time.DateTime;
 import org.jooq.DSLContext;
-import org.jooq.Field;
 import org.jooq.Record2;
-import org.jooq.Record8;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Repository;
 
-import static de.rwth.idsg.steve.utils.CustomDSL.date;
+import javax.annotation.PostConstruct;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static de.rwth.idsg.steve.SteveConfiguration.CONFIG;
 import static jooq.steve.db.Tables.RESERVATION;
-import static jooq.steve.db.Tables.TRANSACTION;
+import static jooq.steve.db.Tables.TRANSACTION_CURRENT;
 import static jooq.steve.db.tables.ChargeBox.CHARGE_BOX;
+import static jooq.steve.db.tables.Connector.CONNECTOR;
 import static jooq.steve.db.tables.OcppTag.OCPP_TAG;
 import static jooq.steve.db.tables.SchemaVersion.SCHEMA_VERSION;
 import static jooq.steve.db.tables.User.USER;
@@ -50,81 +56,25 @@ import static org.jooq.impl.DSL.select;
 @Repository
 public class GenericRepositoryImpl implements GenericRepository {
 
-    @Autowired private DSLContext ctx;
+    @Autowired @Qualifier(DatabasePools.WEB) private DSLContext ctx;
+    @Autowired private ChargePointRepository chargePointRepository;
+    @Autowired private StatisticsCounters counters;
+    @Autowired private ScheduledExecutorService executorService;
+
+    @PostConstruct
+    public void init() {
+        int minutes = CONFIG.getDb().getStatisticsReloadMinutes();
+        if (minutes > 0) {
+            executorService.scheduleWithFixedDelay(this::reconcileStats, 0, minutes, TimeUnit.MINUTES);
+        }
+    }
 
     @Override
     public Statistics getStats() {
-        DateTime now = DateTime.now();
-        DateTime yesterdaysNow = now.minusDays(1);
-
-        Field<Integer> numChargeBoxes =
-                ctx.selectCount()
-                   .from(CHARGE_BOX)
-                   .asField("num_charge_boxes");
-
-        Field<Integer> numOcppTags =
-                ctx.selectCount()
-                   .from(OCPP_TAG)
-                   .asField("num_ocpp_tags");
-
-        Field<Integer> numUsers =
-                ctx.selectCount()
-                   .from(USER)
-                   .asField("num_users");
-
-        Field<Integer> numReservations =
-                ctx.selectCount()
-                   .from(RESERVATION)
-                   .where(RESERVATION.EXPIRY_DATETIME.greaterThan(now))
-                   .and(RESERVATION.STATUS.eq(ReservationStatus.ACCEPTED.name()))
-                   .asField("num_reservations");
-
-        Field<Integer> numTransactions =
-                ctx.selectCount()
-                   .from(TRANSACTION)
-                   .where(TRANSACTION.STOP_TIMESTAMP.isNull())
-                   .asField("num_transactions");
-
-        Field<Integer> heartbeatsToday =
-                ctx.selectCount()
-                   .from(CHARGE_BOX)
-                   .where(date(CHARGE_BOX.LAST_HEARTBEAT_TIMESTAMP).eq(date(now)))
-                   .asField("heartbeats_today");
-
-        Field<Integer> heartbeatsYesterday =
-                ctx.selectCount()
-                   .from(CHARGE_BOX)
-                   .where(date(CHARGE_BOX.LAST_HEARTBEAT_TIMESTAMP).eq(date(yesterdaysNow)))
-                   .asField("heartbeats_yesterday");
-
-        Field<Integer> heartbeatsEarlier =
-                ctx.selectCount()
-                   .from(CHARGE_BOX)
-                   .where(date(CHARGE_BOX.LAST_HEARTBEAT_TIMESTAMP).lessThan(date(yesterdaysNow)))
-                   .asField("heartbeats_earlier");
-
-        Record8<Integer, Integer, Integer, Integer, Integer, Integer, Integer, Integer> gs =
-                ctx.select(
-                        numChargeBoxes,
-                        numOcppTags,
-                        numUsers,
-                        numReservations,
-                        numTransactions,
-                        heartbeatsToday,
-                        heartbeatsYesterday,
-                        heartbeatsEarlier
-                ).fetchOne();
-
-        return Statistics.builder()
-                         .numChargeBoxes(gs.value1())
-                         .numOcppTags(gs.value2())
-                         .numUsers(gs.value3())
-                         .numReservations(gs.value4())
-                         .numTransactions(gs.value5())
-                         .heartbeatToday(gs.value6())
-                         .heartbeatYesterday(gs.value7())
-                         .heartbeatEarlier(gs.value8())
-                         .build();
+        if (!counters.isLoaded()) {
+            reloadStats();
+        }
+        return counters.getStats(DateTime.now());
     }
 
     @Override
@@ -141,4 +91,65 @@ public class GenericRepositoryImpl implements GenericRepository {
                         .updateTimestamp(ts)
                         .build();
     }
+
+    // -------------------------------------------------------------------------
+    // Private helpers
+    // -------------------------------------------------------------------------
+
+    private void reconcileStats() {
+        try {
+            reloadStats();
+        } catch (Exception e) {
+            log.warn("Failed to reconcile the statistics with the database", e);
+        }
+    }
+
+    private synchronized void reloadStats() {
+        counters.beginReload();
+        try {
+            counters.replace(loadStats());
+        } catch (RuntimeException e) {
+            counters.cancelReload();
+            throw e;
+        }
+    }
+
+    /**
+     * Reads from the primary, since a lagging replica would undo the latest writes in the counters
+     */
+    private StatisticsCounters.State loadStats() {
+        DateTime now = DateTime.now();
+
+        Record2<Integer, Integer> counts =
+                ctx.select(
+                        ctx.selectCount().from(OCPP_TAG).asField("num_ocpp_tags"),
+                        ctx.selectCount().from(USER).asField("num_users")
+                ).fetchOne();
+
+        var state = new StatisticsCounters.State(counts.value1(), counts.value2());
+
+        ctx.select(CHARGE_BOX.CHARGE_BOX_ID, CHARGE_BOX.REGISTRATION_STATUS, CHARGE_BOX.LAST_HEARTBEAT_TIMESTAMP)
+           .from(CHARGE_BOX)
+           .fetch()
+           .forEach(r -> state.putChargeBox(r.value1(), r.value2(), r.value3()));
+
+        chargePointRepository.getChargePointConnectorStatus()
+                             .forEach(state::putConnectorStatus);
+
+        ctx.select(RESERVATION.RESERVATION_PK, RESERVATION.EXPIRY_DATETIME)
+           .from(RESERVATION)
+           .where(RESERVATION.EXPIRY_DATETIME.greaterThan(now))
+           .and(RESERVATION.STATUS.eq(ReservationStatus.ACCEPTED.name()))
+           .fetch()
+           .forEach(r -> state.putAcceptedReservation(r.value1(), r.value2()));
+
+        ctx.select(TRANSACTION_CURRENT.TRANSACTION_PK, CONNECTOR.CHARGE_BOX_ID)
+           .from(TRANSACTION_CURRENT)
+           .join(CONNECTOR).on(CONNECTOR.CONNECTOR_PK.eq(TRANSACTION_CURRENT.CONNECTOR_PK))
+           .where(TRANSACTION_CURRENT.STOP_TIMESTAMP.isNull())
+           .fetch()
+           .forEach(r -> state.putActiveTransaction(r.value2(), r.value1()));
+
+        return state;
+    }
 }
@@ -21,6 +21,7 @@ package de.rwth.idsg.steve.repository.impl;
 import com.google.common.base.Throwables;
 import com.google.common.util.concurrent.Striped;
 import de.rwth.idsg.steve.SteveException;
+import de.rwth.idsg.steve.config.DatabasePools;
 import de.rwth.idsg.steve.ocpp.OcppProtocol;
 import de.rwth.idsg.steve.repository.OcppServerRepository;
 import de.rwth.idsg.steve.repository.ReservationRepository;
@@ -29,22 +30,31 @@ import de.rwth.idsg.steve.repository.dto.InsertTransactionParams;
 import de.rwth.idsg.steve.repository.dto.TransactionStatusUpdate;
 import de.rwth.idsg.steve.repository.dto.UpdateChargeboxParams;
 import de.rwth.idsg.steve.repository.dto.UpdateTransactionParams;
+import de.rwth.idsg.steve.repository.wal.WalPosition;
+import de.rwth.idsg.steve.repository.wal.WalRecord;
 import jooq.steve.db.enums.TransactionStopEventActor;
 import jooq.steve.db.enums.TransactionStopFailedEventActor;
 import jooq.steve.db.tables.records.ConnectorMeterValueRecord;
+import jooq.steve.db.tables.records.TransactionEnergyRecord;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import ocpp.cs._2015._10.MeterValue;
 import org.joda.time.DateTime;
 import org.jooq.DSLContext;
+import org.jooq.Field;
 import org.jooq.Record1;
+import org.jooq.Record2;
 import org.jooq.SelectConditionStep;
 import org.jooq.impl.DSL;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.CollectionUtils;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.locks.Lock;
 import java.util.stream.Collectors;
 
@@ -53,9 +63,12 @@ import static jooq.steve.db.tables.Connector.CONNECTOR;
 import static jooq.steve.db.tables.ConnectorMeterValue.CONNECTOR_METER_VALUE;
 import static jooq.steve.db.tables.ConnectorStatus.CONNECTOR_STATUS;
 import static jooq.steve.db.tables.OcppTag.OCPP_TAG;
+import static jooq.steve.db.tables.TransactionCurrent.TRANSACTION_CURRENT;
+import static jooq.steve.db.tables.TransactionEnergy.TRANSACTION_ENERGY;
 import static jooq.steve.db.tables.TransactionStart.TRANSACTION_START;
 import static jooq.steve.db.tables.TransactionStop.TRANSACTION_STOP;
 import static jooq.steve.db.tables.TransactionStopFailed.TRANSACTION_STOP_FAILED;
+import static jooq.steve.db.tables.WriteAheadLogPosition.WRITE_AHEAD_LOG_POSITION;
 
 /**
  * This class has methods for database access that are used by the OCPP service.
@@ -67,14 +80,26 @@ import static jooq.steve.db.tables.TransactionStopFailed.TRANSACTION_STOP_FAILED
  */
 @Slf4j
 @Repository
-@RequiredArgsConstructor
 public class OcppServerRepositoryImpl implements OcppServerRepository {
 
     private final DSLContext ctx;
+    private final DSLContext walCtx; // for applying the write-ahead log in the background
     private final ReservationRepository reservationRepository;
+    private final StatisticsCounters counters;
 
     private final Striped<Lock> transactionTableLocks = Striped.lock(16);
 
+    @Autowired
+    public OcppServerRepositoryImpl(DSLContext ctx,
+                                    @Qualifier(DatabasePools.WAL) DSLContext walCtx,
+                                    ReservationRepository reservationRepository,
+                                    StatisticsCounters counters) {
+        this.ctx = ctx;
+        this.walCtx = walCtx;
+        this.reservationRepository = reservationRepository;
+        this.counters = counters;
+    }
+
     @Override
     public void updateChargebox(UpdateChargeboxParams p) {
         ctx.update(CHARGE_BOX)
@@ -91,6 +116,8 @@ public class OcppServerRepositoryImpl implements OcppServerRepository {
            .set(CHARGE_BOX.LAST_HEARTBEAT_TIMESTAMP, p.getHeartbeatTimestamp())
            .where(CHARGE_BOX.CHARGE_BOX_ID.equal(p.getChargeBoxId()))
            .execute();
+
+        counters.heartbeat(p.getChargeBoxId(), p.getHeartbeatTimestamp());
     }
 
     @Override
@@ -101,6 +128,27 @@ public class OcppServerRepositoryImpl implements OcppServerRepository {
             .execute();
     }
 
+    /**
+     * One UPDATE per protocol instead of one per station
+     */
+    @Override
+    public void updateOcppProtocol(Map<String, OcppProtocol> chargeBoxIdProtocolMap) {
+        Map<OcppProtocol, List<String>> byProtocol = chargeBoxIdProtocolMap.entrySet()
+            .stream()
+            .collect(Collectors.groupingBy(Map.Entry::getValue,
+                                           Collectors.mapping(Map.Entry::getKey, Collectors.toList())));
+
+        ctx.transaction(configuration -> {
+            DSLContext tx = DSL.using(configuration);
+            byProtocol.forEach((protocol, chargeBoxIds) ->
+                tx.update(CHARGE_BOX)
+                  .set(CHARGE_BOX.OCPP_PROTOCOL, protocol.getCompositeValue())
+                  .where(CHARGE_BOX.CHARGE_BOX_ID.in(chargeBoxIds))
+                  .execute()
+            );
+        });
+    }
+
     @Override
     public void updateEndpointAddress(String chargeBoxIdentity, String endpointAddress) {
         ctx.update(CHARGE_BOX)
@@ -133,36 +181,14 @@ public class OcppServerRepositoryImpl implements OcppServerRepository {
            .set(CHARGE_BOX.LAST_HEARTBEAT_TIMESTAMP, ts)
            .where(CHARGE_BOX.CHARGE_BOX_ID.equal(chargeBoxIdentity))
            .execute();
+
+        counters.heartbeat(chargeBoxIdentity, ts);
     }
 
     @Override
     public void insertConnectorStatus(InsertConnectorStatusParams p) {
-        ctx.transaction(configuration -> {
-            DSLContext ctx = DSL.using(configuration);
-
-            // Step 1
-            insertIgnoreConnector(ctx, p.getChargeBoxId(), p.getConnectorId());
-
-            // -------------------------------------------------------------------------
-            // Step 2: We store a log of connector statuses
-            // -------------------------------------------------------------------------
-
-            ctx.insertInto(CONNECTOR_STATUS)
-               .set(CONNECTOR_STATUS.CONNECTOR_PK, DSL.select(CONNECTOR.CONNECTOR_PK)
-                                                      .from(CONNECTOR)
-                                                      .where(CONNECTOR.CHARGE_BOX_ID.equal(p.getChargeBoxId()))
-                                                      .and(CONNECTOR.CONNECTOR_ID.equal(p.getConnectorId()))
-               )
-               .set(CONNECTOR_STATUS.STATUS_TIMESTAMP, p.getTimestamp())
-               .set(CONNECTOR_STATUS.STATUS, p.getStatus())
-               .set(CONNECTOR_STATUS.ERROR_CODE, p.getErrorCode())
-               .set(CONNECTOR_STATUS.ERROR_INFO, p.getErrorInfo())
-               .set(CONNECTOR_STATUS.VENDOR_ID, p.getVendorId())
-               .set(CONNECTOR_STATUS.VENDOR_ERROR_CODE, p.getVendorErrorCode())
-               .execute();
-
-            log.debug("Stored a new connector status for {}/{}.", p.getChargeBoxId(), p.getConnectorId());
-        });
+        ctx.transaction(configuration -> insertConnectorStatus(DSL.using(configuration), p));
+        counters.connectorStatus(p.getChargeBoxId(), p.getConnectorId(), p.getTimestamp(), p.getStatus());
     }
 
     @Override
@@ -208,6 +234,107 @@ public class OcppServerRepositoryImpl implements OcppServerRepository {
         });
     }
 
+    @Override
+    public void applyWriteAheadLog(List<WalRecord> records) {
+        applyWriteAheadLog(records, null, null);
+    }
+
+    @Override
+    public WalPosition getWriteAheadLogPosition(String logDirectory) {
+        return walCtx.select(WRITE_AHEAD_LOG_POSITION.SEGMENT_ID, WRITE_AHEAD_LOG_POSITION.SEGMENT_OFFSET)
+                     .from(WRITE_AHEAD_LOG_POSITION)
+                     .where(WRITE_AHEAD_LOG_POSITION.LOG_DIRECTORY.eq(logDirectory))
+                     .fetchOne(r -> new WalPosition(r.value1(), r.value2()));
+    }
+
+    @Override
+    public void applyWriteAheadLog(List<WalRecord> records, String logDirectory, WalPosition end) {
+        // these only set the latest value per station, such that all but the last one can be skipped
+        Map<String, WalRecord> heartbeats = new LinkedHashMap<>();
+        Map<String, WalRecord> firmwareStatuses = new LinkedHashMap<>();
+        Map<String, WalRecord> diagnosticsStatuses = new LinkedHashMap<>();
+
+        walCtx.transaction(configuration -> {
+            DSLContext ctx = DSL.using(configuration);
+
+            for (WalRecord r : records) {
+                switch (r.getType()) {
+                    case HEARTBEAT:
+                        heartbeats.put(r.getChargeBoxId(), r);
+                        break;
+                    case FIRMWARE_STATUS:
+                        firmwareStatuses.put(r.getChargeBoxId(), r);
+                        break;
+                    case DIAGNOSTICS_STATUS:
+                        diagnosticsStatuses.put(r.getChargeBoxId(), r);
+                        break;
+                    case CONNECTOR_STATUS:
+                        insertConnectorStatus(ctx, r.getConnectorStatus());
+                        break;
+                    case METER_VALUES:
+                        if (!CollectionUtils.isEmpty(r.getMeterValues())) {
+                            insertIgnoreConnector(ctx, r.getChargeBoxId(), r.getConnectorId());
+                            int connectorPk = getConnectorPkFromConnector(ctx, r.getChargeBoxId(), r.getConnectorId());
+                            batchInsertMeterValues(ctx, r.getMeterValues(), connectorPk, r.getTransactionId());
+                        }
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown record type: " + r.getType());
+                }
+            }
+
+            for (WalRecord r : heartbeats.values()) {
+                ctx.update(CHARGE_BOX)
+                   .set(CHARGE_BOX.LAST_HEARTBEAT_TIMESTAMP, r.getTimestamp())
+                   .where(CHARGE_BOX.CHARGE_BOX_ID.equal(r.getChargeBoxId()))
+                   .execute();
+            }
+
+            for (WalRecord r : firmwareStatuses.values()) {
+                ctx.update(CHARGE_BOX)
+                   .set(CHARGE_BOX.FW_UPDATE_STATUS, r.getStatus())
+                   .set(CHARGE_BOX.FW_UPDATE_TIMESTAMP, r.getTimestamp())
+                   .where(CHARGE_BOX.CHARGE_BOX_ID.equal(r.getChargeBoxId()))
+                   .execute();
+            }
+
+            for (WalRecord r : diagnosticsStatuses.values()) {
+                ctx.update(CHARGE_BOX)
+                   .set(CHARGE_BOX.DIAGNOSTICS_STATUS, r.getStatus())
+                   .set(CHARGE_BOX.DIAGNOSTICS_TIMESTAMP, r.getTimestamp())
+                   .where(CHARGE_BOX.CHARGE_BOX_ID.equal(r.getChargeBoxId()))
+                   .execute();
+            }
+
+            if (end != null) {
+                ctx.insertInto(WRITE_AHEAD_LOG_POSITION)
+                   .set(WRITE_AHEAD_LOG_POSITION.LOG_DIRECTORY, logDirectory)
+                   .set(WRITE_AHEAD_LOG_POSITION.SEGMENT_ID, end.getSegmentId())
+                   .set(WRITE_AHEAD_LOG_POSITION.SEGMENT_OFFSET, end.getOffset())
+                   .onDuplicateKeyUpdate()
+                   .set(WRITE_AHEAD_LOG_POSITION.SEGMENT_ID, end.getSegmentId())
+                   .set(WRITE_AHEAD_LOG_POSITION.SEGMENT_OFFSET, end.getOffset())
+                   .execute();
+            }
+        });
+
+        for (WalRecord r : records) {
+            switch (r.getType()) {
+                case HEARTBEAT:
+                    counters.heartbeat(r.getChargeBoxId(), r.getTimestamp());
+                    break;
+                case CONNECTOR_STATUS:
+                    InsertConnectorStatusParams p = r.getConnectorStatus();
+                    counters.connectorStatus(p.getChargeBoxId(), p.getConnectorId(), p.getTimestamp(), p.getStatus());
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        log.debug("Applied {} records of the write-ahead log", records.size());
+    }
+
     @Override
     public int insertTransaction(InsertTransactionParams p) {
 
@@ -225,6 +352,9 @@ public class OcppServerRepositoryImpl implements OcppServerRepository {
 
         // it is important to insert idTag before transaction, since the transaction table references it
         boolean unknownTagInserted = insertIgnoreIdTag(ctx, p);
+        if (unknownTagInserted) {
+            counters.ocppTagsAdded(1);
+        }
 
         // -------------------------------------------------------------------------
         // Step 2: Insert transaction if it does not exist already
@@ -237,6 +367,8 @@ public class OcppServerRepositoryImpl implements OcppServerRepository {
             return transactionId;
         }
 
+        counters.transactionStarted(p.getChargeBoxId(), transactionId);
+
         if (unknownTagInserted) {
             log.warn("The transaction '{}' contains an unknown idTag '{}' which was inserted into DB "
                     + "to prevent information loss and has been blocked", transactionId, p.getIdTag());
@@ -254,8 +386,11 @@ public class OcppServerRepositoryImpl implements OcppServerRepository {
         // Step 4: Set connector status
         // -------------------------------------------------------------------------
 
-        if (shouldInsertConnectorStatusAfterTransactionMsg(p.getChargeBoxId())) {
-            insertConnectorStatus(ctx, connectorPkQuery, p.getStartTimestamp(), p.getStatusUpdate());
+        if (shouldInsertConnectorStatusAfterTransactionMsg(p.getChargeBoxId())
+                && insertConnectorStatus(ctx, DSL.field(connectorPkQuery), p.getStartTimestamp(),
+                                         p.getStatusUpdate())) {
+            counters.connectorStatus(p.getChargeBoxId(), p.getConnectorId(), p.getStartTimestamp(),
+                                     p.getStatusUpdate().getStatus());
         }
 
         return transactionId;
@@ -270,14 +405,32 @@ public class OcppServerRepositoryImpl implements OcppServerRepository {
 
         // JOOQ will throw an exception, if something goes wrong
         try {
-            ctx.insertInto(TRANSACTION_STOP)
-               .set(TRANSACTION_STOP.TRANSACTION_PK, p.getTransactionId())
-               .set(TRANSACTION_STOP.EVENT_TIMESTAMP, p.getEventTimestamp())
-               .set(TRANSACTION_STOP.EVENT_ACTOR, p.getEventActor())
-               .set(TRANSACTION_STOP.STOP_TIMESTAMP, p.getStopTimestamp())
-               .set(TRANSACTION_STOP.STOP_VALUE, p.getStopMeterValue())
-               .set(TRANSACTION_STOP.STOP_REASON, p.getStopReason())
-               .execute();
+            ctx.transaction(configuration -> {
+                DSLContext ctx = DSL.using(configuration);
+
+                ctx.insertInto(TRANSACTION_STOP)
+                   .set(TRANSACTION_STOP.TRANSACTION_PK, p.getTransactionId())
+                   .set(TRANSACTION_STOP.EVENT_TIMESTAMP, p.getEventTimestamp())
+                   .set(TRANSACTION_STOP.EVENT_ACTOR, p.getEventActor())
+                   .set(TRANSACTION_STOP.STOP_TIMESTAMP, p.getStopTimestamp())
+                   .set(TRANSACTION_STOP.STOP_VALUE, p.getStopMeterValue())
+                   .set(TRANSACTION_STOP.STOP_REASON, p.getStopReason())
+                   .execute();
+
+                // the latest stop event is the current one
+                ctx.update(TRANSACTION_CURRENT)
+                   .set(TRANSACTION_CURRENT.STOP_EVENT_ACTOR, p.getEventActor())
+                   .set(TRANSACTION_CURRENT.STOP_EVENT_TIMESTAMP, p.getEventTimestamp())
+                   .set(TRANSACTION_CURRENT.STOP_TIMESTAMP, p.getStopTimestamp())
+                   .set(TRANSACTION_CURRENT.STOP_VALUE, p.getStopMeterValue())
+                   .set(TRANSACTION_CURRENT.STOP_REASON, p.getStopReason())
+                   .where(TRANSACTION_CURRENT.TRANSACTION_PK.eq(p.getTransactionId()))
+                   .and(TRANSACTION_CURRENT.STOP_EVENT_TIMESTAMP.isNull()
+                        .or(TRANSACTION_CURRENT.STOP_EVENT_TIMESTAMP.le(p.getEventTimestamp())))
+                   .execute();
+            });
+
+            counters.transactionStopped(p.getTransactionId());
         } catch (Exception e) {
             log.error("Exception occurred", e);
             tryInsertingFailed(p, e);
@@ -289,12 +442,19 @@ public class OcppServerRepositoryImpl implements OcppServerRepository {
         // -------------------------------------------------------------------------
 
         if (shouldInsertConnectorStatusAfterTransactionMsg(p.getChargeBoxId())) {
-            SelectConditionStep<Record1<Integer>> connectorPkQuery =
-                    DSL.select(TRANSACTION_START.CONNECTOR_PK)
+            // the connector id is needed for the statistics as well
+            Record2<Integer, Integer> connector =
+                    ctx.select(CONNECTOR.CONNECTOR_PK, CONNECTOR.CONNECTOR_ID)
                        .from(TRANSACTION_START)
-                       .where(TRANSACTION_START.TRANSACTION_PK.equal(p.getTransactionId()));
-
-            insertConnectorStatus(ctx, connectorPkQuery, p.getStopTimestamp(), p.getStatusUpdate());
+                       .join(CONNECTOR).on(CONNECTOR.CONNECTOR_PK.eq(TRANSACTION_START.CONNECTOR_PK))
+                       .where(TRANSACTION_START.TRANSACTION_PK.equal(p.getTransactionId()))
+                       .fetchOne();
+
+            if (connector != null && insertConnectorStatus(ctx, DSL.val(connector.value1()),
+                                                           p.getStopTimestamp(), p.getStatusUpdate())) {
+                counters.connectorStatus(p.getChargeBoxId(), connector.value2(), p.getStopTimestamp(),
+                                         p.getStatusUpdate().getStatus());
+            }
         }
     }
 
@@ -330,15 +490,39 @@ public class OcppServerRepositoryImpl implements OcppServerRepository {
                 return new TransactionDataHolder(true, r.value1());
             }
 
-            Integer transactionId = ctx.insertInto(TRANSACTION_START)
-                                       .set(TRANSACTION_START.EVENT_TIMESTAMP, p.getEventTimestamp())
-                                       .set(TRANSACTION_START.CONNECTOR_PK, connectorPkQuery)
-                                       .set(TRANSACTION_START.ID_TAG, p.getIdTag())
-                                       .set(TRANSACTION_START.START_TIMESTAMP, p.getStartTimestamp())
-                                       .set(TRANSACTION_START.START_VALUE, p.getStartMeterValue())
-                                       .returning(TRANSACTION_START.TRANSACTION_PK)
-                                       .fetchOne()
-                                       .getTransactionPk();
+            Integer transactionId = ctx.transactionResult(configuration -> {
+                DSLContext ctx = DSL.using(configuration);
+
+                Integer pk = ctx.insertInto(TRANSACTION_START)
+                                .set(TRANSACTION_START.EVENT_TIMESTAMP, p.getEventTimestamp())
+                                .set(TRANSACTION_START.CONNECTOR_PK, connectorPkQuery)
+                                .set(TRANSACTION_START.ID_TAG, p.getIdTag())
+                                .set(TRANSACTION_START.START_TIMESTAMP, p.getStartTimestamp())
+                                .set(TRANSACTION_START.START_VALUE, p.getStartMeterValue())
+                                .returning(TRANSACTION_START.TRANSACTION_PK)
+                                .fetchOne()
+                                .getTransactionPk();
+
+                // copy what is stored, including the defaults of the columns
+                ctx.insertInto(TRANSACTION_CURRENT,
+                               TRANSACTION_CURRENT.TRANSACTION_PK,
+                               TRANSACTION_CURRENT.CONNECTOR_PK,
+                               TRANSACTION_CURRENT.ID_TAG,
+                               TRANSACTION_CURRENT.START_EVENT_TIMESTAMP,
+                               TRANSACTION_CURRENT.START_TIMESTAMP,
+                               TRANSACTION_CURRENT.START_VALUE)
+                   .select(DSL.select(TRANSACTION_START.TRANSACTION_PK,
+                                      TRANSACTION_START.CONNECTOR_PK,
+                                      TRANSACTION_START.ID_TAG,
+                                      TRANSACTION_START.EVENT_TIMESTAMP,
+                                      TRANSACTION_START.START_TIMESTAMP,
+                                      TRANSACTION_START.START_VALUE)
+                              .from(TRANSACTION_START)
+                              .where(TRANSACTION_START.TRANSACTION_PK.eq(pk)))
+                   .execute();
+
+                return pk;
+            });
 
             // Actually unnecessary, because JOOQ will throw an exception, if something goes wrong
             if (transactionId == null) {
@@ -360,19 +544,21 @@ public class OcppServerRepositoryImpl implements OcppServerRepository {
      * notification will be used as current. Or, if this transaction data was sent to us for a failed push from the past
      * and we have a "more recent" status, it will still be the current status.
      */
-    private void insertConnectorStatus(DSLContext ctx,
-                                       SelectConditionStep<Record1<Integer>> connectorPkQuery,
-                                       DateTime timestamp,
-                                       TransactionStatusUpdate statusUpdate) {
+    private boolean insertConnectorStatus(DSLContext ctx,
+                                          Field<Integer> connectorPk,
+                                          DateTime timestamp,
+                                          TransactionStatusUpdate statusUpdate) {
         try {
             ctx.insertInto(CONNECTOR_STATUS)
-               .set(CONNECTOR_STATUS.CONNECTOR_PK, connectorPkQuery)
+               .set(CONNECTOR_STATUS.CONNECTOR_PK, connectorPk)
                .set(CONNECTOR_STATUS.STATUS_TIMESTAMP, timestamp)
                .set(CONNECTOR_STATUS.STATUS, statusUpdate.getStatus())
                .set(CONNECTOR_STATUS.ERROR_CODE, statusUpdate.getErrorCode())
                .execute();
+            return true;
         } catch (Exception e) {
             log.error("Exception occurred", e);
+            return false;
         }
     }
 
@@ -420,6 +606,31 @@ public class OcppServerRepositoryImpl implements OcppServerRepository {
         return (r != null) && (r.value1() == 1);
     }
 
+    private static void insertConnectorStatus(DSLContext ctx, InsertConnectorStatusParams p) {
+        // Step 1
+        insertIgnoreConnector(ctx, p.getChargeBoxId(), p.getConnectorId());
+
+        // -------------------------------------------------------------------------
+        // Step 2: We store a log of connector statuses
+        // -------------------------------------------------------------------------
+
+        ctx.insertInto(CONNECTOR_STATUS)
+           .set(CONNECTOR_STATUS.CONNECTOR_PK, DSL.select(CONNECTOR.CONNECTOR_PK)
+                                                  .from(CONNECTOR)
+                                                  .where(CONNECTOR.CHARGE_BOX_ID.equal(p.getChargeBoxId()))
+                                                  .and(CONNECTOR.CONNECTOR_ID.equal(p.getConnectorId()))
+           )
+           .set(CONNECTOR_STATUS.STATUS_TIMESTAMP, p.getTimestamp())
+           .set(CONNECTOR_STATUS.STATUS, p.getStatus())
+           .set(CONNECTOR_STATUS.ERROR_CODE, p.getErrorCode())
+           .set(CONNECTOR_STATUS.ERROR_INFO, p.getErrorInfo())
+           .set(CONNECTOR_STATUS.VENDOR_ID, p.getVendorId())
+           .set(CONNECTOR_STATUS.VENDOR_ERROR_CODE, p.getVendorErrorCode())
+           .execute();
+
+        log.debug("Stored a new connector status for {}/{}.", p.getChargeBoxId(), p.getConnectorId());
+    }
+
     private int getConnectorPkFromConnector(DSLContext ctx, String chargeBoxIdentity, int connectorId) {
         return ctx.select(CONNECTOR.CONNECTOR_PK)
                   .from(CONNECTOR)
@@ -449,6 +660,32 @@ public class OcppServerRepositoryImpl implements OcppServerRepository {
                     .collect(Collectors.toList());
 
         ctx.batchInsert(batch).execute();
+
+        if (transactionId != null) {
+            updateTransactionEnergy(ctx, batch, transactionId);
+        }
+    }
+
+    /**
+     * To be called in the same DB transaction as the insert of the meter values. The row is locked until the end of
+     * it, such that the concurrent updates of the same transaction do not overwrite each other.
+     */
+    private static void updateTransactionEnergy(DSLContext ctx, List<ConnectorMeterValueRecord> batch,
+                                                int transactionId) {
+        ctx.insertInto(TRANSACTION_ENERGY)
+           .set(TRANSACTION_ENERGY.TRANSACTION_PK, transactionId)
+           .onDuplicateKeyIgnore()
+           .execute();
+
+        TransactionEnergyRecord summary = ctx.selectFrom(TRANSACTION_ENERGY)
+                                             .where(TRANSACTION_ENERGY.TRANSACTION_PK.eq(transactionId))
+                                             .forUpdate()
+                                             .fetchOne();
+
+        TransactionEnergySummary.add(summary, batch);
+
+        // the records are not attached (see BeanConfiguration), so summary.update() would fail
+        ctx.executeUpdate(summary);
     }
 
     private void tryInsertingFailed(UpdateTransactionParams p, Exception e) {
@@ -19,27 +19,35 @@
 package de.rwth.idsg.steve.repository.impl;
 
 import de.rwth.idsg.steve.SteveException;
+import de.rwth.idsg.steve.config.DatabasePools;
 import de.rwth.idsg.steve.repository.OcppTagRepository;
 import de.rwth.idsg.steve.repository.dto.OcppTag.Overview;
 import de.rwth.idsg.steve.web.dto.OcppTagForm;
 import de.rwth.idsg.steve.web.dto.OcppTagQueryForm;
+import jooq.steve.db.tables.OcppTag;
 import jooq.steve.db.tables.OcppTagActivity;
 import jooq.steve.db.tables.records.OcppTagActivityRecord;
 import jooq.steve.db.tables.records.OcppTagRecord;
 import lombok.extern.slf4j.Slf4j;
 import org.joda.time.DateTime;
+import org.jooq.Condition;
 import org.jooq.DSLContext;
+import org.jooq.Field;
 import org.jooq.JoinType;
 import org.jooq.Record10;
 import org.jooq.RecordMapper;
 import org.jooq.Result;
 import org.jooq.SelectQuery;
+import org.jooq.Table;
 import org.jooq.TableField;
 import org.jooq.exception.DataAccessException;
+import org.jooq.impl.DSL;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Repository;
 
 import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -47,6 +55,7 @@ import static de.rwth.idsg.steve.utils.DateTimeUtils.humanize;
 import static de.rwth.idsg.steve.utils.DateTimeUtils.toDateTime;
 import static jooq.steve.db.tables.OcppTag.OCPP_TAG;
 import static jooq.steve.db.tables.OcppTagActivity.OCPP_TAG_ACTIVITY;
+import static jooq.steve.db.tables.TransactionCurrent.TRANSACTION_CURRENT;
 
 /**
  * @author Sevket Goekay <sevketgokay@gmail.com>
@@ -57,16 +66,78 @@ import static jooq.steve.db.tables.OcppTagActivity.OCPP_TAG_ACTIVITY;
 public class OcppTagRepositoryImpl implements OcppTagRepository {
 
     private final DSLContext ctx;
+    private final DSLContext replicaCtx;
+    private final DSLContext ocppCtx;
+    private final StatisticsCounters counters;
 
     @Autowired
-    public OcppTagRepositoryImpl(DSLContext ctx) {
+    public OcppTagRepositoryImpl(@Qualifier(DatabasePools.WEB) DSLContext ctx,
+                                 @Qualifier(DatabasePools.WEB_REPLICA) DSLContext replicaCtx,
+                                 @Qualifier(DatabasePools.OCPP_READ) DSLContext ocppCtx,
+                                 StatisticsCounters counters) {
         this.ctx = ctx;
+        this.replicaCtx = replicaCtx;
+        this.ocppCtx = ocppCtx;
+        this.counters = counters;
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public List<Overview> getOverview(OcppTagQueryForm form) {
-        SelectQuery selectQuery = ctx.selectQuery();
+        return getOverviewQuery(form).fetch().map(new UserMapper());
+    }
+
+    /**
+     * The view ocpp_tag_activity counts the active transactions of all tags, and MySQL materializes it before the
+     * limit is applied. Therefore, the page is selected from ocpp_tag first, and only the active transactions of its
+     * tags are counted.
+     */
+    @Override
+    public List<Overview> getOverview(OcppTagQueryForm form, Integer afterOcppTagPk, int limit) {
+        List<Condition> conditions = getPageConditions(form);
+        if (afterOcppTagPk != null) {
+            conditions.add(OCPP_TAG.OCPP_TAG_PK.greaterThan(afterOcppTagPk));
+        }
+
+        Table<OcppTagRecord> page = replicaCtx.selectFrom(OCPP_TAG)
+                                              .where(conditions)
+                                              .orderBy(OCPP_TAG.OCPP_TAG_PK.asc())
+                                              .limit(limit)
+                                              .asTable("page");
+
+        Field<Integer> pageOcppTagPk = page.field(OCPP_TAG.OCPP_TAG_PK);
+        Field<String> pageIdTag = page.field(OCPP_TAG.ID_TAG);
+        Field<String> pageParentIdTag = page.field(OCPP_TAG.PARENT_ID_TAG);
+        Field<Integer> pageMaxActiveTransactionCount = page.field(OCPP_TAG.MAX_ACTIVE_TRANSACTION_COUNT);
+
+        Field<Long> activeTransactionCount = DSL.field(DSL.selectCount()
+                                                          .from(TRANSACTION_CURRENT)
+                                                          .where(isActiveTransactionOf(pageIdTag)))
+                                                .coerce(Long.class);
+
+        OcppTag parentTable = OCPP_TAG.as("parent");
+
+        return replicaCtx.select(
+                                 pageOcppTagPk,
+                                 parentTable.OCPP_TAG_PK,
+                                 pageIdTag,
+                                 pageParentIdTag,
+                                 page.field(OCPP_TAG.EXPIRY_DATE),
+                                 DSL.field(activeTransactionCount.greaterThan(0L)),
+                                 DSL.field(pageMaxActiveTransactionCount.eq(0)),
+                                 pageMaxActiveTransactionCount,
+                                 activeTransactionCount,
+                                 page.field(OCPP_TAG.NOTE))
+                         .from(page)
+                         .leftJoin(parentTable)
+                            .on(parentTable.ID_TAG.eq(pageParentIdTag))
+                         .orderBy(pageOcppTagPk.asc())
+                         .fetch()
+                         .map(new UserMapper());
+    }
+
+    @SuppressWarnings("unchecked")
+    private SelectQuery getOverviewQuery(OcppTagQueryForm form) {
+        SelectQuery selectQuery = replicaCtx.selectQuery();
         selectQuery.addFrom(OCPP_TAG_ACTIVITY);
 
         OcppTagActivity parentTable = OCPP_TAG_ACTIVITY.as("parent");
@@ -119,7 +190,7 @@ public class OcppTagRepositoryImpl implements OcppTagRepository {
         processBooleanType(selectQuery, OCPP_TAG_ACTIVITY.IN_TRANSACTION, form.getInTransaction());
         processBooleanType(selectQuery, OCPP_TAG_ACTIVITY.BLOCKED, form.getBlocked());
 
-        return selectQuery.fetch().map(new UserMapper());
+        return selectQuery;
     }
 
     @Override
@@ -137,9 +208,9 @@ public class OcppTagRepositoryImpl implements OcppTagRepository {
 
     @Override
     public OcppTagActivityRecord getRecord(String idTag) {
-        return ctx.selectFrom(OCPP_TAG_ACTIVITY)
-                  .where(OCPP_TAG_ACTIVITY.ID_TAG.equal(idTag))
-                  .fetchOne();
+        return ocppCtx.selectFrom(OCPP_TAG_ACTIVITY)
+                      .where(OCPP_TAG_ACTIVITY.ID_TAG.equal(idTag))
+                      .fetchOne();
     }
 
     @Override
@@ -194,20 +265,24 @@ public class OcppTagRepositoryImpl implements OcppTagRepository {
                                              .collect(Collectors.toList());
 
         ctx.batchInsert(batch).execute();
+        counters.ocppTagsAdded(batch.size());
     }
 
     @Override
     public int addOcppTag(OcppTagForm u) {
         try {
-            return ctx.insertInto(OCPP_TAG)
-                      .set(OCPP_TAG.ID_TAG, u.getIdTag())
-                      .set(OCPP_TAG.PARENT_ID_TAG, u.getParentIdTag())
-                      .set(OCPP_TAG.EXPIRY_DATE, toDateTime(u.getExpiryDate()))
-                      .set(OCPP_TAG.MAX_ACTIVE_TRANSACTION_COUNT, u.getMaxActiveTransactionCount())
-                      .set(OCPP_TAG.NOTE, u.getNote())
-                      .returning(OCPP_TAG.OCPP_TAG_PK)
-                      .fetchOne()
-                      .getOcppTagPk();
+            int ocppTagPk = ctx.insertInto(OCPP_TAG)
+                               .set(OCPP_TAG.ID_TAG, u.getIdTag())
+                               .set(OCPP_TAG.PARENT_ID_TAG, u.getParentIdTag())
+                               .set(OCPP_TAG.EXPIRY_DATE, toDateTime(u.getExpiryDate()))
+                               .set(OCPP_TAG.MAX_ACTIVE_TRANSACTION_COUNT, u.getMaxActiveTransactionCount())
+                               .set(OCPP_TAG.NOTE, u.getNote())
+                               .returning(OCPP_TAG.OCPP_TAG_PK)
+                               .fetchOne()
+                               .getOcppTagPk();
+
+            counters.ocppTagsAdded(1);
+            return ocppTagPk;
 
         } catch (DataAccessException e) {
             if (e.getCause() instanceof SQLIntegrityConstraintViolationException) {
@@ -236,14 +311,74 @@ public class OcppTagRepositoryImpl implements OcppTagRepository {
     @Override
     public void deleteOcppTag(int ocppTagPk) {
         try {
-            ctx.delete(OCPP_TAG)
-               .where(OCPP_TAG.OCPP_TAG_PK.equal(ocppTagPk))
-               .execute();
+            int count = ctx.delete(OCPP_TAG)
+                           .where(OCPP_TAG.OCPP_TAG_PK.equal(ocppTagPk))
+                           .execute();
+
+            counters.ocppTagsDeleted(count);
         } catch (DataAccessException e) {
             throw new SteveException("Execution of deleteOcppTag for idTag FAILED.", e);
         }
     }
 
+    /**
+     * The same filters as in {@link #getOverviewQuery(OcppTagQueryForm)}, but on the table instead of the view
+     */
+    private static List<Condition> getPageConditions(OcppTagQueryForm form) {
+        List<Condition> conditions = new ArrayList<>();
+
+        if (form.isOcppTagPkSet()) {
+            conditions.add(OCPP_TAG.OCPP_TAG_PK.eq(form.getOcppTagPk()));
+        }
+
+        if (form.isIdTagSet()) {
+            conditions.add(OCPP_TAG.ID_TAG.eq(form.getIdTag()));
+        }
+
+        if (form.isParentIdTagSet()) {
+            conditions.add(OCPP_TAG.PARENT_ID_TAG.eq(form.getParentIdTag()));
+        }
+
+        switch (form.getExpired()) {
+            case ALL:
+                break;
+
+            case TRUE:
+                conditions.add(OCPP_TAG.EXPIRY_DATE.lessOrEqual(DateTime.now()));
+                break;
+
+            case FALSE:
+                conditions.add(OCPP_TAG.EXPIRY_DATE.isNull().or(OCPP_TAG.EXPIRY_DATE.greaterThan(DateTime.now())));
+                break;
+
+            default:
+                throw new SteveException("Unknown enum type");
+        }
+
+        if (form.getInTransaction() != OcppTagQueryForm.BooleanType.ALL) {
+            Condition inTransaction = DSL.exists(DSL.selectOne()
+                                                    .from(TRANSACTION_CURRENT)
+                                                    .where(isActiveTransactionOf(OCPP_TAG.ID_TAG)));
+            conditions.add(form.getInTransaction().getBoolValue() ? inTransaction : DSL.not(inTransaction));
+        }
+
+        if (form.getBlocked() != OcppTagQueryForm.BooleanType.ALL) {
+            Condition blocked = OCPP_TAG.MAX_ACTIVE_TRANSACTION_COUNT.eq(0);
+            conditions.add(form.getBlocked().getBoolValue() ? blocked : DSL.not(blocked));
+        }
+
+        return conditions;
+    }
+
+    /**
+     * Same as the join condition of the view ocpp_tag_activity
+     */
+    private static Condition isActiveTransactionOf(Field<String> idTag) {
+        return TRANSACTION_CURRENT.ID_TAG.eq(idTag)
+                                         .and(TRANSACTION_CURRENT.STOP_TIMESTAMP.isNull())
+                                         .and(TRANSACTION_CURRENT.STOP_VALUE.isNull());
+    }
+
     private void processBooleanType(SelectQuery selectQuery,
                                     TableField<OcppTagActivityRecord, Boolean> field,
                                     OcppTagQueryForm.BooleanType type) {
@@ -19,6 +19,7 @@
 package de.rwth.idsg.steve.repository.impl;
 
 import de.rwth.idsg.steve.SteveException;
+import de.rwth.idsg.steve.config.DatabasePools;
 import de.rwth.idsg.steve.repository.ReservationRepository;
 import de.rwth.idsg.steve.repository.ReservationStatus;
 import de.rwth.idsg.steve.repository.dto.InsertReservationParams;
@@ -37,6 +38,7 @@ import org.jooq.SelectQuery;
 import org.jooq.exception.DataAccessException;
 import org.jooq.impl.DSL;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -55,16 +57,46 @@ import static jooq.steve.db.tables.Reservation.RESERVATION;
 public class ReservationRepositoryImpl implements ReservationRepository {
 
     private final DSLContext ctx;
+    private final DSLContext webCtx;
+    private final StatisticsCounters counters;
 
+    /**
+     * The reservations are updated by the OCPP messages, only the lists of the Web interface use the other one.
+     */
     @Autowired
-    public ReservationRepositoryImpl(DSLContext ctx) {
+    public ReservationRepositoryImpl(DSLContext ctx, @Qualifier(DatabasePools.WEB) DSLContext webCtx,
+                                     StatisticsCounters counters) {
         this.ctx = ctx;
+        this.webCtx = webCtx;
+        this.counters = counters;
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public List<Reservation> getReservations(ReservationQueryForm form) {
-        SelectQuery selectQuery = ctx.selectQuery();
+        SelectQuery selectQuery = getReservationsQuery(form);
+
+        // Default order
+        selectQuery.addOrderBy(RESERVATION.EXPIRY_DATETIME.asc());
+
+        return selectQuery.fetch().map(new ReservationMapper());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Reservation> getReservations(ReservationQueryForm form, Integer afterReservationPk, int limit) {
+        SelectQuery selectQuery = getReservationsQuery(form);
+        if (afterReservationPk != null) {
+            selectQuery.addConditions(RESERVATION.RESERVATION_PK.greaterThan(afterReservationPk));
+        }
+        selectQuery.addOrderBy(RESERVATION.RESERVATION_PK.asc());
+        selectQuery.addLimit(limit);
+        return selectQuery.fetch().map(new ReservationMapper());
+    }
+
+    @SuppressWarnings("unchecked")
+    private SelectQuery getReservationsQuery(ReservationQueryForm form) {
+        SelectQuery selectQuery = webCtx.selectQuery();
         selectQuery.addFrom(RESERVATION);
         selectQuery.addJoin(OCPP_TAG, OCPP_TAG.ID_TAG.eq(RESERVATION.ID_TAG));
         selectQuery.addJoin(CONNECTOR, CONNECTOR.CONNECTOR_PK.eq(RESERVATION.CONNECTOR_PK));
@@ -97,22 +129,19 @@ public class ReservationRepositoryImpl implements ReservationRepository {
 
         processType(selectQuery, form);
 
-        // Default order
-        selectQuery.addOrderBy(RESERVATION.EXPIRY_DATETIME.asc());
-
-        return selectQuery.fetch().map(new ReservationMapper());
+        return selectQuery;
     }
 
     @Override
     public List<Integer> getActiveReservationIds(String chargeBoxId) {
-        return ctx.select(RESERVATION.RESERVATION_PK)
-                  .from(RESERVATION)
-                  .where(RESERVATION.CONNECTOR_PK.in(DSL.select(CONNECTOR.CONNECTOR_PK)
-                                                        .from(CONNECTOR)
-                                                        .where(CONNECTOR.CHARGE_BOX_ID.equal(chargeBoxId))))
-                  .and(RESERVATION.EXPIRY_DATETIME.greaterThan(DateTime.now()))
-                  .and(RESERVATION.STATUS.equal(ReservationStatus.ACCEPTED.name()))
-                  .fetch(RESERVATION.RESERVATION_PK);
+        return webCtx.select(RESERVATION.RESERVATION_PK)
+                     .from(RESERVATION)
+                     .where(RESERVATION.CONNECTOR_PK.in(DSL.select(CONNECTOR.CONNECTOR_PK)
+                                                           .from(CONNECTOR)
+                                                           .where(CONNECTOR.CHARGE_BOX_ID.equal(chargeBoxId))))
+                     .and(RESERVATION.EXPIRY_DATETIME.greaterThan(DateTime.now()))
+                     .and(RESERVATION.STATUS.equal(ReservationStatus.ACCEPTED.name()))
+                     .fetch(RESERVATION.RESERVATION_PK);
     }
 
     @Override
@@ -136,6 +165,7 @@ public class ReservationRepositoryImpl implements ReservationRepository {
                                .fetchOne()
                                .getReservationPk();
 
+        counters.reservationInserted(reservationId, params.getExpiryTimestamp());
         log.debug("A new reservation '{}' is inserted.", reservationId);
         return reservationId;
     }
@@ -146,17 +176,22 @@ public class ReservationRepositoryImpl implements ReservationRepository {
            .where(RESERVATION.RESERVATION_PK.equal(reservationId))
            .execute();
 
+        counters.reservationEnded(reservationId);
         log.debug("The reservation '{}' is deleted.", reservationId);
     }
 
     @Override
     public void accepted(int reservationId) {
-        internalUpdateReservation(reservationId, ReservationStatus.ACCEPTED);
+        if (internalUpdateReservation(reservationId, ReservationStatus.ACCEPTED)) {
+            counters.reservationAccepted(reservationId);
+        }
     }
 
     @Override
     public void cancelled(int reservationId) {
-        internalUpdateReservation(reservationId, ReservationStatus.CANCELLED);
+        if (internalUpdateReservation(reservationId, ReservationStatus.CANCELLED)) {
+            counters.reservationEnded(reservationId);
+        }
     }
 
     @Override
@@ -173,6 +208,8 @@ public class ReservationRepositoryImpl implements ReservationRepository {
         if (count != 1) {
             log.warn("Could not mark the reservation '{}' as used: Problems occurred due to sent reservation id, " +
                     "charge box connector, user id tag or the reservation was used already.", reservationId);
+        } else {
+            counters.reservationEnded(reservationId);
         }
     }
 
@@ -203,14 +240,16 @@ public class ReservationRepositoryImpl implements ReservationRepository {
         }
     }
 
-    private void internalUpdateReservation(int reservationId, ReservationStatus status) {
+    private boolean internalUpdateReservation(int reservationId, ReservationStatus status) {
         try {
             ctx.update(RESERVATION)
                .set(RESERVATION.STATUS, status.name())
                .where(RESERVATION.RESERVATION_PK.equal(reservationId))
                .execute();
+            return true;
         } catch (DataAccessException e) {
             log.error("Updating of reservationId '{}' to status '{}' FAILED.", reservationId, status, e);
+            return false;
         }
     }
 
@@ -20,6 +20,7 @@ package de.rwth.idsg.steve.repository.impl;
 
 import de.rwth.idsg.steve.NotificationFeature;
 import de.rwth.idsg.steve.SteveException;
+import de.rwth.idsg.steve.config.DatabasePools;
 import de.rwth.idsg.steve.repository.SettingsRepository;
 import de.rwth.idsg.steve.repository.dto.MailSettings;
 import de.rwth.idsg.steve.web.dto.SettingsForm;
@@ -27,6 +28,7 @@ import jooq.steve.db.tables.records.SettingsRecord;
 import org.jooq.DSLContext;
 import org.jooq.exception.DataAccessException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Repository;
 
 import java.nio.charset.StandardCharsets;
@@ -53,7 +55,7 @@ public class SettingsRepositoryImpl implements SettingsRepository {
             StandardCharsets.UTF_8
     );
 
-    @Autowired private DSLContext ctx;
+    @Autowired @Qualifier(DatabasePools.OCPP_READ) private DSLContext ctx;
 
     @Override
     public SettingsForm getForm() {
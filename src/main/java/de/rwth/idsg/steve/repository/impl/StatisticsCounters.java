@@ -0,0 +1,358 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.repository.impl;
+
+import de.rwth.idsg.steve.repository.dto.ConnectorStatus;
+import de.rwth.idsg.steve.utils.ConnectorStatusCountFilter;
+import de.rwth.idsg.steve.web.dto.Statistics;
+import ocpp.cs._2015._10.RegistrationStatus;
+import org.joda.time.DateTime;
+import org.joda.time.LocalDate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * The numbers of the home page, kept in memory such that viewing the page does not query the database. The
+ * repositories report their writes here, and {@link GenericRepositoryImpl} reloads the state from the database
+ * periodically. The reload corrects what the write paths do not see, e.g. the writes of another instance.
+ *
+ * The changes that are reported while the state is loaded are recorded and applied to the loaded state as well,
+ * since the queries might not have seen them. Applying one twice does not matter, except for the counts of the OCPP
+ * tags and users: these are queried first, such that only a change during that query can be counted twice.
+ *
+ * The heartbeat buckets (today, yesterday, earlier) are computed from the last heartbeat of each station when the page
+ * is viewed, as well as the reservations that are not expired yet.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+@Component
+public class StatisticsCounters {
+
+    private volatile State state = new State(0, 0);
+    private volatile boolean loaded = false;
+
+    // the changes take the read lock, such that none is lost while the state is replaced
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // not null while the state is loaded from the database
+    private Queue<Consumer<State>> recorded;
+
+    // these are not loaded from the database, since they are not counted yet
+    private Map<Integer, DateTime> waitingReservations;
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Called before the state is loaded from the database
+     */
+    void beginReload() {
+        lock.writeLock().lock();
+        try {
+            recorded = new ConcurrentLinkedQueue<>();
+            waitingReservations = Map.copyOf(state.waitingReservations);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Called if the state could not be loaded
+     */
+    void cancelReload() {
+        lock.writeLock().lock();
+        try {
+            recorded = null;
+            waitingReservations = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Called with the state in the database. The changes since {@link #beginReload()} are applied to it.
+     */
+    void replace(State fresh) {
+        lock.writeLock().lock();
+        try {
+            if (recorded != null) {
+                DateTime now = DateTime.now();
+                waitingReservations.forEach((reservationId, expiry) -> {
+                    if (expiry.isAfter(now)) {
+                        fresh.waitingReservations.put(reservationId, expiry);
+                    }
+                });
+
+                recorded.forEach(change -> change.accept(fresh));
+                recorded = null;
+                waitingReservations = null;
+            }
+
+            state = fresh;
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Statistics getStats(DateTime now) {
+        State s = state;
+
+        LocalDate today = now.toLocalDate();
+        LocalDate yesterday = today.minusDays(1);
+
+        int heartbeatToday = 0;
+        int heartbeatYesterday = 0;
+        int heartbeatEarlier = 0;
+        List<ConnectorStatus> latestList = new ArrayList<>();
+
+        for (ChargeBox cb : s.chargeBoxes.values()) {
+            DateTime lastHeartbeat = cb.lastHeartbeat;
+            if (lastHeartbeat != null) {
+                LocalDate day = lastHeartbeat.toLocalDate();
+                if (day.equals(today)) {
+                    heartbeatToday++;
+                } else if (day.equals(yesterday)) {
+                    heartbeatYesterday++;
+                } else if (day.isBefore(yesterday)) {
+                    heartbeatEarlier++;
+                }
+            }
+
+            // https://github.com/steve-community/steve/issues/691
+            if (cb.accepted) {
+                latestList.addAll(cb.connectors.values());
+            }
+        }
+
+        // the expired ones will not become active again
+        s.acceptedReservations.values().removeIf(expiry -> !expiry.isAfter(now));
+
+        Statistics stats = Statistics.builder()
+                                     .numChargeBoxes(s.chargeBoxes.size())
+                                     .numOcppTags(s.numOcppTags.get())
+                                     .numUsers(s.numUsers.get())
+                                     .numReservations(s.acceptedReservations.size())
+                                     .numTransactions(s.activeTransactions.size())
+                                     .heartbeatToday(heartbeatToday)
+                                     .heartbeatYesterday(heartbeatYesterday)
+                                     .heartbeatEarlier(heartbeatEarlier)
+                                     .build();
+
+        stats.setStatusCountMap(ConnectorStatusCountFilter.getStatusCountMap(latestList));
+        return stats;
+    }
+
+    // -------------------------------------------------------------------------
+    // Charge boxes
+    // -------------------------------------------------------------------------
+
+    public void chargeBoxAdded(String chargeBoxId, String registrationStatus) {
+        apply(s -> s.addChargeBox(chargeBoxId, registrationStatus));
+    }
+
+    public void chargeBoxUpdated(String chargeBoxId, String registrationStatus) {
+        apply(s -> {
+            ChargeBox cb = s.chargeBoxes.get(chargeBoxId);
+            if (cb != null) {
+                cb.accepted = isAccepted(registrationStatus);
+            }
+        });
+    }
+
+    public void chargeBoxDeleted(String chargeBoxId) {
+        apply(s -> {
+            s.chargeBoxes.remove(chargeBoxId);
+            // the transactions are deleted along with the connectors of the station
+            s.activeTransactions.values().removeIf(chargeBoxId::equals);
+        });
+    }
+
+    public void heartbeat(String chargeBoxId, DateTime timestamp) {
+        apply(s -> {
+            // unknown stations are not in the database either
+            ChargeBox cb = s.chargeBoxes.get(chargeBoxId);
+            if (cb != null) {
+                cb.lastHeartbeat = timestamp;
+            }
+        });
+    }
+
+    public void connectorStatus(String chargeBoxId, int connectorId, DateTime timestamp, String status) {
+        ConnectorStatus connectorStatus = ConnectorStatus.builder()
+                                                         .chargeBoxId(chargeBoxId)
+                                                         .connectorId(connectorId)
+                                                         .statusTimestamp(timestamp)
+                                                         .status(status)
+                                                         .build();
+        apply(s -> s.putConnectorStatus(connectorStatus));
+    }
+
+    // -------------------------------------------------------------------------
+    // OCPP tags and users
+    // -------------------------------------------------------------------------
+
+    public void ocppTagsAdded(int count) {
+        apply(s -> s.numOcppTags.addAndGet(count));
+    }
+
+    public void ocppTagsDeleted(int count) {
+        apply(s -> s.numOcppTags.addAndGet(-count));
+    }
+
+    public void usersAdded(int count) {
+        apply(s -> s.numUsers.addAndGet(count));
+    }
+
+    public void usersDeleted(int count) {
+        apply(s -> s.numUsers.addAndGet(-count));
+    }
+
+    // -------------------------------------------------------------------------
+    // Reservations and transactions
+    // -------------------------------------------------------------------------
+
+    public void reservationInserted(int reservationId, DateTime expiry) {
+        apply(s -> s.waitingReservations.put(reservationId, expiry));
+    }
+
+    public void reservationAccepted(int reservationId) {
+        apply(s -> {
+            DateTime expiry = s.waitingReservations.remove(reservationId);
+            if (expiry != null) {
+                s.acceptedReservations.put(reservationId, expiry);
+            }
+        });
+    }
+
+    /**
+     * Cancelled, used or deleted
+     */
+    public void reservationEnded(int reservationId) {
+        apply(s -> {
+            s.waitingReservations.remove(reservationId);
+            s.acceptedReservations.remove(reservationId);
+        });
+    }
+
+    public void transactionStarted(String chargeBoxId, int transactionId) {
+        apply(s -> s.activeTransactions.put(transactionId, chargeBoxId));
+    }
+
+    public void transactionStopped(int transactionId) {
+        apply(s -> s.activeTransactions.remove(transactionId));
+    }
+
+    // -------------------------------------------------------------------------
+    // Private helpers
+    // -------------------------------------------------------------------------
+
+    private void apply(Consumer<State> change) {
+        lock.readLock().lock();
+        try {
+            change.accept(state);
+            if (recorded != null) {
+                recorded.add(change);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static boolean isAccepted(String registrationStatus) {
+        // the default of the column
+        return registrationStatus == null || RegistrationStatus.ACCEPTED.value().equals(registrationStatus);
+    }
+
+    private static final class ChargeBox {
+        private volatile boolean accepted;
+        private volatile DateTime lastHeartbeat;
+
+        // Key: connectorId, value: the latest status
+        private final Map<Integer, ConnectorStatus> connectors = new ConcurrentHashMap<>();
+    }
+
+    static final class State {
+        // Key: chargeBoxId
+        private final Map<String, ChargeBox> chargeBoxes = new ConcurrentHashMap<>();
+
+        private final AtomicInteger numOcppTags;
+        private final AtomicInteger numUsers;
+
+        // Key: reservationId, value: expiry
+        private final Map<Integer, DateTime> waitingReservations = new ConcurrentHashMap<>();
+        private final Map<Integer, DateTime> acceptedReservations = new ConcurrentHashMap<>();
+
+        // Key: transactionId, value: chargeBoxId
+        private final Map<Integer, String> activeTransactions = new ConcurrentHashMap<>();
+
+        State(int numOcppTags, int numUsers) {
+            this.numOcppTags = new AtomicInteger(numOcppTags);
+            this.numUsers = new AtomicInteger(numUsers);
+        }
+
+        /**
+         * Unlike {@link #putChargeBox}, keeps the one that is loaded already
+         */
+        void addChargeBox(String chargeBoxId, String registrationStatus) {
+            if (!chargeBoxes.containsKey(chargeBoxId)) {
+                putChargeBox(chargeBoxId, registrationStatus, null);
+            }
+        }
+
+        void putChargeBox(String chargeBoxId, String registrationStatus, DateTime lastHeartbeat) {
+            ChargeBox cb = new ChargeBox();
+            cb.accepted = isAccepted(registrationStatus);
+            cb.lastHeartbeat = lastHeartbeat;
+            chargeBoxes.put(chargeBoxId, cb);
+        }
+
+        void putConnectorStatus(ConnectorStatus status) {
+            // as in the query, which looks for the latest timestamp
+            ChargeBox cb = chargeBoxes.get(status.getChargeBoxId());
+            if (cb == null || status.getStatusTimestamp() == null) {
+                return;
+            }
+
+            // a status from the past (e.g. a retried message) does not replace a more recent one
+            cb.connectors.merge(status.getConnectorId(), status,
+                                (old, neu) -> neu.getStatusTimestamp().isBefore(old.getStatusTimestamp()) ? old : neu);
+        }
+
+        void putAcceptedReservation(int reservationId, DateTime expiry) {
+            acceptedReservations.put(reservationId, expiry);
+        }
+
+        void putActiveTransaction(String chargeBoxId, int transactionId) {
+            activeTransactions.put(transactionId, chargeBoxId);
+        }
+    }
+}
@@ -22,9 +22,13 @@ import de.rwth.idsg.steve.SteveException;
 import de.rwth.idsg.steve.ocpp.CommunicationTask;
 import de.rwth.idsg.steve.repository.TaskStore;
 import de.rwth.idsg.steve.repository.dto.TaskOverview;
+import de.rwth.idsg.steve.utils.MetricsUtils;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
+import javax.annotation.PostConstruct;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -38,9 +42,16 @@ import java.util.stream.Collectors;
 @Repository
 public class TaskStoreImpl implements TaskStore {
 
+    @Autowired private MeterRegistry meterRegistry;
+
     private final AtomicInteger atomicInteger = new AtomicInteger(0);
     private final ConcurrentHashMap<Integer, CommunicationTask> lookupTable = new ConcurrentHashMap<>();
 
+    @PostConstruct
+    public void init() {
+        meterRegistry.gauge(MetricsUtils.TASKS, this, TaskStoreImpl::size);
+    }
+
     @Override
     public List<TaskOverview> getOverview() {
         return lookupTable.entrySet()
@@ -84,4 +95,9 @@ public class TaskStoreImpl implements TaskStore {
                    .filter(entry -> entry.getValue().isFinished())
                    .forEach(entry -> lookupTable.remove(entry.getKey()));
     }
+
+    @Override
+    public int size() {
+        return lookupTable.size();
+    }
 }
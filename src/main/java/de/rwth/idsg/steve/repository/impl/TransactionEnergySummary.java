@@ -0,0 +1,137 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.repository.impl;
+
+import jooq.steve.db.tables.records.ConnectorMeterValueRecord;
+import jooq.steve.db.tables.records.TransactionEnergyRecord;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.joda.time.DateTime;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+
+import static de.rwth.idsg.steve.utils.TransactionStopServiceHelper.isEnergyValue;
+import static de.rwth.idsg.steve.utils.TransactionStopServiceHelper.isPowerValue;
+import static de.rwth.idsg.steve.utils.TransactionStopServiceHelper.toBaseUnit;
+
+/**
+ * Adds the meter values of a transaction to its row in transaction_energy. The values can arrive in any order (e.g.
+ * the transaction data of StopTransaction after the MeterValues, or a retried message), therefore the first and last
+ * energy values are decided by their timestamps and not by the order of arrival. The rules are the same as in the
+ * migration V1_0_6, which computed the rows of the existing transactions.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class TransactionEnergySummary {
+
+    // of the DECIMAL(20, 4) columns, which hold up to 16 digits before the point. a meter register does not get
+    // anywhere near the limit, the bigger values are from broken stations.
+    private static final int SCALE = 4;
+    private static final BigDecimal MAX_ABS_VALUE = BigDecimal.TEN.pow(15);
+
+    static void add(TransactionEnergyRecord summary, List<ConnectorMeterValueRecord> values) {
+        int sampleCount = summary.getSampleCount() == null ? 0 : summary.getSampleCount();
+
+        for (ConnectorMeterValueRecord v : values) {
+            sampleCount++;
+            summary.setLastSampleTimestamp(latest(summary.getLastSampleTimestamp(), v.getValueTimestamp()));
+
+            try {
+                if (isEnergyValue(v)) {
+                    BigDecimal wh = toColumnValue(v);
+                    if (wh != null) {
+                        addEnergy(summary, v.getValueTimestamp(), wh);
+                    }
+                } else if (isPowerValue(v)) {
+                    BigDecimal w = toColumnValue(v);
+                    if (w != null) {
+                        addPower(summary, w);
+                    }
+                }
+            } catch (NumberFormatException | ArithmeticException e) {
+                log.debug("Skipping the meter value '{}' of the transaction {}", v.getValue(), v.getTransactionPk());
+            }
+        }
+
+        summary.setSampleCount(sampleCount);
+    }
+
+    private static void addEnergy(TransactionEnergyRecord summary, DateTime timestamp, BigDecimal wh) {
+        if (timestamp == null) {
+            return;
+        }
+
+        // for the same timestamp, the smaller one is the first and the bigger one is the last (as MIN/MAX in SQL)
+        DateTime first = summary.getFirstEnergyTimestamp();
+        if (first == null
+                || timestamp.isBefore(first)
+                || (timestamp.isEqual(first) && isLess(wh, summary.getFirstEnergyWh()))) {
+            summary.setFirstEnergyTimestamp(timestamp);
+            summary.setFirstEnergyWh(wh);
+        }
+
+        DateTime last = summary.getLastEnergyTimestamp();
+        if (last == null
+                || timestamp.isAfter(last)
+                || (timestamp.isEqual(last) && isLess(summary.getLastEnergyWh(), wh))) {
+            summary.setLastEnergyTimestamp(timestamp);
+            summary.setLastEnergyWh(wh);
+        }
+    }
+
+    private static void addPower(TransactionEnergyRecord summary, BigDecimal w) {
+        if (summary.getMaxPowerW() == null || isLess(summary.getMaxPowerW(), w)) {
+            summary.setMaxPowerW(w);
+        }
+    }
+
+    /**
+     * @return the value in Wh or W, or null if it does not fit into the columns. In this case, it is only left out of
+     *         the summary, since failing the update would roll back the insert of the meter values as well.
+     */
+    private static BigDecimal toColumnValue(ConnectorMeterValueRecord v) {
+        BigDecimal d = toBaseUnit(v.getValue(), v.getUnit());
+        if (d.abs().compareTo(MAX_ABS_VALUE) >= 0) {
+            log.debug("Skipping the out-of-range meter value '{}' of the transaction {}", v.getValue(),
+                      v.getTransactionPk());
+            return null;
+        }
+        return d.setScale(SCALE, RoundingMode.HALF_UP);
+    }
+
+    private static boolean isLess(BigDecimal a, BigDecimal b) {
+        return a != null && b != null && a.compareTo(b) < 0;
+    }
+
+    private static DateTime latest(DateTime a, DateTime b) {
+        if (a == null) {
+            return b;
+        } else if (b == null) {
+            return a;
+        } else {
+            return a.isAfter(b) ? a : b;
+        }
+    }
+}
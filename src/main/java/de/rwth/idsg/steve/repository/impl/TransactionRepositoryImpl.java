@@ -19,37 +19,48 @@
 package de.rwth.idsg.steve.repository.impl;
 
 import de.rwth.idsg.steve.SteveException;
+import de.rwth.idsg.steve.config.DatabasePools;
 import de.rwth.idsg.steve.repository.TransactionRepository;
 import de.rwth.idsg.steve.repository.dto.Transaction;
 import de.rwth.idsg.steve.repository.dto.TransactionDetails;
 import de.rwth.idsg.steve.utils.DateTimeUtils;
 import de.rwth.idsg.steve.utils.TransactionStopServiceHelper;
+import de.rwth.idsg.steve.web.dto.MeterValueQueryForm;
 import de.rwth.idsg.steve.web.dto.TransactionQueryForm;
 import jooq.steve.db.enums.TransactionStopEventActor;
 import jooq.steve.db.tables.records.ConnectorMeterValueRecord;
+import jooq.steve.db.tables.records.TransactionEnergyRecord;
 import jooq.steve.db.tables.records.TransactionStartRecord;
 import ocpp.cs._2015._10.UnitOfMeasure;
 import org.joda.time.DateTime;
 import org.jooq.Condition;
+import org.jooq.Cursor;
 import org.jooq.DSLContext;
 import org.jooq.Field;
+import org.jooq.JoinType;
+import org.jooq.Record;
 import org.jooq.Record12;
-import org.jooq.Record9;
 import org.jooq.RecordMapper;
+import org.jooq.ResultQuery;
 import org.jooq.SelectQuery;
 import org.jooq.Table;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Repository;
 
 import java.io.Writer;
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
+import static de.rwth.idsg.steve.SteveConfiguration.CONFIG;
 import static de.rwth.idsg.steve.utils.CustomDSL.date;
 import static jooq.steve.db.tables.ChargeBox.CHARGE_BOX;
 import static jooq.steve.db.tables.Connector.CONNECTOR;
 import static jooq.steve.db.tables.ConnectorMeterValue.CONNECTOR_METER_VALUE;
 import static jooq.steve.db.tables.OcppTag.OCPP_TAG;
-import static jooq.steve.db.tables.Transaction.TRANSACTION;
+import static jooq.steve.db.tables.TransactionCurrent.TRANSACTION_CURRENT;
+import static jooq.steve.db.tables.TransactionEnergy.TRANSACTION_ENERGY;
 import static jooq.steve.db.tables.TransactionStart.TRANSACTION_START;
 
 /**
@@ -59,11 +70,23 @@ import static jooq.steve.db.tables.TransactionStart.TRANSACTION_START;
 @Repository
 public class TransactionRepositoryImpl implements TransactionRepository {
 
+    // makes the MySQL driver stream the rows one by one, instead of reading the whole result into memory
+    private static final int STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+    private static final int CSV_CHUNK_SIZE = 1_000;
+
     private final DSLContext ctx;
+    private final DSLContext replicaCtx;
+    private final DSLContext batchCtx;
+    private final int exportTimeoutSeconds;
 
     @Autowired
-    public TransactionRepositoryImpl(DSLContext ctx) {
+    public TransactionRepositoryImpl(@Qualifier(DatabasePools.WEB) DSLContext ctx,
+                                     @Qualifier(DatabasePools.WEB_REPLICA) DSLContext replicaCtx,
+                                     @Qualifier(DatabasePools.BATCH_REPLICA) DSLContext batchCtx) {
         this.ctx = ctx;
+        this.replicaCtx = replicaCtx;
+        this.batchCtx = batchCtx;
+        this.exportTimeoutSeconds = CONFIG.getDb().getExportTimeoutSeconds();
     }
 
     @Override
@@ -72,25 +95,41 @@ public class TransactionRepositoryImpl implements TransactionRepository {
                                 .map(new TransactionMapper());
     }
 
+    @Override
+    public List<Transaction> getTransactions(TransactionQueryForm form, Integer afterTransactionPk, int limit) {
+        var selectQuery = getInternal(form);
+        if (afterTransactionPk != null) {
+            // the default order is descending
+            selectQuery.addConditions(TRANSACTION_CURRENT.TRANSACTION_PK.lessThan(afterTransactionPk));
+        }
+        selectQuery.addLimit(limit);
+        return selectQuery.fetch()
+                          .map(new TransactionMapper());
+    }
+
     @Override
     public void writeTransactionsCSV(TransactionQueryForm form, Writer writer) {
-        getInternalCSV(form).fetch()
-                            .formatCSV(writer);
+        writeCSV(getInternalCSV(form), writer);
+    }
+
+    @Override
+    public void writeMeterValuesCSV(MeterValueQueryForm form, Writer writer) {
+        writeCSV(getMeterValuesCSV(form), writer);
     }
 
     @Override
     public List<Integer> getActiveTransactionIds(String chargeBoxId) {
-        return ctx.select(TRANSACTION.TRANSACTION_PK)
-                  .from(TRANSACTION)
+        return ctx.select(TRANSACTION_CURRENT.TRANSACTION_PK)
+                  .from(TRANSACTION_CURRENT)
                   .join(CONNECTOR)
-                    .on(TRANSACTION.CONNECTOR_PK.equal(CONNECTOR.CONNECTOR_PK))
+                    .on(TRANSACTION_CURRENT.CONNECTOR_PK.equal(CONNECTOR.CONNECTOR_PK))
                     .and(CONNECTOR.CHARGE_BOX_ID.equal(chargeBoxId))
-                  .where(TRANSACTION.STOP_TIMESTAMP.isNull())
-                  .fetch(TRANSACTION.TRANSACTION_PK);
+                  .where(TRANSACTION_CURRENT.STOP_TIMESTAMP.isNull())
+                  .fetch(TRANSACTION_CURRENT.TRANSACTION_PK);
     }
 
     @Override
-    public TransactionDetails getDetails(int transactionPk) {
+    public TransactionDetails getDetails(int transactionPk, boolean withMeterValues) {
 
         // -------------------------------------------------------------------------
         // Step 1: Collect general data about transaction
@@ -114,6 +153,10 @@ public class TransactionRepositoryImpl implements TransactionRepository {
         String chargeBoxId = transaction.value2();
         int connectorId = transaction.value3();
 
+        TransactionEnergyRecord energy = ctx.selectFrom(TRANSACTION_ENERGY)
+                                            .where(TRANSACTION_ENERGY.TRANSACTION_PK.eq(transactionPk))
+                                            .fetchOne();
+
         // -------------------------------------------------------------------------
         // Step 2: Collect intermediate meter values
         // -------------------------------------------------------------------------
@@ -151,6 +194,10 @@ public class TransactionRepositoryImpl implements TransactionRepository {
             timestampCondition = CONNECTOR_METER_VALUE.VALUE_TIMESTAMP.between(startTimestamp, stopTimestamp);
         }
 
+        if (!withMeterValues) {
+            return new TransactionDetails(new TransactionMapper().map(transaction), List.of(), nextTx, energy);
+        }
+
         // https://github.com/steve-community/steve/issues/1514
         Condition unitCondition = CONNECTOR_METER_VALUE.UNIT.isNull()
             .or(CONNECTOR_METER_VALUE.UNIT.in("", UnitOfMeasure.WH.value(), UnitOfMeasure.K_WH.value()));
@@ -212,7 +259,7 @@ public class TransactionRepositoryImpl implements TransactionRepository {
                    .filter(TransactionStopServiceHelper::isEnergyValue)
                    .toList();
 
-        return new TransactionDetails(new TransactionMapper().map(transaction), values, nextTx);
+        return new TransactionDetails(new TransactionMapper().map(transaction), values, nextTx, energy);
     }
 
     // -------------------------------------------------------------------------
@@ -221,27 +268,99 @@ public class TransactionRepositoryImpl implements TransactionRepository {
 
     @SuppressWarnings("unchecked")
     private
-    SelectQuery<Record9<Integer, String, Integer, String, DateTime, String, DateTime, String, String>>
+    SelectQuery<Record12<Integer, String, Integer, String, DateTime, String, DateTime, String, String, BigDecimal,
+                         BigDecimal, BigDecimal>>
     getInternalCSV(TransactionQueryForm form) {
 
-        SelectQuery selectQuery = ctx.selectQuery();
-        selectQuery.addFrom(TRANSACTION);
-        selectQuery.addJoin(CONNECTOR, TRANSACTION.CONNECTOR_PK.eq(CONNECTOR.CONNECTOR_PK));
+        // the export can be big, keep it away from the pages and, if possible, from the primary
+        SelectQuery selectQuery = batchCtx.selectQuery();
+        selectQuery.addFrom(TRANSACTION_CURRENT);
+        selectQuery.addJoin(CONNECTOR, TRANSACTION_CURRENT.CONNECTOR_PK.eq(CONNECTOR.CONNECTOR_PK));
+        selectQuery.addJoin(TRANSACTION_ENERGY, JoinType.LEFT_OUTER_JOIN,
+                TRANSACTION_ENERGY.TRANSACTION_PK.eq(TRANSACTION_CURRENT.TRANSACTION_PK));
         selectQuery.addSelect(
-                TRANSACTION.TRANSACTION_PK,
+                TRANSACTION_CURRENT.TRANSACTION_PK,
                 CONNECTOR.CHARGE_BOX_ID,
                 CONNECTOR.CONNECTOR_ID,
-                TRANSACTION.ID_TAG,
-                TRANSACTION.START_TIMESTAMP,
-                TRANSACTION.START_VALUE,
-                TRANSACTION.STOP_TIMESTAMP,
-                TRANSACTION.STOP_VALUE,
-                TRANSACTION.STOP_REASON
+                TRANSACTION_CURRENT.ID_TAG,
+                TRANSACTION_CURRENT.START_TIMESTAMP,
+                TRANSACTION_CURRENT.START_VALUE,
+                TRANSACTION_CURRENT.STOP_TIMESTAMP,
+                TRANSACTION_CURRENT.STOP_VALUE,
+                TRANSACTION_CURRENT.STOP_REASON,
+                TRANSACTION_ENERGY.FIRST_ENERGY_WH,
+                TRANSACTION_ENERGY.LAST_ENERGY_WH,
+                TRANSACTION_ENERGY.MAX_POWER_W
         );
 
         return addConditions(selectQuery, form);
     }
 
+    private SelectQuery<Record> getMeterValuesCSV(MeterValueQueryForm form) {
+        SelectQuery<Record> selectQuery = batchCtx.selectQuery();
+        selectQuery.addFrom(CONNECTOR_METER_VALUE);
+        selectQuery.addJoin(CONNECTOR, CONNECTOR_METER_VALUE.CONNECTOR_PK.eq(CONNECTOR.CONNECTOR_PK));
+        selectQuery.addSelect(
+                CONNECTOR.CHARGE_BOX_ID,
+                CONNECTOR.CONNECTOR_ID,
+                CONNECTOR_METER_VALUE.TRANSACTION_PK,
+                CONNECTOR_METER_VALUE.VALUE_TIMESTAMP,
+                CONNECTOR_METER_VALUE.VALUE,
+                CONNECTOR_METER_VALUE.READING_CONTEXT,
+                CONNECTOR_METER_VALUE.FORMAT,
+                CONNECTOR_METER_VALUE.MEASURAND,
+                CONNECTOR_METER_VALUE.LOCATION,
+                CONNECTOR_METER_VALUE.UNIT,
+                CONNECTOR_METER_VALUE.PHASE
+        );
+
+        if (form.isTransactionPkSet()) {
+            selectQuery.addConditions(CONNECTOR_METER_VALUE.TRANSACTION_PK.eq(form.getTransactionPk()));
+        }
+
+        if (form.isChargeBoxIdSet()) {
+            selectQuery.addConditions(CONNECTOR.CHARGE_BOX_ID.eq(form.getChargeBoxId()));
+        }
+
+        if (form.getFrom() != null) {
+            selectQuery.addConditions(
+                    CONNECTOR_METER_VALUE.VALUE_TIMESTAMP.greaterOrEqual(form.getFrom().toDateTime())
+            );
+        }
+
+        if (form.getTo() != null) {
+            selectQuery.addConditions(
+                    CONNECTOR_METER_VALUE.VALUE_TIMESTAMP.lessThan(form.getTo().toDateTime())
+            );
+        }
+
+        selectQuery.addOrderBy(CONNECTOR_METER_VALUE.VALUE_TIMESTAMP);
+        return selectQuery;
+    }
+
+    /**
+     * Writes the rows as they come from the database, such that the memory usage does not depend on the size of the
+     * result. The chunks are formatted by jOOQ, and only the first one with the header.
+     *
+     * The query timeout only bounds the execution of the query. Since the rows are streamed as fast as the client
+     * reads them, the time of the whole export is checked between the chunks as well, such that a slow client cannot
+     * hold a connection of the small batch pool for long.
+     */
+    private <R extends Record> void writeCSV(ResultQuery<R> query, Writer writer) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(exportTimeoutSeconds);
+
+        try (Cursor<R> cursor = query.queryTimeout(exportTimeoutSeconds).fetchSize(STREAMING_FETCH_SIZE).fetchLazy()) {
+            boolean header = true;
+            do {
+                if (System.nanoTime() - deadline > 0) {
+                    throw new SteveException("The export did not complete within %s seconds", exportTimeoutSeconds);
+                }
+                cursor.fetchNext(CSV_CHUNK_SIZE).formatCSV(writer, header);
+                header = false;
+            } while (cursor.hasNext());
+        }
+    }
+
     /**
      * Difference from getInternalCSV:
      * Joins with CHARGE_BOX and OCPP_TAG tables, selects CHARGE_BOX_PK and OCPP_TAG_PK additionally
@@ -251,24 +370,24 @@ public class TransactionRepositoryImpl implements TransactionRepository {
     SelectQuery<Record12<Integer, String, Integer, String, DateTime, String, DateTime, String, String, Integer, Integer, TransactionStopEventActor>>
     getInternal(TransactionQueryForm form) {
 
-        SelectQuery selectQuery = ctx.selectQuery();
-        selectQuery.addFrom(TRANSACTION);
-        selectQuery.addJoin(CONNECTOR, TRANSACTION.CONNECTOR_PK.eq(CONNECTOR.CONNECTOR_PK));
+        SelectQuery selectQuery = replicaCtx.selectQuery();
+        selectQuery.addFrom(TRANSACTION_CURRENT);
+        selectQuery.addJoin(CONNECTOR, TRANSACTION_CURRENT.CONNECTOR_PK.eq(CONNECTOR.CONNECTOR_PK));
         selectQuery.addJoin(CHARGE_BOX, CHARGE_BOX.CHARGE_BOX_ID.eq(CONNECTOR.CHARGE_BOX_ID));
-        selectQuery.addJoin(OCPP_TAG, OCPP_TAG.ID_TAG.eq(TRANSACTION.ID_TAG));
+        selectQuery.addJoin(OCPP_TAG, OCPP_TAG.ID_TAG.eq(TRANSACTION_CURRENT.ID_TAG));
         selectQuery.addSelect(
-                TRANSACTION.TRANSACTION_PK,
+                TRANSACTION_CURRENT.TRANSACTION_PK,
                 CONNECTOR.CHARGE_BOX_ID,
                 CONNECTOR.CONNECTOR_ID,
-                TRANSACTION.ID_TAG,
-                TRANSACTION.START_TIMESTAMP,
-                TRANSACTION.START_VALUE,
-                TRANSACTION.STOP_TIMESTAMP,
-                TRANSACTION.STOP_VALUE,
-                TRANSACTION.STOP_REASON,
+                TRANSACTION_CURRENT.ID_TAG,
+                TRANSACTION_CURRENT.START_TIMESTAMP,
+                TRANSACTION_CURRENT.START_VALUE,
+                TRANSACTION_CURRENT.STOP_TIMESTAMP,
+                TRANSACTION_CURRENT.STOP_VALUE,
+                TRANSACTION_CURRENT.STOP_REASON,
                 CHARGE_BOX.CHARGE_BOX_PK,
                 OCPP_TAG.OCPP_TAG_PK,
-                TRANSACTION.STOP_EVENT_ACTOR
+                TRANSACTION_CURRENT.STOP_EVENT_ACTOR
         );
 
         return addConditions(selectQuery, form);
@@ -277,7 +396,7 @@ public class TransactionRepositoryImpl implements TransactionRepository {
     @SuppressWarnings("unchecked")
     private SelectQuery addConditions(SelectQuery selectQuery, TransactionQueryForm form) {
         if (form.isTransactionPkSet()) {
-            selectQuery.addConditions(TRANSACTION.TRANSACTION_PK.eq(form.getTransactionPk()));
+            selectQuery.addConditions(TRANSACTION_CURRENT.TRANSACTION_PK.eq(form.getTransactionPk()));
         }
 
         if (form.isChargeBoxIdSet()) {
@@ -285,17 +404,17 @@ public class TransactionRepositoryImpl implements TransactionRepository {
         }
 
         if (form.isOcppIdTagSet()) {
-            selectQuery.addConditions(TRANSACTION.ID_TAG.eq(form.getOcppIdTag()));
+            selectQuery.addConditions(TRANSACTION_CURRENT.ID_TAG.eq(form.getOcppIdTag()));
         }
 
         if (form.getType() == TransactionQueryForm.QueryType.ACTIVE) {
-            selectQuery.addConditions(TRANSACTION.STOP_TIMESTAMP.isNull());
+            selectQuery.addConditions(TRANSACTION_CURRENT.STOP_TIMESTAMP.isNull());
         }
 
         processType(selectQuery, form);
 
         // Default order
-        selectQuery.addOrderBy(TRANSACTION.TRANSACTION_PK.desc());
+        selectQuery.addOrderBy(TRANSACTION_CURRENT.TRANSACTION_PK.desc());
 
         return selectQuery;
     }
@@ -304,7 +423,7 @@ public class TransactionRepositoryImpl implements TransactionRepository {
         switch (form.getPeriodType()) {
             case TODAY:
                 selectQuery.addConditions(
-                        date(TRANSACTION.START_TIMESTAMP).eq(date(DateTime.now()))
+                        date(TRANSACTION_CURRENT.START_TIMESTAMP).eq(date(DateTime.now()))
                 );
                 break;
 
@@ -313,7 +432,7 @@ public class TransactionRepositoryImpl implements TransactionRepository {
             case LAST_90:
                 DateTime now = DateTime.now();
                 selectQuery.addConditions(
-                        date(TRANSACTION.START_TIMESTAMP).between(
+                        date(TRANSACTION_CURRENT.START_TIMESTAMP).between(
                                 date(now.minusDays(form.getPeriodType().getInterval())),
                                 date(now)
                         )
@@ -325,7 +444,8 @@ public class TransactionRepositoryImpl implements TransactionRepository {
 
             case FROM_TO:
                 selectQuery.addConditions(
-                        TRANSACTION.START_TIMESTAMP.between(form.getFrom().toDateTime(), form.getTo().toDateTime())
+                        TRANSACTION_CURRENT.START_TIMESTAMP.between(form.getFrom().toDateTime(),
+                                                                    form.getTo().toDateTime())
                 );
                 break;
 
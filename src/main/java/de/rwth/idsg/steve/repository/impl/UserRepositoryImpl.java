@@ -19,6 +19,7 @@
 package de.rwth.idsg.steve.repository.impl;
 
 import de.rwth.idsg.steve.SteveException;
+import de.rwth.idsg.steve.config.DatabasePools;
 import de.rwth.idsg.steve.repository.AddressRepository;
 import de.rwth.idsg.steve.repository.UserRepository;
 import de.rwth.idsg.steve.repository.dto.User;
@@ -38,6 +39,7 @@ import org.jooq.SelectQuery;
 import org.jooq.exception.DataAccessException;
 import org.jooq.impl.DSL;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -55,8 +57,9 @@ import static jooq.steve.db.tables.User.USER;
 @Repository
 public class UserRepositoryImpl implements UserRepository {
 
-    @Autowired private DSLContext ctx;
+    @Autowired @Qualifier(DatabasePools.WEB) private DSLContext ctx;
     @Autowired private AddressRepository addressRepository;
+    @Autowired private StatisticsCounters counters;
 
     @Override
     public List<User.Overview> getOverview(UserQueryForm form) {
@@ -128,6 +131,8 @@ public class UserRepositoryImpl implements UserRepository {
                 throw new SteveException("Failed to add the user", e);
             }
         });
+
+        counters.usersAdded(1);
     }
 
     @Override
@@ -146,16 +151,18 @@ public class UserRepositoryImpl implements UserRepository {
 
     @Override
     public void delete(int userPk) {
-        ctx.transaction(configuration -> {
+        int count = ctx.transactionResult(configuration -> {
             DSLContext ctx = DSL.using(configuration);
             try {
                 addressRepository.delete(ctx, selectAddressId(userPk));
-                deleteInternal(ctx, userPk);
+                return deleteInternal(ctx, userPk);
 
             } catch (DataAccessException e) {
                 throw new SteveException("Failed to delete the user", e);
             }
         });
+
+        counters.usersDeleted(count);
     }
 
     // -------------------------------------------------------------------------
@@ -247,9 +254,9 @@ public class UserRepositoryImpl implements UserRepository {
            .execute();
     }
 
-    private void deleteInternal(DSLContext ctx, int userPk) {
-        ctx.delete(USER)
-           .where(USER.USER_PK.equal(userPk))
-           .execute();
+    private int deleteInternal(DSLContext ctx, int userPk) {
+        return ctx.delete(USER)
+                  .where(USER.USER_PK.equal(userPk))
+                  .execute();
     }
 }
@@ -0,0 +1,180 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.repository.wal;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import de.rwth.idsg.steve.ocpp.ws.JsonObjectMapper;
+import de.rwth.idsg.steve.repository.dto.InsertConnectorStatusParams;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import ocpp.cs._2015._10.MeterValue;
+import org.joda.time.DateTime;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Binary encoding of the records. The meter values are encoded as in OCPP 1.6 JSON, since the mapper for the
+ * messages already knows how.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class WalCodec {
+
+    private static final TypeReference<List<MeterValue>> METER_VALUES = new TypeReference<>() { };
+
+    static byte[] encode(WalRecord record) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        out.writeByte(record.getType().getCode());
+        writeString(out, record.getChargeBoxId());
+
+        switch (record.getType()) {
+            case HEARTBEAT:
+                writeDateTime(out, record.getTimestamp());
+                break;
+
+            case FIRMWARE_STATUS:
+            case DIAGNOSTICS_STATUS:
+                writeString(out, record.getStatus());
+                writeDateTime(out, record.getTimestamp());
+                break;
+
+            case CONNECTOR_STATUS:
+                InsertConnectorStatusParams p = record.getConnectorStatus();
+                out.writeInt(p.getConnectorId());
+                writeDateTime(out, p.getTimestamp());
+                writeString(out, p.getStatus());
+                writeString(out, p.getErrorCode());
+                writeString(out, p.getErrorInfo());
+                writeString(out, p.getVendorId());
+                writeString(out, p.getVendorErrorCode());
+                break;
+
+            case METER_VALUES:
+                out.writeInt(record.getConnectorId());
+                out.writeBoolean(record.getTransactionId() != null);
+                if (record.getTransactionId() != null) {
+                    out.writeInt(record.getTransactionId());
+                }
+                writeBytes(out, JsonObjectMapper.INSTANCE.getMapper().writeValueAsBytes(record.getMeterValues()));
+                break;
+
+            default:
+                throw new IllegalArgumentException("Unknown record type: " + record.getType());
+        }
+
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    static WalRecord decode(byte[] bytes) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+
+        WalRecord.Type type = WalRecord.Type.fromCode(in.readByte());
+        String chargeBoxId = readString(in);
+
+        switch (type) {
+            case HEARTBEAT:
+                return WalRecord.heartbeat(chargeBoxId, readDateTime(in));
+
+            case FIRMWARE_STATUS:
+                return WalRecord.firmwareStatus(chargeBoxId, readString(in), readDateTime(in));
+
+            case DIAGNOSTICS_STATUS:
+                return WalRecord.diagnosticsStatus(chargeBoxId, readString(in), readDateTime(in));
+
+            case CONNECTOR_STATUS:
+                return WalRecord.connectorStatus(
+                        InsertConnectorStatusParams.builder()
+                                                   .chargeBoxId(chargeBoxId)
+                                                   .connectorId(in.readInt())
+                                                   .timestamp(readDateTime(in))
+                                                   .status(readString(in))
+                                                   .errorCode(readString(in))
+                                                   .errorInfo(readString(in))
+                                                   .vendorId(readString(in))
+                                                   .vendorErrorCode(readString(in))
+                                                   .build()
+                );
+
+            case METER_VALUES:
+                int connectorId = in.readInt();
+                Integer transactionId = in.readBoolean() ? in.readInt() : null;
+                List<MeterValue> meterValues = JsonObjectMapper.INSTANCE.getMapper()
+                                                                        .readValue(readBytes(in), METER_VALUES);
+                return WalRecord.meterValues(chargeBoxId, meterValues, connectorId, transactionId);
+
+            default:
+                throw new IllegalArgumentException("Unknown record type: " + type);
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Private helpers
+    // -------------------------------------------------------------------------
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        writeBytes(out, s == null ? null : s.getBytes(UTF_8));
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = readBytes(in);
+        return bytes == null ? null : new String(bytes, UTF_8);
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+        if (bytes == null) {
+            out.writeInt(-1);
+        } else {
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    private static void writeDateTime(DataOutputStream out, DateTime dateTime) throws IOException {
+        out.writeBoolean(dateTime != null);
+        if (dateTime != null) {
+            out.writeLong(dateTime.getMillis());
+        }
+    }
+
+    private static DateTime readDateTime(DataInputStream in) throws IOException {
+        return in.readBoolean() ? new DateTime(in.readLong()) : null;
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.repository.wal;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the records in the order they were appended, across the segments. Used by a single thread.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+@Slf4j
+public class WalReader implements Closeable {
+
+    private final Path directory;
+
+    private FileChannel channel;
+    private long channelSegmentId = -1;
+
+    public WalReader(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * @return the position of the first record in the log, i.e. where to start without a checkpoint
+     */
+    public WalPosition getStartPosition() throws IOException {
+        List<Long> ids = WalSegments.list(directory);
+        long id = ids.isEmpty() ? 1 : ids.get(0);
+        return new WalPosition(id, WalSegments.HEADER_SIZE);
+    }
+
+    /**
+     * @return the position up to which the records are applied, or null if nothing was applied yet
+     */
+    public WalPosition readCheckpoint() throws IOException {
+        return WalSegments.readCheckpoint(directory);
+    }
+
+    /**
+     * To be called after the records up to the position are applied. Durable, when this method returns.
+     */
+    public void writeCheckpoint(WalPosition position) throws IOException {
+        WalSegments.writeCheckpoint(directory, position);
+    }
+
+    /**
+     * @param from the position to start at, i.e. the end of the last record that was read before
+     * @param to the position to stop at, i.e. the end of the records that are synced
+     */
+    public List<Entry> read(WalPosition from, WalPosition to, int max) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        WalPosition position = from;
+
+        while (entries.size() < max && position.compareTo(to) < 0) {
+            FileChannel segment = open(position.getSegmentId());
+
+            long end = position.getSegmentId() < to.getSegmentId()
+                    ? (segment == null ? 0 : segment.size())
+                    : to.getOffset();
+
+            if (segment == null || position.getOffset() >= end) {
+                position = nextSegment(position.getSegmentId(), to);
+                continue;
+            }
+
+            Entry entry = readEntry(segment, position, end);
+            if (entry == null) {
+                // corrupt, the rest of the segment cannot be read
+                position = nextSegment(position.getSegmentId(), to);
+                continue;
+            }
+
+            entries.add(entry);
+            position = entry.getEnd();
+        }
+
+        return entries;
+    }
+
+    /**
+     * Deletes the segments before the given one, since all their records are applied.
+     */
+    public void deleteBefore(long segmentId) throws IOException {
+        for (long id : WalSegments.list(directory)) {
+            if (id >= segmentId) {
+                break;
+            }
+            if (id == channelSegmentId) {
+                closeChannel();
+            }
+            Files.deleteIfExists(WalSegments.path(directory, id));
+            log.debug("Deleted the applied write-ahead log segment {}", id);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        closeChannel();
+    }
+
+    // -------------------------------------------------------------------------
+    // Private helpers
+    // -------------------------------------------------------------------------
+
+    private Entry readEntry(FileChannel segment, WalPosition position, long end) throws IOException {
+        long offset = position.getOffset();
+        if (offset + WalSegments.FRAME_HEADER_SIZE > end) {
+            log.error("Incomplete record at {} in the write-ahead log", position);
+            return null;
+        }
+
+        ByteBuffer frameHeader = ByteBuffer.allocate(WalSegments.FRAME_HEADER_SIZE);
+        WalSegments.readFully(segment, frameHeader, offset);
+        int length = frameHeader.getInt();
+        int crc = frameHeader.getInt();
+
+        if (length < 0 || offset + WalSegments.FRAME_HEADER_SIZE + length > end) {
+            log.error("Invalid record length {} at {} in the write-ahead log", length, position);
+            return null;
+        }
+
+        ByteBuffer payload = ByteBuffer.allocate(length);
+        WalSegments.readFully(segment, payload, offset + WalSegments.FRAME_HEADER_SIZE);
+        if (WalSegments.crc(payload.array()) != crc) {
+            log.error("Checksum mismatch of the record at {} in the write-ahead log", position);
+            return null;
+        }
+
+        WalPosition next = new WalPosition(position.getSegmentId(), offset + WalSegments.FRAME_HEADER_SIZE + length);
+        try {
+            return new Entry(WalCodec.decode(payload.array()), next);
+        } catch (Exception e) {
+            // skip only this one
+            log.error("Failed to decode the record at {} in the write-ahead log", position, e);
+            return new Entry(null, next);
+        }
+    }
+
+    private WalPosition nextSegment(long segmentId, WalPosition to) throws IOException {
+        for (long id : WalSegments.list(directory)) {
+            if (id > segmentId && id <= to.getSegmentId()) {
+                return new WalPosition(id, WalSegments.HEADER_SIZE);
+            }
+        }
+        return to;
+    }
+
+    private FileChannel open(long segmentId) throws IOException {
+        if (segmentId == channelSegmentId && channel != null) {
+            return channel;
+        }
+        closeChannel();
+        try {
+            channel = FileChannel.open(WalSegments.path(directory, segmentId), StandardOpenOption.READ);
+            channelSegmentId = segmentId;
+            return channel;
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    private void closeChannel() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+            channelSegmentId = -1;
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Entry {
+        /**
+         * Null, if it could not be decoded.
+         */
+        private final WalRecord record;
+
+        /**
+         * The position after this record.
+         */
+        private final WalPosition end;
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.repository.wal;
+
+import de.rwth.idsg.steve.repository.dto.InsertConnectorStatusParams;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+import ocpp.cs._2015._10.MeterValue;
+import org.joda.time.DateTime;
+
+import java.util.List;
+
+/**
+ * One write that is deferred by the log. Which fields are set depends on the type.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+@Getter
+@Builder
+@ToString
+public class WalRecord {
+
+    public enum Type {
+        HEARTBEAT(1),
+        FIRMWARE_STATUS(2),
+        DIAGNOSTICS_STATUS(3),
+        CONNECTOR_STATUS(4),
+        METER_VALUES(5);
+
+        @Getter private final byte code;
+
+        Type(int code) {
+            this.code = (byte) code;
+        }
+
+        public static Type fromCode(byte code) {
+            for (Type type : values()) {
+                if (type.code == code) {
+                    return type;
+                }
+            }
+            throw new IllegalArgumentException("Unknown record type: " + code);
+        }
+    }
+
+    private final Type type;
+    private final String chargeBoxId;
+
+    // HEARTBEAT, FIRMWARE_STATUS and DIAGNOSTICS_STATUS: when it happened, since it is written later
+    private final DateTime timestamp;
+
+    // FIRMWARE_STATUS and DIAGNOSTICS_STATUS
+    private final String status;
+
+    // CONNECTOR_STATUS
+    private final InsertConnectorStatusParams connectorStatus;
+
+    // METER_VALUES
+    private final int connectorId;
+    private final Integer transactionId;
+    private final List<MeterValue> meterValues;
+
+    public static WalRecord heartbeat(String chargeBoxId, DateTime timestamp) {
+        return WalRecord.builder()
+                        .type(Type.HEARTBEAT)
+                        .chargeBoxId(chargeBoxId)
+                        .timestamp(timestamp)
+                        .build();
+    }
+
+    public static WalRecord firmwareStatus(String chargeBoxId, String status, DateTime timestamp) {
+        return WalRecord.builder()
+                        .type(Type.FIRMWARE_STATUS)
+                        .chargeBoxId(chargeBoxId)
+                        .status(status)
+                        .timestamp(timestamp)
+                        .build();
+    }
+
+    public static WalRecord diagnosticsStatus(String chargeBoxId, String status, DateTime timestamp) {
+        return WalRecord.builder()
+                        .type(Type.DIAGNOSTICS_STATUS)
+                        .chargeBoxId(chargeBoxId)
+                        .status(status)
+                        .timestamp(timestamp)
+                        .build();
+    }
+
+    public static WalRecord connectorStatus(InsertConnectorStatusParams params) {
+        return WalRecord.builder()
+                        .type(Type.CONNECTOR_STATUS)
+                        .chargeBoxId(params.getChargeBoxId())
+                        .connectorStatus(params)
+                        .build();
+    }
+
+    public static WalRecord meterValues(String chargeBoxId, List<MeterValue> meterValues, int connectorId,
+                                        Integer transactionId) {
+        return WalRecord.builder()
+                        .type(Type.METER_VALUES)
+                        .chargeBoxId(chargeBoxId)
+                        .meterValues(meterValues)
+                        .connectorId(connectorId)
+                        .transactionId(transactionId)
+                        .build();
+    }
+}
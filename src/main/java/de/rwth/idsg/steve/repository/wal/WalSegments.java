@@ -0,0 +1,191 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.repository.wal;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * Layout of the files. A segment starts with a header (magic number and version), followed by the records. A record
+ * is its length, the CRC32 of the payload and the payload. The checkpoint file holds the position up to which the
+ * records are applied to the database.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class WalSegments {
+
+    static final int MAGIC = 0x5354574C; // "STWL"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 8;
+    static final int FRAME_HEADER_SIZE = 8;
+
+    private static final Pattern FILE_NAME = Pattern.compile("wal-(\\d{20})\\.log");
+    private static final String CHECKPOINT = "checkpoint";
+
+    static Path path(Path directory, long segmentId) {
+        return directory.resolve(String.format("wal-%020d.log", segmentId));
+    }
+
+    /**
+     * @return the ids of the segments in ascending order
+     */
+    static List<Long> list(Path directory) throws IOException {
+        List<Long> ids = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path path : stream) {
+                Matcher matcher = FILE_NAME.matcher(path.getFileName().toString());
+                if (matcher.matches()) {
+                    ids.add(Long.parseLong(matcher.group(1)));
+                }
+            }
+        }
+        Collections.sort(ids);
+        return ids;
+    }
+
+    static FileChannel create(Path directory, long segmentId) throws IOException {
+        FileChannel channel = FileChannel.open(path(directory, segmentId), StandardOpenOption.CREATE_NEW,
+                                               StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION).flip();
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+        channel.force(false);
+        syncDirectory(directory);
+        return channel;
+    }
+
+    static ByteBuffer frame(byte[] payload) {
+        ByteBuffer buffer = ByteBuffer.allocate(FRAME_HEADER_SIZE + payload.length);
+        buffer.putInt(payload.length);
+        buffer.putInt(crc(payload));
+        buffer.put(payload);
+        return buffer.flip();
+    }
+
+    static int crc(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * A crash while appending can leave a partial record at the end of the last segment. It is cut off, since the
+     * station did not get a response for it.
+     *
+     * @return the offset after the last complete record
+     */
+    static long truncateIncompleteTail(Path directory, long segmentId) throws IOException {
+        try (FileChannel channel = FileChannel.open(path(directory, segmentId), StandardOpenOption.READ,
+                                                    StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            long offset = HEADER_SIZE;
+            ByteBuffer frameHeader = ByteBuffer.allocate(FRAME_HEADER_SIZE);
+
+            while (offset + FRAME_HEADER_SIZE <= size) {
+                frameHeader.clear();
+                readFully(channel, frameHeader, offset);
+                int length = frameHeader.getInt(0);
+                if (length < 0 || offset + FRAME_HEADER_SIZE + length > size) {
+                    break;
+                }
+
+                ByteBuffer payload = ByteBuffer.allocate(length);
+                readFully(channel, payload, offset + FRAME_HEADER_SIZE);
+                if (crc(payload.array()) != frameHeader.getInt(4)) {
+                    break;
+                }
+                offset += FRAME_HEADER_SIZE + length;
+            }
+
+            if (offset < size) {
+                log.warn("Cutting off {} bytes of an incomplete record at the end of {}", size - offset,
+                         path(directory, segmentId));
+                channel.truncate(Math.max(offset, HEADER_SIZE));
+                channel.force(true);
+            }
+            return offset;
+        }
+    }
+
+    static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new IOException("Unexpected end of the segment");
+            }
+        }
+        buffer.flip();
+    }
+
+    static WalPosition readCheckpoint(Path directory) throws IOException {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(directory.resolve(CHECKPOINT)));
+            return new WalPosition(buffer.getLong(), buffer.getLong());
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    static void writeCheckpoint(Path directory, WalPosition position) throws IOException {
+        Path tmp = directory.resolve(CHECKPOINT + ".tmp");
+        ByteBuffer buffer = ByteBuffer.allocate(16).putLong(position.getSegmentId()).putLong(position.getOffset());
+        buffer.flip();
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                    StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+        Files.move(tmp, directory.resolve(CHECKPOINT), StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Makes the creation of a file durable. Not supported on every platform, but the data of the files is synced
+     * anyway.
+     */
+    private static void syncDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            log.trace("Cannot sync the directory {}", directory, e);
+        }
+    }
+}
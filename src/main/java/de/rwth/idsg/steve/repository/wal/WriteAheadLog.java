@@ -0,0 +1,178 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.repository.wal;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Appends the records to the current segment and syncs them to the disk before returning. The syncs are shared:
+ * while one thread waits for the disk, the others append their records, and the next sync covers all of them.
+ * Therefore, the number of syncs does not grow with the number of concurrent writers.
+ *
+ * Every start begins a new segment. The records before it are only read (see {@link WalReader}).
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+@Slf4j
+public class WriteAheadLog implements Closeable {
+
+    private final Path directory;
+    private final int segmentSizeBytes;
+
+    private final Object lock = new Object();
+    private final Object syncLock = new Object();
+
+    private FileChannel channel;
+    private long segmentId;
+    private long offset;
+    private boolean closed;
+
+    // everything before this position is on the disk
+    private final AtomicReference<WalPosition> synced;
+
+    public WriteAheadLog(Path directory, int segmentSizeBytes) throws IOException {
+        this.directory = directory;
+        this.segmentSizeBytes = segmentSizeBytes;
+
+        Files.createDirectories(directory);
+
+        List<Long> ids = WalSegments.list(directory);
+        long lastId = 0;
+        if (!ids.isEmpty()) {
+            lastId = ids.get(ids.size() - 1);
+            WalSegments.truncateIncompleteTail(directory, lastId);
+        }
+
+        openSegment(lastId + 1);
+        synced = new AtomicReference<>(new WalPosition(segmentId, offset));
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * @return the position after the record, which is on the disk when this method returns
+     */
+    public WalPosition append(WalRecord record) throws IOException {
+        ByteBuffer frame = WalSegments.frame(WalCodec.encode(record));
+
+        WalPosition end;
+        synchronized (lock) {
+            if (closed) {
+                throw new IOException("The write-ahead log is closed");
+            }
+
+            // a record that is bigger than a segment gets a segment of its own
+            if (offset + frame.remaining() > segmentSizeBytes && offset > WalSegments.HEADER_SIZE) {
+                roll();
+            }
+
+            int size = frame.remaining();
+            while (frame.hasRemaining()) {
+                channel.write(frame);
+            }
+            offset += size;
+            end = new WalPosition(segmentId, offset);
+        }
+
+        sync(end);
+        return end;
+    }
+
+    /**
+     * @return the position up to which the records are complete and on the disk
+     */
+    public WalPosition getSyncedPosition() {
+        return synced.get();
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            channel.force(false);
+            channel.close();
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Private helpers
+    // -------------------------------------------------------------------------
+
+    private void sync(WalPosition end) throws IOException {
+        synchronized (syncLock) {
+            // another thread synced our record already
+            if (synced.get().compareTo(end) >= 0) {
+                return;
+            }
+
+            FileChannel current;
+            WalPosition target;
+            synchronized (lock) {
+                current = channel;
+                target = new WalPosition(segmentId, offset);
+            }
+
+            try {
+                current.force(false);
+            } catch (ClosedChannelException e) {
+                // rolled over or closed in the meantime, both sync the segment before closing it
+                if (synced.get().compareTo(end) >= 0) {
+                    return;
+                }
+                throw e;
+            }
+            advanceSynced(target);
+        }
+    }
+
+    private void roll() throws IOException {
+        channel.force(false);
+        advanceSynced(new WalPosition(segmentId, offset));
+        channel.close();
+
+        openSegment(segmentId + 1);
+        log.debug("Rolled over to the write-ahead log segment {}", segmentId);
+    }
+
+    private void openSegment(long id) throws IOException {
+        channel = WalSegments.create(directory, id);
+        segmentId = id;
+        offset = WalSegments.HEADER_SIZE;
+    }
+
+    private void advanceSynced(WalPosition position) {
+        synced.accumulateAndGet(position, WalPosition::max);
+    }
+}
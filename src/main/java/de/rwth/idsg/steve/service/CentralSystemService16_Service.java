@@ -26,6 +26,8 @@ import de.rwth.idsg.steve.repository.dto.InsertTransactionParams;
 import de.rwth.idsg.steve.repository.dto.UpdateChargeboxParams;
 import de.rwth.idsg.steve.repository.dto.UpdateTransactionParams;
 import de.rwth.idsg.steve.service.notification.OccpStationBooted;
+import de.rwth.idsg.steve.service.notification.OcppMeterValuesReceived;
+import de.rwth.idsg.steve.service.notification.OcppStationStatusChanged;
 import de.rwth.idsg.steve.service.notification.OcppStationStatusFailure;
 import de.rwth.idsg.steve.service.notification.OcppTransactionEnded;
 import de.rwth.idsg.steve.service.notification.OcppTransactionStarted;
@@ -72,6 +74,7 @@ import java.util.Optional;
 public class CentralSystemService16_Service {
 
     @Autowired private OcppServerRepository ocppServerRepository;
+    @Autowired private DeferredWriteService deferredWriteService;
     @Autowired private SettingsRepository settingsRepository;
 
     @Autowired private OcppTagService ocppTagService;
@@ -119,7 +122,7 @@ public class CentralSystemService16_Service {
     public FirmwareStatusNotificationResponse firmwareStatusNotification(
             FirmwareStatusNotificationRequest parameters, String chargeBoxIdentity) {
         String status = parameters.getStatus().value();
-        ocppServerRepository.updateChargeboxFirmwareStatus(chargeBoxIdentity, status);
+        deferredWriteService.updateChargeboxFirmwareStatus(chargeBoxIdentity, status);
         return new FirmwareStatusNotificationResponse();
     }
 
@@ -140,7 +143,9 @@ public class CentralSystemService16_Service {
                                            .vendorErrorCode(parameters.getVendorErrorCode())
                                            .build();
 
-        ocppServerRepository.insertConnectorStatus(params);
+        deferredWriteService.insertConnectorStatus(params);
+
+        applicationEventPublisher.publishEvent(new OcppStationStatusChanged(params));
 
         if (parameters.getStatus() == ChargePointStatus.FAULTED) {
             applicationEventPublisher.publishEvent(new OcppStationStatusFailure(
@@ -153,20 +158,23 @@ public class CentralSystemService16_Service {
     public MeterValuesResponse meterValues(MeterValuesRequest parameters, String chargeBoxIdentity) {
         Integer transactionId = getTransactionId(parameters);
 
-        ocppServerRepository.insertMeterValues(
+        deferredWriteService.insertMeterValues(
                 chargeBoxIdentity,
                 parameters.getMeterValue(),
                 parameters.getConnectorId(),
                 transactionId
         );
 
+        applicationEventPublisher.publishEvent(new OcppMeterValuesReceived(
+                chargeBoxIdentity, parameters.getConnectorId(), transactionId, parameters.getMeterValue()));
+
         return new MeterValuesResponse();
     }
 
     public DiagnosticsStatusNotificationResponse diagnosticsStatusNotification(
             DiagnosticsStatusNotificationRequest parameters, String chargeBoxIdentity) {
         String status = parameters.getStatus().value();
-        ocppServerRepository.updateChargeboxDiagnosticsStatus(chargeBoxIdentity, status);
+        deferredWriteService.updateChargeboxDiagnosticsStatus(chargeBoxIdentity, status);
         return new DiagnosticsStatusNotificationResponse();
     }
 
@@ -224,6 +232,9 @@ public class CentralSystemService16_Service {
                                        .eventActor(TransactionStopEventActor.station)
                                        .build();
 
+        // the meter values that the station sent before the stop should be in the database before it
+        deferredWriteService.awaitMeterValues(transactionId);
+
         ocppServerRepository.updateTransaction(params);
 
         ocppServerRepository.insertMeterValues(chargeBoxIdentity, parameters.getTransactionData(), transactionId);
@@ -235,7 +246,7 @@ public class CentralSystemService16_Service {
 
     public HeartbeatResponse heartbeat(HeartbeatRequest parameters, String chargeBoxIdentity) {
         DateTime now = DateTime.now();
-        ocppServerRepository.updateChargeboxHeartbeat(chargeBoxIdentity, now);
+        deferredWriteService.updateChargeboxHeartbeat(chargeBoxIdentity, now);
 
         return new HeartbeatResponse().withCurrentTime(now);
     }
@@ -33,6 +33,11 @@ public class ChargingProfileService {
     public List<ChargingProfile.Overview> getOverview(ChargingProfileQueryForm form){
         return chargingProfileRepository.getOverview(form);
     }
+
+    public List<ChargingProfile.Overview> getOverview(ChargingProfileQueryForm form, Integer afterChargingProfilePk,
+                                                      int limit) {
+        return chargingProfileRepository.getOverview(form, afterChargingProfilePk, limit);
+    }
     public int addChargingProfile(ChargingProfileForm form){
         return chargingProfileRepository.add(form);
     }
@@ -0,0 +1,481 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.service;
+
+import com.google.common.base.Throwables;
+import de.rwth.idsg.steve.SteveConfiguration;
+import de.rwth.idsg.steve.SteveException;
+import de.rwth.idsg.steve.repository.OcppServerRepository;
+import de.rwth.idsg.steve.repository.dto.InsertConnectorStatusParams;
+import de.rwth.idsg.steve.repository.wal.WalPosition;
+import de.rwth.idsg.steve.repository.wal.WalReader;
+import de.rwth.idsg.steve.repository.wal.WalRecord;
+import de.rwth.idsg.steve.repository.wal.WriteAheadLog;
+import de.rwth.idsg.steve.utils.MetricsUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import ocpp.cs._2015._10.MeterValue;
+import org.joda.time.DateTime;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.SQLDataException;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static de.rwth.idsg.steve.SteveConfiguration.CONFIG;
+
+/**
+ * The writes of the OCPP messages that only record what a station reports (heartbeats, status notifications, meter
+ * values, ...) do not need the database before the response. If the write-ahead log is enabled, they are appended
+ * to it, synced to the disk and applied to the database in batches by a background thread. The records that were
+ * not applied before a shutdown or crash are applied after the next start. The position up to which the log is
+ * applied is stored in the database together with the records, such that no record is applied twice.
+ *
+ * The heartbeats (and pongs) are not logged, but only kept in memory until the next batch: each one replaces the
+ * previous one of the station, so losing the last one in a crash does not matter.
+ *
+ * If it is disabled, the writes go to the database directly, as before.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+@Slf4j
+@Service
+public class DeferredWriteService {
+
+    private static final long MIN_BACKOFF_MILLIS = 500;
+    private static final long MAX_BACKOFF_MILLIS = TimeUnit.SECONDS.toMillis(30);
+    private static final long MAX_STOP_WAIT_MILLIS = TimeUnit.SECONDS.toMillis(5);
+
+    @Autowired private OcppServerRepository ocppServerRepository;
+    @Autowired private MeterRegistry meterRegistry;
+
+    private SteveConfiguration.WriteAheadLog config;
+    private String logDirectory;
+
+    private WriteAheadLog writeAheadLog;
+    private WalReader reader;
+    private Thread applier;
+    private volatile boolean running;
+
+    // everything before this position is in the database. only written by the applier.
+    private volatile WalPosition applied;
+
+    // the applier waits on it while there is nothing to apply, and notifies the waiting stops after each batch
+    private final Object monitor = new Object();
+
+    // the latest heartbeat of each station that is not in the database yet
+    private final ConcurrentHashMap<String, DateTime> heartbeats = new ConcurrentHashMap<>();
+
+    // the end of the last meter values of a transaction in the log, until they are applied
+    private final ConcurrentHashMap<Integer, WalPosition> pendingTransactions = new ConcurrentHashMap<>();
+
+    private Counter appliedCounter;
+    private Counter skippedCounter;
+
+    @PostConstruct
+    public void init() {
+        config = CONFIG.getWriteAheadLog();
+        if (!config.isEnabled()) {
+            return;
+        }
+
+        logDirectory = config.getDirectory().toAbsolutePath().toString();
+        try {
+            writeAheadLog = new WriteAheadLog(config.getDirectory(), config.getSegmentSizeBytes());
+            reader = new WalReader(config.getDirectory());
+
+            WalPosition checkpoint = reader.readCheckpoint();
+            applied = checkpoint == null ? reader.getStartPosition() : checkpoint;
+        } catch (IOException e) {
+            throw new SteveException("Failed to open the write-ahead log " + config.getDirectory(), e);
+        }
+
+        WalPosition synced = writeAheadLog.getSyncedPosition();
+
+        // the checkpoint file is written after the commit and can be behind the position in the database
+        WalPosition stored = ocppServerRepository.getWriteAheadLogPosition(logDirectory);
+        if (stored != null) {
+            if (stored.compareTo(synced) <= 0) {
+                applied = WalPosition.max(applied, stored);
+            } else {
+                log.warn("Ignoring the position {} of the write-ahead log in the database, since the log ends at {}",
+                         stored, synced);
+            }
+        }
+
+        if (applied.compareTo(synced) < 0) {
+            log.info("Replaying the write-ahead log {} from {} up to {}", config.getDirectory(), applied, synced);
+        } else {
+            log.info("Write-ahead log {} is enabled", config.getDirectory());
+        }
+
+        appliedCounter = meterRegistry.counter(MetricsUtils.WAL_RECORDS, MetricsUtils.OUTCOME, MetricsUtils.SUCCESS);
+        skippedCounter = meterRegistry.counter(MetricsUtils.WAL_RECORDS, MetricsUtils.OUTCOME, MetricsUtils.DROPPED);
+        Gauge.builder(MetricsUtils.WAL_LAG, this, DeferredWriteService::getLagBytes)
+             .description("Approximate size of the records that are not applied to the database yet")
+             .baseUnit("bytes")
+             .register(meterRegistry);
+
+        running = true;
+        applier = new Thread(this::runApplier, "SteVe-WAL-Applier");
+        applier.setDaemon(true);
+        applier.start();
+    }
+
+    /**
+     * The records that are in the log but not in the database are applied after the next start.
+     */
+    @PreDestroy
+    public void shutDown() {
+        if (applier == null) {
+            return;
+        }
+
+        running = false;
+        try {
+            // let it finish the current batch
+            applier.join(TimeUnit.SECONDS.toMillis(10));
+            if (applier.isAlive()) {
+                applier.interrupt();
+                applier.join(TimeUnit.SECONDS.toMillis(5));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        closeQuietly(writeAheadLog);
+        closeQuietly(reader);
+    }
+
+    // -------------------------------------------------------------------------
+    // Writes
+    // -------------------------------------------------------------------------
+
+    public void updateChargeboxHeartbeat(String chargeBoxIdentity, DateTime ts) {
+        if (writeAheadLog == null) {
+            ocppServerRepository.updateChargeboxHeartbeat(chargeBoxIdentity, ts);
+        } else {
+            heartbeats.merge(chargeBoxIdentity, ts, (previous, next) -> next.isAfter(previous) ? next : previous);
+        }
+    }
+
+    public void updateChargeboxFirmwareStatus(String chargeBoxIdentity, String firmwareStatus) {
+        if (writeAheadLog == null) {
+            ocppServerRepository.updateChargeboxFirmwareStatus(chargeBoxIdentity, firmwareStatus);
+        } else {
+            append(WalRecord.firmwareStatus(chargeBoxIdentity, firmwareStatus, DateTime.now()));
+        }
+    }
+
+    public void updateChargeboxDiagnosticsStatus(String chargeBoxIdentity, String status) {
+        if (writeAheadLog == null) {
+            ocppServerRepository.updateChargeboxDiagnosticsStatus(chargeBoxIdentity, status);
+        } else {
+            append(WalRecord.diagnosticsStatus(chargeBoxIdentity, status, DateTime.now()));
+        }
+    }
+
+    public void insertConnectorStatus(InsertConnectorStatusParams params) {
+        if (writeAheadLog == null) {
+            ocppServerRepository.insertConnectorStatus(params);
+        } else {
+            append(WalRecord.connectorStatus(params));
+        }
+    }
+
+    public void insertMeterValues(String chargeBoxIdentity, List<MeterValue> list, int connectorId,
+                                  Integer transactionId) {
+        if (writeAheadLog == null) {
+            ocppServerRepository.insertMeterValues(chargeBoxIdentity, list, connectorId, transactionId);
+        } else {
+            WalPosition end = append(WalRecord.meterValues(chargeBoxIdentity, list, connectorId, transactionId));
+            if (end != null && transactionId != null) {
+                pendingTransactions.merge(transactionId, end, WalPosition::max);
+            }
+        }
+    }
+
+    /**
+     * To be called before a transaction is stopped, such that its meter values that are still in the log are in the
+     * database before the stop. Usually, there are none, or they are applied with the next batch, for which the
+     * applier does not wait the interval. If the database is not available, the stop is not delayed for longer than
+     * a few seconds.
+     */
+    public void awaitMeterValues(int transactionId) {
+        if (writeAheadLog == null) {
+            return;
+        }
+
+        WalPosition end = pendingTransactions.get(transactionId);
+        if (end == null) {
+            return;
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(MAX_STOP_WAIT_MILLIS);
+        synchronized (monitor) {
+            monitor.notifyAll();
+            while (applied.compareTo(end) < 0) {
+                long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remaining <= 0) {
+                    log.warn("The meter values of the transaction {} are not applied yet, stopping it anyway",
+                             transactionId);
+                    return;
+                }
+                try {
+                    monitor.wait(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the position after the record, or null if it was written to the database directly
+     */
+    private WalPosition append(WalRecord record) {
+        try {
+            return writeAheadLog.append(record);
+        } catch (IOException e) {
+            // the disk is the problem, not the database. do not lose the write because of it.
+            log.error("Failed to append to the write-ahead log, writing to the database directly: {}", record, e);
+            ocppServerRepository.applyWriteAheadLog(Collections.singletonList(record));
+            return null;
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Applier
+    // -------------------------------------------------------------------------
+
+    private void runApplier() {
+        while (running) {
+            try {
+                boolean appliedAny = applyBatch();
+                applyHeartbeats();
+                if (!appliedAny) {
+                    synchronized (monitor) {
+                        monitor.wait(config.getApplyIntervalMillis());
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.error("Failed to apply the write-ahead log", e);
+                sleepQuietly(MAX_BACKOFF_MILLIS);
+            }
+        }
+        applyHeartbeats();
+        log.info("Stopped applying the write-ahead log at {}", applied);
+    }
+
+    private void applyHeartbeats() {
+        if (heartbeats.isEmpty()) {
+            return;
+        }
+
+        List<WalRecord> records = new ArrayList<>(heartbeats.size());
+        heartbeats.forEach((chargeBoxId, ts) -> records.add(WalRecord.heartbeat(chargeBoxId, ts)));
+
+        try {
+            ocppServerRepository.applyWriteAheadLog(records);
+        } catch (RuntimeException e) {
+            log.warn("Failed to write {} heartbeats, retrying with the next batch: {}", records.size(), e.getMessage());
+            return;
+        }
+
+        // the ones that were replaced in the meantime are written with the next batch
+        for (WalRecord r : records) {
+            heartbeats.remove(r.getChargeBoxId(), r.getTimestamp());
+        }
+    }
+
+    /**
+     * @return false, if there was nothing to apply
+     */
+    private boolean applyBatch() throws IOException, InterruptedException {
+        WalPosition synced = writeAheadLog.getSyncedPosition();
+        if (applied.compareTo(synced) >= 0) {
+            return false;
+        }
+
+        List<WalReader.Entry> entries = reader.read(applied, synced, config.getBatchSize());
+
+        // empty, if the rest of the log was unreadable and skipped
+        WalPosition end = entries.isEmpty() ? synced : entries.get(entries.size() - 1).getEnd();
+
+        for (WalReader.Entry entry : entries) {
+            if (entry.getRecord() == null) {
+                skippedCounter.increment();
+            }
+        }
+
+        apply(entries, end);
+
+        // the position in the database is the exact one. this file only saves reading it, and a crash before
+        // writing it is fine.
+        reader.writeCheckpoint(end);
+        if (end.getSegmentId() > applied.getSegmentId()) {
+            reader.deleteBefore(end.getSegmentId());
+        }
+
+        synchronized (monitor) {
+            applied = end;
+            monitor.notifyAll();
+        }
+        pendingTransactions.values().removeIf(position -> position.compareTo(end) <= 0);
+        return true;
+    }
+
+    /**
+     * Applies the records of the entries and stores the end position with them. If the batch fails because of the
+     * data (e.g. a constraint violation for an unknown transaction), one of the records is the problem. The records
+     * are applied one by one then, and the ones that fail because of their data are skipped, such that a single bad
+     * record cannot block the log. All other failures are retried (see {@link #applyWithRetry(List, WalPosition)}).
+     */
+    private void apply(List<WalReader.Entry> entries, WalPosition end) throws InterruptedException {
+        List<WalRecord> records = new ArrayList<>(entries.size());
+        for (WalReader.Entry entry : entries) {
+            if (entry.getRecord() != null) {
+                records.add(entry.getRecord());
+            }
+        }
+
+        try {
+            applyWithRetry(records, end);
+        } catch (RuntimeException e) {
+            if (entries.size() > 1) {
+                log.warn("Failed to apply a batch of {} records, applying them one by one", records.size(), e);
+                for (WalReader.Entry entry : entries) {
+                    apply(Collections.singletonList(entry), entry.getEnd());
+                }
+            } else {
+                log.error("Skipping the records {} of the write-ahead log before {}", records, end, e);
+                skippedCounter.increment(records.size());
+                // such that they are not applied again after the next start
+                applyWithRetry(Collections.emptyList(), end);
+            }
+        }
+    }
+
+    /**
+     * Retries until the records are applied or fail because of their data. Skipping the records for any other reason
+     * (e.g. a bug) would lose them for good, so the log is rather kept until it is solved.
+     */
+    private void applyWithRetry(List<WalRecord> records, WalPosition end) throws InterruptedException {
+        long backoff = MIN_BACKOFF_MILLIS;
+        while (true) {
+            try {
+                ocppServerRepository.applyWriteAheadLog(records, logDirectory, end);
+                appliedCounter.increment(records.size());
+                return;
+            } catch (RuntimeException e) {
+                if (isDataError(e)) {
+                    throw e;
+                }
+                if (isConnectionProblem(e)) {
+                    log.warn("The database is not available, retrying in {} ms: {}", backoff, e.getMessage());
+                } else {
+                    log.error("Failed to apply {} records of the write-ahead log, retrying in {} ms", records.size(),
+                              backoff, e);
+                }
+                Thread.sleep(backoff);
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+            }
+        }
+    }
+
+    private static boolean isDataError(Throwable t) {
+        for (Throwable cause : Throwables.getCausalChain(t)) {
+            if (cause instanceof SQLIntegrityConstraintViolationException || cause instanceof SQLDataException) {
+                return true;
+            }
+            if (cause instanceof SQLException) {
+                String state = ((SQLException) cause).getSQLState();
+                // data exception or integrity constraint violation
+                if (state != null && (state.startsWith("22") || state.startsWith("23"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean isConnectionProblem(Throwable t) {
+        for (Throwable cause : Throwables.getCausalChain(t)) {
+            if (cause instanceof SQLTransientException
+                    || cause instanceof SQLRecoverableException
+                    || cause instanceof SQLNonTransientConnectionException) {
+                return true;
+            }
+            if (cause instanceof SQLException) {
+                String state = ((SQLException) cause).getSQLState();
+                // connection exception
+                if (state != null && state.startsWith("08")) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private double getLagBytes() {
+        WalPosition synced = writeAheadLog.getSyncedPosition();
+        WalPosition current = applied;
+        if (current.compareTo(synced) >= 0) {
+            return 0;
+        }
+        long segments = synced.getSegmentId() - current.getSegmentId();
+        return segments * (double) config.getSegmentSizeBytes() + synced.getOffset() - current.getOffset();
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            log.warn("Failed to close the write-ahead log", e);
+        }
+    }
+}
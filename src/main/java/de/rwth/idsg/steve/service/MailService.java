@@ -19,14 +19,21 @@
 package de.rwth.idsg.steve.service;
 
 import com.google.common.base.Strings;
+import de.rwth.idsg.steve.NotificationFeature;
 import de.rwth.idsg.steve.SteveException;
 import de.rwth.idsg.steve.repository.SettingsRepository;
 import de.rwth.idsg.steve.repository.dto.MailSettings;
+import de.rwth.idsg.steve.service.mail.MailQueue;
+import de.rwth.idsg.steve.service.mail.QueuedMail;
+import de.rwth.idsg.steve.utils.MetricsUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import jakarta.mail.Authenticator;
 import jakarta.mail.Message;
 import jakarta.mail.MessagingException;
@@ -35,12 +42,15 @@ import jakarta.mail.Session;
 import jakarta.mail.Transport;
 import jakarta.mail.internet.InternetAddress;
 import jakarta.mail.internet.MimeMessage;
+import java.util.List;
 import java.util.Properties;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
+import static de.rwth.idsg.steve.SteveConfiguration.CONFIG;
+
 /**
  * @author Sevket Goekay <sevketgokay@gmail.com>
  * @since 24.01.2016
@@ -50,7 +60,7 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
 public class MailService {
 
     @Autowired private SettingsRepository settingsRepository;
-    @Autowired private ScheduledExecutorService executorService;
+    @Autowired private MeterRegistry meterRegistry;
 
     private final ReadWriteLock readWriteLock = new ReentrantReadWriteLock();
     private final Lock readLock = readWriteLock.readLock();
@@ -59,15 +69,44 @@ public class MailService {
     private MailSettings settings;
     private Session session;
 
+    private MailQueue mailQueue;
+
+    private Counter sentCounter;
+    private Counter failedCounter;
+
     @PostConstruct
+    public void init() {
+        mailQueue = new MailQueue(this::sendBatch,
+                                  TimeUnit.SECONDS.toMillis(CONFIG.getMail().getDigestWindowSeconds()),
+                                  CONFIG.getMail().getDigestMaxSize());
+
+        meterRegistry.gauge(MetricsUtils.MAIL_QUEUED, mailQueue, MailQueue::size);
+        sentCounter = meterRegistry.counter(MetricsUtils.MAIL_SENT, MetricsUtils.OUTCOME, MetricsUtils.SUCCESS);
+        failedCounter = meterRegistry.counter(MetricsUtils.MAIL_SENT, MetricsUtils.OUTCOME, MetricsUtils.ERROR);
+
+        loadSettingsFromDB();
+    }
+
+    @PreDestroy
+    public void shutDown() {
+        mailQueue.shutDown(30, TimeUnit.SECONDS);
+    }
+
+    /**
+     * The settings and the session are replaced together, such that the mails are never created with the session of
+     * other settings.
+     */
     public void loadSettingsFromDB() {
+        MailSettings newSettings = settingsRepository.getMailSettings();
+        Session newSession = createSession(newSettings);
+
         writeLock.lock();
         try {
-            settings = settingsRepository.getMailSettings();
+            settings = newSettings;
+            session = newSession;
         } finally {
             writeLock.unlock();
         }
-        session = createSession(getSettings());
     }
 
     public MailSettings getSettings() {
@@ -88,18 +127,82 @@ public class MailService {
     }
 
     public void sendAsync(String subject, String body) {
-        executorService.execute(() -> {
-            try {
-                send(subject, body);
-            } catch (MessagingException e) {
-                log.error("Failed to send mail", e);
-            }
-        });
+        sendAsync(null, subject, body);
+    }
+
+    /**
+     * The mail is queued and sent with the others of the digest window. The notifications of the same feature within
+     * the window are combined into one mail.
+     *
+     * @param feature the notification that the mail is about, or null if it should not be combined with others
+     */
+    public void sendAsync(NotificationFeature feature, String subject, String body) {
+        mailQueue.add(feature == null ? null : feature.name(), subject, body);
     }
 
     public void send(String subject, String body) throws MessagingException {
-        MailSettings settings = getSettings();
+        MailSettings settings;
+        Session session;
+        readLock.lock();
+        try {
+            settings = this.settings;
+            session = this.session;
+        } finally {
+            readLock.unlock();
+        }
 
+        Message mail = createMessage(session, settings, subject, body);
+
+        try (Transport transport = session.getTransport()) {
+            transport.connect();
+            transport.sendMessage(mail, mail.getAllRecipients());
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Private helpers
+    // -------------------------------------------------------------------------
+
+    /**
+     * Sends all mails of the batch over one connection. If the connection is lost in between, we reconnect for the
+     * remaining mails.
+     */
+    private void sendBatch(List<QueuedMail> mails) {
+        MailSettings settings;
+        Session session;
+        readLock.lock();
+        try {
+            settings = this.settings;
+            session = this.session;
+        } finally {
+            readLock.unlock();
+        }
+
+        Transport transport = null;
+        try {
+            for (QueuedMail queuedMail : mails) {
+                try {
+                    if (transport == null || !transport.isConnected()) {
+                        closeQuietly(transport);
+                        transport = session.getTransport();
+                        transport.connect();
+                    }
+
+                    Message mail = createMessage(session, settings, queuedMail.getSubject(), queuedMail.getBody());
+                    transport.sendMessage(mail, mail.getAllRecipients());
+                    sentCounter.increment();
+                } catch (MessagingException e) {
+                    failedCounter.increment();
+                    log.error("Failed to send mail '{}'", queuedMail.getSubject(), e);
+                }
+            }
+        } finally {
+            closeQuietly(transport);
+        }
+    }
+
+    private static Message createMessage(Session session, MailSettings settings, String subject, String body)
+            throws MessagingException {
         Message mail = new MimeMessage(session);
         mail.setSubject("[SteVe] " + subject);
         mail.setContent(body, "text/plain");
@@ -108,17 +211,20 @@ public class MailService {
         for (String rep : settings.getRecipients()) {
             mail.addRecipient(Message.RecipientType.TO, new InternetAddress(rep));
         }
+        return mail;
+    }
 
-        try (Transport transport = session.getTransport()) {
-            transport.connect();
-            transport.sendMessage(mail, mail.getAllRecipients());
+    private static void closeQuietly(Transport transport) {
+        if (transport == null) {
+            return;
+        }
+        try {
+            transport.close();
+        } catch (MessagingException e) {
+            log.debug("Failed to close the connection to the mail server", e);
         }
     }
 
-    // -------------------------------------------------------------------------
-    // Private helpers
-    // -------------------------------------------------------------------------
-
     private static Session createSession(MailSettings settings) {
         Properties props = new Properties();
         String protocol = settings.getProtocol();
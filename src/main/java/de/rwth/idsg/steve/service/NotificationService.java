@@ -27,6 +27,7 @@ import de.rwth.idsg.steve.service.notification.OccpStationBooted;
 import de.rwth.idsg.steve.service.notification.OcppStationStatusFailure;
 import de.rwth.idsg.steve.service.notification.OcppStationWebSocketConnected;
 import de.rwth.idsg.steve.service.notification.OcppStationWebSocketDisconnected;
+import de.rwth.idsg.steve.service.notification.OcppStationWebSocketsSummary;
 import de.rwth.idsg.steve.service.notification.OcppTransactionEnded;
 import de.rwth.idsg.steve.service.notification.OcppTransactionStarted;
 import lombok.extern.slf4j.Slf4j;
@@ -35,6 +36,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 import static de.rwth.idsg.steve.NotificationFeature.OcppStationBooted;
 import static de.rwth.idsg.steve.NotificationFeature.OcppStationStatusFailure;
 import static de.rwth.idsg.steve.NotificationFeature.OcppStationWebSocketConnected;
@@ -51,6 +54,9 @@ import static java.lang.String.format;
 @Service
 public class NotificationService {
 
+    // to keep the summary mails of reconnect storms readable
+    private static final int MAX_LISTED_CHARGE_BOX_IDS = 100;
+
     @Autowired private MailService mailService;
 
     @EventListener
@@ -67,7 +73,7 @@ public class NotificationService {
             body = format("Charging station '%s' is NOT in database", notification.getChargeBoxId());
         }
 
-        mailService.sendAsync(subject, addTimestamp(body));
+        mailService.sendAsync(OcppStationBooted, subject, addTimestamp(body));
     }
 
     @EventListener
@@ -78,7 +84,7 @@ public class NotificationService {
 
         String subject = format("Connected to JSON charging station '%s'", notification.getChargeBoxId());
 
-        mailService.sendAsync(subject, addTimestamp(""));
+        mailService.sendAsync(OcppStationWebSocketConnected, subject, addTimestamp(""));
     }
 
     @EventListener
@@ -89,7 +95,32 @@ public class NotificationService {
 
         String subject = format("Disconnected from JSON charging station '%s'", notification.getChargeBoxId());
 
-        mailService.sendAsync(subject, addTimestamp(""));
+        mailService.sendAsync(OcppStationWebSocketDisconnected, subject, addTimestamp(""));
+    }
+
+    @EventListener
+    public void ocppStationWebSocketsSummary(OcppStationWebSocketsSummary notification) {
+        boolean connected = !notification.getConnectedChargeBoxIds().isEmpty()
+                && !isDisabled(OcppStationWebSocketConnected);
+        boolean disconnected = !notification.getDisconnectedChargeBoxIds().isEmpty()
+                && !isDisabled(OcppStationWebSocketDisconnected);
+
+        if (!connected && !disconnected) {
+            return;
+        }
+
+        String subject = format("%s JSON charging stations connected, %s disconnected",
+                notification.getConnectedChargeBoxIds().size(), notification.getDisconnectedChargeBoxIds().size());
+
+        StringBuilder sb = new StringBuilder();
+        if (connected) {
+            appendChargeBoxIds(sb, "Connected", notification.getConnectedChargeBoxIds());
+        }
+        if (disconnected) {
+            appendChargeBoxIds(sb, "Disconnected", notification.getDisconnectedChargeBoxIds());
+        }
+
+        mailService.sendAsync(subject, addTimestamp(sb.toString().strip()));
     }
 
     @EventListener
@@ -101,7 +132,7 @@ public class NotificationService {
         String subject = format("Connector '%s' of charging station '%s' is FAULTED", notification.getConnectorId(), notification.getChargeBoxId());
         String body = format("Status Error Code: '%s'", notification.getErrorCode());
 
-        mailService.sendAsync(subject, addTimestamp(body));
+        mailService.sendAsync(OcppStationStatusFailure, subject, addTimestamp(body));
     }
 
     @EventListener
@@ -112,7 +143,7 @@ public class NotificationService {
 
         String subject = format("Transaction '%s' has started on charging station '%s' on connector '%s'", notification.getTransactionId(), notification.getParams().getChargeBoxId(), notification.getParams().getConnectorId());
 
-        mailService.sendAsync(subject, addTimestamp(createContent(notification.getParams())));
+        mailService.sendAsync(OcppTransactionStarted, subject, addTimestamp(createContent(notification.getParams())));
     }
 
     @EventListener
@@ -123,7 +154,7 @@ public class NotificationService {
 
         String subject = format("Transaction '%s' has ended on charging station '%s'", notification.getParams().getTransactionId(), notification.getParams().getChargeBoxId());
 
-        mailService.sendAsync(subject, addTimestamp(createContent(notification.getParams())));
+        mailService.sendAsync(OcppTransactionEnded, subject, addTimestamp(createContent(notification.getParams())));
     }
 
     // -------------------------------------------------------------------------
@@ -157,6 +188,19 @@ public class NotificationService {
     }
 
 
+    private static void appendChargeBoxIds(StringBuilder sb, String title, List<String> chargeBoxIds) {
+        sb.append(title).append(":").append(System.lineSeparator());
+        chargeBoxIds.stream()
+                    .limit(MAX_LISTED_CHARGE_BOX_IDS)
+                    .forEach(id -> sb.append("- ").append(id).append(System.lineSeparator()));
+
+        if (chargeBoxIds.size() > MAX_LISTED_CHARGE_BOX_IDS) {
+            sb.append("- ... and ").append(chargeBoxIds.size() - MAX_LISTED_CHARGE_BOX_IDS).append(" more")
+              .append(System.lineSeparator());
+        }
+        sb.append(System.lineSeparator());
+    }
+
     private boolean isDisabled(NotificationFeature f) {
         MailSettings settings = mailService.getSettings();
 
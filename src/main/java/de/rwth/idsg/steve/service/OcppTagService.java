@@ -60,6 +60,10 @@ public class OcppTagService {
         return ocppTagRepository.getOverview(form);
     }
 
+    public List<OcppTag.Overview> getOverview(OcppTagQueryForm form, Integer afterOcppTagPk, int limit) {
+        return ocppTagRepository.getOverview(form, afterOcppTagPk, limit);
+    }
+
     public OcppTagActivityRecord getRecord(int ocppTagPk) {
         return ocppTagRepository.getRecord(ocppTagPk);
     }
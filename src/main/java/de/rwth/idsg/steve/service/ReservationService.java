@@ -34,6 +34,10 @@ public class ReservationService {
         return reservationRepository.getReservations(form);
     }
 
+    public List<Reservation> getReservations(ReservationQueryForm form, Integer afterReservationPk, int limit) {
+        return reservationRepository.getReservations(form, afterReservationPk, limit);
+    }
+
     public List<Integer> getActiveReservationIds(String chargeBoxId){
         return reservationRepository.getActiveReservationIds(chargeBoxId);
     }
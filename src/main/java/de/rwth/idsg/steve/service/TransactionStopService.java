@@ -26,19 +26,16 @@ import de.rwth.idsg.steve.repository.dto.TransactionDetails;
 import de.rwth.idsg.steve.repository.dto.UpdateTransactionParams;
 import de.rwth.idsg.steve.utils.TransactionStopServiceHelper;
 import jooq.steve.db.enums.TransactionStopEventActor;
+import jooq.steve.db.tables.records.TransactionEnergyRecord;
 import jooq.steve.db.tables.records.TransactionStartRecord;
 import lombok.Builder;
-import ocpp.cs._2012._06.UnitOfMeasure;
-import org.jetbrains.annotations.Nullable;
 import org.joda.time.DateTime;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.util.Comparator;
 import java.util.List;
 
 import static de.rwth.idsg.steve.utils.TransactionStopServiceHelper.floatingStringToIntString;
-import static de.rwth.idsg.steve.utils.TransactionStopServiceHelper.kWhStringToWhString;
 
 /**
  * @author Sevket Goekay <sevketgokay@gmail.com>
@@ -49,6 +46,7 @@ public class TransactionStopService {
 
     @Autowired private TransactionRepository transactionRepository;
     @Autowired private OcppServerRepository ocppServerRepository;
+    @Autowired private DeferredWriteService deferredWriteService;
 
     public void stop(List<Integer> transactionPkList) {
         transactionPkList.stream()
@@ -57,7 +55,11 @@ public class TransactionStopService {
     }
 
     public void stop(Integer transactionPk) {
-        TransactionDetails thisTxDetails = transactionRepository.getDetails(transactionPk);
+        // the meter values that are still in the write-ahead log should be in the summary, as for a StopTransaction
+        deferredWriteService.awaitMeterValues(transactionPk);
+
+        // the summary is enough in most cases, the meter values are read only if there is none
+        TransactionDetails thisTxDetails = transactionRepository.getDetails(transactionPk, false);
         Transaction thisTx = thisTxDetails.getTransaction();
 
         // early exit, if transaction is already stopped
@@ -65,6 +67,11 @@ public class TransactionStopService {
             return;
         }
 
+        TransactionEnergyRecord energy = thisTxDetails.getEnergy();
+        if (energy == null || energy.getLastEnergyWh() == null) {
+            thisTxDetails = transactionRepository.getDetails(transactionPk, true);
+        }
+
         TerminationValues values = findNeededValues(thisTxDetails);
 
         ocppServerRepository.updateTransaction(UpdateTransactionParams.builder()
@@ -80,13 +87,21 @@ public class TransactionStopService {
     private static TerminationValues findNeededValues(TransactionDetails thisTxDetails) {
         Transaction thisTx = thisTxDetails.getTransaction();
         TransactionStartRecord nextTx = thisTxDetails.getNextTransactionStart();
+        TransactionEnergyRecord energy = thisTxDetails.getEnergy();
         List<TransactionDetails.MeterValues> intermediateValues = thisTxDetails.getValues();
 
         // -------------------------------------------------------------------------
         // 1. intermediate meter values have priority (most accurate data)
         // -------------------------------------------------------------------------
 
-        TransactionDetails.MeterValues last = findLastMeterValue(intermediateValues);
+        if (energy != null && energy.getLastEnergyWh() != null) {
+            return TerminationValues.builder()
+                                    .stopValue(floatingStringToIntString(energy.getLastEnergyWh().toPlainString()))
+                                    .stopTimestamp(energy.getLastEnergyTimestamp())
+                                    .build();
+        }
+
+        TransactionDetails.MeterValues last = TransactionStopServiceHelper.findLastMeterValue(intermediateValues);
         if (last != null) {
             return TerminationValues.builder()
                                     .stopValue(floatingStringToIntString(last.getValue()))
@@ -125,36 +140,6 @@ public class TransactionStopService {
                                 .build();
     }
 
-    @Nullable
-    private static TransactionDetails.MeterValues findLastMeterValue(List<TransactionDetails.MeterValues> values) {
-        TransactionDetails.MeterValues v =
-                values.stream()
-                      .filter(TransactionStopServiceHelper::isEnergyValue)
-                      .max(Comparator.comparing(TransactionDetails.MeterValues::getValueTimestamp))
-                      .orElse(null);
-
-        // if the list of values is empty, we fall to this case, as well.
-        if (v == null) {
-            return null;
-        }
-
-        // convert kWh to Wh
-        if (UnitOfMeasure.K_WH.value().equals(v.getUnit())) {
-            return TransactionDetails.MeterValues.builder()
-                                                 .value(kWhStringToWhString(v.getValue()))
-                                                 .valueTimestamp(v.getValueTimestamp())
-                                                 .readingContext(v.getReadingContext())
-                                                 .format(v.getFormat())
-                                                 .measurand(v.getMeasurand())
-                                                 .location(v.getLocation())
-                                                 .unit(v.getUnit())
-                                                 .phase(v.getPhase())
-                                                 .build();
-        } else {
-            return v;
-        }
-    }
-
     @Builder
     private static class TerminationValues {
         private final String stopValue;
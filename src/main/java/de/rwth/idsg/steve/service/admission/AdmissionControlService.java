@@ -0,0 +1,234 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.service.admission;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import de.rwth.idsg.steve.SteveConfiguration;
+import de.rwth.idsg.steve.utils.MetricsUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static de.rwth.idsg.steve.SteveConfiguration.CONFIG;
+
+/**
+ * Decides whether an incoming OCPP request of a station is processed, such that one runaway station or a mass
+ * reconnect cannot push up the database latency for the whole fleet:
+ *
+ * 1. When the database pool is saturated, only critical requests (e.g. StartTransaction, StopTransaction) are
+ * processed. Everything else is rejected and will be retried by the stations.
+ *
+ * 2. Each station has a token bucket per action. A request without a token is rejected, if it is not critical.
+ * Critical requests of the JSON stations are delayed instead (within a limit), since losing them means losing billing
+ * data. The delayed ones are run on the threads of this service, the thread that received the request never waits.
+ *
+ * Used by the JSON pipeline and the SOAP endpoints. Disabled by default, see 'ratelimit.*' in main.properties.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+@Slf4j
+@Service
+public class AdmissionControlService {
+
+    private static final int DELAY_THREADS = 4;
+
+    // more delayed requests than this are rejected, they would only pile up
+    private static final int MAX_DELAYED = 1_000;
+
+    @Autowired private HikariDataSource dataSource;
+    @Autowired private MeterRegistry meterRegistry;
+
+    private final SteveConfiguration.RateLimit config = CONFIG.getRateLimit();
+
+    // Key: chargeBoxId + action. The buckets of idle stations are removed, a new bucket starts full anyway.
+    private final Cache<String, TokenBucket> buckets = CacheBuilder.newBuilder()
+                                                                  .expireAfterAccess(10, TimeUnit.MINUTES)
+                                                                  .build();
+
+    private final AtomicInteger delayed = new AtomicInteger();
+    private ScheduledExecutorService delayExecutor;
+
+    @PostConstruct
+    public void init() {
+        if (!config.isEnabled()) {
+            return;
+        }
+
+        delayExecutor = Executors.newScheduledThreadPool(
+                DELAY_THREADS, new ThreadFactoryBuilder().setNameFormat("SteVe-Admission-%d").build()
+        );
+    }
+
+    @PreDestroy
+    public void shutDown() {
+        if (delayExecutor != null) {
+            delayExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * For the JSON pipeline. Calls onAdmitted on the current thread, if the request is admitted right away. A critical
+     * request without a token is admitted later, i.e. onAdmitted is called on another thread after the delay.
+     * Otherwise, onRejected is called on the current thread.
+     */
+    public void admit(String chargeBoxId, String action, Runnable onAdmitted, Consumer<Admission> onRejected) {
+        if (!config.isEnabled()) {
+            onAdmitted.run();
+            return;
+        }
+
+        if (!config.isCritical(action)) {
+            Admission admission = admitNonCritical(chargeBoxId, action);
+            if (admission.isAdmitted()) {
+                onAdmitted.run();
+            } else {
+                onRejected.accept(admission);
+            }
+            return;
+        }
+
+        long now = System.nanoTime();
+        TokenBucket bucket = getBucket(chargeBoxId, action, now);
+
+        long maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(config.getCriticalMaxDelayMillis());
+        long delayNanos = bucket.acquireWithDelay(now, maxDelayNanos);
+        if (delayNanos > 0) {
+            delay(chargeBoxId, action, delayNanos, onAdmitted, onRejected);
+        } else {
+            onAdmitted.run();
+        }
+    }
+
+    /**
+     * For the SOAP endpoints, which cannot answer later without blocking the thread. Therefore, a critical request
+     * without a token is rejected as well (it only skips the check of the database pool), and the station retries it.
+     */
+    public Admission admitNow(String chargeBoxId, String action) {
+        if (!config.isEnabled()) {
+            return Admission.ADMITTED;
+        }
+
+        if (!config.isCritical(action)) {
+            return admitNonCritical(chargeBoxId, action);
+        }
+
+        long now = System.nanoTime();
+        if (getBucket(chargeBoxId, action, now).tryAcquire(now)) {
+            return Admission.ADMITTED;
+        } else {
+            return reject(Admission.RATE_LIMITED, chargeBoxId, action);
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Private helpers
+    // -------------------------------------------------------------------------
+
+    private Admission admitNonCritical(String chargeBoxId, String action) {
+        if (isDatabaseSaturated()) {
+            return reject(Admission.OVERLOADED, chargeBoxId, action);
+        }
+
+        long now = System.nanoTime();
+        if (getBucket(chargeBoxId, action, now).tryAcquire(now)) {
+            return Admission.ADMITTED;
+        } else {
+            return reject(Admission.RATE_LIMITED, chargeBoxId, action);
+        }
+    }
+
+    private TokenBucket getBucket(String chargeBoxId, String action, long now) {
+        return buckets.asMap().computeIfAbsent(chargeBoxId + "/" + action, key -> {
+            SteveConfiguration.RateLimit.Limit limit = config.getLimit(action);
+            return new TokenBucket(limit.getPerMinute(), limit.getBurst(), now);
+        });
+    }
+
+    /**
+     * Saturated, if threads are already waiting for a connection or the active connections reached the threshold
+     */
+    private boolean isDatabaseSaturated() {
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        if (pool == null) {
+            return false;
+        }
+
+        if (pool.getThreadsAwaitingConnection() > 0) {
+            return true;
+        }
+
+        int threshold = dataSource.getMaximumPoolSize() * config.getDbPoolSaturationPercent();
+        return pool.getActiveConnections() * 100 >= threshold;
+    }
+
+    private Admission reject(Admission admission, String chargeBoxId, String action) {
+        log.debug("Rejecting '{}' of chargeBoxId '{}', reason: {}", action, chargeBoxId, admission);
+        meterRegistry.counter(MetricsUtils.ADMISSION_REJECTED,
+                              MetricsUtils.ACTION, action,
+                              MetricsUtils.REASON, admission.name())
+                     .increment();
+        return admission;
+    }
+
+    private void delay(String chargeBoxId, String action, long delayNanos, Runnable onAdmitted,
+                       Consumer<Admission> onRejected) {
+        if (delayed.incrementAndGet() > MAX_DELAYED) {
+            delayed.decrementAndGet();
+            onRejected.accept(reject(Admission.OVERLOADED, chargeBoxId, action));
+            return;
+        }
+
+        log.debug("Delaying '{}' of chargeBoxId '{}' for {} ms", action, chargeBoxId,
+                  TimeUnit.NANOSECONDS.toMillis(delayNanos));
+        meterRegistry.counter(MetricsUtils.ADMISSION_DELAYED, MetricsUtils.ACTION, action).increment();
+
+        Runnable task = () -> {
+            try {
+                onAdmitted.run();
+            } catch (Exception e) {
+                log.error("Failed to process the delayed '{}' of chargeBoxId '{}'", action, chargeBoxId, e);
+            } finally {
+                delayed.decrementAndGet();
+            }
+        };
+
+        try {
+            delayExecutor.schedule(task, delayNanos, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            // shutting down
+            delayed.decrementAndGet();
+            onRejected.accept(reject(Admission.OVERLOADED, chargeBoxId, action));
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.service.admission;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Classic token bucket: it starts full, is refilled continuously with a fixed rate and holds at most
+ * 'capacity' tokens, such that short bursts are allowed, but not a higher rate over a longer period.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+final class TokenBucket {
+
+    private final double capacity;
+    private final double tokensPerNano;
+
+    private double tokens;
+    private long lastRefillNanos;
+
+    TokenBucket(int perMinute, int burst, long nowNanos) {
+        this.capacity = Math.max(1, burst);
+        this.tokensPerNano = perMinute / (double) TimeUnit.MINUTES.toNanos(1);
+        this.tokens = capacity;
+        this.lastRefillNanos = nowNanos;
+    }
+
+    synchronized boolean tryAcquire(long nowNanos) {
+        refill(nowNanos);
+        if (tokens >= 1) {
+            tokens -= 1;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Takes a token, even if it is not available yet (i.e. going into debt), and returns how long the caller
+     * has to wait until the token would be available. The next callers have to wait for the debt to be paid back.
+     * The debt is capped at maxDelayNanos, such that a caller never waits longer than that.
+     */
+    synchronized long acquireWithDelay(long nowNanos, long maxDelayNanos) {
+        refill(nowNanos);
+        tokens -= 1;
+        if (tokens >= 0) {
+            return 0;
+        }
+
+        long delayNanos = (long) (-tokens / tokensPerNano);
+        if (delayNanos > maxDelayNanos) {
+            tokens = -maxDelayNanos * tokensPerNano;
+            return maxDelayNanos;
+        }
+        return delayNanos;
+    }
+
+    private void refill(long nowNanos) {
+        long elapsed = nowNanos - lastRefillNanos;
+        if (elapsed > 0) {
+            tokens = Math.min(capacity, tokens + elapsed * tokensPerNano);
+            lastRefillNanos = nowNanos;
+        }
+    }
+}
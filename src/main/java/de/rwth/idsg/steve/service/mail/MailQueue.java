@@ -0,0 +1,198 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.service.mail;
+
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.lang.String.format;
+
+/**
+ * Collects the mails and hands them over to the sender in batches on its own thread, such that a burst of
+ * notifications (e.g. a whole site losing connectivity) neither opens a connection to the mail server per mail nor
+ * keeps the shared executor busy.
+ *
+ * The first mail after a flush starts the window. When it is over, all pending mails are flushed: the mails of the
+ * same type are combined into digests of at most maxDigestSize notifications, and the resulting mails are handed over
+ * to the sender in one call.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+@Slf4j
+public class MailQueue {
+
+    public interface BatchSender {
+        /**
+         * Sends the mails over one connection. Failures must be handled (and counted) by the implementation.
+         */
+        void send(List<QueuedMail> mails);
+    }
+
+    private final BatchSender sender;
+    private final long windowMillis;
+    private final int maxDigestSize;
+
+    private final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(
+            1, new ThreadFactoryBuilder().setNameFormat("SteVe-Mail-%d").build()
+    );
+
+    private final Object lock = new Object();
+    private List<QueuedMail> pending = new ArrayList<>();
+    private boolean flushScheduled;
+
+    // notifications that are added, but not sent yet
+    private final AtomicInteger size = new AtomicInteger(0);
+
+    public MailQueue(BatchSender sender, long windowMillis, int maxDigestSize) {
+        if (maxDigestSize < 1) {
+            throw new IllegalArgumentException("The digest size must be at least 1");
+        }
+        this.sender = sender;
+        this.windowMillis = Math.max(0, windowMillis);
+        this.maxDigestSize = maxDigestSize;
+
+        // the pending mails are flushed by shutDown, not by the scheduled task
+        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+    }
+
+    public void add(String type, String subject, String body) {
+        synchronized (lock) {
+            if (executor.isShutdown()) {
+                log.warn("The mail queue is shut down, dropping the mail '{}'", subject);
+                return;
+            }
+
+            pending.add(new QueuedMail(type, subject, body));
+            size.incrementAndGet();
+
+            if (!flushScheduled) {
+                flushScheduled = true;
+                executor.schedule(this::flush, windowMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Sends the pending mails right away and stops the thread.
+     */
+    public void shutDown(long timeout, TimeUnit unit) {
+        synchronized (lock) {
+            executor.shutdown();
+        }
+
+        // the scheduled flush is skipped after shutdown. run it ourselves for the mails that are still pending.
+        flush();
+
+        try {
+            if (!executor.awaitTermination(timeout, unit)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Package-private for tests
+    // -------------------------------------------------------------------------
+
+    void flush() {
+        List<QueuedMail> batch;
+        synchronized (lock) {
+            batch = pending;
+            pending = new ArrayList<>();
+            flushScheduled = false;
+        }
+
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        List<QueuedMail> mails = coalesce(batch, maxDigestSize);
+        log.debug("Sending {} mails for {} notifications", mails.size(), batch.size());
+
+        try {
+            sender.send(mails);
+        } catch (Exception e) {
+            log.error("Failed to send mails", e);
+        } finally {
+            size.addAndGet(-batch.size());
+        }
+    }
+
+    /**
+     * Groups the mails by type, in the order in which the types occur first. A group is split into digests of at most
+     * maxDigestSize mails. Mails without type and single mails of a type are kept as they are.
+     */
+    static List<QueuedMail> coalesce(List<QueuedMail> mails, int maxDigestSize) {
+        Map<String, List<QueuedMail>> byType = new LinkedHashMap<>();
+        List<QueuedMail> result = new ArrayList<>();
+
+        for (QueuedMail mail : mails) {
+            if (mail.getType() == null) {
+                result.add(mail);
+            } else {
+                byType.computeIfAbsent(mail.getType(), k -> new ArrayList<>()).add(mail);
+            }
+        }
+
+        for (List<QueuedMail> group : byType.values()) {
+            for (List<QueuedMail> chunk : Lists.partition(group, maxDigestSize)) {
+                result.add(chunk.size() == 1 ? chunk.get(0) : createDigest(chunk));
+            }
+        }
+        return result;
+    }
+
+    // -------------------------------------------------------------------------
+    // Private helpers
+    // -------------------------------------------------------------------------
+
+    private static QueuedMail createDigest(List<QueuedMail> mails) {
+        QueuedMail first = mails.get(0);
+        String subject = format("%s (and %d more)", first.getSubject(), mails.size() - 1);
+
+        StringBuilder sb = new StringBuilder();
+        for (QueuedMail mail : mails) {
+            sb.append("- ").append(mail.getSubject()).append("\n");
+            String body = mail.getBody().strip();
+            if (!body.isEmpty()) {
+                sb.append(body.indent(2));
+            }
+            sb.append("\n");
+        }
+
+        return new QueuedMail(first.getType(), subject, sb.toString().strip(), mails.size());
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.service.mail;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class QueuedMail {
+
+    /**
+     * Mails of the same type are combined into a digest. Null, if the mail should always be sent on its own.
+     */
+    private final String type;
+    private final String subject;
+    private final String body;
+
+    /**
+     * Number of notifications in this mail. More than one for a digest.
+     */
+    private final int count;
+
+    public QueuedMail(String type, String subject, String body) {
+        this(type, subject, body, 1);
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.service.notification;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import de.rwth.idsg.steve.SteveConfiguration;
+import de.rwth.idsg.steve.utils.MetricsUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.PayloadApplicationEvent;
+import org.springframework.context.event.SimpleApplicationEventMulticaster;
+import org.springframework.core.ResolvableType;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Delivers the {@link OcppEvent}s to their listeners in the background, such that the listeners (e.g. the
+ * notification mails) never delay the responses to the stations. All other events (e.g. of the application context)
+ * are delivered synchronously, as usual.
+ *
+ * The queue is bounded. When it is full, new events are dropped and counted, since a backlog of notifications is not
+ * worth running out of memory. If ordered, each station is assigned to one single-threaded lane (with its share of
+ * the queue), such that its events are delivered in the order they were published. Otherwise, all threads take the
+ * events from one queue. The listeners that must not lose events (e.g. the webhooks, which spool them) can register
+ * for the dropped events, see {@link #addOverflowListener(Consumer)}.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+@Slf4j
+public class OcppEventMulticaster extends SimpleApplicationEventMulticaster {
+
+  private final MeterRegistry meterRegistry;
+  private final ThreadPoolExecutor[] lanes;
+  private final List<Consumer<OcppEvent>> overflowListeners = new CopyOnWriteArrayList<>();
+
+  public OcppEventMulticaster(SteveConfiguration.Events config, MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+
+    ThreadFactory threadFactory = new ThreadFactoryBuilder().setNameFormat("SteVe-Events-%d")
+                                                            .build();
+    int threads = Math.max(1, config.getThreads());
+    int queueSize = Math.max(1, config.getQueueSize());
+
+    if (!config.isAsync()) {
+      lanes = new ThreadPoolExecutor[0];
+    } else if (config.isOrdered()) {
+      lanes = new ThreadPoolExecutor[threads];
+      for (int i = 0; i < threads; i++) {
+        lanes[i] = createExecutor(1, Math.max(1, queueSize / threads), threadFactory);
+      }
+    } else {
+      lanes = new ThreadPoolExecutor[] {createExecutor(threads, queueSize, threadFactory)};
+    }
+
+    Gauge.builder(MetricsUtils.EVENTS_QUEUED, this, OcppEventMulticaster::getQueueSize)
+         .description("OCPP events waiting to be delivered to the listeners")
+         .register(meterRegistry);
+  }
+
+  @Override
+  public void multicastEvent(ApplicationEvent event, ResolvableType eventType) {
+    Object payload = event instanceof PayloadApplicationEvent
+        ? ((PayloadApplicationEvent<?>) event).getPayload()
+        : event;
+
+    if (lanes.length == 0 || !(payload instanceof OcppEvent)) {
+      super.multicastEvent(event, eventType);
+      return;
+    }
+
+    ThreadPoolExecutor lane = getLane(((OcppEvent) payload).getChargeBoxId());
+    try {
+      lane.execute(() -> deliver(event, eventType));
+    } catch (RejectedExecutionException e) {
+      log.warn("Dropped the event, since the queue is full: {}", payload);
+      Counter.builder(MetricsUtils.EVENTS_DROPPED)
+             .description("OCPP events that were not delivered, since the queue was full")
+             .tag(MetricsUtils.TYPE, payload.getClass().getSimpleName())
+             .register(meterRegistry)
+             .increment();
+
+      for (Consumer<OcppEvent> listener : overflowListeners) {
+        deliverDropped(listener, (OcppEvent) payload);
+      }
+    }
+  }
+
+  /**
+   * The listener gets the events that are dropped, since the queue is full. It is called by the thread that publishes
+   * the event, so it should be quick.
+   */
+  public void addOverflowListener(Consumer<OcppEvent> listener) {
+    overflowListeners.add(listener);
+  }
+
+  /**
+   * Delivers the events that are still queued, but not longer than the timeout.
+   */
+  public void shutDown(long timeout, TimeUnit unit) {
+    for (ThreadPoolExecutor lane : lanes) {
+      lane.shutdown();
+    }
+
+    long deadline = System.nanoTime() + unit.toNanos(timeout);
+    try {
+      for (ThreadPoolExecutor lane : lanes) {
+        if (!lane.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+          log.warn("{} events were not delivered before the shutdown", lane.shutdownNow().size());
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  int getQueueSize() {
+    int size = 0;
+    for (ThreadPoolExecutor lane : lanes) {
+      size += lane.getQueue().size();
+    }
+    return size;
+  }
+
+  // -------------------------------------------------------------------------
+  // Private helpers
+  // -------------------------------------------------------------------------
+
+  private void deliver(ApplicationEvent event, ResolvableType eventType) {
+    try {
+      super.multicastEvent(event, eventType);
+    } catch (Exception e) {
+      // there is no caller anymore to handle it
+      log.error("A listener failed to handle the event {}", event, e);
+    }
+  }
+
+  private static void deliverDropped(Consumer<OcppEvent> listener, OcppEvent event) {
+    try {
+      listener.accept(event);
+    } catch (Exception e) {
+      log.error("An overflow listener failed to handle the event {}", event, e);
+    }
+  }
+
+  private ThreadPoolExecutor getLane(String chargeBoxId) {
+    return lanes[Math.floorMod(Objects.hashCode(chargeBoxId), lanes.length)];
+  }
+
+  private static ThreadPoolExecutor createExecutor(int threads, int queueSize, ThreadFactory threadFactory) {
+    return new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                                  new ArrayBlockingQueue<>(queueSize), threadFactory);
+  }
+}
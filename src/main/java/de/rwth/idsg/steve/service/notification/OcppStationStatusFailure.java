@@ -21,7 +21,7 @@ package de.rwth.idsg.steve.service.notification;
 import lombok.Data;
 
 @Data
-public class OcppStationStatusFailure {
+public class OcppStationStatusFailure implements OcppEvent {
 
   private final String chargeBoxId;
   private final int connectorId;
@@ -21,7 +21,7 @@ package de.rwth.idsg.steve.service.notification;
 import lombok.Data;
 
 @Data
-public class OcppStationWebSocketConnected {
+public class OcppStationWebSocketConnected implements OcppEvent {
 
   private final String chargeBoxId;
 }
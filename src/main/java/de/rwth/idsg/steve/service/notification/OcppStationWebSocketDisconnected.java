@@ -21,7 +21,7 @@ package de.rwth.idsg.steve.service.notification;
 import lombok.Data;
 
 @Data
-public class OcppStationWebSocketDisconnected {
+public class OcppStationWebSocketDisconnected implements OcppEvent {
 
   private final String chargeBoxId;
 }
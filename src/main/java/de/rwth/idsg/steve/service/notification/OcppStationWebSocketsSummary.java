@@ -0,0 +1,41 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.service.notification;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Replaces the individual connected/disconnected notifications during a reconnect storm
+ */
+@Data
+public class OcppStationWebSocketsSummary implements OcppEvent {
+
+  private final List<String> connectedChargeBoxIds;
+  private final List<String> disconnectedChargeBoxIds;
+
+  /**
+   * Concerns many stations
+   */
+  @Override
+  public String getChargeBoxId() {
+    return null;
+  }
+}
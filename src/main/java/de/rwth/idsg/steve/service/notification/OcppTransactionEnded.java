@@ -22,7 +22,12 @@ import de.rwth.idsg.steve.repository.dto.UpdateTransactionParams;
 import lombok.Data;
 
 @Data
-public class OcppTransactionEnded {
+public class OcppTransactionEnded implements OcppEvent {
 
   private final UpdateTransactionParams params;
+
+  @Override
+  public String getChargeBoxId() {
+    return params.getChargeBoxId();
+  }
 }
@@ -22,8 +22,13 @@ import de.rwth.idsg.steve.repository.dto.InsertTransactionParams;
 import lombok.Data;
 
 @Data
-public class OcppTransactionStarted {
+public class OcppTransactionStarted implements OcppEvent {
 
   private final int transactionId;
   private final InsertTransactionParams params;
+
+  @Override
+  public String getChargeBoxId() {
+    return params.getChargeBoxId();
+  }
 }
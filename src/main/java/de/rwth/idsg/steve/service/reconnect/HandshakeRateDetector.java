@@ -0,0 +1,77 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.service.reconnect;
+
+/**
+ * Counts the WebSocket handshakes in per-second buckets over a short sliding window. When the average rate in the
+ * window reaches the threshold, a storm is detected. It lasts until the rate has been below the threshold for the
+ * cool down period, such that the mode does not flip back and forth at the edge of the threshold.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+final class HandshakeRateDetector {
+
+    static final int WINDOW_SECONDS = 5;
+    static final long COOL_DOWN_MILLIS = 10_000;
+
+    private final int thresholdPerSecond;
+
+    private final long[] bucketSeconds = new long[WINDOW_SECONDS];
+    private final int[] bucketCounts = new int[WINDOW_SECONDS];
+
+    private long activeUntilMillis = Long.MIN_VALUE;
+
+    HandshakeRateDetector(int thresholdPerSecond) {
+        this.thresholdPerSecond = Math.max(1, thresholdPerSecond);
+    }
+
+    /**
+     * @return the number of handshakes in the current second, including this one
+     */
+    synchronized int record(long nowMillis) {
+        long second = nowMillis / 1000;
+        int index = (int) (second % WINDOW_SECONDS);
+
+        if (bucketSeconds[index] != second) {
+            bucketSeconds[index] = second;
+            bucketCounts[index] = 0;
+        }
+        int count = ++bucketCounts[index];
+
+        if (getSumInWindow(second) >= (long) thresholdPerSecond * WINDOW_SECONDS) {
+            activeUntilMillis = nowMillis + COOL_DOWN_MILLIS;
+        }
+        return count;
+    }
+
+    synchronized boolean isActive(long nowMillis) {
+        return nowMillis < activeUntilMillis;
+    }
+
+    private long getSumInWindow(long currentSecond) {
+        long sum = 0;
+        for (int i = 0; i < WINDOW_SECONDS; i++) {
+            if (currentSecond - bucketSeconds[i] < WINDOW_SECONDS) {
+                sum += bucketCounts[i];
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,327 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.service.reconnect;
+
+import de.rwth.idsg.steve.SteveConfiguration;
+import de.rwth.idsg.steve.ocpp.OcppProtocol;
+import de.rwth.idsg.steve.repository.ChargePointRepository;
+import de.rwth.idsg.steve.repository.OcppServerRepository;
+import de.rwth.idsg.steve.service.notification.OcppStationWebSocketConnected;
+import de.rwth.idsg.steve.service.notification.OcppStationWebSocketDisconnected;
+import de.rwth.idsg.steve.service.notification.OcppStationWebSocketsSummary;
+import de.rwth.idsg.steve.utils.MetricsUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import ocpp.cs._2015._10.RegistrationStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static de.rwth.idsg.steve.SteveConfiguration.CONFIG;
+
+/**
+ * When all stations reconnect at the same time (e.g. after a restart), the work per handshake adds up: a registration
+ * lookup in DB, an UPDATE of the OCPP protocol, and a "connected" notification (i.e. a mail) per station. While a
+ * storm is detected (see {@link HandshakeRateDetector}), this service changes that work as follows:
+ *
+ * 1. The registration lookups are answered from a cache, which is loaded with one query at the start of the storm.
+ * Unknown stations are not in the cache and are looked up in DB as usual (e.g. for auto-registration). When a station
+ * is changed or deleted (see {@link #chargeBoxesChanged()}), the cache is loaded again.
+ *
+ * 2. The OCPP protocol updates are collected and written in batches every second. The flushes and the updates
+ * outside of a storm are serialized, such that an older value never overwrites a newer one. A batch that failed is
+ * queued again, unless there is a newer value for the station.
+ *
+ * 3. The connected/disconnected notifications are collected and published as one summary, when the storm is over
+ * (or every few minutes, if it lasts longer).
+ *
+ * 4. Optionally, the handshakes above a rate are rejected with a random Retry-After, to spread out the reconnects.
+ * Their number is logged when the storm is over.
+ *
+ * Outside of a storm, the lookups, updates and notifications happen immediately per station, as before.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+@Slf4j
+@Service
+public class ReconnectStormService {
+
+    private static final long FLUSH_INTERVAL_SECONDS = 1;
+    private static final long SUMMARY_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    @Autowired private ChargePointRepository chargePointRepository;
+    @Autowired private OcppServerRepository ocppServerRepository;
+    @Autowired private ApplicationEventPublisher applicationEventPublisher;
+    @Autowired private ScheduledExecutorService executorService;
+    @Autowired private MeterRegistry meterRegistry;
+
+    private final SteveConfiguration.ReconnectStorm config = CONFIG.getReconnectStorm();
+    private final HandshakeRateDetector detector = new HandshakeRateDetector(config.getThresholdPerSecond());
+    private final AtomicBoolean stormActive = new AtomicBoolean(false);
+    private final AtomicInteger rejectedInStorm = new AtomicInteger();
+
+    // Key: chargeBoxId, value: registration status. Only filled during a storm.
+    private final Map<String, String> registrationCache = new ConcurrentHashMap<>();
+
+    // Incremented with every change of the stations, such that a load that started before is discarded
+    private final AtomicLong registrationVersion = new AtomicLong();
+    private final Object registrationLock = new Object();
+
+    private final Map<String, OcppProtocol> pendingProtocolUpdates = new ConcurrentHashMap<>();
+    private final Queue<String> pendingConnected = new ConcurrentLinkedQueue<>();
+    private final Queue<String> pendingDisconnected = new ConcurrentLinkedQueue<>();
+
+    private volatile long lastSummaryMillis = System.currentTimeMillis();
+
+    private Counter rejectedHandshakes;
+
+    @PostConstruct
+    public void init() {
+        if (!config.isEnabled()) {
+            return;
+        }
+
+        rejectedHandshakes = Counter.builder(MetricsUtils.WS_HANDSHAKES_REJECTED)
+                                    .description("WebSocket handshakes rejected during reconnect storms")
+                                    .register(meterRegistry);
+
+        Gauge.builder(MetricsUtils.WS_RECONNECT_STORM, stormActive, active -> active.get() ? 1 : 0)
+             .description("Whether the reconnect storm mode is active (1) or not (0)")
+             .register(meterRegistry);
+
+        executorService.scheduleWithFixedDelay(this::flush, FLUSH_INTERVAL_SECONDS, FLUSH_INTERVAL_SECONDS,
+                                               TimeUnit.SECONDS);
+    }
+
+    public boolean isActive() {
+        return stormActive.get();
+    }
+
+    /**
+     * @return false, if the handshake should be rejected
+     */
+    public boolean onHandshake() {
+        if (!config.isEnabled()) {
+            return true;
+        }
+
+        long now = System.currentTimeMillis();
+        int countInSecond = detector.record(now);
+
+        if (detector.isActive(now) && stormActive.compareAndSet(false, true)) {
+            log.warn("Reconnect storm detected ({} handshakes in the last second). Switching to storm mode",
+                     countInSecond);
+            executorService.execute(this::loadRegistrationCache);
+        }
+
+        int max = config.getMaxHandshakesPerSecond();
+        if (max > 0 && countInSecond > max) {
+            rejectedHandshakes.increment();
+            rejectedInStorm.incrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Random, such that the rejected stations do not come back at the same time
+     */
+    public int getRetryAfterSeconds() {
+        return ThreadLocalRandom.current().nextInt(1, Math.max(1, config.getRetryAfterMaxSeconds()) + 1);
+    }
+
+    /**
+     * @return an empty Optional if not in storm mode, or the station is not in the cache. The caller should then
+     * do the usual lookup.
+     */
+    public Optional<RegistrationStatus> getCachedRegistrationStatus(String chargeBoxId) {
+        if (!isActive()) {
+            return Optional.empty();
+        }
+
+        String status = registrationCache.get(chargeBoxId);
+        if (status == null) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(RegistrationStatus.fromValue(status));
+        } catch (IllegalArgumentException e) {
+            // altered database entry. let the usual lookup deal with it.
+            return Optional.empty();
+        }
+    }
+
+    public void updateOcppProtocol(String chargeBoxId, OcppProtocol protocol) {
+        if (isActive()) {
+            pendingProtocolUpdates.put(chargeBoxId, protocol);
+            return;
+        }
+
+        // on the monitor of the flushes. a value of the last storm must not overwrite this one.
+        synchronized (this) {
+            pendingProtocolUpdates.remove(chargeBoxId);
+            ocppServerRepository.updateOcppProtocol(chargeBoxId, protocol);
+        }
+    }
+
+    /**
+     * Must be called after stations are changed or deleted, such that the cache does not answer with an outdated
+     * registration status.
+     */
+    public void chargeBoxesChanged() {
+        synchronized (registrationLock) {
+            registrationVersion.incrementAndGet();
+            registrationCache.clear();
+        }
+
+        if (isActive()) {
+            executorService.execute(this::loadRegistrationCache);
+        }
+    }
+
+    public void connected(String chargeBoxId) {
+        if (isActive()) {
+            pendingConnected.add(chargeBoxId);
+        } else {
+            applicationEventPublisher.publishEvent(new OcppStationWebSocketConnected(chargeBoxId));
+        }
+    }
+
+    public void disconnected(String chargeBoxId) {
+        if (isActive()) {
+            pendingDisconnected.add(chargeBoxId);
+        } else {
+            applicationEventPublisher.publishEvent(new OcppStationWebSocketDisconnected(chargeBoxId));
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Private helpers
+    // -------------------------------------------------------------------------
+
+    private void loadRegistrationCache() {
+        try {
+            long version = registrationVersion.get();
+            Map<String, String> statusMap = chargePointRepository.getRegistrationStatusMap();
+
+            synchronized (registrationLock) {
+                if (version != registrationVersion.get()) {
+                    // a newer load is started by the change
+                    return;
+                }
+                registrationCache.putAll(statusMap);
+            }
+            log.info("Loaded the registration status of {} stations for the reconnect storm", statusMap.size());
+        } catch (Exception e) {
+            log.error("Failed to load the registration status of the stations", e);
+        }
+    }
+
+    /**
+     * Runs periodically. Must not throw, since this would cancel the schedule.
+     */
+    private void flush() {
+        try {
+            flushProtocolUpdates();
+
+            long now = System.currentTimeMillis();
+            if (!detector.isActive(now) && stormActive.compareAndSet(true, false)) {
+                log.info("Reconnect storm is over ({} handshakes rejected). Switching back to normal mode",
+                         rejectedInStorm.getAndSet(0));
+                synchronized (registrationLock) {
+                    registrationVersion.incrementAndGet();
+                    registrationCache.clear();
+                }
+            }
+
+            if (!isActive() || now - lastSummaryMillis >= SUMMARY_INTERVAL_MILLIS) {
+                flushNotifications(now);
+            }
+        } catch (Exception e) {
+            log.error("Failed to flush the updates of the reconnect storm", e);
+        }
+    }
+
+    /**
+     * Synchronized, such that a batch is written only after the previous one, which may hold older values.
+     */
+    private synchronized void flushProtocolUpdates() {
+        if (pendingProtocolUpdates.isEmpty()) {
+            return;
+        }
+
+        Map<String, OcppProtocol> batch = new HashMap<>();
+        for (Map.Entry<String, OcppProtocol> entry : pendingProtocolUpdates.entrySet()) {
+            // only remove what we write. a newer value put in the meantime stays for the next flush.
+            if (pendingProtocolUpdates.remove(entry.getKey(), entry.getValue())) {
+                batch.put(entry.getKey(), entry.getValue());
+            }
+        }
+
+        try {
+            ocppServerRepository.updateOcppProtocol(batch);
+        } catch (RuntimeException e) {
+            // for the next flush. a newer value put in the meantime wins.
+            batch.forEach(pendingProtocolUpdates::putIfAbsent);
+            throw e;
+        }
+        log.debug("Updated the OCPP protocol of {} stations", batch.size());
+    }
+
+    private void flushNotifications(long now) {
+        List<String> connected = drain(pendingConnected);
+        List<String> disconnected = drain(pendingDisconnected);
+        lastSummaryMillis = now;
+
+        if (connected.isEmpty() && disconnected.isEmpty()) {
+            return;
+        }
+
+        applicationEventPublisher.publishEvent(new OcppStationWebSocketsSummary(connected, disconnected));
+    }
+
+    private static List<String> drain(Queue<String> queue) {
+        List<String> list = new ArrayList<>();
+        String item;
+        while ((item = queue.poll()) != null) {
+            list.add(item);
+        }
+        return list;
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.service.webhook;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.joda.time.DateTime;
+
+import java.util.Map;
+
+/**
+ * One element of the JSON array that is sent to the subscribers.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+@Getter
+@RequiredArgsConstructor
+public class WebhookEvent {
+    private final String type;
+    private final DateTime timestamp;
+    private final String chargeBoxId;
+    private final Map<String, Object> data;
+}
@@ -0,0 +1,349 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.service.webhook;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.joda.JodaModule;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import de.rwth.idsg.steve.SteveConfiguration;
+import de.rwth.idsg.steve.SteveException;
+import de.rwth.idsg.steve.repository.dto.InsertConnectorStatusParams;
+import de.rwth.idsg.steve.repository.dto.InsertTransactionParams;
+import de.rwth.idsg.steve.repository.dto.UpdateTransactionParams;
+import de.rwth.idsg.steve.service.notification.OcppEvent;
+import de.rwth.idsg.steve.service.notification.OcppEventMulticaster;
+import de.rwth.idsg.steve.service.notification.OcppMeterValuesReceived;
+import de.rwth.idsg.steve.service.notification.OcppStationStatusChanged;
+import de.rwth.idsg.steve.service.notification.OcppStationWebSocketConnected;
+import de.rwth.idsg.steve.service.notification.OcppStationWebSocketDisconnected;
+import de.rwth.idsg.steve.service.notification.OcppStationWebSocketsSummary;
+import de.rwth.idsg.steve.service.notification.OcppTransactionEnded;
+import de.rwth.idsg.steve.service.notification.OcppTransactionStarted;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import ocpp.cs._2015._10.MeterValue;
+import ocpp.cs._2015._10.SampledValue;
+import org.joda.time.DateTime;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static de.rwth.idsg.steve.SteveConfiguration.CONFIG;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Streams the OCPP events to the webhook subscribers, such that the systems downstream (e.g. billing, monitoring) do
+ * not have to poll the REST API or the database.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+@Slf4j
+@Service
+public class WebhookService {
+
+    @Autowired private MeterRegistry meterRegistry;
+    @Autowired private OcppEventMulticaster eventMulticaster;
+
+    private final ObjectMapper mapper = new ObjectMapper()
+            .registerModule(new JodaModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private List<WebhookSubscriber> subscribers = Collections.emptyList();
+    private ScheduledExecutorService executor;
+
+    /**
+     * The events that the multicaster dropped. Their publishing thread only puts them here, the thread of the
+     * executor serializes and spools them.
+     */
+    private BlockingQueue<OcppEvent> droppedEvents;
+
+    @PostConstruct
+    public void init() {
+        SteveConfiguration.Webhook config = CONFIG.getWebhook();
+        if (!config.isEnabled()) {
+            return;
+        }
+
+        executor = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("SteVe-Webhook-%d").build()
+        );
+
+        HttpClient httpClient = HttpClient.newBuilder()
+                                          .connectTimeout(Duration.ofSeconds(config.getTimeoutSeconds()))
+                                          .build();
+
+        List<WebhookSubscriber> list = new ArrayList<>();
+        for (String url : config.getUrls()) {
+            // a separate spool for each URL, such that changing the list of URLs does not mix them up
+            String name = Hashing.murmur3_128().hashString(url, UTF_8).toString();
+            Path spoolDirectory = config.getSpoolDirectory().resolve(name);
+            try {
+                list.add(new WebhookSubscriber(URI.create(url), spoolDirectory, config, httpClient, executor,
+                                               meterRegistry));
+            } catch (IOException e) {
+                throw new SteveException("Failed to open the webhook spool " + spoolDirectory, e);
+            }
+            log.info("Webhook subscriber {} with spool {}", url, spoolDirectory);
+        }
+        subscribers = list;
+
+        for (WebhookSubscriber subscriber : subscribers) {
+            executor.scheduleWithFixedDelay(subscriber::run, 0, config.getBatchIntervalMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        // the other listeners may miss events when the queue is full, but the subscribers should get all of them
+        droppedEvents = new ArrayBlockingQueue<>(Math.max(1, CONFIG.getEvents().getQueueSize()));
+        executor.scheduleWithFixedDelay(this::publishDropped, 0, config.getBatchIntervalMillis(),
+                                        TimeUnit.MILLISECONDS);
+        eventMulticaster.addOverflowListener(this::eventDropped);
+    }
+
+    /**
+     * The pending events are written to the spool and sent after the next start.
+     */
+    @PreDestroy
+    public void shutDown() {
+        if (executor == null) {
+            return;
+        }
+
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+
+        publishDropped();
+        for (WebhookSubscriber subscriber : subscribers) {
+            subscriber.flush();
+            subscriber.close();
+        }
+    }
+
+    @EventListener
+    public void transactionStarted(OcppTransactionStarted notification) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+
+        InsertTransactionParams params = notification.getParams();
+
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("transactionId", notification.getTransactionId());
+        data.put("connectorId", params.getConnectorId());
+        data.put("idTag", params.getIdTag());
+        data.put("startTimestamp", params.getStartTimestamp());
+        data.put("startMeterValue", params.getStartMeterValue());
+        data.put("reservationId", params.isSetReservationId() ? params.getReservationId() : null);
+
+        publish("TransactionStarted", params.getChargeBoxId(), data);
+    }
+
+    @EventListener
+    public void transactionEnded(OcppTransactionEnded notification) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+
+        UpdateTransactionParams params = notification.getParams();
+
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("transactionId", params.getTransactionId());
+        data.put("stopTimestamp", params.getStopTimestamp());
+        data.put("stopMeterValue", params.getStopMeterValue());
+        data.put("stopReason", params.getStopReason());
+        data.put("eventActor", params.getEventActor() == null ? null : params.getEventActor().getLiteral());
+
+        publish("TransactionEnded", params.getChargeBoxId(), data);
+    }
+
+    @EventListener
+    public void statusChanged(OcppStationStatusChanged notification) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+
+        InsertConnectorStatusParams params = notification.getParams();
+
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("connectorId", params.getConnectorId());
+        data.put("status", params.getStatus());
+        data.put("errorCode", params.getErrorCode());
+        data.put("statusTimestamp", params.getTimestamp());
+        data.put("errorInfo", params.getErrorInfo());
+        data.put("vendorId", params.getVendorId());
+        data.put("vendorErrorCode", params.getVendorErrorCode());
+
+        publish("StatusChanged", params.getChargeBoxId(), data);
+    }
+
+    @EventListener
+    public void meterValuesReceived(OcppMeterValuesReceived notification) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+
+        List<Map<String, Object>> meterValues = new ArrayList<>();
+        for (MeterValue meterValue : notification.getMeterValues()) {
+            List<Map<String, Object>> sampledValues = new ArrayList<>();
+            for (SampledValue v : meterValue.getSampledValue()) {
+                Map<String, Object> sampledValue = new LinkedHashMap<>();
+                sampledValue.put("value", v.getValue());
+                sampledValue.put("context", v.isSetContext() ? v.getContext().value() : null);
+                sampledValue.put("format", v.isSetFormat() ? v.getFormat().value() : null);
+                sampledValue.put("measurand", v.isSetMeasurand() ? v.getMeasurand().value() : null);
+                sampledValue.put("phase", v.isSetPhase() ? v.getPhase().value() : null);
+                sampledValue.put("location", v.isSetLocation() ? v.getLocation().value() : null);
+                sampledValue.put("unit", v.isSetUnit() ? v.getUnit().value() : null);
+                sampledValues.add(sampledValue);
+            }
+
+            Map<String, Object> value = new LinkedHashMap<>();
+            value.put("timestamp", meterValue.getTimestamp());
+            value.put("sampledValues", sampledValues);
+            meterValues.add(value);
+        }
+
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("connectorId", notification.getConnectorId());
+        data.put("transactionId", notification.getTransactionId());
+        data.put("meterValues", meterValues);
+
+        publish("MeterValues", notification.getChargeBoxId(), data);
+    }
+
+    @EventListener
+    public void stationConnected(OcppStationWebSocketConnected notification) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        publish("StationConnected", notification.getChargeBoxId(), Collections.emptyMap());
+    }
+
+    @EventListener
+    public void stationDisconnected(OcppStationWebSocketDisconnected notification) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        publish("StationDisconnected", notification.getChargeBoxId(), Collections.emptyMap());
+    }
+
+    /**
+     * The subscribers get the individual events, the summary is only for the mails.
+     */
+    @EventListener
+    public void stationsSummary(OcppStationWebSocketsSummary notification) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        for (String chargeBoxId : notification.getConnectedChargeBoxIds()) {
+            publish("StationConnected", chargeBoxId, Collections.emptyMap());
+        }
+        for (String chargeBoxId : notification.getDisconnectedChargeBoxIds()) {
+            publish("StationDisconnected", chargeBoxId, Collections.emptyMap());
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Private helpers
+    // -------------------------------------------------------------------------
+
+    /**
+     * Called by the thread that published the event, instead of the listener methods above. Spooling the event would
+     * block this thread on the disk when the system is overloaded already, so the event is only queued. If this queue
+     * is full as well, the event is lost.
+     */
+    private void eventDropped(OcppEvent event) {
+        if (!droppedEvents.offer(event)) {
+            log.warn("Dropped the webhook event, since the queue is full: {}", event);
+        }
+    }
+
+    /**
+     * Runs periodically on the thread of the executor.
+     */
+    private void publishDropped() {
+        OcppEvent event;
+        while ((event = droppedEvents.poll()) != null) {
+            try {
+                publishDropped(event);
+            } catch (Exception e) {
+                log.error("Failed to publish the dropped event {} to the webhook subscribers", event, e);
+            }
+        }
+    }
+
+    private void publishDropped(OcppEvent event) {
+        if (event instanceof OcppTransactionStarted) {
+            transactionStarted((OcppTransactionStarted) event);
+        } else if (event instanceof OcppTransactionEnded) {
+            transactionEnded((OcppTransactionEnded) event);
+        } else if (event instanceof OcppStationStatusChanged) {
+            statusChanged((OcppStationStatusChanged) event);
+        } else if (event instanceof OcppMeterValuesReceived) {
+            meterValuesReceived((OcppMeterValuesReceived) event);
+        } else if (event instanceof OcppStationWebSocketConnected) {
+            stationConnected((OcppStationWebSocketConnected) event);
+        } else if (event instanceof OcppStationWebSocketDisconnected) {
+            stationDisconnected((OcppStationWebSocketDisconnected) event);
+        } else if (event instanceof OcppStationWebSocketsSummary) {
+            stationsSummary((OcppStationWebSocketsSummary) event);
+        }
+    }
+
+    private void publish(String type, String chargeBoxId, Map<String, Object> data) {
+        byte[] event;
+        try {
+            event = mapper.writeValueAsBytes(new WebhookEvent(type, DateTime.now(), chargeBoxId, data));
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize the webhook event {} of {}", type, chargeBoxId, e);
+            return;
+        }
+
+        for (WebhookSubscriber subscriber : subscribers) {
+            subscriber.add(event);
+        }
+    }
+}
@@ -0,0 +1,300 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.service.webhook;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * The batches of a subscriber that are not delivered yet, one file per batch. The id of a batch is increasing and
+ * part of the file name, such that the batches are sent in the order they were created (also after a restart).
+ *
+ * A file is written under a temporary name, synced and then renamed, such that there are never half-written batches.
+ * The batches that the subscriber rejected (see {@link #reject(long)}) are kept with another extension for
+ * inspection, but not sent again.
+ *
+ * The events that are not part of a batch yet are appended to the pending log (see {@link #append(byte[])}), which
+ * is cleared when the next batch is written. A record of the log is its length, the CRC32 of the event and the event.
+ * The log is not synced for every event: an appended event survives a crash of the process, and it is synced as part
+ * of the next batch. Only a crash of the operating system can lose the events of the last batch interval.
+ * After a crash, the events in the log are collected into the next batch. Since a crash between writing a batch and
+ * clearing the log repeats these events, the delivery is at-least-once.
+ *
+ * The directory is only listed at the start. Afterwards, the pending batches and their sizes are tracked in memory.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+@Slf4j
+class WebhookSpool {
+
+    private static final Pattern FILE_NAME = Pattern.compile("batch-(\\d{20})\\.json\\.gz(\\.rejected)?");
+    private static final String PENDING_LOG = "pending.log";
+    private static final int FRAME_HEADER_SIZE = 8;
+
+    private final Path directory;
+    private final long maxBytes;
+    private final Runnable onDropped;
+    private final FileChannel pendingLog;
+
+    /**
+     * The pending batches (not the rejected ones) with the size of their file
+     */
+    private final TreeMap<Long, Long> batches = new TreeMap<>();
+    private long bytes;
+    private long nextId;
+
+    WebhookSpool(Path directory, long maxBytes, Runnable onDropped) throws IOException {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        this.onDropped = onDropped;
+
+        Files.createDirectories(directory);
+
+        long lastId = 0;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path path : stream) {
+                Matcher matcher = FILE_NAME.matcher(path.getFileName().toString());
+                if (!matcher.matches()) {
+                    continue;
+                }
+                long id = Long.parseLong(matcher.group(1));
+                lastId = Math.max(lastId, id);
+                if (matcher.group(2) == null) {
+                    long size = Files.size(path);
+                    batches.put(id, size);
+                    bytes += size;
+                }
+            }
+        }
+
+        // the ids must not repeat after a restart with an empty spool, since the subscriber may use them to detect
+        // the batches it has already processed
+        nextId = Math.max(lastId + 1, System.currentTimeMillis() * 1000);
+
+        pendingLog = FileChannel.open(directory.resolve(PENDING_LOG), StandardOpenOption.CREATE,
+                                      StandardOpenOption.READ, StandardOpenOption.WRITE);
+        syncDirectory();
+    }
+
+    /**
+     * Hands the event to the operating system before the subscriber keeps it in memory for the next batch. It is
+     * synced with the batch (see {@link #write(byte[], Set)}), not here.
+     */
+    synchronized void append(byte[] event) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(FRAME_HEADER_SIZE + event.length);
+        buffer.putInt(event.length);
+        buffer.putInt(crc(event));
+        buffer.put(event);
+        buffer.flip();
+
+        long position = pendingLog.size();
+        while (buffer.hasRemaining()) {
+            position += pendingLog.write(buffer, position);
+        }
+    }
+
+    /**
+     * A crash while appending can leave an incomplete record at the end of the log. It is cut off, since the event
+     * was not acknowledged.
+     *
+     * @return the events in the pending log, in the order they were appended
+     */
+    synchronized List<byte[]> readPending() throws IOException {
+        List<byte[]> events = new ArrayList<>();
+        long size = pendingLog.size();
+        long offset = 0;
+        ByteBuffer frameHeader = ByteBuffer.allocate(FRAME_HEADER_SIZE);
+
+        while (offset + FRAME_HEADER_SIZE <= size) {
+            frameHeader.clear();
+            readFully(frameHeader, offset);
+            int length = frameHeader.getInt(0);
+            if (length < 0 || offset + FRAME_HEADER_SIZE + length > size) {
+                break;
+            }
+
+            ByteBuffer event = ByteBuffer.allocate(length);
+            readFully(event, offset + FRAME_HEADER_SIZE);
+            if (crc(event.array()) != frameHeader.getInt(4)) {
+                break;
+            }
+            events.add(event.array());
+            offset += FRAME_HEADER_SIZE + length;
+        }
+
+        if (offset < size) {
+            log.warn("Cutting off {} bytes of an incomplete event at the end of {}", size - offset,
+                     directory.resolve(PENDING_LOG));
+            pendingLog.truncate(offset);
+            pendingLog.force(true);
+        }
+        return events;
+    }
+
+    /**
+     * Writes the batch, clears the pending log and deletes the oldest batches (except those in flight) if the spool
+     * is too big.
+     *
+     * @return the id of the new batch
+     */
+    synchronized long write(byte[] content, Set<Long> inFlight) throws IOException {
+        long id = nextId++;
+
+        Path tmp = directory.resolve(fileName(id) + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                    StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(content);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(tmp, path(id), StandardCopyOption.ATOMIC_MOVE);
+        syncDirectory();
+
+        batches.put(id, (long) content.length);
+        bytes += content.length;
+
+        // the events are in the batch now
+        pendingLog.truncate(0);
+        pendingLog.force(true);
+
+        trim(id, inFlight);
+        return id;
+    }
+
+    /**
+     * @return the ids of the pending batches in ascending order
+     */
+    synchronized List<Long> list() {
+        return new ArrayList<>(batches.keySet());
+    }
+
+    byte[] read(long id) throws IOException {
+        return Files.readAllBytes(path(id));
+    }
+
+    synchronized void delete(long id) throws IOException {
+        Long size = batches.remove(id);
+        if (size != null) {
+            bytes -= size;
+            Files.deleteIfExists(path(id));
+        }
+    }
+
+    synchronized void reject(long id) throws IOException {
+        Long size = batches.remove(id);
+        if (size != null) {
+            bytes -= size;
+            Files.move(path(id), directory.resolve(fileName(id) + ".rejected"), StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+
+    /**
+     * @return the number of pending batches
+     */
+    synchronized int size() {
+        return batches.size();
+    }
+
+    /**
+     * @return the bytes of the pending batches
+     */
+    synchronized long bytes() {
+        return bytes;
+    }
+
+    synchronized void close() throws IOException {
+        pendingLog.close();
+    }
+
+    // -------------------------------------------------------------------------
+    // Private helpers
+    // -------------------------------------------------------------------------
+
+    private void trim(long newId, Set<Long> inFlight) throws IOException {
+        Iterator<Map.Entry<Long, Long>> iterator = batches.entrySet().iterator();
+        while (bytes > maxBytes && iterator.hasNext()) {
+            Map.Entry<Long, Long> entry = iterator.next();
+            long id = entry.getKey();
+            if (id == newId || inFlight.contains(id)) {
+                continue;
+            }
+            iterator.remove();
+            bytes -= entry.getValue();
+            Files.deleteIfExists(path(id));
+            log.warn("The webhook spool {} is full, dropped the batch {}", directory, id);
+            onDropped.run();
+        }
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = pendingLog.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new IOException("Unexpected end of the pending log");
+            }
+        }
+        buffer.flip();
+    }
+
+    /**
+     * Makes the creation and renaming of the files durable. Not supported on every platform, but the data of the
+     * files is synced anyway.
+     */
+    private void syncDirectory() {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            log.trace("Cannot sync the directory {}", directory, e);
+        }
+    }
+
+    private Path path(long id) {
+        return directory.resolve(fileName(id));
+    }
+
+    private static String fileName(long id) {
+        return String.format("batch-%020d.json.gz", id);
+    }
+
+    private static int crc(byte[] event) {
+        CRC32 crc = new CRC32();
+        crc.update(event);
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,330 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.service.webhook;
+
+import de.rwth.idsg.steve.SteveConfiguration;
+import de.rwth.idsg.steve.utils.MetricsUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Collects the events for one URL and sends them in batches. An event is appended to the pending log of the spool
+ * before it is added to the next batch, and a batch is written to the spool first and deleted only after the
+ * subscriber answered with 2xx. Batches that failed (no connection, timeout, 5xx, 408 and 429) are
+ * retried with exponential backoff. Other 4xx mean that the subscriber will never accept the batch, it is kept in the
+ * spool as rejected.
+ *
+ * The spool is only read and the requests are only started by the thread of the executor. Since multiple batches
+ * can be in flight and failed batches wait for their retry, the batches can arrive out of order.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+@Slf4j
+class WebhookSubscriber {
+
+    static final String BATCH_ID_HEADER = "X-SteVe-Batch-Id";
+
+    private static final long MIN_BACKOFF_MILLIS = 1000;
+
+    @Getter private final URI uri;
+    private final int batchSize;
+    private final int maxConcurrency;
+    private final Duration timeout;
+    private final long maxBackoffMillis;
+
+    private final HttpClient httpClient;
+    private final Executor executor;
+    private final WebhookSpool spool;
+
+    private final Object lock = new Object();
+    private List<byte[]> pending = new ArrayList<>();
+    private boolean flushRequested;
+
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Retry> retries = new ConcurrentHashMap<>();
+
+    private final Counter eventCounter;
+    private final Counter successCounter;
+    private final Counter errorCounter;
+    private final Counter rejectedCounter;
+    private final Counter droppedCounter;
+
+    WebhookSubscriber(URI uri, Path spoolDirectory, SteveConfiguration.Webhook config, HttpClient httpClient,
+                      Executor executor, MeterRegistry meterRegistry) throws IOException {
+        this.uri = uri;
+        this.batchSize = Math.max(1, config.getBatchSize());
+        this.maxConcurrency = Math.max(1, config.getMaxConcurrency());
+        this.timeout = Duration.ofSeconds(config.getTimeoutSeconds());
+        this.maxBackoffMillis = Math.max(MIN_BACKOFF_MILLIS, TimeUnit.SECONDS.toMillis(config.getMaxBackoffSeconds()));
+        this.httpClient = httpClient;
+        this.executor = executor;
+
+        String tag = uri.getAuthority();
+        eventCounter = meterRegistry.counter(MetricsUtils.WEBHOOK_EVENTS, MetricsUtils.SUBSCRIBER, tag);
+        successCounter = batchCounter(meterRegistry, tag, MetricsUtils.SUCCESS);
+        errorCounter = batchCounter(meterRegistry, tag, MetricsUtils.ERROR);
+        rejectedCounter = batchCounter(meterRegistry, tag, MetricsUtils.REJECTED);
+        droppedCounter = batchCounter(meterRegistry, tag, MetricsUtils.DROPPED);
+
+        this.spool = new WebhookSpool(spoolDirectory, config.getSpoolMaxBytes(), droppedCounter::increment);
+
+        Gauge.builder(MetricsUtils.WEBHOOK_SPOOLED, spool, WebhookSpool::size)
+             .description("Batches of webhook events that are not delivered yet")
+             .tag(MetricsUtils.SUBSCRIBER, tag)
+             .register(meterRegistry);
+
+        // the events of the previous run that did not make it into a batch
+        pending.addAll(spool.readPending());
+    }
+
+    /**
+     * @param event the serialized JSON object
+     */
+    void add(byte[] event) {
+        boolean full;
+        synchronized (lock) {
+            try {
+                spool.append(event);
+            } catch (IOException e) {
+                log.error("Failed to spool a webhook event for {}. It is only kept in memory", uri, e);
+            }
+            pending.add(event);
+            full = pending.size() >= batchSize && !flushRequested;
+            if (full) {
+                flushRequested = true;
+            }
+        }
+        eventCounter.increment();
+
+        if (full) {
+            execute(this::run);
+        }
+    }
+
+    /**
+     * Runs periodically and when a batch is full. Must not throw, since this would cancel the schedule.
+     */
+    void run() {
+        flush();
+        dispatch();
+    }
+
+    /**
+     * Starts the requests for the spooled batches that are due, as far as the concurrency limit allows.
+     */
+    void dispatch() {
+        try {
+            dispatchDue();
+        } catch (Exception e) {
+            log.error("Failed to send the webhook batches to {}", uri, e);
+        }
+    }
+
+    /**
+     * Writes the pending events as a new batch into the spool. Holds the lock, such that no event is appended to the
+     * pending log between writing the batch and clearing the log. If it fails, the events stay pending.
+     */
+    void flush() {
+        synchronized (lock) {
+            flushRequested = false;
+            if (pending.isEmpty()) {
+                return;
+            }
+
+            try {
+                long id = spool.write(toGzippedJsonArray(pending), inFlight);
+                log.debug("Spooled the batch {} with {} events for {}", id, pending.size(), uri);
+                pending = new ArrayList<>();
+            } catch (IOException e) {
+                log.error("Failed to spool {} webhook events for {}. Retrying with the next batch", pending.size(),
+                          uri, e);
+            }
+        }
+    }
+
+    void close() {
+        try {
+            spool.close();
+        } catch (IOException e) {
+            log.warn("Failed to close the webhook spool of {}", uri, e);
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Package-private for tests
+    // -------------------------------------------------------------------------
+
+    WebhookSpool getSpool() {
+        return spool;
+    }
+
+    int getInFlight() {
+        return inFlight.size();
+    }
+
+    static byte[] toGzippedJsonArray(List<byte[]> events) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write('[');
+            for (int i = 0; i < events.size(); i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                out.write(events.get(i));
+            }
+            out.write(']');
+        }
+        return bytes.toByteArray();
+    }
+
+    static long getBackoffMillis(int attempts, long maxBackoffMillis) {
+        long backoff = MIN_BACKOFF_MILLIS << Math.min(attempts - 1, 20);
+        return Math.min(backoff, maxBackoffMillis);
+    }
+
+    // -------------------------------------------------------------------------
+    // Private helpers
+    // -------------------------------------------------------------------------
+
+    private void dispatchDue() throws IOException {
+        List<Long> ids = spool.list();
+        retries.keySet().retainAll(new HashSet<>(ids));
+
+        long now = System.currentTimeMillis();
+        for (long id : ids) {
+            if (inFlight.size() >= maxConcurrency) {
+                return;
+            }
+
+            Retry retry = retries.get(id);
+            if (inFlight.contains(id) || (retry != null && retry.nextAttemptMillis > now)) {
+                continue;
+            }
+
+            send(id);
+        }
+    }
+
+    private void send(long id) {
+        byte[] body;
+        try {
+            body = spool.read(id);
+        } catch (IOException e) {
+            // deleted in the meantime, because the spool is full
+            log.debug("Failed to read the batch {} for {}", id, uri, e);
+            return;
+        }
+
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                                         .timeout(timeout)
+                                         .header("Content-Type", "application/json")
+                                         .header("Content-Encoding", "gzip")
+                                         .header(BATCH_ID_HEADER, Long.toString(id))
+                                         .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                                         .build();
+
+        inFlight.add(id);
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                  .whenComplete((response, error) -> onComplete(id, response, error));
+    }
+
+    private void onComplete(long id, HttpResponse<Void> response, Throwable error) {
+        try {
+            int status = response == null ? -1 : response.statusCode();
+
+            if (error == null && status >= 200 && status < 300) {
+                spool.delete(id);
+                retries.remove(id);
+                successCounter.increment();
+
+            } else if (error == null && status >= 400 && status < 500 && status != 408 && status != 429) {
+                spool.reject(id);
+                retries.remove(id);
+                rejectedCounter.increment();
+                log.error("{} rejected the batch {} with status {}. It will not be sent again", uri, id, status);
+
+            } else {
+                Retry previous = retries.get(id);
+                int attempts = previous == null ? 1 : previous.attempts + 1;
+
+                long backoff = getBackoffMillis(attempts, maxBackoffMillis);
+                // jitter, such that the retries of the batches do not all arrive at the same time after an outage
+                backoff = backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+                retries.put(id, new Retry(attempts, System.currentTimeMillis() + backoff));
+                errorCounter.increment();
+
+                log.warn("Failed to send the batch {} to {} (attempt {}, status {}, error {}). Retrying in {} ms",
+                         id, uri, attempts, status, error, backoff);
+            }
+        } catch (IOException e) {
+            log.error("Failed to update the spool after sending the batch {} to {}", id, uri, e);
+        } finally {
+            inFlight.remove(id);
+            execute(this::dispatch);
+        }
+    }
+
+    private void execute(Runnable task) {
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            // shutting down. the spooled batches are sent after the next start.
+            log.debug("Skipped the webhook task for {}, since the executor is shut down", uri);
+        }
+    }
+
+    private static Counter batchCounter(MeterRegistry meterRegistry, String subscriber, String outcome) {
+        return Counter.builder(MetricsUtils.WEBHOOK_BATCHES)
+                      .description("Batches of webhook events by the outcome of the delivery")
+                      .tag(MetricsUtils.SUBSCRIBER, subscriber)
+                      .tag(MetricsUtils.OUTCOME, outcome)
+                      .register(meterRegistry);
+    }
+
+    @RequiredArgsConstructor
+    private static class Retry {
+        private final int attempts;
+        private final long nextAttemptMillis;
+    }
+}
@@ -21,17 +21,29 @@ package de.rwth.idsg.steve.utils;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.jetty.server.Request;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
 
 import static de.rwth.idsg.steve.utils.CountryCodesProvider.getCountryCodes;
+import static java.nio.charset.StandardCharsets.UTF_8;
 
 /**
  * @author Sevket Goekay <sevketgokay@gmail.com>
  * @since 25.11.2015
  */
+@Slf4j
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public final class ControllerHelper {
 
@@ -49,5 +61,52 @@ public final class ControllerHelper {
         return map;
     }
 
+    /**
+     * Streams a CSV file to the response. The writer is closed only after the body was written completely, since
+     * closing completes the gzip stream and the response. If writing fails in between (e.g. the database connection
+     * is lost), the download has to fail visibly instead of ending like a complete file:
+     *
+     * - If nothing was sent yet, the response is reset and the exception is thrown, such that the client gets an error.
+     * - Otherwise, the connection is aborted. The response has no proper end then, and the gzip stream no trailer.
+     *
+     * @param gzip if true, the file is compressed and ".gz" is appended to its name
+     */
+    public static void csvDownload(HttpServletRequest request, HttpServletResponse response, String fileName,
+                                   boolean gzip, Consumer<Writer> body) throws IOException {
+        Writer writer = openCsvWriter(response, fileName, gzip);
+        try {
+            body.accept(writer);
+            writer.flush();
+        } catch (IOException | RuntimeException e) {
+            if (!response.isCommitted()) {
+                response.reset();
+                throw e;
+            }
 
+            Request baseRequest = Request.getBaseRequest(request);
+            if (baseRequest == null) {
+                // not in Jetty, e.g. in a test. at least, the writer is not closed.
+                throw e;
+            }
+
+            log.error("Aborting the download of {}", fileName, e);
+            baseRequest.getHttpChannel().abort(e);
+            return;
+        }
+        writer.close();
+    }
+
+    private static Writer openCsvWriter(HttpServletResponse response, String fileName, boolean gzip)
+            throws IOException {
+        if (gzip) {
+            response.setContentType("application/gzip");
+            response.setHeader("Content-Disposition", String.format("attachment; filename=\"%s.gz\"", fileName));
+            return new BufferedWriter(new OutputStreamWriter(new GZIPOutputStream(response.getOutputStream()), UTF_8));
+        }
+
+        response.setContentType("text/csv");
+        response.setCharacterEncoding(UTF_8.name());
+        response.setHeader("Content-Disposition", String.format("attachment; filename=\"%s\"", fileName));
+        return response.getWriter();
+    }
 }
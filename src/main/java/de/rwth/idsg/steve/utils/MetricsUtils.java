@@ -0,0 +1,97 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.utils;
+
+import de.rwth.idsg.steve.ocpp.OcppProtocol;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Names and helpers for the meters of the application, such that the instrumented classes agree on them.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class MetricsUtils {
+
+    public static final String OCPP_REQUESTS = "steve.ocpp.requests";
+    public static final String WS_SESSIONS = "steve.ocpp.ws.sessions";
+    public static final String WS_PENDING_RESPONSES = "steve.ocpp.ws.pending.responses";
+    public static final String WS_SEND_BUFFER = "steve.ocpp.ws.send.buffer";
+    public static final String WS_SLOW_CONSUMERS = "steve.ocpp.ws.slow.consumers.closed";
+    public static final String WS_HANDSHAKES_REJECTED = "steve.ocpp.ws.handshakes.rejected";
+    public static final String WS_RECONNECT_STORM = "steve.ocpp.ws.reconnect.storm";
+    public static final String TASKS = "steve.tasks";
+    public static final String MAIL_QUEUED = "steve.mail.queued";
+    public static final String MAIL_SENT = "steve.mail.sent";
+    public static final String DB_QUERIES = "steve.db.queries";
+    public static final String DB_POOL_USAGE = "steve.db.pool.usage";
+    public static final String DB_REPLICA_LAG = "steve.db.replica.lag";
+    public static final String EXECUTOR = "steve.executor";
+    public static final String ADMISSION_REJECTED = "steve.ocpp.admission.rejected";
+    public static final String ADMISSION_DELAYED = "steve.ocpp.admission.delayed";
+    public static final String EVENTS_QUEUED = "steve.events.queued";
+    public static final String EVENTS_DROPPED = "steve.events.dropped";
+    public static final String WEBHOOK_EVENTS = "steve.webhook.events";
+    public static final String WEBHOOK_BATCHES = "steve.webhook.batches";
+    public static final String WEBHOOK_SPOOLED = "steve.webhook.spooled";
+    public static final String WAL_LAG = "steve.wal.lag";
+    public static final String WAL_RECORDS = "steve.wal.records";
+
+    public static final String VERSION = "version";
+    public static final String TRANSPORT = "transport";
+    public static final String ACTION = "action";
+    public static final String TYPE = "type";
+    public static final String STATEMENT = "statement";
+    public static final String OUTCOME = "outcome";
+    public static final String REASON = "reason";
+    public static final String SUBSCRIBER = "subscriber";
+    public static final String POOL = "pool";
+
+    public static final String SUCCESS = "success";
+    public static final String ERROR = "error";
+    public static final String REJECTED = "rejected";
+    public static final String DROPPED = "dropped";
+
+    /**
+     * Records the processing time of a request that was sent by a station (i.e. from receiving the request until
+     * the response is handed over to the transport). The meter is looked up (and registered at first use) with every
+     * call, which is cheap compared to the processing of an OCPP message.
+     */
+    public static void recordOcppRequest(MeterRegistry registry, OcppProtocol protocol, String action,
+                                         long startNanos, boolean success) {
+        Timer.builder(OCPP_REQUESTS)
+             .description("Processing time of the OCPP requests sent by the stations")
+             .tag(VERSION, protocol.getVersion().getValue())
+             .tag(TRANSPORT, protocol.getTransport().name())
+             .tag(ACTION, action)
+             .tag(OUTCOME, success ? SUCCESS : ERROR)
+             .publishPercentileHistogram()
+             .minimumExpectedValue(Duration.ofMillis(1))
+             .maximumExpectedValue(Duration.ofSeconds(30))
+             .register(registry)
+             .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.utils;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.jooq.ExecuteContext;
+import org.jooq.ExecuteListener;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Times every query that is executed by jOOQ, tagged with the type of the query and a short key as statement: the
+ * first keyword of the SQL and the first table, e.g. "select charge_box" or "insert transaction_start". The SQL itself
+ * is not used, since it varies with the inlined values and the length of IN lists. The keys are bounded by the tables
+ * of the schema.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+@RequiredArgsConstructor
+public class QueryMetricsListener implements ExecuteListener {
+
+    private static final String START_KEY = QueryMetricsListener.class.getName() + ".start";
+
+    private static final Pattern KEYWORD = Pattern.compile("^\\W*(\\w+)");
+
+    /**
+     * The first table that follows one of the keywords, optionally qualified with the schema. Derived tables are
+     * skipped, since their "from (" does not match.
+     */
+    private static final Pattern TABLE = Pattern.compile(
+            "\\b(?:from|into|update|join)\\s+(?:[`\"]?\\w+[`\"]?\\.)?[`\"]?(\\w+)", Pattern.CASE_INSENSITIVE);
+
+    private final MeterRegistry registry;
+
+    @Override
+    public void start(ExecuteContext ctx) {
+        ctx.data(START_KEY, System.nanoTime());
+    }
+
+    @Override
+    public void end(ExecuteContext ctx) {
+        Object start = ctx.data(START_KEY);
+        if (start == null) {
+            return;
+        }
+
+        Timer.builder(MetricsUtils.DB_QUERIES)
+             .description("Execution time of the database queries")
+             .tag(MetricsUtils.TYPE, ctx.type().name())
+             .tag(MetricsUtils.STATEMENT, getStatementKey(getSql(ctx)))
+             .tag(MetricsUtils.OUTCOME, ctx.exception() == null ? MetricsUtils.SUCCESS : MetricsUtils.ERROR)
+             .register(registry)
+             .record(System.nanoTime() - (Long) start, TimeUnit.NANOSECONDS);
+    }
+
+    static String getStatementKey(String sql) {
+        if (sql == null) {
+            return "unknown";
+        }
+
+        Matcher keyword = KEYWORD.matcher(sql);
+        if (!keyword.find()) {
+            return "unknown";
+        }
+        String key = keyword.group(1).toLowerCase(Locale.ROOT);
+
+        Matcher table = TABLE.matcher(sql);
+        if (table.find()) {
+            key += " " + table.group(1).toLowerCase(Locale.ROOT);
+        }
+        return key;
+    }
+
+    private static String getSql(ExecuteContext ctx) {
+        String sql = ctx.sql();
+        if (sql != null) {
+            return sql;
+        }
+
+        // batches of different queries have no single statement
+        String[] batchSql = ctx.batchSQL();
+        if (batchSql.length > 0 && batchSql[0] != null) {
+            return batchSql[0];
+        }
+        return null;
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.utils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.jooq.ConnectionProvider;
+import org.jooq.exception.DataAccessException;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Decides whether the reads can go to the read replica: only if it is reachable and its replication lag is within
+ * the tolerance. The lag is checked periodically with {@link #checkLag()}, and the replica is not used until the first
+ * check passes.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+@Slf4j
+public class ReplicaRouter {
+
+    private final DataSource replica;
+    private final int maxLagSeconds;
+
+    private volatile boolean usable;
+    private volatile double lagSeconds = Double.NaN;
+
+    /**
+     * @param maxLagSeconds if negative, the lag is not checked and the replica is used whenever it is reachable
+     */
+    public ReplicaRouter(DataSource replica, int maxLagSeconds) {
+        this.replica = replica;
+        this.maxLagSeconds = maxLagSeconds;
+        this.usable = maxLagSeconds < 0;
+    }
+
+    /**
+     * @return the connections of the replica, or of the fallback while the replica cannot be used
+     */
+    public ConnectionProvider connectionProvider(DataSource fallback) {
+        return new ConnectionProvider() {
+            @Override
+            public Connection acquire() {
+                if (usable) {
+                    try {
+                        return replica.getConnection();
+                    } catch (SQLException e) {
+                        setUsable(false, "it is not reachable: " + e.getMessage());
+                    }
+                }
+                try {
+                    return fallback.getConnection();
+                } catch (SQLException e) {
+                    throw new DataAccessException("Failed to get a connection", e);
+                }
+            }
+
+            @Override
+            public void release(Connection connection) {
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    throw new DataAccessException("Failed to release the connection", e);
+                }
+            }
+        };
+    }
+
+    public double getLagSeconds() {
+        return lagSeconds;
+    }
+
+    public void checkLag() {
+        if (maxLagSeconds < 0) {
+            checkReachable();
+            return;
+        }
+
+        Long lag;
+        try {
+            lag = queryLag();
+        } catch (SQLException e) {
+            lagSeconds = Double.NaN;
+            setUsable(false, "its lag cannot be read: " + e.getMessage());
+            return;
+        }
+
+        if (lag == null) {
+            lagSeconds = Double.NaN;
+            setUsable(false, "it is not replicating");
+        } else {
+            lagSeconds = lag;
+            if (lag <= maxLagSeconds) {
+                setUsable(true, "its lag is " + lag + " s");
+            } else {
+                setUsable(false, "its lag is " + lag + " s");
+            }
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Private helpers
+    // -------------------------------------------------------------------------
+
+    private void checkReachable() {
+        try (Connection connection = replica.getConnection()) {
+            setUsable(true, "it is reachable");
+        } catch (SQLException e) {
+            setUsable(false, "it is not reachable: " + e.getMessage());
+        }
+    }
+
+    private void setUsable(boolean newValue, String reason) {
+        if (usable != newValue) {
+            if (newValue) {
+                log.info("Reading from the replica again, since {}", reason);
+            } else {
+                log.warn("Reading from the primary instead of the replica, since {}", reason);
+            }
+        }
+        usable = newValue;
+    }
+
+    /**
+     * @return the lag in seconds, or null if the replica is not replicating (e.g. the replication is stopped)
+     */
+    private Long queryLag() throws SQLException {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement()) {
+            try {
+                return queryLag(statement, "SHOW REPLICA STATUS");
+            } catch (SQLException e) {
+                // before MySQL 8.0.22 and MariaDB 10.5.1
+                return queryLag(statement, "SHOW SLAVE STATUS");
+            }
+        }
+    }
+
+    private static Long queryLag(Statement statement, String sql) throws SQLException {
+        try (ResultSet rs = statement.executeQuery(sql)) {
+            if (!rs.next()) {
+                throw new SQLException("The database is not a replica");
+            }
+
+            ResultSetMetaData meta = rs.getMetaData();
+            for (int i = 1; i <= meta.getColumnCount(); i++) {
+                String column = meta.getColumnLabel(i);
+                // the name depends on the version
+                if ("Seconds_Behind_Source".equalsIgnoreCase(column)
+                        || "Seconds_Behind_Master".equalsIgnoreCase(column)) {
+                    long lag = rs.getLong(i);
+                    return rs.wasNull() ? null : lag;
+                }
+            }
+            throw new SQLException("The status of the replica has no lag");
+        }
+    }
+}
@@ -20,12 +20,20 @@ package de.rwth.idsg.steve.utils;
 
 import com.google.common.base.Strings;
 import de.rwth.idsg.steve.repository.dto.TransactionDetails;
+import jooq.steve.db.tables.records.ConnectorMeterValueRecord;
 import ocpp.cs._2015._10.Measurand;
 import ocpp.cs._2015._10.UnitOfMeasure;
 import ocpp.cs._2015._10.ValueFormat;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.List;
 
 public class TransactionStopServiceHelper {
 
+    private static final BigDecimal THOUSAND = BigDecimal.valueOf(1000);
+
     public static String floatingStringToIntString(String s) {
         // meter values can be floating, whereas start/end values are int
         return Integer.toString((int) Math.ceil(Double.parseDouble(s)));
@@ -37,43 +45,100 @@ public class TransactionStopServiceHelper {
     }
 
     public static boolean isEnergyValue(TransactionDetails.MeterValues v) {
-        // should not happen, but check it to be safe.
-        // https://github.com/steve-community/steve/issues/249
-        if (Strings.isNullOrEmpty(v.getValue())) {
-            return false;
+        return isEnergyValue(v.getValue(), v.getReadingContext(), v.getFormat(), v.getMeasurand(), v.getLocation(),
+                             v.getUnit(), v.getPhase());
+    }
+
+    public static boolean isEnergyValue(ConnectorMeterValueRecord r) {
+        return isEnergyValue(r.getValue(), r.getReadingContext(), r.getFormat(), r.getMeasurand(), r.getLocation(),
+                             r.getUnit(), r.getPhase());
+    }
+
+    /**
+     * @return the energy value with the latest timestamp, in Wh
+     */
+    @Nullable
+    public static TransactionDetails.MeterValues findLastMeterValue(List<TransactionDetails.MeterValues> values) {
+        TransactionDetails.MeterValues v =
+                values.stream()
+                      .filter(TransactionStopServiceHelper::isEnergyValue)
+                      .max(Comparator.comparing(TransactionDetails.MeterValues::getValueTimestamp))
+                      .orElse(null);
+
+        // if the list of values is empty, we fall to this case, as well.
+        if (v == null) {
+            return null;
         }
 
-        // is it a proper numeric/decimal value?
-        try {
-            Double.parseDouble(v.getValue());
-        } catch (Exception e) {
-            // swallow the exception. we got what we wanted.
+        // convert kWh to Wh
+        if (UnitOfMeasure.K_WH.value().equals(v.getUnit())) {
+            return TransactionDetails.MeterValues.builder()
+                                                 .value(kWhStringToWhString(v.getValue()))
+                                                 .valueTimestamp(v.getValueTimestamp())
+                                                 .readingContext(v.getReadingContext())
+                                                 .format(v.getFormat())
+                                                 .measurand(v.getMeasurand())
+                                                 .location(v.getLocation())
+                                                 .unit(v.getUnit())
+                                                 .phase(v.getPhase())
+                                                 .build();
+        } else {
+            return v;
+        }
+    }
+
+    /**
+     * The total active power (i.e. not of a phase) in W or kW
+     */
+    public static boolean isPowerValue(ConnectorMeterValueRecord r) {
+        return isNumeric(r.getValue())
+            && !ValueFormat.SIGNED_DATA.value().equals(r.getFormat())
+            && Measurand.POWER_ACTIVE_IMPORT.value().equals(r.getMeasurand())
+            && (UnitOfMeasure.W.value().equals(r.getUnit()) || UnitOfMeasure.K_W.value().equals(r.getUnit()))
+            && Strings.isNullOrEmpty(r.getPhase());
+    }
+
+    /**
+     * @return the value in Wh or W, for a value that is in Wh, kWh, W or kW
+     * @throws NumberFormatException for the few numbers that are not decimals, e.g. NaN
+     */
+    public static BigDecimal toBaseUnit(String value, String unit) {
+        BigDecimal d = new BigDecimal(value.trim());
+        if (UnitOfMeasure.K_WH.value().equals(unit) || UnitOfMeasure.K_W.value().equals(unit)) {
+            d = d.multiply(THOUSAND);
+        }
+        return d;
+    }
+
+    private static boolean isEnergyValue(String value, String readingContext, String format, String measurand,
+                                         String location, String unit, String phase) {
+        if (!isNumeric(value)) {
             return false;
         }
 
         // from 1.6 docs: "To retain backward compatibility, the default values of all of the optional fields on a
         // sampledValue element are such that a value without any additional fields will be interpreted, as a register
         // reading of active import energy in Wh (Watt-hour) units."
-        if (Strings.isNullOrEmpty(v.getReadingContext())
-            && Strings.isNullOrEmpty(v.getFormat())
-            && Strings.isNullOrEmpty(v.getMeasurand())
-            && Strings.isNullOrEmpty(v.getLocation())
-            && Strings.isNullOrEmpty(v.getUnit())
-            && Strings.isNullOrEmpty(v.getPhase())) {
+        if (Strings.isNullOrEmpty(readingContext)
+            && Strings.isNullOrEmpty(format)
+            && Strings.isNullOrEmpty(measurand)
+            && Strings.isNullOrEmpty(location)
+            && Strings.isNullOrEmpty(unit)
+            && Strings.isNullOrEmpty(phase)) {
             return true;
         }
 
         // if the format is "SignedData", we cannot make any sense of this entry. we don't know how to decode it.
         // https://github.com/steve-community/steve/issues/816
-        if (ValueFormat.SIGNED_DATA.value().equals(v.getFormat())) {
+        if (ValueFormat.SIGNED_DATA.value().equals(format)) {
             return false;
         }
 
-        if (!isWHOrKWH(v.getUnit())) {
+        if (!isWHOrKWH(unit)) {
             return false;
         }
 
-        if (!Measurand.ENERGY_ACTIVE_IMPORT_REGISTER.value().equals(v.getMeasurand())) {
+        if (!Measurand.ENERGY_ACTIVE_IMPORT_REGISTER.value().equals(measurand)) {
             return false;
         }
 
@@ -84,6 +149,23 @@ public class TransactionStopServiceHelper {
         return true;
     }
 
+    private static boolean isNumeric(String value) {
+        // should not happen, but check it to be safe.
+        // https://github.com/steve-community/steve/issues/249
+        if (Strings.isNullOrEmpty(value)) {
+            return false;
+        }
+
+        // is it a proper numeric/decimal value?
+        try {
+            Double.parseDouble(value);
+            return true;
+        } catch (Exception e) {
+            // swallow the exception. we got what we wanted.
+            return false;
+        }
+    }
+
     private static boolean isWHOrKWH(String str) {
         return UnitOfMeasure.WH.value().equals(str) || UnitOfMeasure.K_WH.value().equals(str);
     }
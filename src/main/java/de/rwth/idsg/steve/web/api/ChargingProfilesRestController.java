@@ -5,7 +5,9 @@ import de.rwth.idsg.steve.repository.dto.ChargingProfile;
 import de.rwth.idsg.steve.repository.dto.OcppTag;
 import de.rwth.idsg.steve.service.ChargingProfileService;
 import de.rwth.idsg.steve.web.dto.ChargingProfileForm;
+import de.rwth.idsg.steve.web.dto.ApiPage;
 import de.rwth.idsg.steve.web.dto.ChargingProfileQueryForm;
+import de.rwth.idsg.steve.web.dto.PageQueryForm;
 import de.rwth.idsg.steve.web.dto.OcppTagForm;
 import de.rwth.idsg.steve.web.dto.OcppTagQueryForm;
 import io.swagger.annotations.ApiResponse;
@@ -70,6 +72,25 @@ public class ChargingProfilesRestController {
         return response;
     }
 
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "OK"),
+            @ApiResponse(code = 400, message = "Bad Request", response = ApiControllerAdvice.ApiErrorResponse.class),
+            @ApiResponse(code = 401, message = "Unauthorized", response = ApiControllerAdvice.ApiErrorResponse.class),
+            @ApiResponse(code = 500, message = "Internal Server Error", response = ApiControllerAdvice.ApiErrorResponse.class)}
+    )
+    @GetMapping(value = "", params = "limit")
+    @ResponseBody
+    public ApiPage<ChargingProfile.Overview> getPage(ChargingProfileQueryForm params, @Valid PageQueryForm page) {
+        log.debug("Read request for query: {}, page: {}", params, page);
+
+        var results = chargingProfileService.getOverview(
+                params, PageToken.decode(page.getAfter()), page.getLimit() + 1
+        );
+        var response = ApiPage.of(results, page.getLimit(), p -> PageToken.encode(p.getChargingProfilePk()));
+        log.debug("Read response for query: {}", response);
+        return response;
+    }
+
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "OK"),
             @ApiResponse(code = 400, message = "Bad Request", response = ApiControllerAdvice.ApiErrorResponse.class),
@@ -0,0 +1,77 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.web.api;
+
+import de.rwth.idsg.steve.SteveException;
+import de.rwth.idsg.steve.ocpp.journal.JournalRecord;
+import de.rwth.idsg.steve.ocpp.journal.MessageJournal;
+import de.rwth.idsg.steve.web.api.ApiControllerAdvice.ApiErrorResponse;
+import de.rwth.idsg.steve.web.dto.JournalQueryForm;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import lombok.extern.slf4j.Slf4j;
+import org.joda.time.DateTimeZone;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.validation.Valid;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+@Slf4j
+@RestController
+@RequestMapping(value = "/api/v1/journal", produces = MediaType.APPLICATION_JSON_VALUE)
+public class JournalRestController {
+
+    @ApiResponses(value = {
+        @ApiResponse(code = 200, message = "OK"),
+        @ApiResponse(code = 400, message = "Bad Request", response = ApiErrorResponse.class),
+        @ApiResponse(code = 401, message = "Unauthorized", response = ApiErrorResponse.class),
+        @ApiResponse(code = 404, message = "Not Found", response = ApiErrorResponse.class),
+        @ApiResponse(code = 500, message = "Internal Server Error", response = ApiErrorResponse.class)}
+    )
+    @GetMapping("/{chargeBoxId}")
+    @ResponseBody
+    public List<JournalRecord> get(@PathVariable("chargeBoxId") String chargeBoxId,
+                                   @Valid JournalQueryForm params) throws IOException {
+        log.debug("Read request for chargeBoxId: {}, query: {}", chargeBoxId, params);
+
+        if (!MessageJournal.INSTANCE.isEnabled()) {
+            throw new SteveException.NotFound("The journal is not enabled");
+        }
+
+        // in UTC, as the timestamps of the records and the JournalTool
+        var response = MessageJournal.INSTANCE.getReader().read(
+            chargeBoxId,
+            params.getFrom().toDateTime(DateTimeZone.UTC).getMillis(),
+            params.getTo().toDateTime(DateTimeZone.UTC).getMillis(),
+            params.getLimit()
+        );
+        log.debug("Read {} records", response.size());
+        return response;
+    }
+}
@@ -22,8 +22,10 @@ import de.rwth.idsg.steve.SteveException;
 import de.rwth.idsg.steve.repository.dto.OcppTag;
 import de.rwth.idsg.steve.service.OcppTagService;
 import de.rwth.idsg.steve.web.api.ApiControllerAdvice.ApiErrorResponse;
+import de.rwth.idsg.steve.web.dto.ApiPage;
 import de.rwth.idsg.steve.web.dto.OcppTagForm;
 import de.rwth.idsg.steve.web.dto.OcppTagQueryForm;
+import de.rwth.idsg.steve.web.dto.PageQueryForm;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
 import lombok.RequiredArgsConstructor;
@@ -72,6 +74,23 @@ public class OcppTagsRestController {
         return response;
     }
 
+    @ApiResponses(value = {
+        @ApiResponse(code = 200, message = "OK"),
+        @ApiResponse(code = 400, message = "Bad Request", response = ApiErrorResponse.class),
+        @ApiResponse(code = 401, message = "Unauthorized", response = ApiErrorResponse.class),
+        @ApiResponse(code = 500, message = "Internal Server Error", response = ApiErrorResponse.class)}
+    )
+    @GetMapping(value = "", params = "limit")
+    @ResponseBody
+    public ApiPage<OcppTag.Overview> getPage(OcppTagQueryForm.ForApi params, @Valid PageQueryForm page) {
+        log.debug("Read request for query: {}, page: {}", params, page);
+
+        var results = ocppTagService.getOverview(params, PageToken.decode(page.getAfter()), page.getLimit() + 1);
+        var response = ApiPage.of(results, page.getLimit(), t -> PageToken.encode(t.getOcppTagPk()));
+        log.debug("Read response for query: {}", response);
+        return response;
+    }
+
     @ApiResponses(value = {
         @ApiResponse(code = 200, message = "OK"),
         @ApiResponse(code = 400, message = "Bad Request", response = ApiErrorResponse.class),
@@ -0,0 +1,63 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.web.api;
+
+import de.rwth.idsg.steve.web.api.exception.BadRequestException;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.Base64;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+/**
+ * The 'after' token of the keyset pagination: the primary key of the last result of a page. It is opaque for the
+ * clients, such that the key can change without breaking them.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class PageToken {
+
+    private static final String PREFIX = "1:";
+
+    public static String encode(int primaryKey) {
+        byte[] bytes = (PREFIX + primaryKey).getBytes(US_ASCII);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * @return null, if the token is null (i.e. the first page is requested)
+     */
+    public static Integer decode(String token) {
+        if (token == null) {
+            return null;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), US_ASCII);
+            if (value.startsWith(PREFIX)) {
+                return Integer.parseInt(value.substring(PREFIX.length()));
+            }
+        } catch (IllegalArgumentException e) {
+            // invalid Base64 or number, NumberFormatException is an IllegalArgumentException
+        }
+        throw new BadRequestException("Invalid 'after' token: " + token);
+    }
+}
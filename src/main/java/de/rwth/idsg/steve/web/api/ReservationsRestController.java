@@ -8,6 +8,8 @@ import de.rwth.idsg.steve.service.ChargePointService15_Client;
 import de.rwth.idsg.steve.service.ChargePointService16_Client;
 import de.rwth.idsg.steve.service.ReservationService;
 import de.rwth.idsg.steve.web.api.exception.BadRequestException;
+import de.rwth.idsg.steve.web.dto.ApiPage;
+import de.rwth.idsg.steve.web.dto.PageQueryForm;
 import de.rwth.idsg.steve.web.dto.ReservationQueryForm;
 import de.rwth.idsg.steve.web.dto.ocpp.CancelReservationParams;
 import de.rwth.idsg.steve.web.dto.ocpp.ReserveNowParams;
@@ -80,6 +82,25 @@ public class ReservationsRestController {
         return response;
     }
 
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "OK"),
+            @ApiResponse(code = 400, message = "Bad Request", response = ApiControllerAdvice.ApiErrorResponse.class),
+            @ApiResponse(code = 401, message = "Unauthorized", response = ApiControllerAdvice.ApiErrorResponse.class),
+            @ApiResponse(code = 500, message = "Internal Server Error", response = ApiControllerAdvice.ApiErrorResponse.class)}
+    )
+    @GetMapping(value = "", params = "limit")
+    @ResponseBody
+    public ApiPage<Reservation> getPage(ReservationQueryForm params, @Valid PageQueryForm page) {
+        log.debug("Read request for query: {}, page: {}", params, page);
+
+        var results = reservationService.getReservations(
+                params, PageToken.decode(page.getAfter()), page.getLimit() + 1
+        );
+        var response = ApiPage.of(results, page.getLimit(), r -> PageToken.encode(r.getId()));
+        log.debug("Read response for query: {}", response);
+        return response;
+    }
+
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "OK"),
             @ApiResponse(code = 400, message = "Bad Request", response = ApiControllerAdvice.ApiErrorResponse.class),
@@ -0,0 +1,87 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.web.api;
+
+import de.rwth.idsg.steve.SteveException;
+import de.rwth.idsg.steve.ocpp.traffic.StationTraffic;
+import de.rwth.idsg.steve.ocpp.traffic.StationTrafficStore;
+import de.rwth.idsg.steve.ocpp.traffic.TrafficWindow;
+import de.rwth.idsg.steve.web.api.ApiControllerAdvice.ApiErrorResponse;
+import de.rwth.idsg.steve.web.dto.StationTrafficQueryForm;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.validation.Valid;
+import java.util.List;
+
+/**
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+@Slf4j
+@RestController
+@RequestMapping(value = "/api/v1/stationTraffic", produces = MediaType.APPLICATION_JSON_VALUE)
+public class StationTrafficRestController {
+
+    @ApiResponses(value = {
+        @ApiResponse(code = 200, message = "OK"),
+        @ApiResponse(code = 400, message = "Bad Request", response = ApiErrorResponse.class),
+        @ApiResponse(code = 401, message = "Unauthorized", response = ApiErrorResponse.class),
+        @ApiResponse(code = 500, message = "Internal Server Error", response = ApiErrorResponse.class)}
+    )
+    @GetMapping(value = "")
+    @ResponseBody
+    public List<StationTraffic> getTopStations(@Valid StationTrafficQueryForm params) {
+        log.debug("Read request for query: {}", params);
+
+        var response = StationTrafficStore.INSTANCE.getTopStations(
+            params.getWindow(), params.getSortBy(), params.getLimit()
+        );
+        log.debug("Read response for query: {}", response);
+        return response;
+    }
+
+    @ApiResponses(value = {
+        @ApiResponse(code = 200, message = "OK"),
+        @ApiResponse(code = 400, message = "Bad Request", response = ApiErrorResponse.class),
+        @ApiResponse(code = 401, message = "Unauthorized", response = ApiErrorResponse.class),
+        @ApiResponse(code = 404, message = "Not Found", response = ApiErrorResponse.class),
+        @ApiResponse(code = 500, message = "Internal Server Error", response = ApiErrorResponse.class)}
+    )
+    @GetMapping("/{chargeBoxId}")
+    @ResponseBody
+    public StationTraffic getStation(@PathVariable("chargeBoxId") String chargeBoxId,
+                                     @RequestParam(value = "window", defaultValue = "LAST_5_MINUTES")
+                                     TrafficWindow window) {
+        log.debug("Read request for chargeBoxId: {}", chargeBoxId);
+
+        var response = StationTrafficStore.INSTANCE.getStation(chargeBoxId, window)
+            .orElseThrow(() -> new SteveException.NotFound("There is no traffic of this station"));
+        log.debug("Read response: {}", response);
+        return response;
+    }
+}
@@ -22,6 +22,8 @@ import de.rwth.idsg.steve.repository.TransactionRepository;
 import de.rwth.idsg.steve.repository.dto.Transaction;
 import de.rwth.idsg.steve.web.api.ApiControllerAdvice.ApiErrorResponse;
 import de.rwth.idsg.steve.web.api.exception.BadRequestException;
+import de.rwth.idsg.steve.web.dto.ApiPage;
+import de.rwth.idsg.steve.web.dto.PageQueryForm;
 import de.rwth.idsg.steve.web.dto.TransactionQueryForm;
 import de.rwth.idsg.steve.web.dto.ocpp.RemoteStartTransactionParams;
 import de.rwth.idsg.steve.web.dto.ocpp.RemoteStopTransactionParams;
@@ -70,4 +72,27 @@ public class TransactionsRestController {
         return response;
     }
 
+    @ApiResponses(value = {
+        @ApiResponse(code = 200, message = "OK"),
+        @ApiResponse(code = 400, message = "Bad Request", response = ApiErrorResponse.class),
+        @ApiResponse(code = 401, message = "Unauthorized", response = ApiErrorResponse.class),
+        @ApiResponse(code = 500, message = "Internal Server Error", response = ApiErrorResponse.class)}
+    )
+    @GetMapping(value = "", params = "limit")
+    @ResponseBody
+    public ApiPage<Transaction> getPage(@Valid TransactionQueryForm.ForApi params, @Valid PageQueryForm page) {
+        log.debug("Read request for query: {}, page: {}", params, page);
+
+        if (params.isReturnCSV()) {
+            throw new BadRequestException("returnCSV=true is not supported for API calls");
+        }
+
+        var results = transactionRepository.getTransactions(
+            params, PageToken.decode(page.getAfter()), page.getLimit() + 1
+        );
+        var response = ApiPage.of(results, page.getLimit(), t -> PageToken.encode(t.getId()));
+        log.debug("Read response for query: {}", response);
+        return response;
+    }
+
 }
@@ -22,6 +22,7 @@ import de.rwth.idsg.steve.ocpp.OcppProtocol;
 import de.rwth.idsg.steve.repository.ChargePointRepository;
 import de.rwth.idsg.steve.repository.dto.ChargePoint;
 import de.rwth.idsg.steve.service.ChargePointHelperService;
+import de.rwth.idsg.steve.service.reconnect.ReconnectStormService;
 import de.rwth.idsg.steve.utils.ControllerHelper;
 import de.rwth.idsg.steve.utils.mapper.ChargePointDetailsMapper;
 import de.rwth.idsg.steve.web.dto.ChargePointBatchInsertForm;
@@ -54,6 +55,7 @@ public class ChargePointsController {
 
     @Autowired protected ChargePointRepository chargePointRepository;
     @Autowired protected ChargePointHelperService chargePointHelperService;
+    @Autowired protected ReconnectStormService reconnectStormService;
 
     protected static final String PARAMS = "params";
 
@@ -178,12 +180,14 @@ public class ChargePointsController {
         }
 
         chargePointRepository.updateChargePoint(chargePointForm);
+        reconnectStormService.chargeBoxesChanged();
         return toOverview();
     }
 
     @RequestMapping(value = DELETE_PATH, method = RequestMethod.POST)
     public String delete(@PathVariable("chargeBoxPk") int chargeBoxPk) {
         chargePointRepository.deleteChargePoint(chargeBoxPk);
+        reconnectStormService.chargeBoxesChanged();
         return toOverview();
     }
 
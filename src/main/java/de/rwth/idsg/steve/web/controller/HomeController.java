@@ -18,19 +18,26 @@
  */
 package de.rwth.idsg.steve.web.controller;
 
+import de.rwth.idsg.steve.ocpp.traffic.StationTrafficStore;
+import de.rwth.idsg.steve.ocpp.traffic.TrafficSortKey;
+import de.rwth.idsg.steve.ocpp.traffic.TrafficWindow;
 import de.rwth.idsg.steve.repository.ChargePointRepository;
 import de.rwth.idsg.steve.repository.dto.ConnectorStatus;
 import de.rwth.idsg.steve.service.ChargePointHelperService;
 import de.rwth.idsg.steve.utils.ConnectorStatusCountFilter;
 import de.rwth.idsg.steve.utils.ConnectorStatusFilter;
 import de.rwth.idsg.steve.web.dto.ConnectorStatusForm;
+import de.rwth.idsg.steve.web.dto.StationTrafficQueryForm;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
+import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 
+import javax.validation.Valid;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -56,6 +63,7 @@ public class HomeController {
     private static final String OCPP_JSON_STATUS = HOME_PREFIX + "/ocppJsonStatus";
     private static final String CONNECTOR_STATUS_PATH = HOME_PREFIX + "/connectorStatus";
     private static final String CONNECTOR_STATUS_QUERY_PATH = HOME_PREFIX + "/connectorStatus/query";
+    private static final String STATION_TRAFFIC_PATH = HOME_PREFIX + "/stationTraffic";
     // -------------------------------------------------------------------------
     // HTTP methods
     // -------------------------------------------------------------------------
@@ -63,6 +71,8 @@ public class HomeController {
     @RequestMapping(value = {"", HOME_PREFIX})
     public String getHome(Model model) {
         model.addAttribute("stats", chargePointHelperService.getStats());
+        model.addAttribute("topTalkers", StationTrafficStore.INSTANCE.getTopStations(
+                TrafficWindow.LAST_5_MINUTES, TrafficSortKey.MESSAGES_IN, 3));
         return "home";
     }
 
@@ -88,4 +98,19 @@ public class HomeController {
         model.addAttribute("ocppJsonStatusList", chargePointHelperService.getOcppJsonStatus());
         return "ocppJsonStatus";
     }
+
+    @RequestMapping(value = STATION_TRAFFIC_PATH)
+    public String getStationTraffic(@Valid @ModelAttribute(PARAMS) StationTrafficQueryForm params,
+                                    BindingResult result, Model model) {
+        model.addAttribute("windows", TrafficWindow.values());
+        model.addAttribute("sortKeys", TrafficSortKey.values());
+
+        if (result.hasErrors()) {
+            model.addAttribute("stationTrafficList", Collections.emptyList());
+        } else {
+            model.addAttribute("stationTrafficList", StationTrafficStore.INSTANCE.getTopStations(
+                    params.getWindow(), params.getSortBy(), params.getLimit()));
+        }
+        return "stationTraffic";
+    }
 }
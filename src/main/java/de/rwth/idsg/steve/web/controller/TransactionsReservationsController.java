@@ -24,6 +24,7 @@ import de.rwth.idsg.steve.repository.ReservationStatus;
 import de.rwth.idsg.steve.repository.TransactionRepository;
 import de.rwth.idsg.steve.service.OcppTagService;
 import de.rwth.idsg.steve.service.TransactionStopService;
+import de.rwth.idsg.steve.utils.ControllerHelper;
 import de.rwth.idsg.steve.web.dto.ReservationQueryForm;
 import de.rwth.idsg.steve.web.dto.TransactionQueryForm;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -35,6 +36,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import java.io.IOException;
@@ -97,6 +99,7 @@ public class TransactionsReservationsController {
     @RequestMapping(value = TRANSACTIONS_QUERY_PATH)
     public String getTransactionsQuery(@Valid @ModelAttribute(PARAMS) TransactionQueryForm params,
                                        BindingResult result, Model model,
+                                       HttpServletRequest request,
                                        HttpServletResponse response) throws IOException {
         if (result.hasErrors()) {
             initList(model);
@@ -105,12 +108,8 @@ public class TransactionsReservationsController {
         }
 
         if (params.isReturnCSV()) {
-            String fileName = "transactions.csv";
-            String headerKey = "Content-Disposition";
-            String headerValue = String.format("attachment; filename=\"%s\"", fileName);
-            response.setContentType("text/csv");
-            response.setHeader(headerKey, headerValue);
-            transactionRepository.writeTransactionsCSV(params, response.getWriter());
+            ControllerHelper.csvDownload(request, response, "transactions.csv", params.isGzipCSV(),
+                                         writer -> transactionRepository.writeTransactionsCSV(params, writer));
             return null;
 
         } else {
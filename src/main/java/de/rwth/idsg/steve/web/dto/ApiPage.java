@@ -0,0 +1,57 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.web.dto;
+
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class ApiPage<T> {
+
+    @ApiModelProperty(value = "The results of this page")
+    private final List<T> items;
+
+    @ApiModelProperty(value = "Pass as 'after' to get the next page. Null, if this is the last page")
+    private final String next;
+
+    /**
+     * @param results of the query with 'limit + 1' as limit. The additional result is not returned, it only tells
+     *                that there is a next page
+     * @param tokenOf the token of the last result of this page
+     */
+    public static <T> ApiPage<T> of(List<T> results, int limit, Function<T, String> tokenOf) {
+        if (results.size() <= limit) {
+            return new ApiPage<>(results, null);
+        }
+        List<T> items = results.subList(0, limit);
+        return new ApiPage<>(items, tokenOf.apply(items.get(limit - 1)));
+    }
+}
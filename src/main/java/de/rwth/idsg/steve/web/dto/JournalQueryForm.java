@@ -0,0 +1,61 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.web.dto;
+
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.joda.time.LocalDateTime;
+
+import javax.validation.constraints.AssertTrue;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+/**
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+@Getter
+@Setter
+@ToString
+public class JournalQueryForm {
+
+    @ApiModelProperty(value = "Show messages that were journaled after this date/time. "
+        + "Format: ISO8601 without timezone, in UTC. Example: `2022-10-10T09:00:00`")
+    @NotNull(message = "From is required")
+    private LocalDateTime from;
+
+    @ApiModelProperty(value = "Show messages that were journaled before this date/time. "
+        + "Format: ISO8601 without timezone, in UTC. Example: `2022-10-10T12:00:00`")
+    @NotNull(message = "To is required")
+    private LocalDateTime to;
+
+    @ApiModelProperty(value = "The maximum number of messages in the result")
+    @Min(value = 1, message = "Limit must be at least {value}")
+    @Max(value = 10000, message = "Limit must be at most {value}")
+    private int limit = 1000;
+
+    @ApiModelProperty(hidden = true)
+    @AssertTrue(message = "'To' must be after 'From'")
+    public boolean isFromToValid() {
+        return from == null || to == null || to.isAfter(from);
+    }
+}
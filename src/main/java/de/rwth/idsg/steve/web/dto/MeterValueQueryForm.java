@@ -0,0 +1,77 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.web.dto;
+
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.joda.time.LocalDateTime;
+
+import javax.validation.constraints.AssertTrue;
+
+/**
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+@Getter
+@Setter
+@ToString
+public class MeterValueQueryForm {
+
+    @ApiModelProperty(value = "Database primary key of the transaction. Only the meter values that the station sent "
+        + "with the id of the transaction are included")
+    private Integer transactionPk;
+
+    @ApiModelProperty(value = "The identifier of the chargebox (i.e. charging station)")
+    private String chargeBoxId;
+
+    @ApiModelProperty(value = "Export meter values with a timestamp at or after this date/time. "
+        + "Format: ISO8601 without timezone. Example: `2022-10-01T00:00:00`")
+    private LocalDateTime from;
+
+    @ApiModelProperty(value = "Export meter values with a timestamp before this date/time. "
+        + "Format: ISO8601 without timezone. Example: `2022-11-01T00:00:00`")
+    private LocalDateTime to;
+
+    @ApiModelProperty(value = "Compress the CSV file with gzip? Defaults to false")
+    private boolean gzip = false;
+
+    @ApiModelProperty(hidden = true)
+    @AssertTrue(message = "At least one of 'transactionPk', 'chargeBoxId', 'from' or 'to' must be set")
+    public boolean isFilterSet() {
+        return transactionPk != null || chargeBoxId != null || from != null || to != null;
+    }
+
+    @ApiModelProperty(hidden = true)
+    @AssertTrue(message = "'To' must be after 'From'")
+    public boolean isFromToValid() {
+        return from == null || to == null || to.isAfter(from);
+    }
+
+    @ApiModelProperty(hidden = true)
+    public boolean isTransactionPkSet() {
+        return transactionPk != null;
+    }
+
+    @ApiModelProperty(hidden = true)
+    public boolean isChargeBoxIdSet() {
+        return chargeBoxId != null;
+    }
+}
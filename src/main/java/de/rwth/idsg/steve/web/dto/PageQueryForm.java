@@ -0,0 +1,50 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.web.dto;
+
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+/**
+ * Keyset pagination of the lists of the REST API. Without 'limit', the lists are returned completely as before.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+@Getter
+@Setter
+@ToString
+public class PageQueryForm {
+
+    @ApiModelProperty(value = "The maximum number of results per page. If set, the results are returned in pages "
+        + "ordered by the database primary key (transactions: newest first). Otherwise, all results are returned")
+    @NotNull(message = "Limit is required")
+    @Min(value = 1, message = "Limit must be at least {value}")
+    @Max(value = 1000, message = "Limit must be at most {value}")
+    private Integer limit;
+
+    @ApiModelProperty(value = "The 'next' token of the previous page. If not set, the first page is returned")
+    private String after;
+}
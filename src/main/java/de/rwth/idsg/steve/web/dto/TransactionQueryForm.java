@@ -43,6 +43,9 @@ public class TransactionQueryForm extends QueryForm {
     @ApiModelProperty(value = "Disabled for the Web APIs. Do not use and set", hidden = true)
     private boolean returnCSV = false;
 
+    @ApiModelProperty(value = "Disabled for the Web APIs. Do not use and set", hidden = true)
+    private boolean gzipCSV = false;
+
     @ApiModelProperty(value = "Return active or all transactions? Defaults to ALL")
     private QueryType type = QueryType.ACTIVE;
 
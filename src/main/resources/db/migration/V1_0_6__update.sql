@@ -0,0 +1,79 @@
+-- summary of the meter values per transaction, such that the transaction details, the stop value of a manual stop and
+-- the billing do not have to scan connector_meter_value. maintained by SteVe when meter values with a transaction id
+-- arrive. the energy values are in Wh, the power values in W.
+CREATE TABLE `transaction_energy` (
+    `transaction_pk` INT(10) UNSIGNED NOT NULL,
+    `first_energy_wh` DECIMAL(20, 4) DEFAULT NULL,
+    `first_energy_timestamp` TIMESTAMP(6) NULL DEFAULT NULL,
+    `last_energy_wh` DECIMAL(20, 4) DEFAULT NULL,
+    `last_energy_timestamp` TIMESTAMP(6) NULL DEFAULT NULL,
+    `max_power_w` DECIMAL(20, 4) DEFAULT NULL,
+    `sample_count` INT(11) NOT NULL DEFAULT 0,
+    `last_sample_timestamp` TIMESTAMP(6) NULL DEFAULT NULL,
+    PRIMARY KEY (`transaction_pk`),
+    CONSTRAINT `FK_transaction_energy_transaction_pk` FOREIGN KEY (`transaction_pk`) REFERENCES `transaction_start` (`transaction_pk`) ON DELETE CASCADE ON UPDATE NO ACTION
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb3 COLLATE=utf8mb3_unicode_ci;
+
+-- -------------------------------------------------------------------------
+-- backfill from the existing meter values with the same rules as TransactionStopServiceHelper
+-- -------------------------------------------------------------------------
+
+CREATE TABLE `transaction_energy_backfill` (
+    `transaction_pk` INT(10) UNSIGNED NOT NULL,
+    `value_timestamp` TIMESTAMP(6) NULL DEFAULT NULL,
+    `energy_wh` DECIMAL(20, 4) DEFAULT NULL,
+    `power_w` DECIMAL(20, 4) DEFAULT NULL,
+    KEY `transaction_energy_backfill_idx` (`transaction_pk`, `value_timestamp`)
+) ENGINE=InnoDB;
+
+INSERT INTO `transaction_energy_backfill` (`transaction_pk`, `value_timestamp`, `energy_wh`, `power_w`)
+SELECT v.`transaction_pk`,
+       v.`value_timestamp`,
+       CASE
+           WHEN v.`is_numeric` AND v.`abs_value` * IF(v.`unit` = 'kWh', 1000, 1) < 1e15 AND (
+                   (COALESCE(v.`reading_context`, '') = '' AND COALESCE(v.`format`, '') = ''
+                    AND COALESCE(v.`measurand`, '') = '' AND COALESCE(v.`location`, '') = ''
+                    AND COALESCE(v.`unit`, '') = '' AND COALESCE(v.`phase`, '') = '')
+                   OR (COALESCE(v.`format`, '') <> 'SignedData' AND v.`unit` IN ('Wh', 'kWh')
+                       AND v.`measurand` = 'Energy.Active.Import.Register'))
+           THEN CAST(v.`value` AS DECIMAL(20, 4)) * IF(v.`unit` = 'kWh', 1000, 1)
+       END,
+       CASE
+           WHEN v.`is_numeric` AND v.`abs_value` * IF(v.`unit` = 'kW', 1000, 1) < 1e15
+                AND COALESCE(v.`format`, '') <> 'SignedData' AND v.`unit` IN ('W', 'kW')
+                AND v.`measurand` = 'Power.Active.Import' AND COALESCE(v.`phase`, '') = ''
+           THEN CAST(v.`value` AS DECIMAL(20, 4)) * IF(v.`unit` = 'kW', 1000, 1)
+       END
+FROM (SELECT n.*,
+             -- the values that do not fit into DECIMAL(20, 4) are left out, as in TransactionEnergySummary.
+             -- "+ 0E0" converts to DOUBLE, which also holds the values beyond the range of DECIMAL.
+             IF(n.`is_numeric`, ABS(n.`value` + 0E0), NULL) AS `abs_value`
+      FROM (SELECT cmv.*,
+                   cmv.`value` REGEXP '^[-+]?([0-9]+[.]?[0-9]*|[.][0-9]+)([eE][-+]?[0-9]+)?$' AS `is_numeric`
+            FROM `connector_meter_value` cmv
+            WHERE cmv.`transaction_pk` IS NOT NULL) n) v;
+
+INSERT INTO `transaction_energy` (`transaction_pk`, `first_energy_timestamp`, `last_energy_timestamp`, `max_power_w`,
+                                  `sample_count`, `last_sample_timestamp`)
+SELECT `transaction_pk`,
+       MIN(IF(`energy_wh` IS NULL, NULL, `value_timestamp`)),
+       MAX(IF(`energy_wh` IS NULL, NULL, `value_timestamp`)),
+       MAX(`power_w`),
+       COUNT(*),
+       MAX(`value_timestamp`)
+FROM `transaction_energy_backfill`
+GROUP BY `transaction_pk`;
+
+UPDATE `transaction_energy` te
+SET te.`first_energy_wh` = (SELECT MIN(b.`energy_wh`)
+                            FROM `transaction_energy_backfill` b
+                            WHERE b.`transaction_pk` = te.`transaction_pk`
+                              AND b.`value_timestamp` = te.`first_energy_timestamp`);
+
+UPDATE `transaction_energy` te
+SET te.`last_energy_wh` = (SELECT MAX(b.`energy_wh`)
+                           FROM `transaction_energy_backfill` b
+                           WHERE b.`transaction_pk` = te.`transaction_pk`
+                             AND b.`value_timestamp` = te.`last_energy_timestamp`);
+
+DROP TABLE `transaction_energy_backfill`;
@@ -0,0 +1,63 @@
+-- the view `transaction` finds the latest stop of every transaction with a correlated subquery, for every row it
+-- returns. this table holds the same columns, maintained by SteVe when a transaction starts or stops, such that the
+-- readers can use indexes. the active transactions are the ones with stop_timestamp IS NULL.
+CREATE TABLE `transaction_current` (
+    `transaction_pk` INT(10) UNSIGNED NOT NULL,
+    `connector_pk` INT(11) UNSIGNED NOT NULL,
+    `id_tag` VARCHAR(255) NOT NULL,
+    `start_event_timestamp` TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    `start_timestamp` TIMESTAMP(6) NULL DEFAULT NULL,
+    `start_value` VARCHAR(255) DEFAULT NULL,
+    `stop_event_actor` ENUM('station', 'manual') DEFAULT NULL,
+    `stop_event_timestamp` TIMESTAMP(6) NULL DEFAULT NULL,
+    `stop_timestamp` TIMESTAMP(6) NULL DEFAULT NULL,
+    `stop_value` VARCHAR(255) DEFAULT NULL,
+    `stop_reason` VARCHAR(255) DEFAULT NULL,
+    PRIMARY KEY (`transaction_pk`),
+    KEY `transaction_current_stop_idx` (`stop_timestamp`, `connector_pk`),
+    KEY `transaction_current_id_tag_idx` (`id_tag`, `stop_timestamp`),
+    KEY `transaction_current_connector_pk_idx` (`connector_pk`),
+    KEY `transaction_current_start_idx` (`start_timestamp`),
+    CONSTRAINT `FK_transaction_current_transaction_pk` FOREIGN KEY (`transaction_pk`) REFERENCES `transaction_start` (`transaction_pk`) ON DELETE CASCADE ON UPDATE NO ACTION
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb3 COLLATE=utf8mb3_unicode_ci;
+
+-- backfill with the old definition of the view, one last time
+INSERT INTO `transaction_current` (`transaction_pk`, `connector_pk`, `id_tag`, `start_event_timestamp`,
+                                   `start_timestamp`, `start_value`, `stop_event_actor`, `stop_event_timestamp`,
+                                   `stop_timestamp`, `stop_value`, `stop_reason`)
+SELECT `transaction_pk`, `connector_pk`, `id_tag`, `start_event_timestamp`,
+       `start_timestamp`, `start_value`, `stop_event_actor`, `stop_event_timestamp`,
+       `stop_timestamp`, `stop_value`, `stop_reason`
+FROM `transaction`;
+
+-- kept for the queries outside of SteVe (e.g. reporting), with the same columns as before
+CREATE OR REPLACE VIEW `transaction` AS
+SELECT
+    `transaction_pk`,
+    `connector_pk`,
+    `id_tag`,
+    `start_event_timestamp`,
+    `start_timestamp`,
+    `start_value`,
+    `stop_event_actor`,
+    `stop_event_timestamp`,
+    `stop_timestamp`,
+    `stop_value`,
+    `stop_reason`
+FROM `transaction_current`;
+
+CREATE OR REPLACE VIEW ocpp_tag_activity AS
+select `o`.*,
+       count(`t`.`id_tag`)                                                AS `active_transaction_count`,
+       case when count(`t`.`id_tag`) > 0 then 1 else 0 end                AS `in_transaction`,
+       case when `o`.`max_active_transaction_count` = 0 then 1 else 0 end AS `blocked`
+from `ocpp_tag` `o` left join `transaction_current` `t` on (
+    `o`.`id_tag` = `t`.`id_tag` and
+    `t`.`stop_timestamp` is null and
+    `t`.`stop_value` is null)
+group by
+    `o`.`ocpp_tag_pk`,
+    `o`.`parent_id_tag`,
+    `o`.`expiry_date`,
+    `o`.`max_active_transaction_count`,
+    `o`.`note`;
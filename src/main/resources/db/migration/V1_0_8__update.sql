@@ -0,0 +1,9 @@
+-- the position up to which a write-ahead log of SteVe is applied, per directory of the log. it is updated in the same
+-- database transaction as the records, such that a record is never applied twice, even after a crash.
+CREATE TABLE `write_ahead_log_position` (
+    `log_directory` VARCHAR(255) NOT NULL,
+    `segment_id` BIGINT NOT NULL,
+    `segment_offset` BIGINT NOT NULL,
+    `updated_at` TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6),
+    PRIMARY KEY (`log_directory`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb3 COLLATE=utf8mb3_unicode_ci;
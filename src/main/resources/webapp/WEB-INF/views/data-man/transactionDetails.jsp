@@ -38,6 +38,13 @@
             <tr><td>Stop Value</td><td>${details.transaction.stopValue}</td></tr>
             <tr><td>Stop Reason</td><td><encode:forHtml value="${details.transaction.stopReason}" /></td></tr>
             <tr><td>Stop Event Actor</td><td>${details.transaction.stopEventActor}</td></tr>
+            <c:if test="${not empty details.energy}">
+            <tr><td>First Energy Value (Wh)</td><td>${details.energy.firstEnergyWh}</td></tr>
+            <tr><td>Last Energy Value (Wh)</td><td>${details.energy.lastEnergyWh}</td></tr>
+            <tr><td>Max. Power (W)</td><td>${details.energy.maxPowerW}</td></tr>
+            <tr><td>Number of Sampled Values</td><td>${details.energy.sampleCount}</td></tr>
+            <tr><td>Last Sample Date/Time</td><td>${details.energy.lastSampleTimestamp}</td></tr>
+            </c:if>
         </table>
     </center>
     <br>
@@ -86,5 +86,16 @@
 			</c:forEach>
 		</span>
 	</a>
+	<a class="tileRow1" href="${ctxPath}/manager/home/stationTraffic">
+		Busiest Stations<br>(Last 5 Minutes)
+		<span class="baseTable">
+			<c:forEach items="${topTalkers}" var="it">
+				<span class="baseRow">
+					<span class="baseCell"><encode:forHtml value="${it.chargeBoxId}" /> :</span>
+					<span class="baseCell formatNumber">${it.messagesIn}</span>
+				</span>
+			</c:forEach>
+		</span>
+	</a>
 </div></div>
 <%@ include file="00-footer.jsp" %>
\ No newline at end of file
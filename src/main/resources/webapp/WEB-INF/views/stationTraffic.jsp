@@ -0,0 +1,104 @@
+<%--
+
+    SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+    Copyright (C) 2013-2024 SteVe Community Team
+    All Rights Reserved.
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+--%>
+<%@ include file="00-header.jsp" %>
+<%@ taglib uri="http://java.sun.com/jsp/jstl/fmt" prefix="fmt" %>
+<script type="text/javascript">
+	$(document).ready(function() {
+		<%@ include file="snippets/sortable.js" %>
+	});
+</script>
+<div class="content"><div>
+<section><span>
+Station Traffic
+	<a class="tooltip" href="#"><img src="${ctxPath}/static/images/info.png" style="vertical-align:middle">
+		<span>The stations with the highest load within the selected sliding window, for JSON and SOAP stations.
+			Incoming messages are the requests of the stations and their responses to our requests. The handling time
+			is the time spent for processing the incoming messages, including the sending of the responses.
+			The statistics are kept in memory and start from zero after every restart.</span>
+	</a>
+</span></section>
+<%@ include file="00-op-bind-errors.jsp" %>
+<form:form action="${ctxPath}/manager/home/stationTraffic" method="get" modelAttribute="params">
+	<table class="userInput">
+		<tr>
+			<td>Window:</td>
+			<td><form:select path="window">
+				<form:options items="${windows}"/>
+			</form:select>
+			</td>
+		</tr>
+		<tr>
+			<td>Sort By:</td>
+			<td><form:select path="sortBy">
+				<form:options items="${sortKeys}"/>
+			</form:select>
+			</td>
+		</tr>
+		<tr>
+			<td>Limit:</td>
+			<td><form:input path="limit"/></td>
+		</tr>
+		<tr>
+			<td></td>
+			<td id="add_space">
+				<input type="submit" value="Get">
+			</td>
+		</tr>
+	</table>
+</form:form>
+<br>
+
+<table class="res" id="stationTrafficTable">
+	<thead>
+		<tr>
+			<th data-sort="string">ChargeBox ID</th>
+			<th data-sort="int">Messages In</th>
+			<th data-sort="float">Messages In / Minute</th>
+			<th data-sort="int">Messages Out</th>
+			<th data-sort="int">Bytes In</th>
+			<th data-sort="int">Bytes Out</th>
+			<th data-sort="int">Errors</th>
+			<th data-sort="float">Avg. Handling Time (ms)</th>
+			<th>Messages In by Action</th>
+		</tr>
+	</thead>
+	<tbody>
+		<c:forEach items="${stationTrafficList}" var="st">
+			<tr>
+				<td><encode:forHtml value="${st.chargeBoxId}" /></td>
+				<td>${st.messagesIn}</td>
+				<td data-sort-value="${st.messagesInPerMinute}"><fmt:formatNumber value="${st.messagesInPerMinute}" maxFractionDigits="1"/></td>
+				<td>${st.messagesOut}</td>
+				<td>${st.bytesIn}</td>
+				<td>${st.bytesOut}</td>
+				<td>${st.errors}</td>
+				<td data-sort-value="${st.averageHandlingMillis}"><fmt:formatNumber value="${st.averageHandlingMillis}" maxFractionDigits="2"/></td>
+				<td>
+					<c:forEach items="${st.actions}" var="a">
+						<c:if test="${a.messagesIn > 0}"><encode:forHtml value="${a.action}" />: ${a.messagesIn}<br></c:if>
+					</c:forEach>
+				</td>
+			</tr>
+		</c:forEach>
+	</tbody>
+</table>
+</div></div>
+<%@ include file="00-footer.jsp" %>
@@ -28,7 +28,8 @@ import de.rwth.idsg.steve.repository.dto.Transaction;
 import de.rwth.idsg.steve.repository.dto.TransactionDetails;
 import de.rwth.idsg.steve.service.CentralSystemService16_Service;
 import de.rwth.idsg.steve.utils.__DatabasePreparer__;
-import jooq.steve.db.tables.records.TransactionRecord;
+import jooq.steve.db.tables.records.TransactionCurrentRecord;
+import jooq.steve.db.tables.records.TransactionEnergyRecord;
 import lombok.extern.slf4j.Slf4j;
 import ocpp.cs._2015._10.AuthorizationStatus;
 import ocpp.cs._2015._10.AuthorizeRequest;
@@ -60,6 +61,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import javax.xml.ws.WebServiceException;
+import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
 
@@ -498,11 +500,11 @@ public class OperationalTestSoapOCPP16 {
 
         int transactionID = start.getTransactionId();
 
-        List<TransactionRecord> allTransactions = __DatabasePreparer__.getTransactionRecords();
+        List<TransactionCurrentRecord> allTransactions = __DatabasePreparer__.getTransactionRecords();
         Assertions.assertEquals(1, allTransactions.size());
 
         {
-            TransactionRecord t = allTransactions.get(0);
+            TransactionCurrentRecord t = allTransactions.get(0);
             Assertions.assertEquals(startTimeStamp, t.getStartTimestamp());
             Assertions.assertEquals(0, Integer.parseInt(t.getStartValue()));
 
@@ -533,7 +535,7 @@ public class OperationalTestSoapOCPP16 {
                     REGISTERED_CHARGE_BOX_ID
             );
             Assertions.assertNotNull(meter);
-            checkMeterValues(meterValues, transactionID);
+            checkMeterValues(meterValues, transactionID, meterValues.size());
         }
 
         // stopTransaction
@@ -551,14 +553,15 @@ public class OperationalTestSoapOCPP16 {
 
         {
             Assertions.assertNotNull(stop);
-            List<TransactionRecord> transactionsStop = __DatabasePreparer__.getTransactionRecords();
+            List<TransactionCurrentRecord> transactionsStop = __DatabasePreparer__.getTransactionRecords();
             Assertions.assertEquals(1, transactionsStop.size());
-            TransactionRecord t = transactionsStop.get(0);
+            TransactionCurrentRecord t = transactionsStop.get(0);
             Assertions.assertEquals(stopTimeStamp, t.getStopTimestamp());
             Assertions.assertEquals(stopValue, Integer.parseInt(t.getStopValue()));
 
             if (transactionData != null) {
-                checkMeterValues(transactionData, transactionID);
+                int sampleCount = transactionData.size() + (meterValues == null ? 0 : meterValues.size());
+                checkMeterValues(transactionData, transactionID, sampleCount);
             }
         }
 
@@ -598,9 +601,18 @@ public class OperationalTestSoapOCPP16 {
         }
     }
 
-    private void checkMeterValues(List<MeterValue> meterValues, int transactionPk) {
+    private void checkMeterValues(List<MeterValue> meterValues, int transactionPk, int sampleCount) {
         TransactionDetails details = __DatabasePreparer__.getDetails(transactionPk);
 
+        // they are sent with the transaction id, therefore summarized. the values of the list are increasing and sent
+        // last, so its last one is the last energy value.
+        TransactionEnergyRecord energy = details.getEnergy();
+        Assertions.assertNotNull(energy);
+        Assertions.assertEquals(sampleCount, energy.getSampleCount());
+        String lastValue = meterValues.get(meterValues.size() - 1).getSampledValue().get(0).getValue();
+        Assertions.assertNotNull(energy.getLastEnergyWh());
+        Assertions.assertEquals(0, new BigDecimal(lastValue).compareTo(energy.getLastEnergyWh()));
+
         // iterate over all created meter values
         for (MeterValue meterValue : meterValues) {
             List<SampledValue> sampledValues = meterValue.getSampledValue();
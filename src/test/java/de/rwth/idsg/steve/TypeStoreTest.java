@@ -19,6 +19,7 @@
 package de.rwth.idsg.steve;
 
 import de.rwth.idsg.ocpp.jaxb.RequestType;
+import de.rwth.idsg.steve.ocpp.ws.OcppClassIndex;
 import de.rwth.idsg.steve.ocpp.ws.data.ActionResponsePair;
 import de.rwth.idsg.steve.ocpp.ws.ocpp12.Ocpp12TypeStore;
 import de.rwth.idsg.steve.ocpp.ws.ocpp15.Ocpp15TypeStore;
@@ -70,4 +71,19 @@ public class TypeStoreTest {
         Class<? extends RequestType> requestClass = typeStore.findRequestClass("BootNotification");
         Assertions.assertSame(ocpp.cs._2015._10.BootNotificationRequest.class, requestClass);
     }
+
+    @Test
+    public void classIndexTest() {
+        for (String packageName : OcppClassIndex.PACKAGES) {
+            for (OcppClassIndex.Kind kind : OcppClassIndex.Kind.values()) {
+                var classes = OcppClassIndex.INSTANCE.getClasses(packageName, kind);
+                Assertions.assertFalse(classes.isEmpty(), packageName + " has no classes of kind " + kind);
+                classes.forEach(clazz -> Assertions.assertEquals(packageName, clazz.getPackage().getName()));
+            }
+        }
+
+        var enums = OcppClassIndex.INSTANCE.getClasses(ocpp.cs._2015._10.ObjectFactory.class.getPackage().getName(),
+                                                       OcppClassIndex.Kind.ENUM);
+        Assertions.assertTrue(enums.contains(ocpp.cs._2015._10.ChargePointStatus.class));
+    }
 }
@@ -0,0 +1,103 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.benchmark;
+
+import de.rwth.idsg.steve.ocpp.OcppProtocol;
+import de.rwth.idsg.steve.repository.dto.ConnectorStatus;
+import de.rwth.idsg.steve.utils.ConnectorStatusFilter;
+import ocpp.cs._2015._10.ChargePointErrorCode;
+import ocpp.cs._2015._10.ChargePointStatus;
+import org.joda.time.DateTime;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ConnectorStatusFilter} on connector lists as large as the home page and the connector status page of
+ * big installations get.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConnectorStatusFilterBenchmark {
+
+    private static final ChargePointStatus[] STATUSES = ChargePointStatus.values();
+
+    /**
+     * Number of stations. Each has the connector 0 and two physical connectors.
+     */
+    @Param({"100", "1000", "10000"})
+    public int stationCount;
+
+    private List<ConnectorStatus> statuses;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        DateTime now = DateTime.now();
+
+        statuses = new ArrayList<>(stationCount * 3);
+        for (int i = 0; i < stationCount; i++) {
+            for (int connectorId = 0; connectorId <= 2; connectorId++) {
+                ChargePointStatus status = STATUSES[random.nextInt(STATUSES.length)];
+                DateTime timestamp = now.minusMinutes(random.nextInt(60 * 24));
+
+                statuses.add(ConnectorStatus.builder()
+                                            .chargeBoxPk(i)
+                                            .chargeBoxId("station-" + i)
+                                            .connectorId(connectorId)
+                                            .status(status.value())
+                                            .errorCode(ChargePointErrorCode.NO_ERROR.value())
+                                            .statusTimestamp(timestamp)
+                                            .timeStamp(timestamp.toString())
+                                            .ocppProtocol(OcppProtocol.V_16_JSON)
+                                            .build());
+            }
+        }
+    }
+
+    @Benchmark
+    public List<ConnectorStatus> filterAndPreferZero() {
+        return ConnectorStatusFilter.filterAndPreferZero(statuses);
+    }
+
+    @Benchmark
+    public List<ConnectorStatus> filterAndPreferOthersWithStatusOfZero() {
+        return ConnectorStatusFilter.filterAndPreferOthersWithStatusOfZero(statuses);
+    }
+}
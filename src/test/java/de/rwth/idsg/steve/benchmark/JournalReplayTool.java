@@ -0,0 +1,90 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.benchmark;
+
+import de.rwth.idsg.ocpp.jaxb.RequestType;
+import de.rwth.idsg.ocpp.jaxb.ResponseType;
+import de.rwth.idsg.steve.ocpp.journal.JournalReader;
+import de.rwth.idsg.steve.ocpp.journal.JournalRecord;
+import de.rwth.idsg.steve.ocpp.journal.JournalReplayer;
+import de.rwth.idsg.steve.ocpp.ws.FutureResponseContextStore;
+import de.rwth.idsg.steve.ocpp.ws.ocpp16.Ocpp16TypeStore;
+import de.rwth.idsg.steve.ocpp.ws.pipeline.AbstractCallHandler;
+import de.rwth.idsg.steve.ocpp.ws.pipeline.Deserializer;
+import de.rwth.idsg.steve.ocpp.ws.pipeline.DuplicateCallCache;
+import de.rwth.idsg.steve.ocpp.ws.pipeline.IncomingPipeline;
+import de.rwth.idsg.steve.service.admission.AdmissionControlService;
+import org.joda.time.DateTimeZone;
+import org.joda.time.LocalDateTime;
+
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays the OCPP 1.6 CALLs of a station from a journal (e.g. copied from production) through the JSON pipeline,
+ * with the same stub responses as {@link OcppJsonPipelineBenchmark}, such that the numbers do not include any
+ * service or database work. Arguments: journal dir, chargeBoxId, from, to (ISO8601 without timezone, in UTC) and
+ * optionally the number of iterations.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+public final class JournalReplayTool {
+
+    private JournalReplayTool() { }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 4) {
+            System.err.println("Usage: JournalReplayTool <journal dir> <chargeBoxId> <from> <to> [iterations]");
+            System.exit(1);
+        }
+
+        long from = LocalDateTime.parse(args[2]).toDateTime(DateTimeZone.UTC).getMillis();
+        long to = LocalDateTime.parse(args[3]).toDateTime(DateTimeZone.UTC).getMillis();
+        int iterations = args.length > 4 ? Integer.parseInt(args[4]) : 1;
+
+        List<JournalRecord> records = new JournalReader(Paths.get(args[0])).read(args[1], from, to, Integer.MAX_VALUE);
+        System.out.println("Read " + records.size() + " records");
+
+        var deserializer = new Deserializer(new FutureResponseContextStore(), Ocpp16TypeStore.INSTANCE);
+        // rate limiting is disabled in the test profile, so the service does not need its dependencies.
+        // The same CALLs are sent over and over again, they must not be answered from the cache.
+        var pipeline = new IncomingPipeline(deserializer, new StubCallHandler(), new AdmissionControlService(),
+                                            new DuplicateCallCache(0));
+        var replayer = new JournalReplayer(pipeline);
+        var session = new NoOpWebSocketSession("replay-session");
+
+        for (int i = 1; i <= iterations; i++) {
+            JournalReplayer.Result result = replayer.replay(records, session);
+            long avgNanos = result.getReplayed() == 0 ? 0 : result.getTotalNanos() / result.getReplayed();
+            System.out.printf("Iteration %d: %s, %d us per message on average%n",
+                              i, result, TimeUnit.NANOSECONDS.toMicros(avgNanos));
+        }
+    }
+
+    private static class StubCallHandler extends AbstractCallHandler {
+
+        @Override
+        protected ResponseType dispatch(RequestType params, String chargeBoxId) {
+            String action = params.getClass().getSimpleName().replace("Request", "");
+            return Ocpp16Samples.RESPONSES.get(action);
+        }
+    }
+}
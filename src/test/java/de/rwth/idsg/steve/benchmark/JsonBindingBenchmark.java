@@ -0,0 +1,89 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.rwth.idsg.steve.ocpp.ws.JsonObjectMapper;
+import ocpp.cs._2015._10.AuthorizationStatus;
+import ocpp.cs._2015._10.IdTagInfo;
+import ocpp.cs._2015._10.MeterValuesRequest;
+import ocpp.cs._2015._10.StartTransactionResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the default (reflection-based) OCPP JSON binding with the bytecode-optimized one
+ * (see ws.json.bytecode.optimization in main.properties).
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonBindingBenchmark {
+
+    private static final String METER_VALUES_JSON =
+            "{\"connectorId\":2,\"transactionId\":7,\"meterValue\":[{\"timestamp\":\"2026-10-19T10:00:00.000Z\","
+                    + "\"sampledValue\":["
+                    + "{\"value\":\"1.5\",\"context\":\"Sample.Periodic\",\"measurand\":\"Energy.Active.Import.Register\",\"unit\":\"kWh\"},"
+                    + "{\"value\":\"11000\",\"context\":\"Sample.Periodic\",\"measurand\":\"Power.Active.Import\",\"unit\":\"W\"},"
+                    + "{\"value\":\"16\",\"context\":\"Sample.Periodic\",\"measurand\":\"Current.Import\",\"phase\":\"L1\",\"unit\":\"A\"},"
+                    + "{\"value\":\"230\",\"context\":\"Sample.Periodic\",\"measurand\":\"Voltage\",\"phase\":\"L1-N\",\"unit\":\"V\"}"
+                    + "]}]}";
+
+    @Param({"false", "true"})
+    public boolean bytecodeOptimization;
+
+    private ObjectMapper mapper;
+    private StartTransactionResponse startTransactionResponse;
+
+    @Setup
+    public void setup() {
+        mapper = JsonObjectMapper.createMapper(bytecodeOptimization);
+        startTransactionResponse = new StartTransactionResponse()
+                .withTransactionId(123)
+                .withIdTagInfo(new IdTagInfo().withStatus(AuthorizationStatus.ACCEPTED).withParentIdTag("parent"));
+    }
+
+    @Benchmark
+    public MeterValuesRequest deserializeMeterValues() throws IOException {
+        return mapper.readValue(METER_VALUES_JSON, MeterValuesRequest.class);
+    }
+
+    @Benchmark
+    public String serializeStartTransactionResponse() throws IOException {
+        return mapper.writeValueAsString(startTransactionResponse);
+    }
+}
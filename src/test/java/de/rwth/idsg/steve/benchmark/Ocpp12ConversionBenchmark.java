@@ -0,0 +1,103 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.benchmark;
+
+import de.rwth.idsg.steve.ocpp.converter.Server12to15Impl;
+import de.rwth.idsg.steve.ocpp.converter.Server12to16Impl;
+import de.rwth.idsg.steve.ocpp.converter.Server15to16Impl;
+import ocpp.cs._2010._08.ChargePointErrorCode;
+import ocpp.cs._2010._08.ChargePointStatus;
+import ocpp.cs._2010._08.MeterValue;
+import ocpp.cs._2010._08.MeterValuesRequest;
+import ocpp.cs._2010._08.StatusNotificationRequest;
+import org.joda.time.DateTime;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the chained 1.2 -> 1.5 -> 1.6 conversion with the direct 1.2 -> 1.6 conversion, as it happens for
+ * every incoming OCPP 1.2 SOAP request (request direction only, responses of these actions are empty).
+ *
+ * Run with GC profiler to see the allocation difference: -prof gc
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class Ocpp12ConversionBenchmark {
+
+    private MeterValuesRequest meterValuesRequest;
+    private StatusNotificationRequest statusNotificationRequest;
+
+    @Setup
+    public void setup() {
+        DateTime now = DateTime.now();
+
+        List<MeterValue> values = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            values.add(new MeterValue().withTimestamp(now.plusSeconds(i)).withValue(1000 + i));
+        }
+
+        meterValuesRequest = new MeterValuesRequest()
+                .withConnectorId(1)
+                .withValues(values);
+
+        statusNotificationRequest = new StatusNotificationRequest()
+                .withConnectorId(1)
+                .withStatus(ChargePointStatus.OCCUPIED)
+                .withErrorCode(ChargePointErrorCode.NO_ERROR);
+    }
+
+    @Benchmark
+    public ocpp.cs._2015._10.MeterValuesRequest meterValuesChained() {
+        return Server15to16Impl.SINGLETON.convertRequest(Server12to15Impl.SINGLETON.convertRequest(meterValuesRequest));
+    }
+
+    @Benchmark
+    public ocpp.cs._2015._10.MeterValuesRequest meterValuesDirect() {
+        return Server12to16Impl.SINGLETON.convertRequest(meterValuesRequest);
+    }
+
+    @Benchmark
+    public ocpp.cs._2015._10.StatusNotificationRequest statusNotificationChained() {
+        return Server15to16Impl.SINGLETON.convertRequest(Server12to15Impl.SINGLETON.convertRequest(statusNotificationRequest));
+    }
+
+    @Benchmark
+    public ocpp.cs._2015._10.StatusNotificationRequest statusNotificationDirect() {
+        return Server12to16Impl.SINGLETON.convertRequest(statusNotificationRequest);
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.benchmark;
+
+import com.google.common.collect.ImmutableMap;
+import de.rwth.idsg.ocpp.jaxb.ResponseType;
+import ocpp.cs._2015._10.AuthorizationStatus;
+import ocpp.cs._2015._10.AuthorizeResponse;
+import ocpp.cs._2015._10.BootNotificationResponse;
+import ocpp.cs._2015._10.DataTransferResponse;
+import ocpp.cs._2015._10.DataTransferStatus;
+import ocpp.cs._2015._10.DiagnosticsStatusNotificationResponse;
+import ocpp.cs._2015._10.FirmwareStatusNotificationResponse;
+import ocpp.cs._2015._10.HeartbeatResponse;
+import ocpp.cs._2015._10.IdTagInfo;
+import ocpp.cs._2015._10.MeterValuesResponse;
+import ocpp.cs._2015._10.RegistrationStatus;
+import ocpp.cs._2015._10.StartTransactionResponse;
+import ocpp.cs._2015._10.StatusNotificationResponse;
+import ocpp.cs._2015._10.StopTransactionResponse;
+import org.joda.time.DateTime;
+
+import java.util.Map;
+
+/**
+ * Representative OCPP 1.6 payloads of all actions a station can send to us (keyed by action).
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+public final class Ocpp16Samples {
+
+    private Ocpp16Samples() { }
+
+    public static final String CHARGE_BOX_ID = "benchmark-station";
+
+    public static final Map<String, String> REQUEST_PAYLOADS = ImmutableMap.<String, String>builder()
+            .put("Authorize", "{\"idTag\":\"BENCH-TAG-1\"}")
+            .put("BootNotification", "{\"chargePointVendor\":\"vendor\",\"chargePointModel\":\"model\","
+                    + "\"chargePointSerialNumber\":\"cp-1\",\"chargeBoxSerialNumber\":\"cb-1\",\"firmwareVersion\":\"1.0.0\","
+                    + "\"iccid\":\"8949\",\"imsi\":\"2620\",\"meterType\":\"meter\",\"meterSerialNumber\":\"m-1\"}")
+            .put("DataTransfer", "{\"vendorId\":\"vendor\",\"messageId\":\"msg\",\"data\":\"some data\"}")
+            .put("DiagnosticsStatusNotification", "{\"status\":\"Uploaded\"}")
+            .put("FirmwareStatusNotification", "{\"status\":\"Installed\"}")
+            .put("Heartbeat", "{}")
+            .put("MeterValues", "{\"connectorId\":1,\"transactionId\":7,\"meterValue\":[{\"timestamp\":\"2026-10-19T10:00:00.000Z\","
+                    + "\"sampledValue\":["
+                    + "{\"value\":\"1.5\",\"context\":\"Sample.Periodic\",\"measurand\":\"Energy.Active.Import.Register\",\"unit\":\"kWh\"},"
+                    + "{\"value\":\"11000\",\"context\":\"Sample.Periodic\",\"measurand\":\"Power.Active.Import\",\"unit\":\"W\"},"
+                    + "{\"value\":\"16\",\"context\":\"Sample.Periodic\",\"measurand\":\"Current.Import\",\"phase\":\"L1\",\"unit\":\"A\"}"
+                    + "]}]}")
+            .put("StartTransaction", "{\"connectorId\":1,\"idTag\":\"BENCH-TAG-1\",\"meterStart\":1000,"
+                    + "\"timestamp\":\"2026-10-19T10:00:00.000Z\"}")
+            .put("StatusNotification", "{\"connectorId\":1,\"status\":\"Charging\",\"errorCode\":\"NoError\","
+                    + "\"timestamp\":\"2026-10-19T10:00:00.000Z\"}")
+            .put("StopTransaction", "{\"transactionId\":7,\"idTag\":\"BENCH-TAG-1\",\"meterStop\":2500,"
+                    + "\"timestamp\":\"2026-10-19T11:00:00.000Z\",\"reason\":\"Local\"}")
+            .build();
+
+    public static final Map<String, ResponseType> RESPONSES = ImmutableMap.<String, ResponseType>builder()
+            .put("Authorize", new AuthorizeResponse().withIdTagInfo(acceptedTag()))
+            .put("BootNotification", new BootNotificationResponse().withStatus(RegistrationStatus.ACCEPTED)
+                                                                   .withCurrentTime(DateTime.now())
+                                                                   .withInterval(300))
+            .put("DataTransfer", new DataTransferResponse().withStatus(DataTransferStatus.ACCEPTED))
+            .put("DiagnosticsStatusNotification", new DiagnosticsStatusNotificationResponse())
+            .put("FirmwareStatusNotification", new FirmwareStatusNotificationResponse())
+            .put("Heartbeat", new HeartbeatResponse().withCurrentTime(DateTime.now()))
+            .put("MeterValues", new MeterValuesResponse())
+            .put("StartTransaction", new StartTransactionResponse().withIdTagInfo(acceptedTag()).withTransactionId(7))
+            .put("StatusNotification", new StatusNotificationResponse())
+            .put("StopTransaction", new StopTransactionResponse().withIdTagInfo(acceptedTag()))
+            .build();
+
+    /**
+     * @return the complete CALL frame, as it arrives over the WebSocket
+     */
+    public static String call(String action, String messageId) {
+        return "[2,\"" + messageId + "\",\"" + action + "\"," + REQUEST_PAYLOADS.get(action) + "]";
+    }
+
+    private static IdTagInfo acceptedTag() {
+        return new IdTagInfo().withStatus(AuthorizationStatus.ACCEPTED)
+                              .withExpiryDate(DateTime.now().plusDays(1));
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.benchmark;
+
+import de.rwth.idsg.ocpp.jaxb.RequestType;
+import de.rwth.idsg.ocpp.jaxb.ResponseType;
+import de.rwth.idsg.steve.ocpp.ws.FutureResponseContextStore;
+import de.rwth.idsg.steve.ocpp.ws.data.CommunicationContext;
+import de.rwth.idsg.steve.ocpp.ws.data.OcppJsonMessage;
+import de.rwth.idsg.steve.ocpp.ws.data.OcppJsonResult;
+import de.rwth.idsg.steve.ocpp.ws.ocpp16.Ocpp16TypeStore;
+import de.rwth.idsg.steve.ocpp.ws.pipeline.AbstractCallHandler;
+import de.rwth.idsg.steve.ocpp.ws.pipeline.Deserializer;
+import de.rwth.idsg.steve.ocpp.ws.pipeline.DuplicateCallCache;
+import de.rwth.idsg.steve.ocpp.ws.pipeline.IncomingPipeline;
+import de.rwth.idsg.steve.ocpp.ws.pipeline.Serializer;
+import de.rwth.idsg.steve.service.admission.AdmissionControlService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.concurrent.TimeUnit;
+
+import static de.rwth.idsg.steve.benchmark.Ocpp16Samples.CHARGE_BOX_ID;
+
+/**
+ * The JSON message pipeline for each OCPP 1.6 action a station can send:
+ *
+ * - {@link Deserializer}: incoming string -> CALL
+ * - {@link Serializer}: CALL_RESULT -> outgoing string
+ * - {@link IncomingPipeline}: all of the above plus dispatching to a stub handler and sending via a no-op session.
+ *   The handler returns a prepared response, such that the numbers do not include any service or database work.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OcppJsonPipelineBenchmark {
+
+    @Param({
+            "Authorize", "BootNotification", "DataTransfer", "DiagnosticsStatusNotification",
+            "FirmwareStatusNotification", "Heartbeat", "MeterValues", "StartTransaction",
+            "StatusNotification", "StopTransaction"
+    })
+    public String action;
+
+    private final WebSocketSession session = new NoOpWebSocketSession("benchmark-session");
+
+    private String incomingString;
+    private ResponseType response;
+
+    private Deserializer deserializer;
+    private IncomingPipeline pipeline;
+
+    @Setup
+    public void setup() {
+        incomingString = Ocpp16Samples.call(action, "4f9c3a1e-7e5b-4d1a-9a1b-0c8a2b3d4e5f");
+        response = Ocpp16Samples.RESPONSES.get(action);
+
+        deserializer = new Deserializer(new FutureResponseContextStore(), Ocpp16TypeStore.INSTANCE);
+        // rate limiting is disabled in the test profile, so the service does not need its dependencies.
+        // The same CALLs are sent over and over again, they must not be answered from the cache.
+        pipeline = new IncomingPipeline(deserializer, new StubCallHandler(response), new AdmissionControlService(),
+                                        new DuplicateCallCache(0));
+    }
+
+    @Benchmark
+    public OcppJsonMessage deserializer() {
+        CommunicationContext context = new CommunicationContext(session, CHARGE_BOX_ID);
+        context.setIncomingString(incomingString);
+        deserializer.accept(context);
+        return context.getIncomingMessage();
+    }
+
+    @Benchmark
+    public String serializer() {
+        OcppJsonResult result = new OcppJsonResult();
+        result.setMessageId("4f9c3a1e-7e5b-4d1a-9a1b-0c8a2b3d4e5f");
+        result.setPayload(response);
+
+        CommunicationContext context = new CommunicationContext(session, CHARGE_BOX_ID);
+        context.setOutgoingMessage(result);
+        Serializer.INSTANCE.accept(context);
+        return context.getOutgoingString();
+    }
+
+    @Benchmark
+    public String incomingPipeline() {
+        CommunicationContext context = new CommunicationContext(session, CHARGE_BOX_ID);
+        context.setIncomingString(incomingString);
+        pipeline.accept(context);
+        return context.getOutgoingString();
+    }
+
+    private static class StubCallHandler extends AbstractCallHandler {
+
+        private final ResponseType response;
+
+        private StubCallHandler(ResponseType response) {
+            this.response = response;
+        }
+
+        @Override
+        protected ResponseType dispatch(RequestType params, String chargeBoxId) {
+            return response;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.benchmark;
+
+import de.rwth.idsg.steve.ocpp.ws.SessionContextStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SessionContextStore} under contention: many threads looking up sessions to send messages (as the
+ * ChargePointService does), while a few threads connect and disconnect stations.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SessionContextStoreBenchmark {
+
+    @Param({"100", "10000"})
+    public int stationCount;
+
+    private SessionContextStore store;
+    private String[] chargeBoxIds;
+
+    private ScheduledExecutorService executor;
+    private ScheduledFuture<?> pingSchedule;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        executor = Executors.newSingleThreadScheduledExecutor();
+        // the same future for all sessions. we are interested in the store, not in scheduling pings.
+        pingSchedule = executor.schedule(() -> { }, 1, TimeUnit.DAYS);
+
+        store = new SessionContextStore();
+        chargeBoxIds = new String[stationCount];
+        for (int i = 0; i < stationCount; i++) {
+            chargeBoxIds[i] = "station-" + i;
+            store.add(chargeBoxIds[i], new NoOpWebSocketSession("session-" + i), pingSchedule);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(6)
+    public WebSocketSession getSession() {
+        return store.getSession(randomChargeBoxId());
+    }
+
+    /**
+     * Every station keeps its initial session, such that the readers never run into a missing one. The writer
+     * connects and disconnects an additional session of a random station.
+     */
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(2)
+    public void connectAndDisconnect(WriterState writer) {
+        String chargeBoxId = randomChargeBoxId();
+        store.add(chargeBoxId, writer.session, pingSchedule);
+        store.remove(chargeBoxId, writer.session);
+    }
+
+    private String randomChargeBoxId() {
+        return chargeBoxIds[ThreadLocalRandom.current().nextInt(chargeBoxIds.length)];
+    }
+
+    @State(Scope.Thread)
+    public static class WriterState {
+        private final WebSocketSession session = new NoOpWebSocketSession("writer-" + Thread.currentThread().getId());
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.benchmark;
+
+import de.rwth.idsg.steve.repository.dto.TransactionDetails;
+import de.rwth.idsg.steve.utils.TransactionStopServiceHelper;
+import org.joda.time.DateTime;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The search for the last energy meter value of a transaction, as done when a transaction has to be stopped
+ * without a StopTransaction from the station. The meter values are a realistic mix of energy, power, current
+ * and signed values.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionStopServiceHelperBenchmark {
+
+    /**
+     * Number of meter value samples of the transaction
+     */
+    @Param({"100", "10000"})
+    public int sampleCount;
+
+    private List<TransactionDetails.MeterValues> values;
+
+    @Setup
+    public void setup() {
+        DateTime start = DateTime.now().minusDays(1);
+
+        values = new ArrayList<>(sampleCount);
+        for (int i = 0; i < sampleCount; i++) {
+            DateTime timestamp = start.plusSeconds(i * 60);
+            switch (i % 4) {
+                case 0:
+                    values.add(value(timestamp, Double.toString(i * 0.25), "Energy.Active.Import.Register", "kWh", null));
+                    break;
+                case 1:
+                    values.add(value(timestamp, "11000", "Power.Active.Import", "W", null));
+                    break;
+                case 2:
+                    values.add(value(timestamp, "16", "Current.Import", "A", null));
+                    break;
+                default:
+                    values.add(value(timestamp, "AQID", "Energy.Active.Import.Register", "Wh", "SignedData"));
+                    break;
+            }
+        }
+    }
+
+    @Benchmark
+    public boolean isEnergyValue() {
+        boolean any = false;
+        for (TransactionDetails.MeterValues v : values) {
+            any |= TransactionStopServiceHelper.isEnergyValue(v);
+        }
+        return any;
+    }
+
+    @Benchmark
+    public TransactionDetails.MeterValues findLastMeterValue() {
+        return TransactionStopServiceHelper.findLastMeterValue(values);
+    }
+
+    private static TransactionDetails.MeterValues value(DateTime timestamp, String value, String measurand,
+                                                        String unit, String format) {
+        return TransactionDetails.MeterValues.builder()
+                                             .valueTimestamp(timestamp)
+                                             .value(value)
+                                             .readingContext("Sample.Periodic")
+                                             .format(format)
+                                             .measurand(measurand)
+                                             .location("Outlet")
+                                             .unit(unit)
+                                             .build();
+    }
+}
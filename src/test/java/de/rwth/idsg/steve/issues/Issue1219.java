@@ -28,6 +28,7 @@ import de.rwth.idsg.steve.repository.impl.ChargePointRepositoryImpl;
 import de.rwth.idsg.steve.repository.impl.OcppServerRepositoryImpl;
 import de.rwth.idsg.steve.repository.impl.OcppTagRepositoryImpl;
 import de.rwth.idsg.steve.repository.impl.ReservationRepositoryImpl;
+import de.rwth.idsg.steve.repository.impl.StatisticsCounters;
 import de.rwth.idsg.steve.repository.impl.TransactionRepositoryImpl;
 import de.rwth.idsg.steve.web.dto.OcppTagForm;
 import de.rwth.idsg.steve.web.dto.OcppTagQueryForm;
@@ -62,6 +63,7 @@ public class Issue1219 {
     private static final String password = "changeme";
 
     private final DSLContext ctx;
+    private final StatisticsCounters counters = new StatisticsCounters();
 
     public static void main(String[] args) throws Exception {
         Connection con = DriverManager.getConnection(url, userName, password);
@@ -91,7 +93,7 @@ public class Issue1219 {
     }
 
     private void realTest() {
-        var repository = new OcppTagRepositoryImpl(ctx);
+        var repository = new OcppTagRepositoryImpl(ctx, ctx, ctx, counters);
 
         long start = System.currentTimeMillis();
         List<OcppTag.Overview> values = repository.getOverview(new OcppTagQueryForm());
@@ -101,8 +103,9 @@ public class Issue1219 {
     }
 
     private List<Integer> insertStopTransactions(List<Integer> insertedTransactionIds) {
-        var ocppServerRepository = new OcppServerRepositoryImpl(ctx, new ReservationRepositoryImpl(ctx));
-        var transactionRepository = new TransactionRepositoryImpl(ctx);
+        var reservationRepository = new ReservationRepositoryImpl(ctx, ctx, counters);
+        var ocppServerRepository = new OcppServerRepositoryImpl(ctx, ctx, reservationRepository, counters);
+        var transactionRepository = new TransactionRepositoryImpl(ctx, ctx, ctx);
 
         List<Integer> stopped = new ArrayList<>();
         for (Integer transactionId : insertedTransactionIds) {
@@ -132,7 +135,8 @@ public class Issue1219 {
     }
 
     private List<Integer> insertStartTransactions(int count, List<String> ocppTags, List<String> chargeBoxIds) {
-        var repository = new OcppServerRepositoryImpl(ctx, new ReservationRepositoryImpl(ctx));
+        var repository = new OcppServerRepositoryImpl(ctx, ctx, new ReservationRepositoryImpl(ctx, ctx, counters),
+                                                      counters);
 
         List<Integer> transactionIds = new ArrayList<>();
         for (int i = 0; i < count; i++) {
@@ -153,7 +157,7 @@ public class Issue1219 {
     }
 
     private List<String> insertChargeBoxes(int count) {
-        var repository = new ChargePointRepositoryImpl(ctx, new AddressRepositoryImpl());
+        var repository = new ChargePointRepositoryImpl(ctx, ctx, ctx, new AddressRepositoryImpl(), counters);
 
         List<String> ids = IntStream.range(0, count).mapToObj(val -> UUID.randomUUID().toString()).collect(Collectors.toList());
         repository.addChargePointList(ids);
@@ -162,7 +166,7 @@ public class Issue1219 {
     }
 
     private List<String> insertOcppTags(int count) {
-        var repository = new OcppTagRepositoryImpl(ctx);
+        var repository = new OcppTagRepositoryImpl(ctx, ctx, ctx, counters);
 
         List<String> idTags = IntStream.range(0, count).mapToObj(val -> UUID.randomUUID().toString()).collect(Collectors.toList());
         List<String> insertedTags = new ArrayList<>();
@@ -0,0 +1,93 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.ocpp.converter;
+
+import ocpp.cs._2015._10.MeterValuesRequest;
+import ocpp.cs._2015._10.SampledValue;
+import ocpp.cs._2015._10.StatusNotificationRequest;
+import org.joda.time.DateTime;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The direct mapping must produce the same result as the chained 1.2 -> 1.5 -> 1.6 mapping.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+public class Server12to16ImplTest {
+
+    @Test
+    public void testStatusNotification() {
+        for (ocpp.cs._2010._08.ChargePointStatus status : ocpp.cs._2010._08.ChargePointStatus.values()) {
+            for (ocpp.cs._2010._08.ChargePointErrorCode errorCode : ocpp.cs._2010._08.ChargePointErrorCode.values()) {
+                var request = new ocpp.cs._2010._08.StatusNotificationRequest()
+                        .withConnectorId(2)
+                        .withStatus(status)
+                        .withErrorCode(errorCode);
+
+                StatusNotificationRequest direct = Server12to16Impl.SINGLETON.convertRequest(request);
+                StatusNotificationRequest chained = Server15to16Impl.SINGLETON.convertRequest(
+                        Server12to15Impl.SINGLETON.convertRequest(request));
+
+                Assertions.assertEquals(chained.getConnectorId(), direct.getConnectorId());
+                Assertions.assertEquals(chained.getStatus(), direct.getStatus());
+                Assertions.assertEquals(chained.getErrorCode(), direct.getErrorCode());
+            }
+        }
+    }
+
+    @Test
+    public void testMeterValues() {
+        DateTime now = DateTime.now();
+
+        var request = new ocpp.cs._2010._08.MeterValuesRequest()
+                .withConnectorId(1)
+                .withValues(
+                        new ocpp.cs._2010._08.MeterValue().withTimestamp(now).withValue(100),
+                        new ocpp.cs._2010._08.MeterValue().withTimestamp(now.plusMinutes(1)).withValue(250)
+                );
+
+        MeterValuesRequest direct = Server12to16Impl.SINGLETON.convertRequest(request);
+        MeterValuesRequest chained = Server15to16Impl.SINGLETON.convertRequest(
+                Server12to15Impl.SINGLETON.convertRequest(request));
+
+        Assertions.assertEquals(chained.getConnectorId(), direct.getConnectorId());
+        Assertions.assertEquals(chained.getTransactionId(), direct.getTransactionId());
+        Assertions.assertEquals(chained.getMeterValue().size(), direct.getMeterValue().size());
+
+        for (int i = 0; i < direct.getMeterValue().size(); i++) {
+            var directValue = direct.getMeterValue().get(i);
+            var chainedValue = chained.getMeterValue().get(i);
+
+            Assertions.assertEquals(chainedValue.getTimestamp(), directValue.getTimestamp());
+            Assertions.assertEquals(1, directValue.getSampledValue().size());
+
+            SampledValue directSample = directValue.getSampledValue().get(0);
+            SampledValue chainedSample = chainedValue.getSampledValue().get(0);
+
+            Assertions.assertEquals(chainedSample.getValue(), directSample.getValue());
+            Assertions.assertEquals(chainedSample.getContext(), directSample.getContext());
+            Assertions.assertEquals(chainedSample.getFormat(), directSample.getFormat());
+            Assertions.assertEquals(chainedSample.getMeasurand(), directSample.getMeasurand());
+            Assertions.assertEquals(chainedSample.getLocation(), directSample.getLocation());
+            Assertions.assertEquals(chainedSample.getUnit(), directSample.getUnit());
+        }
+    }
+}
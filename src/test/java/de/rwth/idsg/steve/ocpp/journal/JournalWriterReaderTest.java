@@ -0,0 +1,127 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.ocpp.journal;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+public class JournalWriterReaderTest {
+
+    private static final String HEARTBEAT = "[2,\"%d\",\"Heartbeat\",{}]";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testRead_sealedAndCurrentSegments() throws IOException {
+        // room for a few records per segment, so that there are sealed segments with an index
+        var writer = new JournalWriter(directory, 256, 100);
+        for (int i = 0; i < 20; i++) {
+            writer.append(1000 + i, i % 2 == 0 ? "station-1" : "station-2", JournalDirection.IN, true,
+                          String.format(HEARTBEAT, i));
+        }
+        writer.awaitSealed();
+
+        List<Path> segments = JournalSegment.list(directory);
+        Assertions.assertTrue(segments.size() > 2);
+        Assertions.assertTrue(Files.exists(JournalSegment.indexFile(segments.get(0))));
+        Assertions.assertFalse(Files.exists(JournalSegment.indexFile(segments.get(segments.size() - 1))));
+
+        var reader = new JournalReader(directory);
+        List<JournalRecord> records = reader.read("station-1", 0, Long.MAX_VALUE, 100);
+        Assertions.assertEquals(10, records.size());
+        for (int i = 0; i < records.size(); i++) {
+            Assertions.assertEquals(1000 + 2 * i, records.get(i).getTimestamp());
+            Assertions.assertEquals(String.format(HEARTBEAT, 2 * i), records.get(i).getPayload());
+            Assertions.assertEquals("station-1", records.get(i).getChargeBoxId());
+        }
+
+        // same after the last segment is sealed as well
+        writer.close();
+        Assertions.assertEquals(records.size(), reader.read("station-1", 0, Long.MAX_VALUE, 100).size());
+    }
+
+    @Test
+    public void testRead_timeRangeAndLimit() throws IOException {
+        var writer = new JournalWriter(directory, 256, 100);
+        for (int i = 0; i < 20; i++) {
+            writer.append(1000 + i, "station-1", i % 2 == 0 ? JournalDirection.IN : JournalDirection.OUT, true,
+                          String.format(HEARTBEAT, i));
+        }
+
+        var reader = new JournalReader(directory);
+        List<JournalRecord> records = reader.read("station-1", 1005, 1009, 100);
+        Assertions.assertEquals(5, records.size());
+        Assertions.assertEquals(1005, records.get(0).getTimestamp());
+        Assertions.assertEquals(JournalDirection.OUT, records.get(0).getDirection());
+        Assertions.assertEquals(JournalDirection.IN, records.get(1).getDirection());
+
+        Assertions.assertEquals(3, reader.read("station-1", 1005, 1009, 3).size());
+        Assertions.assertTrue(reader.read("station-3", 0, Long.MAX_VALUE, 100).isEmpty());
+    }
+
+    @Test
+    public void testRetention_oldestSegmentsAreDeleted() throws IOException {
+        var writer = new JournalWriter(directory, 256, 3);
+        for (int i = 0; i < 50; i++) {
+            writer.append(1000 + i, "station-1", JournalDirection.IN, true, String.format(HEARTBEAT, i));
+        }
+        writer.close();
+
+        Assertions.assertEquals(3, JournalSegment.list(directory).size());
+
+        List<JournalRecord> records = new JournalReader(directory).read("station-1", 0, Long.MAX_VALUE, 100);
+        Assertions.assertEquals(1049, records.get(records.size() - 1).getTimestamp());
+        Assertions.assertTrue(records.get(0).getTimestamp() > 1000);
+    }
+
+    @Test
+    public void testFramesAndUnicode() throws IOException {
+        String chargeBoxId = "station-\u00fc";
+        var writer = new JournalWriter(directory, 4096, 10);
+        writer.append(1000, chargeBoxId, JournalDirection.IN, false, "[2,\"1\",\"DataTransfer\",{\"data\":\"\u20ac");
+        writer.append(1001, chargeBoxId, JournalDirection.IN, true, "\"}]");
+        writer.close();
+
+        List<JournalRecord> records = new JournalReader(directory).read(chargeBoxId, 0, Long.MAX_VALUE, 100);
+        Assertions.assertEquals(2, records.size());
+        Assertions.assertFalse(records.get(0).isLast());
+        Assertions.assertTrue(records.get(1).isLast());
+        Assertions.assertEquals("[2,\"1\",\"DataTransfer\",{\"data\":\"\u20ac\"}]",
+                                records.get(0).getPayload() + records.get(1).getPayload());
+    }
+
+    @Test
+    public void testAppend_recordTooBig() throws IOException {
+        var writer = new JournalWriter(directory, 64, 10);
+        Assertions.assertThrows(IOException.class,
+            () -> writer.append(1000, "station-1", JournalDirection.IN, true, "x".repeat(100)));
+        writer.close();
+    }
+}
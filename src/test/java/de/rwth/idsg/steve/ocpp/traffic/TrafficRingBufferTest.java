@@ -0,0 +1,81 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.ocpp.traffic;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+public class TrafficRingBufferTest {
+
+    private static final String CHARGE_BOX_ID = "station-1";
+
+    @Test
+    public void testSummarize_onlyWithinWindow() {
+        var buffer = new TrafficRingBuffer();
+        buffer.recordIncoming(100, "MeterValues", 200, 1_000_000, false);
+        buffer.recordIncoming(104, "MeterValues", 200, 1_000_000, false);
+        buffer.recordIncoming(105, "Heartbeat", 50, 3_000_000, true);
+        buffer.recordOutgoing(105, "Heartbeat", 80, false);
+
+        var lastMinute = buffer.summarize(CHARGE_BOX_ID, TrafficWindow.LAST_1_MINUTE, 105);
+        Assertions.assertEquals(1, lastMinute.getMessagesIn());
+        Assertions.assertEquals(1, lastMinute.getMessagesOut());
+        Assertions.assertEquals(50, lastMinute.getBytesIn());
+        Assertions.assertEquals(80, lastMinute.getBytesOut());
+        Assertions.assertEquals(1, lastMinute.getErrors());
+
+        var lastFive = buffer.summarize(CHARGE_BOX_ID, TrafficWindow.LAST_5_MINUTES, 105);
+        Assertions.assertEquals(2, lastFive.getMessagesIn());
+        Assertions.assertEquals(2.0, lastFive.getAverageHandlingMillis(), 0.001);
+        Assertions.assertEquals(2, lastFive.getActions().size());
+
+        var lastFifteen = buffer.summarize(CHARGE_BOX_ID, TrafficWindow.LAST_15_MINUTES, 105);
+        Assertions.assertEquals(3, lastFifteen.getMessagesIn());
+        Assertions.assertEquals("MeterValues", lastFifteen.getActions().get(0).getAction());
+        Assertions.assertEquals(400, lastFifteen.getActions().get(0).getBytesIn());
+    }
+
+    @Test
+    public void testBucketReuse_afterRingIsFull() {
+        var buffer = new TrafficRingBuffer();
+        buffer.recordIncoming(100, "MeterValues", 200, 0, false);
+
+        // same bucket index, one ring later
+        long minute = 100 + TrafficRingBuffer.BUCKET_COUNT;
+        buffer.recordIncoming(minute, "Heartbeat", 50, 0, false);
+
+        var traffic = buffer.summarize(CHARGE_BOX_ID, TrafficWindow.LAST_60_MINUTES, minute);
+        Assertions.assertEquals(1, traffic.getMessagesIn());
+        Assertions.assertEquals(1, traffic.getActions().size());
+        Assertions.assertEquals("Heartbeat", traffic.getActions().get(0).getAction());
+    }
+
+    @Test
+    public void testIsIdle() {
+        var buffer = new TrafficRingBuffer();
+        buffer.recordIncoming(100, "Heartbeat", 50, 0, false);
+
+        Assertions.assertFalse(buffer.isIdle(100 + TrafficRingBuffer.BUCKET_COUNT - 1));
+        Assertions.assertTrue(buffer.isIdle(100 + TrafficRingBuffer.BUCKET_COUNT));
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.ocpp.ws;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.stream.Stream;
+
+/**
+ * The mapper with bytecode optimization must behave exactly like the default one, including our custom
+ * modules (e.g. enum mixins of Ocpp1XJacksonModule, MeterValue15Deserializer, CustomStringModule).
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+public class JsonObjectMapperTest {
+
+    private static final ObjectMapper DEFAULT_MAPPER = JsonObjectMapper.createMapper(false);
+    private static final ObjectMapper OPTIMIZED_MAPPER = JsonObjectMapper.createMapper(true);
+
+    public static Stream<Arguments> payloads() {
+        return Stream.of(
+                Arguments.of(ocpp.cs._2010._08.StatusNotificationRequest.class,
+                        "{\"connectorId\":1,\"status\":\"Occupied\",\"errorCode\":\"Mode3Error\"}"),
+                Arguments.of(ocpp.cs._2010._08.MeterValuesRequest.class,
+                        "{\"connectorId\":1,\"values\":[{\"timestamp\":\"2026-10-19T10:00:00.000Z\",\"value\":42}]}"),
+                // "values" instead of "value": handled by MeterValue15Deserializer
+                Arguments.of(ocpp.cs._2012._06.MeterValuesRequest.class,
+                        "{\"connectorId\":1,\"transactionId\":5,\"values\":[{\"timestamp\":\"2026-10-19T10:00:00.000Z\","
+                                + "\"values\":[{\"value\":\"10\",\"unit\":\"Wh\",\"measurand\":\"Energy.Active.Import.Register\"}]}]}"),
+                Arguments.of(ocpp.cs._2015._10.MeterValuesRequest.class,
+                        "{\"connectorId\":2,\"transactionId\":7,\"meterValue\":[{\"timestamp\":\"2026-10-19T10:00:00.000Z\","
+                                + "\"sampledValue\":[{\"value\":\"1.5\",\"context\":\"Sample.Periodic\",\"format\":\"Raw\","
+                                + "\"measurand\":\"Energy.Active.Import.Register\",\"location\":\"Outlet\",\"unit\":\"kWh\"}]}]}"),
+                Arguments.of(ocpp.cs._2015._10.StatusNotificationRequest.class,
+                        "{\"connectorId\":0,\"status\":\"Faulted\",\"errorCode\":\"GroundFailure\",\"info\":\"<b>info</b>\","
+                                + "\"timestamp\":\"2026-10-19T10:00:00.000Z\",\"vendorId\":\"v\",\"vendorErrorCode\":\"e\"}"),
+                Arguments.of(ocpp.cs._2015._10.StopTransactionRequest.class,
+                        "{\"transactionId\":3,\"idTag\":\"tag\",\"meterStop\":100,\"timestamp\":\"2026-10-19T10:00:00.000Z\","
+                                + "\"reason\":\"EVDisconnected\"}"),
+                Arguments.of(ocpp.cs._2015._10.BootNotificationResponse.class,
+                        "{\"status\":\"Accepted\",\"currentTime\":\"2026-10-19T10:00:00.000Z\",\"interval\":60}")
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("payloads")
+    public void testSameResult(Class<?> clazz, String json) throws Exception {
+        Object defaultObject = DEFAULT_MAPPER.readValue(json, clazz);
+        Object optimizedObject = OPTIMIZED_MAPPER.readValue(json, clazz);
+
+        String defaultJson = DEFAULT_MAPPER.writeValueAsString(defaultObject);
+        String optimizedJson = OPTIMIZED_MAPPER.writeValueAsString(optimizedObject);
+
+        Assertions.assertEquals(defaultJson, optimizedJson);
+        Assertions.assertEquals(DEFAULT_MAPPER.readTree(defaultJson), OPTIMIZED_MAPPER.readTree(optimizedJson));
+
+        // cross-check: what one writes, the other can read and write the same way
+        Assertions.assertEquals(defaultJson, DEFAULT_MAPPER.writeValueAsString(DEFAULT_MAPPER.readValue(optimizedJson, clazz)));
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.ocpp.ws;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+public class SendBufferBudgetTest {
+
+    @Test
+    public void testWithinBudget() {
+        var budget = new SendBufferBudget(1000);
+        budget.register();
+        budget.register();
+        budget.add(900);
+
+        // a session may use more than its fair share, as long as the total is within the budget
+        Assertions.assertFalse(budget.isOverBudget(900, 100));
+    }
+
+    @Test
+    public void testOverBudget_slowSession() {
+        var budget = new SendBufferBudget(1000);
+        budget.register();
+        budget.register();
+        budget.add(950);
+
+        Assertions.assertEquals(500, budget.getFairShareBytes());
+        Assertions.assertTrue(budget.isOverBudget(450, 100));
+        Assertions.assertFalse(budget.isOverBudget(350, 100));
+    }
+
+    @Test
+    public void testOverBudget_emptySessionIsNotSlow() {
+        var budget = new SendBufferBudget(1000);
+        budget.register();
+        budget.add(1000);
+
+        Assertions.assertFalse(budget.isOverBudget(0, 2000));
+    }
+
+    @Test
+    public void testFairShareFollowsSessions() {
+        var budget = new SendBufferBudget(1000);
+        Assertions.assertEquals(1000, budget.getFairShareBytes());
+
+        budget.register();
+        budget.register();
+        budget.register();
+        budget.register();
+        Assertions.assertEquals(250, budget.getFairShareBytes());
+
+        budget.unregister();
+        budget.unregister();
+        Assertions.assertEquals(500, budget.getFairShareBytes());
+    }
+}
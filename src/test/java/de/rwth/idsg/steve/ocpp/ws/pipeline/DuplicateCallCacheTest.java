@@ -0,0 +1,135 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.ocpp.ws.pipeline;
+
+import de.rwth.idsg.steve.ocpp.ws.ErrorFactory;
+import de.rwth.idsg.steve.ocpp.ws.data.CommunicationContext;
+import de.rwth.idsg.steve.ocpp.ws.data.OcppJsonCall;
+import de.rwth.idsg.steve.ocpp.ws.data.OcppJsonResult;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+public class DuplicateCallCacheTest {
+
+    private static final String CHARGE_BOX_ID = "station-1";
+    private static final String STATUS = "[2,\"%s\",\"StatusNotification\",{\"connectorId\":1,\"status\":\"%s\"}]";
+    private static final String RESPONSE = "[3,\"%s\",{}]";
+
+    @Test
+    public void testRetransmission_getsSameResponse() {
+        var cache = new DuplicateCallCache(10);
+        process(cache, "1", String.format(STATUS, "1", "Charging"), 1000);
+
+        var retransmission = incoming("1", String.format(STATUS, "1", "Charging"));
+        Assertions.assertEquals(String.format(RESPONSE, "1"),
+                                cache.getResponse(retransmission, call("1", "StatusNotification"), 2000));
+    }
+
+    @Test
+    public void testSameMessageIdDifferentMessage_isProcessed() {
+        var cache = new DuplicateCallCache(10);
+        process(cache, "1", String.format(STATUS, "1", "Charging"), 1000);
+
+        // e.g. the station counts its messageIds from the beginning after a reboot
+        var newMessage = incoming("1", String.format(STATUS, "1", "Available"));
+        Assertions.assertNull(cache.getResponse(newMessage, call("1", "StatusNotification"), 2000));
+    }
+
+    @Test
+    public void testTooOld_isProcessed() {
+        var cache = new DuplicateCallCache(10);
+        process(cache, "1", String.format(STATUS, "1", "Charging"), 1000);
+
+        var retransmission = incoming("1", String.format(STATUS, "1", "Charging"));
+        long later = 1000 + DuplicateCallCache.MAX_AGE_MILLIS + 1;
+        Assertions.assertNull(cache.getResponse(retransmission, call("1", "StatusNotification"), later));
+    }
+
+    @Test
+    public void testOldestIsRemoved_whenFull() {
+        var cache = new DuplicateCallCache(2);
+        for (int i = 1; i <= 3; i++) {
+            process(cache, String.valueOf(i), String.format(STATUS, i, "Charging"), 1000);
+        }
+
+        Assertions.assertNull(cache.getResponse(incoming("1", String.format(STATUS, "1", "Charging")),
+                                                call("1", "StatusNotification"), 2000));
+        Assertions.assertNotNull(cache.getResponse(incoming("3", String.format(STATUS, "3", "Charging")),
+                                                   call("3", "StatusNotification"), 2000));
+    }
+
+    @Test
+    public void testErrorsAndOtherActions_areNotCached() {
+        var cache = new DuplicateCallCache(10);
+
+        var context = incoming("1", "[2,\"1\",\"Heartbeat\",{}]");
+        context.setOutgoingMessage(result("1"));
+        context.setOutgoingString(String.format(RESPONSE, "1"));
+        cache.putResponse(context, call("1", "Heartbeat"), 1000);
+        var heartbeat = incoming("1", "[2,\"1\",\"Heartbeat\",{}]");
+        Assertions.assertNull(cache.getResponse(heartbeat, call("1", "Heartbeat"), 2000));
+
+        String status = String.format(STATUS, "2", "Charging");
+        context = incoming("2", status);
+        context.setOutgoingMessage(ErrorFactory.payloadProcessingError("2", "failed"));
+        context.setOutgoingString("[4,\"2\",\"InternalError\",\"failed\",{}]");
+        cache.putResponse(context, call("2", "StatusNotification"), 1000);
+        Assertions.assertNull(cache.getResponse(incoming("2", status), call("2", "StatusNotification"), 2000));
+    }
+
+    @Test
+    public void testDisabled() {
+        var cache = new DuplicateCallCache(0);
+        process(cache, "1", String.format(STATUS, "1", "Charging"), 1000);
+
+        var retransmission = incoming("1", String.format(STATUS, "1", "Charging"));
+        Assertions.assertNull(cache.getResponse(retransmission, call("1", "StatusNotification"), 2000));
+    }
+
+    private static void process(DuplicateCallCache cache, String messageId, String incomingString, long nowMillis) {
+        var context = incoming(messageId, incomingString);
+        context.setOutgoingMessage(result(messageId));
+        context.setOutgoingString(String.format(RESPONSE, messageId));
+        cache.putResponse(context, call(messageId, "StatusNotification"), nowMillis);
+    }
+
+    private static CommunicationContext incoming(String messageId, String incomingString) {
+        var context = new CommunicationContext(null, CHARGE_BOX_ID);
+        context.setIncomingString(incomingString);
+        context.setIncomingMessage(call(messageId, "StatusNotification"));
+        return context;
+    }
+
+    private static OcppJsonCall call(String messageId, String action) {
+        var call = new OcppJsonCall();
+        call.setMessageId(messageId);
+        call.setAction(action);
+        return call;
+    }
+
+    private static OcppJsonResult result(String messageId) {
+        var result = new OcppJsonResult();
+        result.setMessageId(messageId);
+        return result;
+    }
+}
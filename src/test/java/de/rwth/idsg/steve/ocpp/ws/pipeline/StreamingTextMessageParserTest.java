@@ -0,0 +1,93 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.ocpp.ws.pipeline;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+/**
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+public class StreamingTextMessageParserTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final String MESSAGE =
+            "[2,\"19223201\",\"DataTransfer\",{\"vendorId\":\"v\",\"data\":\"Grüße 😀 aus Aachen\"}]";
+
+    @Test
+    public void testSameResultForAnySplit() throws IOException {
+        JsonNode expected = MAPPER.readTree(MESSAGE);
+
+        for (int frameSize = 1; frameSize <= MESSAGE.length(); frameSize++) {
+            var parser = new StreamingTextMessageParser(MAPPER, 1024);
+            for (int i = 0; i < MESSAGE.length(); i += frameSize) {
+                parser.feed(MESSAGE.substring(i, Math.min(MESSAGE.length(), i + frameSize)));
+            }
+
+            TokenBuffer tokens = parser.finish();
+            JsonNode actual = tokens.asParser(MAPPER).readValueAsTree();
+            Assertions.assertEquals(expected, actual, "frame size " + frameSize);
+        }
+    }
+
+    @Test
+    public void testTooBig() throws IOException {
+        var parser = new StreamingTextMessageParser(MAPPER, 20);
+        parser.feed(MESSAGE.substring(0, 15));
+
+        Assertions.assertThrows(StreamingTextMessageParser.MessageTooBigException.class,
+                                () -> parser.feed(MESSAGE.substring(15, 30)));
+    }
+
+    @Test
+    public void testMalformedFailsEarly() throws IOException {
+        var parser = new StreamingTextMessageParser(MAPPER, 1024);
+        parser.feed("[2,\"19223201\",");
+
+        // the rest of the message does not have to arrive
+        Assertions.assertThrows(IOException.class, () -> parser.feed("}}"));
+    }
+
+    @Test
+    public void testIncomplete() throws IOException {
+        var parser = new StreamingTextMessageParser(MAPPER, 1024);
+        parser.feed("[2,\"19223201\",");
+
+        Assertions.assertThrows(IOException.class, parser::finish);
+    }
+
+    @Test
+    public void testCounts() throws IOException {
+        var parser = new StreamingTextMessageParser(MAPPER, 1024);
+        parser.feed("[2,\"1\",");
+        parser.feed("\"Heartbeat\",{}]");
+        parser.finish();
+
+        Assertions.assertEquals(2, parser.getFrameCount());
+        Assertions.assertEquals(22, parser.getByteCount());
+        Assertions.assertEquals("[2,\"1\",\"Heartbeat\",{}]", parser.getPreview());
+    }
+}
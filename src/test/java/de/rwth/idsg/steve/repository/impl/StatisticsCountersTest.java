@@ -0,0 +1,181 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.repository.impl;
+
+import de.rwth.idsg.steve.web.dto.Statistics;
+import org.joda.time.DateTime;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+/**
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+public class StatisticsCountersTest {
+
+    private static final DateTime NOW = new DateTime(2026, 10, 19, 12, 0);
+
+    @Test
+    public void testHeartbeatBuckets() {
+        var counters = loaded();
+        counters.chargeBoxAdded("cb1", null);
+        counters.chargeBoxAdded("cb2", null);
+        counters.chargeBoxAdded("cb3", null);
+        counters.chargeBoxAdded("cb4", null);
+
+        counters.heartbeat("cb1", NOW.withTimeAtStartOfDay());
+        counters.heartbeat("cb2", NOW.minusDays(1).withTimeAtStartOfDay());
+        counters.heartbeat("cb3", NOW.minusDays(5));
+
+        // not in the database, so not counted
+        counters.heartbeat("unknown", NOW);
+
+        Statistics stats = counters.getStats(NOW);
+        Assertions.assertEquals(4, stats.getNumChargeBoxes());
+        Assertions.assertEquals(1, stats.getHeartbeatToday());
+        Assertions.assertEquals(1, stats.getHeartbeatYesterday());
+        Assertions.assertEquals(1, stats.getHeartbeatEarlier());
+
+        counters.transactionStarted("cb3", 10);
+        counters.transactionStarted("cb4", 11);
+        Assertions.assertEquals(2, counters.getStats(NOW).getNumTransactions());
+
+        counters.chargeBoxDeleted("cb3");
+        Assertions.assertEquals(3, counters.getStats(NOW).getNumChargeBoxes());
+        Assertions.assertEquals(0, counters.getStats(NOW).getHeartbeatEarlier());
+        Assertions.assertEquals(1, counters.getStats(NOW).getNumTransactions());
+    }
+
+    @Test
+    public void testConnectorStatus() {
+        var counters = loaded();
+        counters.chargeBoxAdded("cb1", "Accepted");
+        counters.chargeBoxAdded("cb2", "Pending");
+
+        counters.connectorStatus("cb1", 1, NOW, "Charging");
+        counters.connectorStatus("cb1", 2, NOW, "Available");
+        counters.connectorStatus("cb2", 1, NOW, "Available");
+
+        // older than the current one
+        counters.connectorStatus("cb1", 1, NOW.minusMinutes(1), "Available");
+
+        Map<String, Integer> countMap = counters.getStats(NOW).getStatusCountMap();
+        Assertions.assertEquals(1, countMap.get("Charging"));
+        Assertions.assertEquals(1, countMap.get("Available"));
+
+        counters.connectorStatus("cb1", 1, NOW.plusMinutes(1), "Available");
+        counters.chargeBoxUpdated("cb2", "Accepted");
+
+        countMap = counters.getStats(NOW).getStatusCountMap();
+        Assertions.assertNull(countMap.get("Charging"));
+        Assertions.assertEquals(3, countMap.get("Available"));
+    }
+
+    @Test
+    public void testReservations() {
+        var counters = loaded();
+
+        counters.reservationInserted(1, NOW.plusHours(1));
+        counters.reservationInserted(2, NOW.plusHours(1));
+        counters.reservationInserted(3, NOW.plusMinutes(1));
+        Assertions.assertEquals(0, counters.getStats(NOW).getNumReservations());
+
+        counters.reservationAccepted(1);
+        counters.reservationAccepted(2);
+        counters.reservationAccepted(3);
+        Assertions.assertEquals(3, counters.getStats(NOW).getNumReservations());
+
+        counters.reservationEnded(2);
+        Assertions.assertEquals(2, counters.getStats(NOW).getNumReservations());
+
+        // the third one expires
+        Assertions.assertEquals(1, counters.getStats(NOW.plusMinutes(2)).getNumReservations());
+    }
+
+    @Test
+    public void testCountsAndReplace() {
+        var counters = loaded();
+
+        counters.ocppTagsAdded(3);
+        counters.ocppTagsDeleted(1);
+        counters.usersAdded(1);
+        counters.transactionStarted("cb1", 10);
+        counters.transactionStarted("cb1", 11);
+        counters.transactionStopped(10);
+
+        Statistics stats = counters.getStats(NOW);
+        Assertions.assertEquals(2, stats.getNumOcppTags());
+        Assertions.assertEquals(1, stats.getNumUsers());
+        Assertions.assertEquals(1, stats.getNumTransactions());
+
+        var fresh = new StatisticsCounters.State(5, 2);
+        fresh.putActiveTransaction("cb1", 20);
+        fresh.putActiveTransaction("cb1", 21);
+        counters.replace(fresh);
+
+        stats = counters.getStats(NOW);
+        Assertions.assertEquals(5, stats.getNumOcppTags());
+        Assertions.assertEquals(2, stats.getNumUsers());
+        Assertions.assertEquals(2, stats.getNumTransactions());
+    }
+
+    @Test
+    public void testChangesDuringReload() {
+        var counters = loaded();
+        counters.chargeBoxAdded("cb1", null);
+        counters.transactionStarted("cb1", 10);
+        counters.reservationInserted(1, NOW.plusYears(100));
+
+        counters.beginReload();
+
+        // the queries do not see these
+        counters.chargeBoxAdded("cb2", null);
+        counters.heartbeat("cb1", NOW);
+        counters.transactionStarted("cb1", 11);
+        counters.transactionStopped(10);
+        counters.reservationAccepted(1);
+        counters.ocppTagsAdded(1);
+
+        var fresh = new StatisticsCounters.State(5, 0);
+        fresh.putChargeBox("cb1", null, null);
+        fresh.putActiveTransaction("cb1", 10);
+        counters.replace(fresh);
+
+        Statistics stats = counters.getStats(NOW);
+        Assertions.assertEquals(2, stats.getNumChargeBoxes());
+        Assertions.assertEquals(1, stats.getHeartbeatToday());
+        Assertions.assertEquals(1, stats.getNumTransactions());
+        Assertions.assertEquals(1, stats.getNumReservations());
+        Assertions.assertEquals(6, stats.getNumOcppTags());
+
+        // not recorded anymore
+        counters.replace(new StatisticsCounters.State(5, 0));
+        Assertions.assertEquals(0, counters.getStats(NOW).getNumTransactions());
+    }
+
+    private static StatisticsCounters loaded() {
+        var counters = new StatisticsCounters();
+        Assertions.assertFalse(counters.isLoaded());
+        counters.replace(new StatisticsCounters.State(0, 0));
+        Assertions.assertTrue(counters.isLoaded());
+        return counters;
+    }
+}
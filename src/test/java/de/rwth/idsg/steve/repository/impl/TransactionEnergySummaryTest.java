@@ -0,0 +1,128 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.repository.impl;
+
+import jooq.steve.db.tables.records.ConnectorMeterValueRecord;
+import jooq.steve.db.tables.records.TransactionEnergyRecord;
+import org.joda.time.DateTime;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+public class TransactionEnergySummaryTest {
+
+    private static final DateTime START = new DateTime(2026, 10, 19, 12, 0);
+
+    @Test
+    public void testFirstAndLastByTimestamp() {
+        var summary = new TransactionEnergyRecord();
+
+        TransactionEnergySummary.add(summary, List.of(energy(START.plusMinutes(10), "1500", "Wh")));
+
+        // arrives later, but was sampled earlier
+        TransactionEnergySummary.add(summary, List.of(
+                energy(START.plusMinutes(20), "2.5", "kWh"),
+                energy(START, "1000", "Wh")
+        ));
+
+        Assertions.assertEquals(0, new BigDecimal("1000").compareTo(summary.getFirstEnergyWh()));
+        Assertions.assertEquals(START, summary.getFirstEnergyTimestamp());
+        Assertions.assertEquals(0, new BigDecimal("2500").compareTo(summary.getLastEnergyWh()));
+        Assertions.assertEquals(START.plusMinutes(20), summary.getLastEnergyTimestamp());
+        Assertions.assertEquals(3, summary.getSampleCount());
+        Assertions.assertEquals(START.plusMinutes(20), summary.getLastSampleTimestamp());
+    }
+
+    @Test
+    public void testMaxPower() {
+        var summary = new TransactionEnergyRecord();
+
+        TransactionEnergySummary.add(summary, List.of(
+                power(START, "7.4", "kW"),
+                power(START.plusMinutes(1), "11000", "W"),
+                power(START.plusMinutes(2), "3000", "W")
+        ));
+
+        Assertions.assertEquals(0, new BigDecimal("11000").compareTo(summary.getMaxPowerW()));
+        Assertions.assertNull(summary.getLastEnergyWh());
+        Assertions.assertEquals(3, summary.getSampleCount());
+    }
+
+    @Test
+    public void testOtherValuesAreOnlyCounted() {
+        var summary = new TransactionEnergyRecord();
+
+        var voltage = energy(START, "230", "V");
+        voltage.setMeasurand("Voltage");
+
+        var phase = power(START, "3700", "W");
+        phase.setPhase("L1");
+
+        var signed = energy(START, "not a number", "Wh");
+        signed.setFormat("SignedData");
+
+        TransactionEnergySummary.add(summary, List.of(voltage, phase, signed));
+
+        Assertions.assertNull(summary.getFirstEnergyWh());
+        Assertions.assertNull(summary.getMaxPowerW());
+        Assertions.assertEquals(3, summary.getSampleCount());
+        Assertions.assertEquals(START, summary.getLastSampleTimestamp());
+    }
+
+    @Test
+    public void testOutOfRangeValuesAreSkipped() {
+        var summary = new TransactionEnergyRecord();
+
+        TransactionEnergySummary.add(summary, List.of(
+                energy(START, "1000", "Wh"),
+                energy(START.plusMinutes(1), "1e30", "Wh"),
+                energy(START.plusMinutes(2), "2e12", "kWh"),
+                power(START.plusMinutes(3), "-1e300", "W"),
+                power(START.plusMinutes(4), "1e999999999", "kW")
+        ));
+
+        Assertions.assertEquals(0, new BigDecimal("1000").compareTo(summary.getFirstEnergyWh()));
+        Assertions.assertEquals(0, new BigDecimal("1000").compareTo(summary.getLastEnergyWh()));
+        Assertions.assertEquals(START, summary.getLastEnergyTimestamp());
+        Assertions.assertNull(summary.getMaxPowerW());
+        Assertions.assertEquals(5, summary.getSampleCount());
+        Assertions.assertEquals(START.plusMinutes(4), summary.getLastSampleTimestamp());
+    }
+
+    private static ConnectorMeterValueRecord energy(DateTime timestamp, String value, String unit) {
+        var r = new ConnectorMeterValueRecord();
+        r.setValueTimestamp(timestamp);
+        r.setValue(value);
+        r.setMeasurand("Energy.Active.Import.Register");
+        r.setUnit(unit);
+        return r;
+    }
+
+    private static ConnectorMeterValueRecord power(DateTime timestamp, String value, String unit) {
+        var r = energy(timestamp, value, unit);
+        r.setMeasurand("Power.Active.Import");
+        return r;
+    }
+}
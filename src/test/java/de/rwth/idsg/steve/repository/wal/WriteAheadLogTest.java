@@ -0,0 +1,181 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.repository.wal;
+
+import de.rwth.idsg.steve.repository.dto.InsertConnectorStatusParams;
+import org.joda.time.DateTime;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+public class WriteAheadLogTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testAppendAndRead_acrossSegments() throws Exception {
+        List<String> written = new ArrayList<>();
+        try (WriteAheadLog log = new WriteAheadLog(directory, 40)) {
+            for (int i = 0; i < 10; i++) {
+                String chargeBoxId = "cp-" + i;
+                log.append(WalRecord.heartbeat(chargeBoxId, new DateTime(1_000L * i)));
+                written.add(chargeBoxId);
+            }
+
+            // a segment has room for one record only
+            Assertions.assertEquals(10, WalSegments.list(directory).size());
+
+            List<String> read = new ArrayList<>();
+            try (WalReader reader = new WalReader(directory)) {
+                WalPosition position = reader.getStartPosition();
+                WalPosition synced = log.getSyncedPosition();
+
+                // in batches of three
+                while (position.compareTo(synced) < 0) {
+                    List<WalReader.Entry> entries = reader.read(position, synced, 3);
+                    Assertions.assertTrue(entries.size() <= 3);
+                    for (WalReader.Entry entry : entries) {
+                        read.add(entry.getRecord().getChargeBoxId());
+                        Assertions.assertEquals(WalRecord.Type.HEARTBEAT, entry.getRecord().getType());
+                    }
+                    position = entries.get(entries.size() - 1).getEnd();
+                }
+            }
+            Assertions.assertEquals(written, read);
+        }
+    }
+
+    @Test
+    public void testRecovery_cutsOffIncompleteRecord() throws Exception {
+        Path segment;
+        try (WriteAheadLog log = new WriteAheadLog(directory, 1024 * 1024)) {
+            for (int i = 0; i < 3; i++) {
+                log.append(WalRecord.firmwareStatus("cp", "Installing", new DateTime(i)));
+            }
+            segment = WalSegments.path(directory, log.getSyncedPosition().getSegmentId());
+        }
+        long size = Files.size(segment);
+
+        // a crash in the middle of the next record
+        Files.write(segment, new byte[] {0, 0, 0, 42, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        try (WriteAheadLog log = new WriteAheadLog(directory, 1024 * 1024);
+             WalReader reader = new WalReader(directory)) {
+            Assertions.assertEquals(size, Files.size(segment));
+            Assertions.assertEquals(2, WalSegments.list(directory).size());
+
+            List<WalReader.Entry> entries = reader.read(reader.getStartPosition(), log.getSyncedPosition(), 100);
+            Assertions.assertEquals(3, entries.size());
+            Assertions.assertEquals("Installing", entries.get(2).getRecord().getStatus());
+            Assertions.assertEquals(new DateTime(2), entries.get(2).getRecord().getTimestamp());
+        }
+    }
+
+    @Test
+    public void testRead_skipsCorruptSegment() throws Exception {
+        Path segment;
+        try (WriteAheadLog log = new WriteAheadLog(directory, 40)) {
+            log.append(WalRecord.heartbeat("cp-1", new DateTime(1)));
+            segment = WalSegments.path(directory, log.getSyncedPosition().getSegmentId());
+            log.append(WalRecord.heartbeat("cp-2", new DateTime(2)));
+        }
+
+        // the checksum does not match anymore
+        byte[] bytes = Files.readAllBytes(segment);
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(segment, bytes);
+
+        try (WriteAheadLog log = new WriteAheadLog(directory, 40);
+             WalReader reader = new WalReader(directory)) {
+            log.append(WalRecord.heartbeat("cp-3", new DateTime(3)));
+
+            List<WalReader.Entry> entries = reader.read(reader.getStartPosition(), log.getSyncedPosition(), 100);
+            Assertions.assertEquals(2, entries.size());
+            Assertions.assertEquals("cp-2", entries.get(0).getRecord().getChargeBoxId());
+            Assertions.assertEquals("cp-3", entries.get(1).getRecord().getChargeBoxId());
+        }
+    }
+
+    @Test
+    public void testCheckpoint_andDeleteBefore() throws Exception {
+        try (WriteAheadLog log = new WriteAheadLog(directory, 40);
+             WalReader reader = new WalReader(directory)) {
+            Assertions.assertNull(reader.readCheckpoint());
+
+            for (int i = 0; i < 3; i++) {
+                log.append(WalRecord.heartbeat("cp-" + i, new DateTime(i)));
+            }
+            WalPosition synced = log.getSyncedPosition();
+
+            reader.writeCheckpoint(synced);
+            Assertions.assertEquals(synced, reader.readCheckpoint());
+
+            reader.deleteBefore(synced.getSegmentId());
+            Assertions.assertEquals(List.of(synced.getSegmentId()), WalSegments.list(directory));
+            Assertions.assertEquals(synced.getSegmentId(), reader.getStartPosition().getSegmentId());
+        }
+    }
+
+    @Test
+    public void testCodec_connectorStatus() throws Exception {
+        InsertConnectorStatusParams params = InsertConnectorStatusParams.builder()
+                                                                        .chargeBoxId("cp-1")
+                                                                        .connectorId(2)
+                                                                        .timestamp(new DateTime(123456789L))
+                                                                        .status("Faulted")
+                                                                        .errorCode("GroundFailure")
+                                                                        .errorInfo(null)
+                                                                        .vendorId("vendor")
+                                                                        .vendorErrorCode("E42")
+                                                                        .build();
+
+        WalRecord decoded = WalCodec.decode(WalCodec.encode(WalRecord.connectorStatus(params)));
+
+        Assertions.assertEquals(WalRecord.Type.CONNECTOR_STATUS, decoded.getType());
+        Assertions.assertEquals("cp-1", decoded.getChargeBoxId());
+
+        InsertConnectorStatusParams p = decoded.getConnectorStatus();
+        Assertions.assertEquals("cp-1", p.getChargeBoxId());
+        Assertions.assertEquals(2, p.getConnectorId());
+        Assertions.assertEquals(new DateTime(123456789L), p.getTimestamp());
+        Assertions.assertEquals("Faulted", p.getStatus());
+        Assertions.assertEquals("GroundFailure", p.getErrorCode());
+        Assertions.assertNull(p.getErrorInfo());
+        Assertions.assertEquals("vendor", p.getVendorId());
+        Assertions.assertEquals("E42", p.getVendorErrorCode());
+    }
+
+    @Test
+    public void testCodec_unknownType() {
+        byte[] bytes = "garbage".getBytes(StandardCharsets.UTF_8);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> WalCodec.decode(bytes));
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.service.admission;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+public class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    public void testTryAcquire_burstThenRate() {
+        var bucket = new TokenBucket(60, 2, 0);
+
+        Assertions.assertTrue(bucket.tryAcquire(0));
+        Assertions.assertTrue(bucket.tryAcquire(0));
+        Assertions.assertFalse(bucket.tryAcquire(0));
+
+        // 60 per minute = one token per second
+        Assertions.assertFalse(bucket.tryAcquire(SECOND / 2));
+        Assertions.assertTrue(bucket.tryAcquire(SECOND));
+        Assertions.assertFalse(bucket.tryAcquire(SECOND));
+    }
+
+    @Test
+    public void testTryAcquire_capacityIsCapped() {
+        var bucket = new TokenBucket(60, 2, 0);
+
+        // a long idle period does not accumulate more than the burst
+        long later = 100 * SECOND;
+        Assertions.assertTrue(bucket.tryAcquire(later));
+        Assertions.assertTrue(bucket.tryAcquire(later));
+        Assertions.assertFalse(bucket.tryAcquire(later));
+    }
+
+    @Test
+    public void testAcquireWithDelay() {
+        var bucket = new TokenBucket(60, 1, 0);
+        long maxDelay = 10 * SECOND;
+
+        Assertions.assertEquals(0, bucket.acquireWithDelay(0, maxDelay));
+        assertAboutMillis(1000, bucket.acquireWithDelay(0, maxDelay));
+        assertAboutMillis(2000, bucket.acquireWithDelay(0, maxDelay));
+
+        // the debt is paid back over time
+        assertAboutMillis(1000, bucket.acquireWithDelay(2 * SECOND, maxDelay));
+
+        // the delayed requests took the tokens, so there is nothing left for the others
+        Assertions.assertFalse(bucket.tryAcquire(2 * SECOND));
+    }
+
+    @Test
+    public void testAcquireWithDelay_capped() {
+        var bucket = new TokenBucket(60, 1, 0);
+        long maxDelay = SECOND + SECOND / 2;
+
+        Assertions.assertEquals(0, bucket.acquireWithDelay(0, maxDelay));
+        assertAboutMillis(1000, bucket.acquireWithDelay(0, maxDelay));
+        Assertions.assertEquals(maxDelay, bucket.acquireWithDelay(0, maxDelay));
+        Assertions.assertEquals(maxDelay, bucket.acquireWithDelay(0, maxDelay));
+    }
+
+    private static void assertAboutMillis(long expectedMillis, long actualNanos) {
+        Assertions.assertEquals(expectedMillis, TimeUnit.NANOSECONDS.toMillis(actualNanos), 1);
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.service.mail;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+public class MailQueueTest {
+
+    @Test
+    public void testCoalesce_groupsByTypeAndSplitsDigests() {
+        List<QueuedMail> mails = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            mails.add(new QueuedMail("Disconnected", "Disconnected from 'cp-" + i + "'", "body " + i));
+        }
+        mails.add(new QueuedMail("Booted", "Boot notification from 'cp-9'", "booted"));
+        mails.add(new QueuedMail(null, "Summary", "summary"));
+
+        List<QueuedMail> result = MailQueue.coalesce(mails, 2);
+
+        // the mail without type first, then the digests of the types in the order of their first occurrence
+        Assertions.assertEquals(5, result.size());
+        Assertions.assertEquals("Summary", result.get(0).getSubject());
+
+        Assertions.assertEquals("Disconnected from 'cp-0' (and 1 more)", result.get(1).getSubject());
+        Assertions.assertEquals(2, result.get(1).getCount());
+        Assertions.assertTrue(result.get(1).getBody().contains("- Disconnected from 'cp-1'"));
+        Assertions.assertTrue(result.get(1).getBody().contains("  body 1"));
+
+        Assertions.assertEquals(2, result.get(2).getCount());
+        // the last one of the type is alone and sent as it is
+        Assertions.assertEquals("Disconnected from 'cp-4'", result.get(3).getSubject());
+        Assertions.assertEquals("body 4", result.get(3).getBody());
+
+        Assertions.assertEquals("Boot notification from 'cp-9'", result.get(4).getSubject());
+    }
+
+    @Test
+    public void testFlush_oneBatchPerWindow() throws InterruptedException {
+        List<List<QueuedMail>> batches = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(1);
+
+        var queue = new MailQueue(mails -> {
+            batches.add(mails);
+            latch.countDown();
+        }, 200, 100);
+
+        for (int i = 0; i < 2000; i++) {
+            queue.add("Disconnected", "Disconnected from 'cp-" + i + "'", "");
+        }
+        Assertions.assertEquals(2000, queue.size());
+
+        Assertions.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        queue.shutDown(5, TimeUnit.SECONDS);
+
+        Assertions.assertEquals(1, batches.size());
+        Assertions.assertEquals(20, batches.get(0).size());
+        Assertions.assertEquals(2000, batches.get(0).stream().mapToInt(QueuedMail::getCount).sum());
+        Assertions.assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void testShutDown_sendsPendingMails() {
+        List<QueuedMail> sent = new CopyOnWriteArrayList<>();
+        var queue = new MailQueue(sent::addAll, TimeUnit.HOURS.toMillis(1), 100);
+
+        queue.add("Booted", "Boot notification from 'cp-1'", "");
+        queue.shutDown(5, TimeUnit.SECONDS);
+
+        Assertions.assertEquals(1, sent.size());
+        Assertions.assertEquals(0, queue.size());
+
+        // dropped after shutdown
+        queue.add("Booted", "Boot notification from 'cp-2'", "");
+        Assertions.assertEquals(0, queue.size());
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.service.notification;
+
+import de.rwth.idsg.steve.SteveConfiguration;
+import de.rwth.idsg.steve.utils.MetricsUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.PayloadApplicationEvent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+public class OcppEventMulticasterTest {
+
+    @Test
+    public void testOrderedPerStation() {
+        var multicaster = new OcppEventMulticaster(config(4, 1000, true), new SimpleMeterRegistry());
+        List<String> received = Collections.synchronizedList(new ArrayList<>());
+        multicaster.addApplicationListener((ApplicationEvent event) -> {
+            if (event instanceof PayloadApplicationEvent) {
+                var payload = (OcppStationStatusFailure) ((PayloadApplicationEvent<?>) event).getPayload();
+                received.add(payload.getChargeBoxId() + ":" + payload.getConnectorId());
+            }
+        });
+
+        for (int connectorId = 0; connectorId < 100; connectorId++) {
+            for (String chargeBoxId : List.of("station-1", "station-2", "station-3")) {
+                publish(multicaster, new OcppStationStatusFailure(chargeBoxId, connectorId, "GroundFailure"));
+            }
+        }
+        multicaster.shutDown(10, TimeUnit.SECONDS);
+
+        Assertions.assertEquals(300, received.size());
+        for (String chargeBoxId : List.of("station-1", "station-2", "station-3")) {
+            int expected = 0;
+            for (String entry : received) {
+                if (entry.startsWith(chargeBoxId + ":")) {
+                    Assertions.assertEquals(chargeBoxId + ":" + expected++, entry);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testDropped_whenQueueIsFull() throws InterruptedException {
+        var registry = new SimpleMeterRegistry();
+        var multicaster = new OcppEventMulticaster(config(1, 1, true), registry);
+
+        var blocked = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        multicaster.addApplicationListener((ApplicationEvent event) -> {
+            blocked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        List<OcppEvent> overflow = new ArrayList<>();
+        multicaster.addOverflowListener(overflow::add);
+
+        publish(multicaster, new OcppStationWebSocketConnected("station-1"));
+        Assertions.assertTrue(blocked.await(5, TimeUnit.SECONDS));
+
+        // one waits in the queue, the other one is dropped
+        publish(multicaster, new OcppStationWebSocketConnected("station-1"));
+        publish(multicaster, new OcppStationWebSocketConnected("station-1"));
+        Assertions.assertEquals(1, multicaster.getQueueSize());
+        Assertions.assertEquals(1.0, registry.get(MetricsUtils.EVENTS_DROPPED)
+                                             .tag(MetricsUtils.TYPE, "OcppStationWebSocketConnected")
+                                             .counter()
+                                             .count());
+        Assertions.assertEquals(1, overflow.size());
+
+        release.countDown();
+        multicaster.shutDown(10, TimeUnit.SECONDS);
+        Assertions.assertEquals(0, multicaster.getQueueSize());
+    }
+
+    @Test
+    public void testOtherEvents_areSynchronous() {
+        var multicaster = new OcppEventMulticaster(config(1, 10, true), new SimpleMeterRegistry());
+        List<Thread> threads = new ArrayList<>();
+        multicaster.addApplicationListener((ApplicationEvent event) -> threads.add(Thread.currentThread()));
+
+        multicaster.multicastEvent(new PayloadApplicationEvent<>(this, "not an OCPP event"));
+        multicaster.shutDown(10, TimeUnit.SECONDS);
+
+        Assertions.assertEquals(List.of(Thread.currentThread()), threads);
+    }
+
+    private void publish(OcppEventMulticaster multicaster, OcppEvent event) {
+        multicaster.multicastEvent(new PayloadApplicationEvent<>(this, event));
+    }
+
+    private static SteveConfiguration.Events config(int threads, int queueSize, boolean ordered) {
+        return SteveConfiguration.Events.builder()
+                                        .async(true)
+                                        .threads(threads)
+                                        .queueSize(queueSize)
+                                        .ordered(ordered)
+                                        .build();
+    }
+}
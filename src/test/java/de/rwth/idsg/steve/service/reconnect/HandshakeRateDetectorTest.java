@@ -0,0 +1,93 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.service.reconnect;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+public class HandshakeRateDetectorTest {
+
+    private static final long START = 1_000_000_000L;
+
+    @Test
+    public void testBelowThreshold() {
+        var detector = new HandshakeRateDetector(10);
+
+        // 9 per second over the whole window
+        for (int second = 0; second < HandshakeRateDetector.WINDOW_SECONDS; second++) {
+            for (int i = 0; i < 9; i++) {
+                detector.record(START + second * 1000L + i);
+            }
+        }
+
+        Assertions.assertFalse(detector.isActive(START + HandshakeRateDetector.WINDOW_SECONDS * 1000L));
+    }
+
+    @Test
+    public void testBurstWithinOneSecond() {
+        var detector = new HandshakeRateDetector(10);
+
+        int count = 0;
+        for (int i = 0; i < 10 * HandshakeRateDetector.WINDOW_SECONDS; i++) {
+            count = detector.record(START + i);
+        }
+
+        Assertions.assertEquals(10 * HandshakeRateDetector.WINDOW_SECONDS, count);
+        Assertions.assertTrue(detector.isActive(START + 1000));
+    }
+
+    @Test
+    public void testCoolDown() {
+        var detector = new HandshakeRateDetector(1);
+
+        long last = 0;
+        for (int i = 0; i < HandshakeRateDetector.WINDOW_SECONDS; i++) {
+            last = START + i;
+            detector.record(last);
+        }
+
+        Assertions.assertTrue(detector.isActive(last + HandshakeRateDetector.COOL_DOWN_MILLIS - 1));
+        Assertions.assertFalse(detector.isActive(last + HandshakeRateDetector.COOL_DOWN_MILLIS));
+    }
+
+    @Test
+    public void testOldBucketsAreIgnored() {
+        var detector = new HandshakeRateDetector(2);
+
+        // enough for the window, but spread over a longer period
+        for (int i = 0; i < 2 * HandshakeRateDetector.WINDOW_SECONDS; i++) {
+            detector.record(START + i * 1000L * HandshakeRateDetector.WINDOW_SECONDS);
+        }
+
+        Assertions.assertFalse(detector.isActive(START + 2000L * HandshakeRateDetector.WINDOW_SECONDS));
+    }
+
+    @Test
+    public void testCountPerSecond() {
+        var detector = new HandshakeRateDetector(1000);
+
+        Assertions.assertEquals(1, detector.record(START));
+        Assertions.assertEquals(2, detector.record(START + 999));
+        Assertions.assertEquals(1, detector.record(START + 1000));
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.service.webhook;
+
+import com.sun.net.httpserver.HttpServer;
+import de.rwth.idsg.steve.SteveConfiguration;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.zip.GZIPInputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Sends the batches to a local HTTP server that answers with the configured status.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+public class WebhookSubscriberTest {
+
+    @TempDir
+    Path directory;
+
+    private HttpServer server;
+    private ExecutorService executor;
+    private final List<String> bodies = new CopyOnWriteArrayList<>();
+    private final List<String> batchIds = new CopyOnWriteArrayList<>();
+    private volatile int status = 200;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/events", exchange -> {
+            try (InputStream in = new GZIPInputStream(exchange.getRequestBody())) {
+                bodies.add(new String(in.readAllBytes(), UTF_8));
+            }
+            batchIds.add(exchange.getRequestHeaders().getFirst(WebhookSubscriber.BATCH_ID_HEADER));
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+        });
+        server.start();
+
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testSend_batchAsGzippedJsonArray() throws Exception {
+        WebhookSubscriber subscriber = createSubscriber();
+        subscriber.add("{\"id\":1}".getBytes(UTF_8));
+        subscriber.add("{\"id\":2}".getBytes(UTF_8));
+        subscriber.run();
+
+        awaitTrue(() -> subscriber.getSpool().size() == 0 && subscriber.getInFlight() == 0);
+
+        Assertions.assertEquals(List.of("[{\"id\":1},{\"id\":2}]"), bodies);
+        Assertions.assertNotNull(batchIds.get(0));
+    }
+
+    @Test
+    public void testSend_serverErrorKeepsBatchForRetry() throws Exception {
+        status = 503;
+        WebhookSubscriber subscriber = createSubscriber();
+        subscriber.add("{\"id\":1}".getBytes(UTF_8));
+        subscriber.run();
+
+        awaitTrue(() -> bodies.size() == 1 && subscriber.getInFlight() == 0);
+        Assertions.assertEquals(1, subscriber.getSpool().size());
+
+        // still waiting for the backoff
+        subscriber.dispatch();
+        Thread.sleep(100);
+        Assertions.assertEquals(1, bodies.size());
+
+        // after a restart, the batch is sent again with the same id
+        status = 200;
+        WebhookSubscriber restarted = createSubscriber();
+        restarted.run();
+
+        awaitTrue(() -> restarted.getSpool().size() == 0 && restarted.getInFlight() == 0);
+        Assertions.assertEquals(2, bodies.size());
+        Assertions.assertEquals(batchIds.get(0), batchIds.get(1));
+    }
+
+    @Test
+    public void testSend_clientErrorRejectsBatch() throws Exception {
+        status = 400;
+        WebhookSubscriber subscriber = createSubscriber();
+        subscriber.add("{\"id\":1}".getBytes(UTF_8));
+        subscriber.run();
+
+        awaitTrue(() -> subscriber.getSpool().size() == 0 && subscriber.getInFlight() == 0);
+
+        subscriber.run();
+        Thread.sleep(100);
+        Assertions.assertEquals(1, bodies.size());
+    }
+
+    @Test
+    public void testPendingEventsSurviveCrash() throws Exception {
+        WebhookSubscriber subscriber = createSubscriber();
+        subscriber.add("{\"id\":1}".getBytes(UTF_8));
+        subscriber.add("{\"id\":2}".getBytes(UTF_8));
+
+        // without a flush, as if the process crashed
+        WebhookSubscriber restarted = createSubscriber();
+        restarted.run();
+
+        awaitTrue(() -> restarted.getSpool().size() == 0 && restarted.getInFlight() == 0);
+        Assertions.assertEquals(List.of("[{\"id\":1},{\"id\":2}]"), bodies);
+
+        // the pending log is cleared with the batch
+        Assertions.assertTrue(createSubscriber().getSpool().readPending().isEmpty());
+    }
+
+    @Test
+    public void testSpoolTrimsOldestBatches() throws Exception {
+        var dropped = new AtomicInteger();
+        var spool = new WebhookSpool(directory, 10, dropped::incrementAndGet);
+
+        long first = spool.write(new byte[6], Set.of());
+        long second = spool.write(new byte[6], Set.of());
+        Assertions.assertEquals(List.of(second), spool.list());
+        Assertions.assertEquals(6, spool.bytes());
+        Assertions.assertEquals(1, dropped.get());
+
+        // in flight, so kept
+        long third = spool.write(new byte[6], Set.of(second));
+        Assertions.assertEquals(List.of(second, third), spool.list());
+        Assertions.assertEquals(12, spool.bytes());
+        Assertions.assertTrue(first < second && second < third);
+
+        // the sizes are read again at the start
+        Assertions.assertEquals(12, new WebhookSpool(directory, 10, dropped::incrementAndGet).bytes());
+    }
+
+    @Test
+    public void testBackoff() {
+        Assertions.assertEquals(1000, WebhookSubscriber.getBackoffMillis(1, 300_000));
+        Assertions.assertEquals(8000, WebhookSubscriber.getBackoffMillis(4, 300_000));
+        Assertions.assertEquals(300_000, WebhookSubscriber.getBackoffMillis(100, 300_000));
+    }
+
+    private WebhookSubscriber createSubscriber() throws IOException {
+        var config = SteveConfiguration.Webhook.builder()
+                                               .urls(Collections.emptyList())
+                                               .batchSize(100)
+                                               .batchIntervalMillis(1000)
+                                               .maxConcurrency(2)
+                                               .timeoutSeconds(5)
+                                               .maxBackoffSeconds(60)
+                                               .spoolMaxBytes(1024 * 1024)
+                                               .build();
+
+        URI uri = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/events");
+        return new WebhookSubscriber(uri, directory, config, HttpClient.newHttpClient(), executor,
+                                     new SimpleMeterRegistry());
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                Assertions.fail("Timed out");
+            }
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.simulator;
+
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies (as HdrHistograms) and counters per action, collected from all stations of a fleet.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+@Slf4j
+public class FleetMetrics {
+
+    public static final String CONNECT = "(Connect)";
+
+    // in microseconds. slower requests are recorded as this value.
+    private static final long HIGHEST_TRACKABLE_VALUE = TimeUnit.MINUTES.toMicros(10);
+
+    private final Map<String, ActionMetrics> metricsPerAction = new ConcurrentHashMap<>();
+    private final LongAdder disconnects = new LongAdder();
+
+    private final String transport;
+    private final String serverUrl;
+    private final String reportFileName;
+    private final long startNanos = System.nanoTime();
+
+    public FleetMetrics(String transport, String serverUrl, String reportFileName) {
+        this.transport = transport;
+        this.serverUrl = serverUrl;
+        this.reportFileName = reportFileName;
+    }
+
+    /**
+     * @param error is null, if the action was successful
+     */
+    public void record(String action, long startNanos, Throwable error) {
+        ActionMetrics metrics = metricsPerAction.computeIfAbsent(action, k -> new ActionMetrics());
+
+        if (error == null) {
+            long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+            metrics.latency.recordValue(Math.min(Math.max(micros, 0), HIGHEST_TRACKABLE_VALUE));
+            metrics.succeeded.increment();
+        } else if (unwrap(error) instanceof TimeoutException) {
+            metrics.timedOut.increment();
+        } else {
+            metrics.failed.increment();
+        }
+    }
+
+    public void recordDisconnect() {
+        disconnects.increment();
+    }
+
+    public String toReport(Scenario scenario) {
+        double elapsedSeconds = (System.nanoTime() - startNanos) / 1_000_000_000d;
+
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Fleet simulation report (%s)%n", transport));
+        sb.append(String.format("Server: %s%n", serverUrl));
+        sb.append(String.format("Stations: %d, connectors per station: %d, elapsed: %.1f s, unexpected disconnects: %d%n%n",
+                scenario.getStationCount(), scenario.getConnectorCount(), elapsedSeconds, disconnects.sum()));
+
+        sb.append(String.format("%-30s %10s %8s %8s %10s %9s %9s %9s %9s %9s%n",
+                "Action", "OK", "Failed", "Timeout", "Per sec", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "Max ms"));
+
+        long totalSucceeded = 0;
+        for (Map.Entry<String, ActionMetrics> entry : new TreeMap<>(metricsPerAction).entrySet()) {
+            ActionMetrics m = entry.getValue();
+            Histogram h = m.latency.copy();
+            long succeeded = m.succeeded.sum();
+            totalSucceeded += succeeded;
+
+            sb.append(String.format("%-30s %10d %8d %8d %10.1f %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    entry.getKey(), succeeded, m.failed.sum(), m.timedOut.sum(), succeeded / elapsedSeconds,
+                    millis(h.getValueAtPercentile(50)),
+                    millis(h.getValueAtPercentile(90)),
+                    millis(h.getValueAtPercentile(99)),
+                    millis(h.getValueAtPercentile(99.9)),
+                    millis(h.getMaxValue())));
+        }
+
+        sb.append(String.format("%nTotal throughput: %.1f successful requests per second%n", totalSucceeded / elapsedSeconds));
+        return sb.toString();
+    }
+
+    public void report(Scenario scenario) {
+        String report = toReport(scenario);
+        log.info("\n{}", report);
+
+        if (scenario.getReportDirectory() == null) {
+            return;
+        }
+
+        Path path = Paths.get(scenario.getReportDirectory(), reportFileName);
+        try {
+            Files.createDirectories(path.getParent());
+            Files.write(path, report.getBytes(StandardCharsets.UTF_8));
+            log.info("Report is written to {}", path.toAbsolutePath());
+        } catch (IOException e) {
+            log.error("Failed to write the report to {}", path, e);
+        }
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000d;
+    }
+
+    private static Throwable unwrap(Throwable t) {
+        if (t instanceof CompletionException && t.getCause() != null) {
+            return t.getCause();
+        }
+        return t;
+    }
+
+    private static class ActionMetrics {
+        private final Histogram latency = new ConcurrentHistogram(HIGHEST_TRACKABLE_VALUE, 3);
+        private final LongAdder succeeded = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder timedOut = new LongAdder();
+    }
+}
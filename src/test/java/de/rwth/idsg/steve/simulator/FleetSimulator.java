@@ -0,0 +1,123 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.simulator;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Drives a fleet of simulated stations through a {@link Scenario}: connects the stations with the configured ramp
+ * up, triggers the reconnect storms, stops after the duration and reports the metrics.
+ *
+ * A handful of scheduler threads are enough for tens of thousands of stations, since the stations never block
+ * (see {@link StationDriver}). The OS limits of open files/sockets must be high enough, though.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+@Slf4j
+public class FleetSimulator {
+
+    private final Scenario scenario;
+    private final FleetMetrics metrics;
+    private final Function<String, SimulatedStation> stationFactory;
+
+    private final ScheduledExecutorService scheduler;
+
+    public FleetSimulator(Scenario scenario, FleetMetrics metrics, Function<String, SimulatedStation> stationFactory) {
+        this.scenario = scenario;
+        this.metrics = metrics;
+        this.stationFactory = stationFactory;
+
+        ThreadFactoryBuilder threadFactory = new ThreadFactoryBuilder().setNameFormat("FleetSimulator-%d")
+                                                                       .setDaemon(true);
+        this.scheduler = Executors.newScheduledThreadPool(Runtime.getRuntime().availableProcessors(),
+                threadFactory.build());
+    }
+
+    public void run() throws InterruptedException {
+        log.info("Starting {} stations", scenario.getStationCount());
+
+        List<StationDriver> drivers = new ArrayList<>(scenario.getStationCount());
+        for (int i = 0; i < scenario.getStationCount(); i++) {
+            SimulatedStation station = stationFactory.apply(scenario.getChargeBoxId(i));
+            drivers.add(new StationDriver(station, scenario, metrics, scheduler));
+        }
+
+        long startMillis = System.currentTimeMillis();
+        try {
+            rampUp(drivers);
+
+            for (int stormAt : scenario.getReconnectStormAtSeconds()) {
+                sleepUntil(startMillis + TimeUnit.SECONDS.toMillis(stormAt));
+                reconnectStorm(drivers);
+            }
+
+            sleepUntil(startMillis + TimeUnit.SECONDS.toMillis(scenario.getDurationSeconds()));
+        } finally {
+            log.info("Stopping the fleet");
+            drivers.forEach(StationDriver::stop);
+            scheduler.shutdownNow();
+        }
+
+        metrics.report(scenario);
+    }
+
+    private void rampUp(List<StationDriver> drivers) throws InterruptedException {
+        int perSecond = Math.max(1, scenario.getRampUpPerSecond());
+        long startMillis = System.currentTimeMillis();
+
+        for (int i = 0; i < drivers.size(); i++) {
+            // start the stations in batches, one batch per second
+            if (i > 0 && i % perSecond == 0) {
+                sleepUntil(startMillis + TimeUnit.SECONDS.toMillis(i / perSecond));
+            }
+            drivers.get(i).start();
+        }
+
+        log.info("All {} stations are started", drivers.size());
+    }
+
+    private void reconnectStorm(List<StationDriver> drivers) {
+        List<StationDriver> shuffled = new ArrayList<>(drivers);
+        Collections.shuffle(shuffled);
+
+        int count = shuffled.size() * scenario.getReconnectStormPercentage() / 100;
+        log.info("Reconnect storm: {} stations drop their connections and reconnect", count);
+
+        for (int i = 0; i < count; i++) {
+            shuffled.get(i).reconnect();
+        }
+    }
+
+    private static void sleepUntil(long epochMillis) throws InterruptedException {
+        long millis = epochMillis - System.currentTimeMillis();
+        if (millis > 0) {
+            Thread.sleep(millis);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.simulator;
+
+import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.websocket.client.WebSocketClient;
+
+import java.time.Duration;
+
+/**
+ * Runs the {@link Scenario} with OCPP 1.6 JSON stations against a running SteVe instance. The scenario is the
+ * bundled "fleet-scenario.properties", unless the system property with the same name points to another file:
+ *
+ * java -Dfleet-scenario.properties=/path/to/scenario.properties ... de.rwth.idsg.steve.simulator.JsonFleetSimulator
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+public class JsonFleetSimulator {
+
+    public static void main(String[] args) throws Exception {
+        Scenario scenario = Scenario.load();
+        FleetMetrics metrics = new FleetMetrics("OCPP 1.6 JSON", scenario.getServerUrl(), "fleet-simulator-json.txt");
+
+        // the defaults of jetty would queue the upgrade requests of a large fleet
+        HttpClient httpClient = new HttpClient();
+        httpClient.setMaxConnectionsPerDestination(scenario.getStationCount());
+        httpClient.setMaxRequestsQueuedPerDestination(scenario.getStationCount());
+
+        WebSocketClient client = new WebSocketClient(httpClient);
+        // stations must not be dropped by the client while they are idle between heartbeats
+        client.setIdleTimeout(Duration.ofSeconds(scenario.getHeartbeatIntervalSeconds() * 3L));
+        client.start();
+
+        try {
+            new FleetSimulator(scenario, metrics, id -> new JsonSimulatedStation(id, scenario, client, metrics)).run();
+        } finally {
+            client.stop();
+        }
+    }
+}
@@ -0,0 +1,259 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.simulator;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.rwth.idsg.ocpp.jaxb.RequestType;
+import de.rwth.idsg.ocpp.jaxb.ResponseType;
+import de.rwth.idsg.steve.SteveException;
+import de.rwth.idsg.steve.ocpp.OcppVersion;
+import de.rwth.idsg.steve.ocpp.ws.JsonObjectMapper;
+import de.rwth.idsg.steve.ocpp.ws.data.CommunicationContext;
+import de.rwth.idsg.steve.ocpp.ws.data.ErrorCode;
+import de.rwth.idsg.steve.ocpp.ws.data.MessageType;
+import de.rwth.idsg.steve.ocpp.ws.data.OcppJsonCall;
+import de.rwth.idsg.steve.ocpp.ws.pipeline.Serializer;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.jetty.websocket.api.Session;
+import org.eclipse.jetty.websocket.api.WriteCallback;
+import org.eclipse.jetty.websocket.api.annotations.OnWebSocketClose;
+import org.eclipse.jetty.websocket.api.annotations.OnWebSocketMessage;
+import org.eclipse.jetty.websocket.api.annotations.WebSocket;
+import org.eclipse.jetty.websocket.client.ClientUpgradeRequest;
+import org.eclipse.jetty.websocket.client.WebSocketClient;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An OCPP 1.6 JSON station. Unlike {@link de.rwth.idsg.steve.utils.OcppJsonChargePoint}, it does not block any
+ * thread: all stations share one {@link WebSocketClient} (and its selector threads), and responses complete the
+ * futures of the pending calls.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+@Slf4j
+@WebSocket
+public class JsonSimulatedStation implements SimulatedStation {
+
+    private final ObjectMapper mapper = JsonObjectMapper.INSTANCE.getMapper();
+
+    @Getter
+    private final String chargeBoxId;
+    private final URI uri;
+    private final WebSocketClient client;
+    private final FleetMetrics metrics;
+    private final int requestTimeoutSeconds;
+
+    private final Map<String, PendingCall> pendingCalls = new ConcurrentHashMap<>();
+
+    // the sessions that we close ourselves. the close of an old session can arrive after the reconnect.
+    private final Set<Session> closeRequested = ConcurrentHashMap.newKeySet();
+
+    private volatile Session session;
+
+    public JsonSimulatedStation(String chargeBoxId, Scenario scenario, WebSocketClient client, FleetMetrics metrics) {
+        this.chargeBoxId = chargeBoxId;
+        this.uri = URI.create(scenario.getServerUrl() + chargeBoxId);
+        this.client = client;
+        this.metrics = metrics;
+        this.requestTimeoutSeconds = scenario.getRequestTimeoutSeconds();
+    }
+
+    @Override
+    public CompletableFuture<Void> connect() {
+        ClientUpgradeRequest request = new ClientUpgradeRequest();
+        request.setSubProtocols(OcppVersion.V_16.getValue());
+
+        try {
+            return client.connect(this, uri, request)
+                         .thenAccept(s -> this.session = s);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public void disconnect() {
+        Session s = session;
+        if (s != null) {
+            closeRequested.add(s);
+            s.disconnect();
+        }
+    }
+
+    @Override
+    public boolean isConnected() {
+        Session s = session;
+        return s != null && s.isOpen();
+    }
+
+    @Override
+    public <T extends ResponseType> CompletableFuture<T> call(String action, RequestType request, Class<T> responseClass) {
+        Session s = session;
+        if (s == null) {
+            return CompletableFuture.failedFuture(new SteveException("Station '%s' is not connected", chargeBoxId));
+        }
+
+        String messageId = UUID.randomUUID().toString();
+
+        OcppJsonCall call = new OcppJsonCall();
+        call.setMessageId(messageId);
+        call.setAction(action);
+        call.setPayload(request);
+
+        // session is null, because we do not need org.springframework.web.socket.WebSocketSession
+        CommunicationContext ctx = new CommunicationContext(null, chargeBoxId);
+        ctx.setOutgoingMessage(call);
+        Serializer.INSTANCE.accept(ctx);
+
+        PendingCall pending = new PendingCall(responseClass);
+        pendingCalls.put(messageId, pending);
+
+        s.getRemote().sendString(ctx.getOutgoingString(), new WriteCallback() {
+            @Override
+            public void writeFailed(Throwable t) {
+                pending.future.completeExceptionally(t);
+            }
+
+            @Override
+            public void writeSuccess() {
+                // nothing to do, we wait for the response
+            }
+        });
+
+        @SuppressWarnings("unchecked")
+        CompletableFuture<T> future = (CompletableFuture<T>) pending.future;
+        return future.orTimeout(requestTimeoutSeconds, TimeUnit.SECONDS)
+                     .whenComplete((response, throwable) -> pendingCalls.remove(messageId));
+    }
+
+    // -------------------------------------------------------------------------
+    // WebSocket callbacks
+    // -------------------------------------------------------------------------
+
+    @OnWebSocketClose
+    public void onClose(Session session, int statusCode, String reason) {
+        if (!closeRequested.remove(session)) {
+            log.debug("Station '{}' is disconnected by the server: {} {}", chargeBoxId, statusCode, reason);
+            metrics.recordDisconnect();
+        }
+
+        // in a reconnect storm, the close of the old session might arrive after the new session is set. the pending
+        // calls are then sent over the new session and must not be failed.
+        if (this.session == session) {
+            this.session = null;
+
+            SteveException e = new SteveException("Connection of station '%s' is closed", chargeBoxId);
+            pendingCalls.values().forEach(p -> p.future.completeExceptionally(e));
+            pendingCalls.clear();
+        }
+    }
+
+    @OnWebSocketMessage
+    public void onMessage(Session session, String msg) {
+        try (JsonParser parser = mapper.getFactory().createParser(msg)) {
+            parser.nextToken(); // set cursor to '['
+
+            parser.nextToken();
+            MessageType messageType = MessageType.fromTypeNr(parser.getIntValue());
+
+            parser.nextToken();
+            String messageId = parser.getText();
+
+            switch (messageType) {
+                case CALL_RESULT:
+                    handleResult(messageId, parser);
+                    break;
+                case CALL_ERROR:
+                    handleError(messageId, parser);
+                    break;
+                case CALL:
+                    // we only simulate the load that stations create, not the operations they support
+                    rejectCall(session, messageId);
+                    break;
+                default:
+                    throw new SteveException("Unknown enum type");
+            }
+        } catch (Exception e) {
+            log.error("Station '{}' failed to process the message: {}", chargeBoxId, msg, e);
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Private helpers
+    // -------------------------------------------------------------------------
+
+    private void handleResult(String messageId, JsonParser parser) throws Exception {
+        PendingCall pending = pendingCalls.get(messageId);
+        if (pending == null) {
+            return; // timed out already
+        }
+
+        parser.nextToken();
+        JsonNode payload = parser.readValueAsTree();
+        pending.future.complete(mapper.treeToValue(payload, pending.responseClass));
+    }
+
+    private void handleError(String messageId, JsonParser parser) throws Exception {
+        PendingCall pending = pendingCalls.get(messageId);
+        if (pending == null) {
+            return; // timed out already
+        }
+
+        parser.nextToken();
+        String errorCode = parser.getText();
+
+        parser.nextToken();
+        String description = parser.getText();
+
+        pending.future.completeExceptionally(new SteveException("%s: %s", errorCode, description));
+    }
+
+    private void rejectCall(Session session, String messageId) throws Exception {
+        List<Object> error = List.of(
+                MessageType.CALL_ERROR.getTypeNr(),
+                messageId,
+                ErrorCode.NotImplemented.toString(),
+                "Not supported by the fleet simulator",
+                Collections.emptyMap()
+        );
+        session.getRemote().sendString(mapper.writeValueAsString(error), WriteCallback.NOOP);
+    }
+
+    private static class PendingCall {
+        private final Class<? extends ResponseType> responseClass;
+        private final CompletableFuture<ResponseType> future = new CompletableFuture<>();
+
+        private PendingCall(Class<? extends ResponseType> responseClass) {
+            this.responseClass = responseClass;
+        }
+    }
+}
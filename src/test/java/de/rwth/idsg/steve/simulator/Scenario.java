@@ -0,0 +1,141 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.simulator;
+
+import de.rwth.idsg.steve.utils.PropertiesFileLoader;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Describes what a simulated fleet does. It is independent of the transport, such that the JSON and SOAP fleets
+ * can run the same scenario and their reports can be compared.
+ *
+ * All durations are in seconds. Intervals are means: the actual values are randomized by +/- 50 %, such that the
+ * stations of a fleet do not act in lockstep.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+@Getter
+@Builder
+public class Scenario {
+
+    public static final String PROPERTIES_NAME = "fleet-scenario.properties";
+
+    /**
+     * JSON endpoint of SteVe, the chargeBoxId is appended to it
+     */
+    private final String serverUrl;
+
+    /**
+     * SOAP endpoint of SteVe
+     */
+    private final String soapServerUrl;
+
+    private final int stationCount;
+    private final String stationIdPrefix;
+    private final int connectorCount;
+
+    /**
+     * How many stations connect (and boot) per second at the start
+     */
+    private final int rampUpPerSecond;
+    private final int durationSeconds;
+    private final int requestTimeoutSeconds;
+
+    private final int heartbeatIntervalSeconds;
+
+    /**
+     * Mean time between two status changes of a connector that is not charging (0 disables churn)
+     */
+    private final int statusChurnIntervalSeconds;
+
+    /**
+     * Mean idle time of a connector between two charging sessions (0 disables charging sessions)
+     */
+    private final int chargingIdleSeconds;
+    private final int chargingDurationSeconds;
+    private final int meterValuesIntervalSeconds;
+    private final List<String> idTags;
+
+    /**
+     * Points in time (relative to the start) at which a part of the fleet drops its connection and reconnects
+     * immediately, as it happens after a network outage or a restart of a load balancer.
+     */
+    private final List<Integer> reconnectStormAtSeconds;
+    private final int reconnectStormPercentage;
+
+    /**
+     * SOAP only: OCPP versions of the stations, assigned round robin
+     */
+    private final List<String> soapVersions;
+
+    /**
+     * SOAP only: the stations send this host/port (plus their chargeBoxId as path) as their endpoint address,
+     * and the simulator listens on the port for the calls of SteVe
+     */
+    private final String soapCallbackHost;
+    private final int soapCallbackPort;
+
+    /**
+     * Optional directory to write the reports into, in addition to the log
+     */
+    private final String reportDirectory;
+
+    /**
+     * Loads the bundled scenario, or the one pointed to by the system property with the same name.
+     */
+    public static Scenario load() {
+        PropertiesFileLoader p = new PropertiesFileLoader(PROPERTIES_NAME);
+
+        return Scenario.builder()
+                       .serverUrl(p.getString("server.url"))
+                       .soapServerUrl(p.getString("soap.server.url"))
+                       .stationCount(p.getInt("station.count"))
+                       .stationIdPrefix(p.getString("station.id.prefix"))
+                       .connectorCount(p.getInt("station.connector.count"))
+                       .rampUpPerSecond(p.getInt("ramp.up.per.second"))
+                       .durationSeconds(p.getInt("duration.seconds"))
+                       .requestTimeoutSeconds(p.getInt("request.timeout.seconds"))
+                       .heartbeatIntervalSeconds(p.getInt("heartbeat.interval.seconds"))
+                       .statusChurnIntervalSeconds(p.getInt("status.churn.interval.seconds"))
+                       .chargingIdleSeconds(p.getInt("charging.idle.seconds"))
+                       .chargingDurationSeconds(p.getInt("charging.duration.seconds"))
+                       .meterValuesIntervalSeconds(p.getInt("meter.values.interval.seconds"))
+                       .idTags(p.getStringList("id.tags"))
+                       .reconnectStormAtSeconds(p.getStringList("reconnect.storm.at.seconds")
+                                                 .stream()
+                                                 .map(Integer::parseInt)
+                                                 .sorted()
+                                                 .collect(Collectors.toList()))
+                       .reconnectStormPercentage(p.getInt("reconnect.storm.percentage"))
+                       .soapVersions(p.getStringList("soap.ocpp.versions"))
+                       .soapCallbackHost(p.getString("soap.callback.host"))
+                       .soapCallbackPort(p.getInt("soap.callback.port"))
+                       .reportDirectory(p.getOptionalString("report.directory"))
+                       .build();
+    }
+
+    public String getChargeBoxId(int index) {
+        return stationIdPrefix + index;
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.simulator;
+
+import de.rwth.idsg.ocpp.jaxb.RequestType;
+import de.rwth.idsg.ocpp.jaxb.ResponseType;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The transport specific part of a simulated station. All operations are asynchronous, such that a handful of
+ * threads can drive a large fleet.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+public interface SimulatedStation {
+
+    String getChargeBoxId();
+
+    CompletableFuture<Void> connect();
+
+    /**
+     * Drops the connection without any goodbye, as it happens when a station loses network
+     */
+    void disconnect();
+
+    boolean isConnected();
+
+    /**
+     * @param action the OCPP action name, e.g. "BootNotification"
+     */
+    <T extends ResponseType> CompletableFuture<T> call(String action, RequestType request, Class<T> responseClass);
+}
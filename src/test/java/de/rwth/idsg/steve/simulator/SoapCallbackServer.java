@@ -0,0 +1,153 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.simulator;
+
+import com.google.common.collect.ImmutableMap;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The callback endpoints of all SOAP stations, such that the calls of SteVe to the stations (ChargePointService
+ * invokers) are part of the load test as well. Every station has its own address (its chargeBoxId as path), but
+ * instead of one CXF endpoint per station, a single handler serves them all: it only looks at the operation name
+ * and answers with a canned, positive response.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+@Slf4j
+public class SoapCallbackServer {
+
+    private static final Pattern OPERATION = Pattern.compile("Body[^>]*>\\s*<(?:[\\w-]+:)?(\\w+)Request[\\s/>]");
+    private static final Pattern NAMESPACE = Pattern.compile("urn://Ocpp/Cp/\\d{4}/\\d{2}/");
+    private static final Pattern MESSAGE_ID = Pattern.compile("MessageID[^>]*>([^<]+)<");
+
+    private static final String DEFAULT_CONTENT = "<cp:status>Accepted</cp:status>";
+
+    /**
+     * Response contents that differ from {@link #DEFAULT_CONTENT}
+     */
+    private static final Map<String, String> CONTENTS = ImmutableMap.<String, String>builder()
+            .put("getDiagnostics", "")
+            .put("updateFirmware", "")
+            .put("getConfiguration", "")
+            .put("getLocalListVersion", "<cp:listVersion>0</cp:listVersion>")
+            .put("getCompositeSchedule", "<cp:status>Rejected</cp:status>")
+            .build();
+
+    private static final String OCPP_16_NAMESPACE = "urn://Ocpp/Cp/2015/10/";
+
+    /**
+     * Response contents of OCPP 1.6 that differ from {@link #CONTENTS} and {@link #DEFAULT_CONTENT}, since the
+     * value is not valid for the enum of this version
+     */
+    private static final Map<String, String> CONTENTS_16 = ImmutableMap.<String, String>builder()
+            .put("unlockConnector", "<cp:status>Unlocked</cp:status>")
+            .build();
+
+    private final Server server;
+
+    public SoapCallbackServer(int port, Set<String> chargeBoxIds, FleetMetrics metrics) {
+        this.server = new Server(port);
+        this.server.setHandler(new CallbackHandler(chargeBoxIds, metrics));
+    }
+
+    public void start() throws Exception {
+        server.start();
+    }
+
+    public void stop() throws Exception {
+        server.stop();
+    }
+
+    private static class CallbackHandler extends AbstractHandler {
+
+        private final Set<String> chargeBoxIds;
+        private final FleetMetrics metrics;
+
+        private CallbackHandler(Set<String> chargeBoxIds, FleetMetrics metrics) {
+            this.chargeBoxIds = chargeBoxIds;
+            this.metrics = metrics;
+        }
+
+        @Override
+        public void handle(String target, Request baseRequest, HttpServletRequest request,
+                           HttpServletResponse response) throws IOException {
+            long start = System.nanoTime();
+            baseRequest.setHandled(true);
+
+            String chargeBoxId = target.substring(target.lastIndexOf('/') + 1);
+            if (!chargeBoxIds.contains(chargeBoxId)) {
+                response.sendError(HttpServletResponse.SC_NOT_FOUND);
+                return;
+            }
+
+            String body = new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            Matcher operation = OPERATION.matcher(body);
+            Matcher namespace = NAMESPACE.matcher(body);
+            if (!operation.find() || !namespace.find()) {
+                log.warn("Station '{}' received an unknown request: {}", chargeBoxId, body);
+                response.sendError(HttpServletResponse.SC_BAD_REQUEST);
+                return;
+            }
+
+            String operationName = operation.group(1);
+            Matcher messageId = MESSAGE_ID.matcher(body);
+
+            response.setContentType("application/soap+xml; charset=UTF-8");
+            response.getOutputStream().write(createResponse(operationName, namespace.group(),
+                    messageId.find() ? messageId.group(1) : null).getBytes(StandardCharsets.UTF_8));
+
+            String action = "(Received) " + Character.toUpperCase(operationName.charAt(0)) + operationName.substring(1);
+            metrics.record(action, start, null);
+        }
+
+        private static String createResponse(String operationName, String namespace, String relatesTo) {
+            String header = relatesTo == null
+                    ? ""
+                    : "<soap:Header><wsa:RelatesTo xmlns:wsa=\"http://www.w3.org/2005/08/addressing\">"
+                            + relatesTo + "</wsa:RelatesTo></soap:Header>";
+
+            return "<soap:Envelope xmlns:soap=\"http://www.w3.org/2003/05/soap-envelope\">"
+                    + header
+                    + "<soap:Body>"
+                    + "<cp:" + operationName + "Response xmlns:cp=\"" + namespace + "\">"
+                    + getContent(operationName, namespace)
+                    + "</cp:" + operationName + "Response>"
+                    + "</soap:Body>"
+                    + "</soap:Envelope>";
+        }
+
+        private static String getContent(String operationName, String namespace) {
+            String content = OCPP_16_NAMESPACE.equals(namespace) ? CONTENTS_16.get(operationName) : null;
+            return content != null ? content : CONTENTS.getOrDefault(operationName, DEFAULT_CONTENT);
+        }
+    }
+}
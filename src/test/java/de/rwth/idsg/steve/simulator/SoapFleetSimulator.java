@@ -0,0 +1,75 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.simulator;
+
+import de.rwth.idsg.steve.ocpp.OcppVersion;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * Runs the {@link Scenario} with OCPP 1.2/1.5/1.6 SOAP stations against a running SteVe instance. The reports of
+ * this and {@link JsonFleetSimulator} have the same format, such that both transports can be compared. In
+ * addition, this one reports the calls SteVe makes to the callback endpoints of the stations (see
+ * {@link SoapCallbackServer}).
+ *
+ * java -Dfleet-scenario.properties=/path/to/scenario.properties ... de.rwth.idsg.steve.simulator.SoapFleetSimulator
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+public class SoapFleetSimulator {
+
+    public static void main(String[] args) throws Exception {
+        Scenario scenario = Scenario.load();
+        FleetMetrics metrics = new FleetMetrics("OCPP SOAP", scenario.getSoapServerUrl(), "fleet-simulator-soap.txt");
+
+        List<OcppVersion> versions = scenario.getSoapVersions()
+                                             .stream()
+                                             .map(v -> OcppVersion.fromValue("ocpp" + v))
+                                             .collect(Collectors.toList());
+
+        Set<String> chargeBoxIds = new HashSet<>(scenario.getStationCount());
+        for (int i = 0; i < scenario.getStationCount(); i++) {
+            chargeBoxIds.add(scenario.getChargeBoxId(i));
+        }
+
+        String callbackPrefix = "http://" + scenario.getSoapCallbackHost() + ":" + scenario.getSoapCallbackPort() + "/";
+        SoapCallbackServer callbackServer = new SoapCallbackServer(scenario.getSoapCallbackPort(), chargeBoxIds, metrics);
+        callbackServer.start();
+
+        // only used, if the generated services do not have async methods
+        ExecutorService fallbackExecutor = Executors.newFixedThreadPool(200);
+
+        try {
+            new FleetSimulator(scenario, metrics, id -> {
+                int index = Integer.parseInt(id.substring(scenario.getStationIdPrefix().length()));
+                OcppVersion version = versions.get(index % versions.size());
+                return new SoapSimulatedStation(id, version, scenario, callbackPrefix + id, fallbackExecutor);
+            }).run();
+        } finally {
+            fallbackExecutor.shutdownNow();
+            callbackServer.stop();
+        }
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.simulator;
+
+import de.rwth.idsg.ocpp.jaxb.RequestType;
+import de.rwth.idsg.ocpp.jaxb.ResponseType;
+import de.rwth.idsg.steve.SteveException;
+import de.rwth.idsg.steve.ocpp.OcppVersion;
+import lombok.Getter;
+import org.apache.cxf.frontend.ClientProxy;
+import org.apache.cxf.jaxws.JaxWsProxyFactoryBean;
+import org.apache.cxf.transport.http.HTTPConduit;
+import org.apache.cxf.transport.http.asyncclient.AsyncHTTPConduit;
+import org.apache.cxf.transports.http.configuration.HTTPClientPolicy;
+import org.apache.cxf.ws.addressing.AddressingProperties;
+import org.apache.cxf.ws.addressing.AttributedURIType;
+import org.apache.cxf.ws.addressing.EndpointReferenceType;
+import org.apache.cxf.ws.addressing.JAXWSAConstants;
+import org.apache.cxf.ws.addressing.WSAddressingFeature;
+
+import javax.xml.ws.AsyncHandler;
+import javax.xml.ws.BindingProvider;
+import javax.xml.ws.soap.SOAPBinding;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An OCPP 1.2/1.5/1.6 SOAP station. Every station has its own CXF client (since the WS-A "From" header carries the
+ * address of its callback endpoint), which uses the asynchronous (NIO) HTTP conduit. SOAP has no connection, so
+ * "connected" only means that the station is online and sends requests.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+public class SoapSimulatedStation implements SimulatedStation {
+
+    /**
+     * Key = service class and action. The generated services should have the async methods, but in case they do not,
+     * we fall back to the sync ones.
+     */
+    private static final Map<String, Optional<Method>> METHOD_CACHE = new ConcurrentHashMap<>();
+
+    @Getter
+    private final String chargeBoxId;
+    private final OcppVersion version;
+    private final String callbackAddress;
+    private final int requestTimeoutSeconds;
+    private final Executor fallbackExecutor;
+
+    private final Class<?> serviceClass;
+    private final Object client;
+
+    private volatile boolean connected;
+
+    public SoapSimulatedStation(String chargeBoxId, OcppVersion version, Scenario scenario, String callbackAddress,
+                                Executor fallbackExecutor) {
+        this.chargeBoxId = chargeBoxId;
+        this.version = version;
+        this.callbackAddress = callbackAddress;
+        this.requestTimeoutSeconds = scenario.getRequestTimeoutSeconds();
+        this.fallbackExecutor = fallbackExecutor;
+        this.serviceClass = getServiceClass(version);
+        this.client = createClient(serviceClass, scenario);
+    }
+
+    @Override
+    public CompletableFuture<Void> connect() {
+        connected = true;
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public void disconnect() {
+        connected = false;
+    }
+
+    @Override
+    public boolean isConnected() {
+        return connected;
+    }
+
+    @Override
+    public <T extends ResponseType> CompletableFuture<T> call(String action, RequestType request, Class<T> responseClass) {
+        RequestType versionedRequest;
+        switch (version) {
+            case V_12:
+                versionedRequest = SoapVersionMapper.toOcpp12(request);
+                break;
+            case V_15:
+                versionedRequest = SoapVersionMapper.toOcpp15(request);
+                break;
+            default:
+                versionedRequest = request;
+                break;
+        }
+
+        // the request context is thread local (see createClient), and CXF copies it into the message when invoking
+        Map<String, Object> requestContext = ((BindingProvider) client).getRequestContext();
+        requestContext.put(AsyncHTTPConduit.USE_ASYNC, Boolean.TRUE);
+        requestContext.put(JAXWSAConstants.CLIENT_ADDRESSING_PROPERTIES, createAddressingProperties());
+
+        CompletableFuture<ResponseType> future;
+        try {
+            future = invoke(action, versionedRequest);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        return future.thenApply(response -> {
+                         switch (version) {
+                             case V_12:
+                                 return responseClass.cast(SoapVersionMapper.fromOcpp12(response));
+                             case V_15:
+                                 return responseClass.cast(SoapVersionMapper.fromOcpp15(response));
+                             default:
+                                 return responseClass.cast(response);
+                         }
+                     })
+                     .orTimeout(requestTimeoutSeconds, TimeUnit.SECONDS);
+    }
+
+    // -------------------------------------------------------------------------
+    // Private helpers
+    // -------------------------------------------------------------------------
+
+    private CompletableFuture<ResponseType> invoke(String action, RequestType request) throws Exception {
+        String operation = Character.toLowerCase(action.charAt(0)) + action.substring(1);
+
+        Method async = findMethod(operation + "Async", request.getClass(), String.class, AsyncHandler.class);
+        if (async != null) {
+            CompletableFuture<ResponseType> future = new CompletableFuture<>();
+            AsyncHandler<ResponseType> handler = res -> {
+                try {
+                    future.complete(res.get());
+                } catch (ExecutionException e) {
+                    future.completeExceptionally(e.getCause());
+                } catch (Exception e) {
+                    future.completeExceptionally(e);
+                }
+            };
+            async.invoke(client, request, chargeBoxId, handler);
+            return future;
+        }
+
+        Method sync = findMethod(operation, request.getClass(), String.class);
+        if (sync == null) {
+            throw new SteveException("Operation '%s' is not found in %s", operation, serviceClass.getName());
+        }
+
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return (ResponseType) sync.invoke(client, request, chargeBoxId);
+            } catch (InvocationTargetException e) {
+                throw new SteveException("Operation '%s' failed", operation, e.getCause());
+            } catch (IllegalAccessException e) {
+                throw new SteveException("Operation '%s' failed", operation, e);
+            }
+        }, fallbackExecutor);
+    }
+
+    private Method findMethod(String name, Class<?>... parameterTypes) {
+        return METHOD_CACHE.computeIfAbsent(serviceClass.getName() + "#" + name, key -> {
+            try {
+                return Optional.of(serviceClass.getMethod(name, parameterTypes));
+            } catch (NoSuchMethodException e) {
+                return Optional.empty();
+            }
+        }).orElse(null);
+    }
+
+    private AddressingProperties createAddressingProperties() {
+        AttributedURIType address = new AttributedURIType();
+        address.setValue(callbackAddress);
+
+        EndpointReferenceType from = new EndpointReferenceType();
+        from.setAddress(address);
+
+        // a new instance per call, because CXF stores the message id etc. in it
+        AddressingProperties maps = new AddressingProperties();
+        maps.setFrom(from);
+        return maps;
+    }
+
+    private static Object createClient(Class<?> serviceClass, Scenario scenario) {
+        JaxWsProxyFactoryBean f = new JaxWsProxyFactoryBean();
+        f.setBindingId(SOAPBinding.SOAP12HTTP_BINDING);
+        f.getFeatures().add(new WSAddressingFeature());
+        f.setAddress(scenario.getSoapServerUrl());
+        f.setServiceClass(serviceClass);
+        Object client = f.create();
+
+        // calls of the same station can overlap (e.g. StatusNotification and MeterValues)
+        ((BindingProvider) client).getRequestContext().put("thread.local.request.context", "true");
+
+        HTTPClientPolicy policy = new HTTPClientPolicy();
+        policy.setReceiveTimeout(TimeUnit.SECONDS.toMillis(scenario.getRequestTimeoutSeconds()));
+        ((HTTPConduit) ClientProxy.getClient(client).getConduit()).setClient(policy);
+
+        return client;
+    }
+
+    private static Class<?> getServiceClass(OcppVersion version) {
+        switch (version) {
+            case V_12:
+                return ocpp.cs._2010._08.CentralSystemService.class;
+            case V_15:
+                return ocpp.cs._2012._06.CentralSystemService.class;
+            case V_16:
+                return ocpp.cs._2015._10.CentralSystemService.class;
+            default:
+                throw new SteveException("Unknown version: %s", version);
+        }
+    }
+}
@@ -0,0 +1,296 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.simulator;
+
+import de.rwth.idsg.ocpp.jaxb.RequestType;
+import de.rwth.idsg.ocpp.jaxb.ResponseType;
+import de.rwth.idsg.steve.SteveException;
+import ocpp.cs._2015._10.AuthorizationStatus;
+import ocpp.cs._2015._10.AuthorizeRequest;
+import ocpp.cs._2015._10.AuthorizeResponse;
+import ocpp.cs._2015._10.BootNotificationRequest;
+import ocpp.cs._2015._10.BootNotificationResponse;
+import ocpp.cs._2015._10.ChargePointStatus;
+import ocpp.cs._2015._10.HeartbeatRequest;
+import ocpp.cs._2015._10.HeartbeatResponse;
+import ocpp.cs._2015._10.IdTagInfo;
+import ocpp.cs._2015._10.Measurand;
+import ocpp.cs._2015._10.MeterValue;
+import ocpp.cs._2015._10.MeterValuesRequest;
+import ocpp.cs._2015._10.MeterValuesResponse;
+import ocpp.cs._2015._10.RegistrationStatus;
+import ocpp.cs._2015._10.SampledValue;
+import ocpp.cs._2015._10.StartTransactionRequest;
+import ocpp.cs._2015._10.StartTransactionResponse;
+import ocpp.cs._2015._10.StatusNotificationRequest;
+import ocpp.cs._2015._10.StatusNotificationResponse;
+import ocpp.cs._2015._10.StopTransactionRequest;
+import ocpp.cs._2015._10.StopTransactionResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The {@link StationDriver} speaks OCPP 1.6. This maps its requests down to OCPP 1.2/1.5 and the responses back up,
+ * such that all SOAP versions run the same scenario. This is the opposite direction of the server side converters
+ * (e.g. {@link de.rwth.idsg.steve.ocpp.converter.Server15to16Impl}) and only covers what the driver sends.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+public final class SoapVersionMapper {
+
+    private SoapVersionMapper() { }
+
+    // -------------------------------------------------------------------------
+    // OCPP 1.5
+    // -------------------------------------------------------------------------
+
+    public static RequestType toOcpp15(RequestType request) {
+        if (request instanceof BootNotificationRequest) {
+            BootNotificationRequest r = (BootNotificationRequest) request;
+            return new ocpp.cs._2012._06.BootNotificationRequest()
+                    .withChargePointVendor(r.getChargePointVendor())
+                    .withChargePointModel(r.getChargePointModel());
+
+        } else if (request instanceof HeartbeatRequest) {
+            return new ocpp.cs._2012._06.HeartbeatRequest();
+
+        } else if (request instanceof StatusNotificationRequest) {
+            StatusNotificationRequest r = (StatusNotificationRequest) request;
+            return new ocpp.cs._2012._06.StatusNotificationRequest()
+                    .withConnectorId(r.getConnectorId())
+                    .withStatus(ocpp.cs._2012._06.ChargePointStatus.fromValue(toOcpp15Status(r.getStatus())))
+                    .withErrorCode(ocpp.cs._2012._06.ChargePointErrorCode.fromValue(r.getErrorCode().value()))
+                    .withTimestamp(r.getTimestamp());
+
+        } else if (request instanceof AuthorizeRequest) {
+            return new ocpp.cs._2012._06.AuthorizeRequest()
+                    .withIdTag(((AuthorizeRequest) request).getIdTag());
+
+        } else if (request instanceof StartTransactionRequest) {
+            StartTransactionRequest r = (StartTransactionRequest) request;
+            return new ocpp.cs._2012._06.StartTransactionRequest()
+                    .withConnectorId(r.getConnectorId())
+                    .withIdTag(r.getIdTag())
+                    .withMeterStart(r.getMeterStart())
+                    .withTimestamp(r.getTimestamp());
+
+        } else if (request instanceof MeterValuesRequest) {
+            MeterValuesRequest r = (MeterValuesRequest) request;
+            List<ocpp.cs._2012._06.MeterValue> values = new ArrayList<>(r.getMeterValue().size());
+            for (MeterValue v : r.getMeterValue()) {
+                values.add(toOcpp15MeterValue(v));
+            }
+            return new ocpp.cs._2012._06.MeterValuesRequest()
+                    .withConnectorId(r.getConnectorId())
+                    .withTransactionId(r.getTransactionId())
+                    .withValues(values);
+
+        } else if (request instanceof StopTransactionRequest) {
+            StopTransactionRequest r = (StopTransactionRequest) request;
+            return new ocpp.cs._2012._06.StopTransactionRequest()
+                    .withTransactionId(r.getTransactionId())
+                    .withIdTag(r.getIdTag())
+                    .withMeterStop(r.getMeterStop())
+                    .withTimestamp(r.getTimestamp());
+        }
+
+        throw new SteveException("Unsupported request: %s", request.getClass().getSimpleName());
+    }
+
+    public static ResponseType fromOcpp15(ResponseType response) {
+        if (response instanceof ocpp.cs._2012._06.BootNotificationResponse) {
+            ocpp.cs._2012._06.BootNotificationResponse r = (ocpp.cs._2012._06.BootNotificationResponse) response;
+            return new BootNotificationResponse()
+                    .withStatus(RegistrationStatus.fromValue(r.getStatus().value()))
+                    .withCurrentTime(r.getCurrentTime())
+                    .withInterval(r.getHeartbeatInterval());
+
+        } else if (response instanceof ocpp.cs._2012._06.HeartbeatResponse) {
+            return new HeartbeatResponse()
+                    .withCurrentTime(((ocpp.cs._2012._06.HeartbeatResponse) response).getCurrentTime());
+
+        } else if (response instanceof ocpp.cs._2012._06.StatusNotificationResponse) {
+            return new StatusNotificationResponse();
+
+        } else if (response instanceof ocpp.cs._2012._06.AuthorizeResponse) {
+            ocpp.cs._2012._06.IdTagInfo info = ((ocpp.cs._2012._06.AuthorizeResponse) response).getIdTagInfo();
+            return new AuthorizeResponse()
+                    .withIdTagInfo(toIdTagInfo(info == null ? null : info.getStatus().value()));
+
+        } else if (response instanceof ocpp.cs._2012._06.StartTransactionResponse) {
+            ocpp.cs._2012._06.StartTransactionResponse r = (ocpp.cs._2012._06.StartTransactionResponse) response;
+            return new StartTransactionResponse()
+                    .withTransactionId(r.getTransactionId())
+                    .withIdTagInfo(toIdTagInfo(r.getIdTagInfo() == null ? null : r.getIdTagInfo().getStatus().value()));
+
+        } else if (response instanceof ocpp.cs._2012._06.MeterValuesResponse) {
+            return new MeterValuesResponse();
+
+        } else if (response instanceof ocpp.cs._2012._06.StopTransactionResponse) {
+            ocpp.cs._2012._06.IdTagInfo info = ((ocpp.cs._2012._06.StopTransactionResponse) response).getIdTagInfo();
+            return new StopTransactionResponse()
+                    .withIdTagInfo(toIdTagInfo(info == null ? null : info.getStatus().value()));
+        }
+
+        throw new SteveException("Unsupported response: %s", response.getClass().getSimpleName());
+    }
+
+    // -------------------------------------------------------------------------
+    // OCPP 1.2
+    // -------------------------------------------------------------------------
+
+    public static RequestType toOcpp12(RequestType request) {
+        if (request instanceof BootNotificationRequest) {
+            BootNotificationRequest r = (BootNotificationRequest) request;
+            return new ocpp.cs._2010._08.BootNotificationRequest()
+                    .withChargePointVendor(r.getChargePointVendor())
+                    .withChargePointModel(r.getChargePointModel());
+
+        } else if (request instanceof HeartbeatRequest) {
+            return new ocpp.cs._2010._08.HeartbeatRequest();
+
+        } else if (request instanceof StatusNotificationRequest) {
+            StatusNotificationRequest r = (StatusNotificationRequest) request;
+            return new ocpp.cs._2010._08.StatusNotificationRequest()
+                    .withConnectorId(r.getConnectorId())
+                    .withStatus(ocpp.cs._2010._08.ChargePointStatus.fromValue(toOcpp15Status(r.getStatus())))
+                    .withErrorCode(ocpp.cs._2010._08.ChargePointErrorCode.fromValue(r.getErrorCode().value()));
+
+        } else if (request instanceof AuthorizeRequest) {
+            return new ocpp.cs._2010._08.AuthorizeRequest()
+                    .withIdTag(((AuthorizeRequest) request).getIdTag());
+
+        } else if (request instanceof StartTransactionRequest) {
+            StartTransactionRequest r = (StartTransactionRequest) request;
+            return new ocpp.cs._2010._08.StartTransactionRequest()
+                    .withConnectorId(r.getConnectorId())
+                    .withIdTag(r.getIdTag())
+                    .withMeterStart(r.getMeterStart())
+                    .withTimestamp(r.getTimestamp());
+
+        } else if (request instanceof MeterValuesRequest) {
+            // OCPP 1.2 only knows the energy register (as integer), everything else is dropped
+            MeterValuesRequest r = (MeterValuesRequest) request;
+            List<ocpp.cs._2010._08.MeterValue> values = new ArrayList<>(r.getMeterValue().size());
+            for (MeterValue v : r.getMeterValue()) {
+                for (SampledValue sv : v.getSampledValue()) {
+                    if (sv.getMeasurand() == null || sv.getMeasurand() == Measurand.ENERGY_ACTIVE_IMPORT_REGISTER) {
+                        values.add(new ocpp.cs._2010._08.MeterValue()
+                                .withTimestamp(v.getTimestamp())
+                                .withValue((int) Double.parseDouble(sv.getValue())));
+                    }
+                }
+            }
+            return new ocpp.cs._2010._08.MeterValuesRequest()
+                    .withConnectorId(r.getConnectorId())
+                    .withValues(values);
+
+        } else if (request instanceof StopTransactionRequest) {
+            StopTransactionRequest r = (StopTransactionRequest) request;
+            return new ocpp.cs._2010._08.StopTransactionRequest()
+                    .withTransactionId(r.getTransactionId())
+                    .withIdTag(r.getIdTag())
+                    .withMeterStop(r.getMeterStop())
+                    .withTimestamp(r.getTimestamp());
+        }
+
+        throw new SteveException("Unsupported request: %s", request.getClass().getSimpleName());
+    }
+
+    public static ResponseType fromOcpp12(ResponseType response) {
+        if (response instanceof ocpp.cs._2010._08.BootNotificationResponse) {
+            ocpp.cs._2010._08.BootNotificationResponse r = (ocpp.cs._2010._08.BootNotificationResponse) response;
+            return new BootNotificationResponse()
+                    .withStatus(RegistrationStatus.fromValue(r.getStatus().value()))
+                    .withCurrentTime(r.getCurrentTime())
+                    .withInterval(r.getHeartbeatInterval());
+
+        } else if (response instanceof ocpp.cs._2010._08.HeartbeatResponse) {
+            return new HeartbeatResponse()
+                    .withCurrentTime(((ocpp.cs._2010._08.HeartbeatResponse) response).getCurrentTime());
+
+        } else if (response instanceof ocpp.cs._2010._08.StatusNotificationResponse) {
+            return new StatusNotificationResponse();
+
+        } else if (response instanceof ocpp.cs._2010._08.AuthorizeResponse) {
+            ocpp.cs._2010._08.IdTagInfo info = ((ocpp.cs._2010._08.AuthorizeResponse) response).getIdTagInfo();
+            return new AuthorizeResponse()
+                    .withIdTagInfo(toIdTagInfo(info == null ? null : info.getStatus().value()));
+
+        } else if (response instanceof ocpp.cs._2010._08.StartTransactionResponse) {
+            ocpp.cs._2010._08.StartTransactionResponse r = (ocpp.cs._2010._08.StartTransactionResponse) response;
+            return new StartTransactionResponse()
+                    .withTransactionId(r.getTransactionId())
+                    .withIdTagInfo(toIdTagInfo(r.getIdTagInfo() == null ? null : r.getIdTagInfo().getStatus().value()));
+
+        } else if (response instanceof ocpp.cs._2010._08.MeterValuesResponse) {
+            return new MeterValuesResponse();
+
+        } else if (response instanceof ocpp.cs._2010._08.StopTransactionResponse) {
+            ocpp.cs._2010._08.IdTagInfo info = ((ocpp.cs._2010._08.StopTransactionResponse) response).getIdTagInfo();
+            return new StopTransactionResponse()
+                    .withIdTagInfo(toIdTagInfo(info == null ? null : info.getStatus().value()));
+        }
+
+        throw new SteveException("Unsupported response: %s", response.getClass().getSimpleName());
+    }
+
+    // -------------------------------------------------------------------------
+    // Helpers
+    // -------------------------------------------------------------------------
+
+    /**
+     * The statuses that 1.6 introduced for a connector in use were all "Occupied" before
+     */
+    private static String toOcpp15Status(ChargePointStatus status) {
+        switch (status) {
+            case PREPARING:
+            case CHARGING:
+            case SUSPENDED_EV:
+            case SUSPENDED_EVSE:
+            case FINISHING:
+                return "Occupied";
+            default:
+                return status.value();
+        }
+    }
+
+    private static ocpp.cs._2012._06.MeterValue toOcpp15MeterValue(MeterValue v) {
+        List<ocpp.cs._2012._06.MeterValue.Value> values = new ArrayList<>(v.getSampledValue().size());
+        for (SampledValue sv : v.getSampledValue()) {
+            values.add(new ocpp.cs._2012._06.MeterValue.Value()
+                    .withValue(sv.getValue())
+                    .withContext(sv.isSetContext() ? ocpp.cs._2012._06.ReadingContext.fromValue(sv.getContext().value()) : null)
+                    .withMeasurand(sv.isSetMeasurand() ? ocpp.cs._2012._06.Measurand.fromValue(sv.getMeasurand().value()) : null)
+                    .withUnit(sv.isSetUnit() ? ocpp.cs._2012._06.UnitOfMeasure.fromValue(sv.getUnit().value()) : null));
+        }
+        return new ocpp.cs._2012._06.MeterValue()
+                .withTimestamp(v.getTimestamp())
+                .withValue(values);
+    }
+
+    private static IdTagInfo toIdTagInfo(String status) {
+        if (status == null) {
+            return null;
+        }
+        return new IdTagInfo().withStatus(AuthorizationStatus.fromValue(status));
+    }
+}
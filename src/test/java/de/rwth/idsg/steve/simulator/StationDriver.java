@@ -0,0 +1,379 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.simulator;
+
+import de.rwth.idsg.ocpp.jaxb.RequestType;
+import de.rwth.idsg.ocpp.jaxb.ResponseType;
+import lombok.extern.slf4j.Slf4j;
+import ocpp.cs._2015._10.AuthorizationStatus;
+import ocpp.cs._2015._10.AuthorizeRequest;
+import ocpp.cs._2015._10.AuthorizeResponse;
+import ocpp.cs._2015._10.BootNotificationRequest;
+import ocpp.cs._2015._10.BootNotificationResponse;
+import ocpp.cs._2015._10.ChargePointErrorCode;
+import ocpp.cs._2015._10.ChargePointStatus;
+import ocpp.cs._2015._10.HeartbeatRequest;
+import ocpp.cs._2015._10.HeartbeatResponse;
+import ocpp.cs._2015._10.Measurand;
+import ocpp.cs._2015._10.MeterValue;
+import ocpp.cs._2015._10.MeterValuesRequest;
+import ocpp.cs._2015._10.MeterValuesResponse;
+import ocpp.cs._2015._10.ReadingContext;
+import ocpp.cs._2015._10.Reason;
+import ocpp.cs._2015._10.SampledValue;
+import ocpp.cs._2015._10.StartTransactionRequest;
+import ocpp.cs._2015._10.StartTransactionResponse;
+import ocpp.cs._2015._10.StatusNotificationRequest;
+import ocpp.cs._2015._10.StatusNotificationResponse;
+import ocpp.cs._2015._10.StopTransactionRequest;
+import ocpp.cs._2015._10.StopTransactionResponse;
+import ocpp.cs._2015._10.UnitOfMeasure;
+import org.joda.time.DateTime;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Plays the {@link Scenario} for one station: boot, heartbeats, status churn and charging sessions with meter
+ * values. It only uses the shared scheduler and the futures of the {@link SimulatedStation}, i.e. it never blocks.
+ *
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+@Slf4j
+public class StationDriver {
+
+    // typical AC charging power, in Wh per second (11 kW)
+    private static final double ENERGY_PER_SECOND = 11_000.0 / 3600;
+
+    private final SimulatedStation station;
+    private final Scenario scenario;
+    private final FleetMetrics metrics;
+    private final ScheduledExecutorService scheduler;
+
+    private final Connector[] connectors;
+    private final AtomicBoolean connecting = new AtomicBoolean(false);
+
+    private volatile boolean running;
+    private volatile ScheduledFuture<?> heartbeatTask;
+
+    public StationDriver(SimulatedStation station, Scenario scenario, FleetMetrics metrics,
+                         ScheduledExecutorService scheduler) {
+        this.station = station;
+        this.scenario = scenario;
+        this.metrics = metrics;
+        this.scheduler = scheduler;
+
+        this.connectors = new Connector[scenario.getConnectorCount()];
+        for (int i = 0; i < connectors.length; i++) {
+            connectors[i] = new Connector(i + 1);
+        }
+    }
+
+    public void start() {
+        running = true;
+        connectAndBoot().whenComplete((v, t) -> {
+            // the heartbeat task also detects lost connections and (re)connects, i.e. even if the first attempt failed
+            long interval = TimeUnit.SECONDS.toMillis(scenario.getHeartbeatIntervalSeconds());
+            heartbeatTask = scheduler.scheduleAtFixedRate(this::heartbeat, jitter(scenario.getHeartbeatIntervalSeconds()),
+                    interval, TimeUnit.MILLISECONDS);
+
+            for (Connector connector : connectors) {
+                scheduleNextActivity(connector);
+            }
+        });
+    }
+
+    public void stop() {
+        running = false;
+        ScheduledFuture<?> task = heartbeatTask;
+        if (task != null) {
+            task.cancel(false);
+        }
+        for (Connector connector : connectors) {
+            connector.cancelTasks();
+        }
+        station.disconnect();
+    }
+
+    /**
+     * Drops the connection and reconnects right away, including the BootNotification
+     */
+    public void reconnect() {
+        if (!running) {
+            return;
+        }
+        station.disconnect();
+        connectAndBoot();
+    }
+
+    // -------------------------------------------------------------------------
+    // Connection
+    // -------------------------------------------------------------------------
+
+    private CompletableFuture<Void> connectAndBoot() {
+        if (!connecting.compareAndSet(false, true)) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        long start = System.nanoTime();
+        return station.connect()
+                      .whenComplete((v, t) -> metrics.record(FleetMetrics.CONNECT, start, t))
+                      .thenCompose(v -> call(new BootNotificationRequest().withChargePointVendor("SteVe")
+                                                                          .withChargePointModel("FleetSimulator"),
+                              BootNotificationResponse.class))
+                      .thenCompose(boot -> sendStatus(0, ChargePointStatus.AVAILABLE))
+                      .thenRun(() -> {
+                          for (Connector connector : connectors) {
+                              sendStatus(connector.id, connector.transactionId == null
+                                      ? ChargePointStatus.AVAILABLE
+                                      : ChargePointStatus.CHARGING);
+                          }
+                      })
+                      .whenComplete((v, t) -> {
+                          connecting.set(false);
+                          if (t != null) {
+                              log.debug("Station '{}' failed to connect and boot", station.getChargeBoxId(), t);
+                          }
+                      });
+    }
+
+    private void heartbeat() {
+        if (!running) {
+            return;
+        }
+
+        if (station.isConnected()) {
+            call(new HeartbeatRequest(), HeartbeatResponse.class);
+        } else {
+            connectAndBoot();
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Connector activities
+    // -------------------------------------------------------------------------
+
+    private void scheduleNextActivity(Connector connector) {
+        if (!running) {
+            return;
+        }
+
+        int chargingIdle = scenario.getChargingIdleSeconds();
+        int churn = scenario.getStatusChurnIntervalSeconds();
+
+        long chargingDelay = chargingIdle > 0 ? jitter(chargingIdle) : Long.MAX_VALUE;
+        long churnDelay = churn > 0 ? jitter(churn) : Long.MAX_VALUE;
+
+        if (chargingDelay == Long.MAX_VALUE && churnDelay == Long.MAX_VALUE) {
+            return;
+        }
+
+        if (chargingDelay <= churnDelay) {
+            connector.task = scheduler.schedule(() -> startSession(connector), chargingDelay, TimeUnit.MILLISECONDS);
+        } else {
+            connector.task = scheduler.schedule(() -> churnStatus(connector), churnDelay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * A connector that is not charging goes through "Preparing" (cable plugged in, but no session) and back to
+     * "Available".
+     */
+    private void churnStatus(Connector connector) {
+        if (!running) {
+            return;
+        }
+
+        sendStatus(connector.id, ChargePointStatus.PREPARING)
+                .thenCompose(v -> sendStatus(connector.id, ChargePointStatus.AVAILABLE))
+                .whenComplete((v, t) -> scheduleNextActivity(connector));
+    }
+
+    private void startSession(Connector connector) {
+        if (!running || !station.isConnected()) {
+            scheduleNextActivity(connector);
+            return;
+        }
+
+        String idTag = scenario.getIdTags().get(ThreadLocalRandom.current().nextInt(scenario.getIdTags().size()));
+        int meterStart = connector.getMeterValue();
+
+        call(new AuthorizeRequest().withIdTag(idTag), AuthorizeResponse.class)
+                .thenCompose(auth -> {
+                    if (auth.getIdTagInfo().getStatus() != AuthorizationStatus.ACCEPTED) {
+                        throw new IllegalStateException("Authorization is rejected");
+                    }
+                    return call(new StartTransactionRequest().withConnectorId(connector.id)
+                                                             .withIdTag(idTag)
+                                                             .withMeterStart(meterStart)
+                                                             .withTimestamp(DateTime.now()),
+                            StartTransactionResponse.class);
+                })
+                .thenAccept(start -> {
+                    connector.transactionId = start.getTransactionId();
+                    connector.idTag = idTag;
+                    sendStatus(connector.id, ChargePointStatus.CHARGING);
+
+                    long meterInterval = TimeUnit.SECONDS.toMillis(scenario.getMeterValuesIntervalSeconds());
+                    connector.meterValuesTask = scheduler.scheduleAtFixedRate(() -> sendMeterValues(connector),
+                            meterInterval, meterInterval, TimeUnit.MILLISECONDS);
+                    connector.task = scheduler.schedule(() -> stopSession(connector),
+                            jitter(scenario.getChargingDurationSeconds()), TimeUnit.MILLISECONDS);
+                })
+                .whenComplete((v, t) -> {
+                    if (t != null) {
+                        scheduleNextActivity(connector);
+                    }
+                });
+    }
+
+    private void sendMeterValues(Connector connector) {
+        Integer transactionId = connector.transactionId;
+        if (!running || transactionId == null || !station.isConnected()) {
+            return;
+        }
+
+        connector.energy += ENERGY_PER_SECOND * scenario.getMeterValuesIntervalSeconds();
+
+        MeterValue value = new MeterValue()
+                .withTimestamp(DateTime.now())
+                .withSampledValue(
+                        new SampledValue().withValue(Integer.toString(connector.getMeterValue()))
+                                          .withContext(ReadingContext.SAMPLE_PERIODIC)
+                                          .withMeasurand(Measurand.ENERGY_ACTIVE_IMPORT_REGISTER)
+                                          .withUnit(UnitOfMeasure.WH),
+                        new SampledValue().withValue(Long.toString(Math.round(ENERGY_PER_SECOND * 3600)))
+                                          .withContext(ReadingContext.SAMPLE_PERIODIC)
+                                          .withMeasurand(Measurand.POWER_ACTIVE_IMPORT)
+                                          .withUnit(UnitOfMeasure.W)
+                );
+
+        call(new MeterValuesRequest().withConnectorId(connector.id)
+                                     .withTransactionId(transactionId)
+                                     .withMeterValue(value),
+                MeterValuesResponse.class);
+    }
+
+    private void stopSession(Connector connector) {
+        Integer transactionId = connector.transactionId;
+        connector.cancelMeterValues();
+
+        if (transactionId == null) {
+            scheduleNextActivity(connector);
+            return;
+        }
+
+        call(new StopTransactionRequest().withTransactionId(transactionId)
+                                         .withIdTag(connector.idTag)
+                                         .withMeterStop(connector.getMeterValue())
+                                         .withTimestamp(DateTime.now())
+                                         .withReason(Reason.LOCAL),
+                StopTransactionResponse.class)
+                .whenComplete((v, t) -> {
+                    // forget the transaction even if the stop failed, otherwise the connector would be stuck
+                    connector.transactionId = null;
+                    connector.idTag = null;
+                    sendStatus(connector.id, ChargePointStatus.AVAILABLE)
+                            .whenComplete((v2, t2) -> scheduleNextActivity(connector));
+                });
+    }
+
+    // -------------------------------------------------------------------------
+    // Private helpers
+    // -------------------------------------------------------------------------
+
+    private CompletableFuture<StatusNotificationResponse> sendStatus(int connectorId, ChargePointStatus status) {
+        return call(new StatusNotificationRequest().withConnectorId(connectorId)
+                                                   .withStatus(status)
+                                                   .withErrorCode(ChargePointErrorCode.NO_ERROR)
+                                                   .withTimestamp(DateTime.now()),
+                StatusNotificationResponse.class);
+    }
+
+    /**
+     * Records the latency or the failure of every call. Calls are not even attempted while the station is
+     * disconnected, because a real station would not send them either.
+     */
+    private <T extends ResponseType> CompletableFuture<T> call(RequestType request, Class<T> responseClass) {
+        String action = getOperationName(request);
+        if (!station.isConnected()) {
+            return CompletableFuture.failedFuture(new IllegalStateException(action + " while disconnected"));
+        }
+
+        long start = System.nanoTime();
+        return station.call(action, request, responseClass)
+                      .whenComplete((response, t) -> metrics.record(action, start, t));
+    }
+
+    private static String getOperationName(RequestType requestType) {
+        String s = requestType.getClass().getSimpleName();
+        if (s.endsWith("Request")) {
+            s = s.substring(0, s.length() - 7);
+        }
+        return s;
+    }
+
+    /**
+     * @return a random duration in milliseconds between 50 % and 150 % of the given mean
+     */
+    private static long jitter(int meanSeconds) {
+        long mean = TimeUnit.SECONDS.toMillis(meanSeconds);
+        return mean / 2 + ThreadLocalRandom.current().nextLong(mean + 1);
+    }
+
+    private static class Connector {
+        private final int id;
+
+        private volatile Integer transactionId;
+        private volatile String idTag;
+        // in Wh. not rounded per interval, such that the fractions of a Wh add up to the exact power over time
+        private volatile double energy;
+
+        private volatile ScheduledFuture<?> task;
+        private volatile ScheduledFuture<?> meterValuesTask;
+
+        private Connector(int id) {
+            this.id = id;
+        }
+
+        private int getMeterValue() {
+            return (int) Math.round(energy);
+        }
+
+        private void cancelMeterValues() {
+            ScheduledFuture<?> t = meterValuesTask;
+            if (t != null) {
+                t.cancel(false);
+            }
+        }
+
+        private void cancelTasks() {
+            ScheduledFuture<?> t = task;
+            if (t != null) {
+                t.cancel(false);
+            }
+            cancelMeterValues();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.utils;
+
+import de.rwth.idsg.steve.SteveException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+public class ControllerHelperTest {
+
+    @Test
+    public void testCsvDownload_gzipComplete() throws IOException {
+        var response = new MockHttpServletResponse();
+
+        ControllerHelper.csvDownload(new MockHttpServletRequest(), response, "test.csv", true,
+                                     writer -> write(writer, "a,b\n1,2\n"));
+
+        Assertions.assertEquals("attachment; filename=\"test.csv.gz\"", response.getHeader("Content-Disposition"));
+        Assertions.assertEquals("a,b\n1,2\n", gunzip(response.getContentAsByteArray()));
+    }
+
+    @Test
+    public void testCsvDownload_failureBeforeCommit() {
+        var response = new MockHttpServletResponse();
+
+        Assertions.assertThrows(SteveException.class, () ->
+            ControllerHelper.csvDownload(new MockHttpServletRequest(), response, "test.csv", false, writer -> {
+                write(writer, "a,b\n");
+                throw new SteveException("Connection lost");
+            })
+        );
+
+        // the client gets an error, not the beginning of the file
+        Assertions.assertNull(response.getHeader("Content-Disposition"));
+        Assertions.assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    public void testCsvDownload_failureAfterCommit() {
+        var response = new MockHttpServletResponse();
+
+        Assertions.assertThrows(SteveException.class, () ->
+            ControllerHelper.csvDownload(new MockHttpServletRequest(), response, "test.csv", true, writer -> {
+                write(writer, "a,b\n");
+                flushBuffer(response);
+                throw new SteveException("Connection lost");
+            })
+        );
+
+        // the gzip stream must not be completed, such that the file cannot be read as if it were complete
+        Assertions.assertTrue(response.isCommitted());
+        Assertions.assertThrows(EOFException.class, () -> gunzip(response.getContentAsByteArray()));
+    }
+
+    private static void write(Writer writer, String content) {
+        try {
+            writer.write(content);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void flushBuffer(MockHttpServletResponse response) {
+        try {
+            response.flushBuffer();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String gunzip(byte[] bytes) throws IOException {
+        try (var in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
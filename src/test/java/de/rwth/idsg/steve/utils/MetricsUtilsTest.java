@@ -0,0 +1,64 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.utils;
+
+import de.rwth.idsg.steve.ocpp.OcppProtocol;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+public class MetricsUtilsTest {
+
+    @Test
+    public void testRecordOcppRequest_sameTagsSameTimer() {
+        var registry = new SimpleMeterRegistry();
+
+        MetricsUtils.recordOcppRequest(registry, OcppProtocol.V_16_JSON, "Heartbeat", System.nanoTime(), true);
+        MetricsUtils.recordOcppRequest(registry, OcppProtocol.V_16_JSON, "Heartbeat", System.nanoTime(), true);
+
+        Timer timer = registry.get(MetricsUtils.OCPP_REQUESTS)
+                              .tag(MetricsUtils.VERSION, "ocpp1.6")
+                              .tag(MetricsUtils.TRANSPORT, "JSON")
+                              .tag(MetricsUtils.ACTION, "Heartbeat")
+                              .tag(MetricsUtils.OUTCOME, MetricsUtils.SUCCESS)
+                              .timer();
+
+        Assertions.assertEquals(2, timer.count());
+    }
+
+    @Test
+    public void testRecordOcppRequest_outcomeSeparated() {
+        var registry = new SimpleMeterRegistry();
+
+        MetricsUtils.recordOcppRequest(registry, OcppProtocol.V_15_SOAP, "BootNotification", System.nanoTime(), true);
+        MetricsUtils.recordOcppRequest(registry, OcppProtocol.V_15_SOAP, "BootNotification", System.nanoTime(), false);
+
+        var timers = registry.get(MetricsUtils.OCPP_REQUESTS)
+                             .tag(MetricsUtils.ACTION, "BootNotification")
+                             .timers();
+
+        Assertions.assertEquals(2, timers.size());
+        timers.forEach(timer -> Assertions.assertEquals(1, timer.count()));
+    }
+}
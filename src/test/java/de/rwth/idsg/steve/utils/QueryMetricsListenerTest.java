@@ -0,0 +1,68 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.utils;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+public class QueryMetricsListenerTest {
+
+    @Test
+    public void testStatementKey_select() {
+        var key = QueryMetricsListener.getStatementKey(
+                "select `stevedb`.`charge_box`.`charge_box_id` from `stevedb`.`charge_box` "
+                        + "where `stevedb`.`charge_box`.`charge_box_id` in ('a', 'b', 'c')");
+        Assertions.assertEquals("select charge_box", key);
+    }
+
+    @Test
+    public void testStatementKey_sameForDifferentValues() {
+        Assertions.assertEquals(
+                QueryMetricsListener.getStatementKey("select * from `ocpp_tag` where `id_tag` in (?)"),
+                QueryMetricsListener.getStatementKey("select * from `ocpp_tag` where `id_tag` in (?, ?, ?, ?)"));
+    }
+
+    @Test
+    public void testStatementKey_writes() {
+        Assertions.assertEquals("insert transaction_start", QueryMetricsListener.getStatementKey(
+                "insert into `stevedb`.`transaction_start` (`connector_pk`) values (?) "
+                        + "on duplicate key update `stevedb`.`transaction_start`.`connector_pk` = ?"));
+        Assertions.assertEquals("update charge_box", QueryMetricsListener.getStatementKey(
+                "update `charge_box` set `last_heartbeat_timestamp` = ? where `charge_box_id` = ?"));
+        Assertions.assertEquals("delete reservation", QueryMetricsListener.getStatementKey(
+                "delete from `reservation` where `reservation_pk` = ?"));
+    }
+
+    @Test
+    public void testStatementKey_derivedTable() {
+        Assertions.assertEquals("select ocpp_tag", QueryMetricsListener.getStatementKey(
+                "select `t`.`id_tag`, `a`.`in_transaction` from (select `id_tag` from `ocpp_tag` limit ?) as `t` "
+                        + "join `ocpp_tag_activity` as `a` on `a`.`id_tag` = `t`.`id_tag`"));
+    }
+
+    @Test
+    public void testStatementKey_noTable() {
+        Assertions.assertEquals("select", QueryMetricsListener.getStatementKey("select 1"));
+        Assertions.assertEquals("unknown", QueryMetricsListener.getStatementKey(null));
+    }
+}
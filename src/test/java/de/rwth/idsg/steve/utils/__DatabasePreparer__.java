@@ -30,6 +30,7 @@ import de.rwth.idsg.steve.repository.impl.AddressRepositoryImpl;
 import de.rwth.idsg.steve.repository.impl.ChargePointRepositoryImpl;
 import de.rwth.idsg.steve.repository.impl.OcppTagRepositoryImpl;
 import de.rwth.idsg.steve.repository.impl.ReservationRepositoryImpl;
+import de.rwth.idsg.steve.repository.impl.StatisticsCounters;
 import de.rwth.idsg.steve.repository.impl.TransactionRepositoryImpl;
 import de.rwth.idsg.steve.web.dto.ReservationQueryForm;
 import de.rwth.idsg.steve.web.dto.TransactionQueryForm;
@@ -38,7 +39,7 @@ import jooq.steve.db.tables.OcppTagActivity;
 import jooq.steve.db.tables.SchemaVersion;
 import jooq.steve.db.tables.Settings;
 import jooq.steve.db.tables.records.OcppTagActivityRecord;
-import jooq.steve.db.tables.records.TransactionRecord;
+import jooq.steve.db.tables.records.TransactionCurrentRecord;
 import org.joda.time.DateTime;
 import org.jooq.DSLContext;
 import org.jooq.Schema;
@@ -55,6 +56,7 @@ import java.util.stream.Collectors;
 import static jooq.steve.db.tables.ChargeBox.CHARGE_BOX;
 import static jooq.steve.db.tables.OcppTag.OCPP_TAG;
 import static jooq.steve.db.tables.Transaction.TRANSACTION;
+import static jooq.steve.db.tables.TransactionCurrent.TRANSACTION_CURRENT;
 
 /**
  * This is a dangerous class. It performs database operations no class should do, like truncating all tables and
@@ -73,6 +75,7 @@ public class __DatabasePreparer__ {
 
     private static final BeanConfiguration beanConfiguration = new BeanConfiguration();
     private static final DSLContext dslContext = beanConfiguration.dslContext();
+    private static final StatisticsCounters counters = new StatisticsCounters();
 
     public static void prepare() {
         runOperation(ctx -> {
@@ -83,7 +86,7 @@ public class __DatabasePreparer__ {
     }
 
     public static int makeReservation(int connectorId) {
-        ReservationRepositoryImpl r = new ReservationRepositoryImpl(dslContext);
+        ReservationRepositoryImpl r = new ReservationRepositoryImpl(dslContext, dslContext, counters);
         InsertReservationParams params = InsertReservationParams.builder()
                                                                 .chargeBoxId(REGISTERED_CHARGE_BOX_ID)
                                                                 .idTag(REGISTERED_OCPP_TAG)
@@ -112,35 +115,39 @@ public class __DatabasePreparer__ {
     }
 
     public static List<Transaction> getTransactions() {
-        TransactionRepositoryImpl impl = new TransactionRepositoryImpl(dslContext);
+        TransactionRepositoryImpl impl = new TransactionRepositoryImpl(dslContext, dslContext, dslContext);
         return impl.getTransactions(new TransactionQueryForm());
     }
-    public static List<TransactionRecord> getTransactionRecords() {
-        return dslContext.selectFrom(TRANSACTION).fetch();
+    public static List<TransactionCurrentRecord> getTransactionRecords() {
+        return dslContext.selectFrom(TRANSACTION_CURRENT).fetch();
     }
 
     public static List<Reservation> getReservations() {
-        ReservationRepositoryImpl impl = new ReservationRepositoryImpl(dslContext);
+        ReservationRepositoryImpl impl = new ReservationRepositoryImpl(dslContext, dslContext, counters);
         return impl.getReservations(new ReservationQueryForm());
     }
 
     public static List<ConnectorStatus> getChargePointConnectorStatus() {
-        ChargePointRepositoryImpl impl = new ChargePointRepositoryImpl(dslContext, new AddressRepositoryImpl());
+        ChargePointRepositoryImpl impl =
+                new ChargePointRepositoryImpl(dslContext, dslContext, dslContext, new AddressRepositoryImpl(),
+                                              counters);
         return impl.getChargePointConnectorStatus();
     }
 
     public static TransactionDetails getDetails(int transactionPk) {
-        TransactionRepositoryImpl impl = new TransactionRepositoryImpl(dslContext);
+        TransactionRepositoryImpl impl = new TransactionRepositoryImpl(dslContext, dslContext, dslContext);
         return impl.getDetails(transactionPk);
     }
 
     public static OcppTagActivityRecord getOcppTagRecord(String idTag) {
-        OcppTagRepositoryImpl impl = new OcppTagRepositoryImpl(dslContext);
+        OcppTagRepositoryImpl impl = new OcppTagRepositoryImpl(dslContext, dslContext, dslContext, counters);
         return impl.getRecord(idTag);
     }
 
     public static ChargePoint.Details getCBDetails(String chargeboxID) {
-        ChargePointRepositoryImpl impl = new ChargePointRepositoryImpl(dslContext, new AddressRepositoryImpl());
+        ChargePointRepositoryImpl impl =
+                new ChargePointRepositoryImpl(dslContext, dslContext, dslContext, new AddressRepositoryImpl(),
+                                              counters);
         Map<String, Integer> pkMap = impl.getChargeBoxIdPkPair(Arrays.asList(chargeboxID));
         int pk = pkMap.get(chargeboxID);
         return impl.getDetails(pk);
@@ -0,0 +1,104 @@
+/*
+ * SteVe - SteckdosenVerwaltung - https://github.com/steve-community/steve
+ * Copyright (C) 2013-2024 SteVe Community Team
+ * All Rights Reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.rwth.idsg.steve.web.api;
+
+import de.rwth.idsg.steve.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.Writer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * @author Sevket Goekay <sevketgokay@gmail.com>
+ * @since 19.10.2026
+ */
+@ExtendWith(MockitoExtension.class)
+public class MeterValuesRestControllerTest extends AbstractControllerTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void setup() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new MeterValuesRestController(transactionRepository))
+            .setControllerAdvice(new ApiControllerAdvice())
+            .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper))
+            .build();
+    }
+
+    @Test
+    @DisplayName("Rows are written, expected 200 with the CSV file")
+    public void test1() throws Exception {
+        // when
+        doAnswer(invocation -> {
+            invocation.getArgument(1, Writer.class).write("a,b\n1,2\n");
+            return null;
+        }).when(transactionRepository).writeMeterValuesCSV(any(), any());
+
+        // then
+        mockMvc.perform(get("/api/v1/meterValues/csv")
+                .param("chargeBoxId", "cp-1")
+            )
+            .andExpect(status().isOk())
+            .andExpect(header().string("Content-Disposition", "attachment; filename=\"meter-values.csv\""))
+            .andExpect(content().string("a,b\n1,2\n"));
+    }
+
+    @Test
+    @DisplayName("Database fails before anything was sent, expected 500 instead of a partial file")
+    public void test2() throws Exception {
+        // when
+        doAnswer(invocation -> {
+            invocation.getArgument(1, Writer.class).write("a,b\n");
+            throw new RuntimeException("failed");
+        }).when(transactionRepository).writeMeterValuesCSV(any(), any());
+
+        // then
+        mockMvc.perform(get("/api/v1/meterValues/csv")
+                .param("chargeBoxId", "cp-1")
+            )
+            .andExpect(status().isInternalServerError())
+            .andExpect(header().doesNotExist("Content-Disposition"))
+            .andExpect(content().contentType("application/json"));
+    }
+
+    @Test
+    @DisplayName("No filter set, expected 400")
+    public void test3() throws Exception {
+        mockMvc.perform(get("/api/v1/meterValues/csv"))
+            .andExpect(status().isBadRequest())
+            .andExpect(content().contentType("application/json"));
+    }
+}
@@ -40,6 +40,9 @@ import java.util.List;
 import static org.hamcrest.Matchers.hasSize;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -251,6 +254,67 @@ public class TransactionRestControllerTest extends AbstractControllerTest {
         assertEquals(capturedForm.getPeriodType(), TransactionQueryForm.QueryPeriodType.LAST_30);
     }
 
+    @Test
+    @DisplayName("GET page: More results than the limit, expected the token of the last one as next")
+    public void test12() throws Exception {
+        // given
+        List<Transaction> results = List.of(
+            Transaction.builder().id(30).build(),
+            Transaction.builder().id(20).build(),
+            Transaction.builder().id(10).build()
+        );
+
+        // when
+        when(transactionRepository.getTransactions(any(), any(), anyInt())).thenReturn(results);
+
+        // then
+        mockMvc.perform(get("/api/v1/transactions")
+                .param("limit", "2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items", hasSize(2)))
+            .andExpect(jsonPath("$.items[1].id").value("20"))
+            .andExpect(jsonPath("$.next").value(PageToken.encode(20)));
+
+        verify(transactionRepository).getTransactions(any(), isNull(), eq(3));
+    }
+
+    @Test
+    @DisplayName("GET page: The token of the previous page is passed on, and the last page has no next")
+    public void test13() throws Exception {
+        // when
+        when(transactionRepository.getTransactions(any(), any(), anyInt()))
+            .thenReturn(List.of(Transaction.builder().id(10).build()));
+
+        // then
+        mockMvc.perform(get("/api/v1/transactions")
+                .param("limit", "2")
+                .param("after", PageToken.encode(20)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items", hasSize(1)))
+            .andExpect(jsonPath("$.next").isEmpty());
+
+        verify(transactionRepository).getTransactions(any(), eq(20), eq(3));
+    }
+
+    @Test
+    @DisplayName("GET page: Invalid token, expected 400")
+    public void test14() throws Exception {
+        mockMvc.perform(get("/api/v1/transactions")
+                .param("limit", "2")
+                .param("after", "not-a-token"))
+            .andExpect(status().isBadRequest())
+            .andExpectAll(errorJsonMatchers());
+    }
+
+    @Test
+    @DisplayName("GET page: Limit out of range, expected 400")
+    public void test15() throws Exception {
+        mockMvc.perform(get("/api/v1/transactions")
+                .param("limit", "0"))
+            .andExpect(status().isBadRequest())
+            .andExpectAll(errorJsonMatchers());
+    }
+
     private static ResultMatcher[] errorJsonMatchers() {
         return new ResultMatcher[] {
             jsonPath("$.timestamp").exists(),